@@ -327,10 +327,47 @@ public final class NessieConfigConstants {
   /**
    * Optional, allow HTTP/2 upgrade, if set to {@code true}.
    *
+   * <p>For {@code https} URIs HTTP/2 is negotiated via ALPN. For plain {@code http} URIs the client
+   * performs an HTTP/2 cleartext ("h2c") upgrade, which the server may decline. Once established,
+   * concurrent requests are multiplexed as streams over a single connection.
+   *
    * <p>This parameter only works on Java 11 and newer.
    */
   public static final String CONF_NESSIE_HTTP_2 = "nessie.http2-upgrade";
 
+  /**
+   * Optional, the maximum number of concurrent requests issued by a client instance, default is
+   * {@code 0}, meaning unlimited. Asynchronous requests beyond this limit are queued, synchronous
+   * requests wait.
+   *
+   * <p>With HTTP/1.1, every request in flight occupies a pooled connection, so this setting also
+   * limits the size of the connection pool. With HTTP/2 it limits the number of concurrent streams.
+   *
+   * <p>This parameter only works on Java 11 and newer.
+   */
+  public static final String CONF_NESSIE_HTTP_MAX_CONCURRENT_REQUESTS =
+      "nessie.transport.max-concurrent-requests";
+
+  /**
+   * Optional, the number of threads used to serialize request bodies, default is {@code 0}, which
+   * uses at least 8 threads or the parallelism of the common fork-join pool.
+   *
+   * <p>This parameter only works on Java 11 and newer.
+   */
+  public static final String CONF_NESSIE_HTTP_WRITER_THREADS = "nessie.transport.writer-threads";
+
+  /**
+   * Optional, the capacity in bytes of the client-side cache for immutable responses, default is
+   * {@code 0}, meaning that responses are not cached.
+   *
+   * <p>The Nessie server marks responses to requests for detached commits, for example for
+   * contents or entries at {@code @1122334455667788}, as immutable. Those responses are served from
+   * the cache without contacting the server again. Responses for commits on named references, like
+   * {@code main@1122334455667788}, are not cached, because they must be revalidated.
+   */
+  public static final String CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY =
+      "nessie.transport.response-cache-capacity";
+
   /**
    * Optional, specify how redirects are handled.
    *
@@ -16,6 +16,7 @@
 package org.projectnessie.client.api;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.error.NessieConflictException;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Branch;
@@ -45,4 +46,13 @@ public interface CommitMultipleOperationsBuilder
    * @since {@link NessieApiV2}
    */
   CommitResponse commitWithResponse() throws NessieNotFoundException, NessieConflictException;
+
+  /**
+   * Asynchronous variant of {@link #commitWithResponse()}. The returned stage completes
+   * exceptionally with a {@link NessieNotFoundException} or {@link NessieConflictException}, like
+   * the synchronous variant.
+   *
+   * @since {@link NessieApiV2}
+   */
+  CompletionStage<CommitResponse> commitWithResponseAsync();
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.api;
 
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.Reference;
 import org.projectnessie.model.ReferencesResponse;
@@ -47,4 +48,11 @@ public interface GetAllReferencesBuilder
   // Mandatory override (must maintain function signature w/ previous versions)
   @Override
   ReferencesResponse get();
+
+  /**
+   * Asynchronous variant of {@link #get()}, fetches a single page.
+   *
+   * @since {@link NessieApiV2}
+   */
+  CompletionStage<ReferencesResponse> getAsync();
 }
@@ -57,4 +57,17 @@ public interface GetCommitLogBuilder
 
   @Override // kept for byte-code compatibility
   LogResponse get() throws NessieNotFoundException;
+
+  /**
+   * Whether {@link #stream()} parses the entries of each page incrementally from the response,
+   * instead of deserializing each page as a whole, and requests the next page while the current one
+   * is being consumed. This reduces the heap required for large pages, but the stream holds an open
+   * HTTP response until it is exhausted or {@linkplain java.util.stream.Stream#close() closed}.
+   * Default is {@code false}.
+   *
+   * <p>Implementations that do not support incremental parsing ignore this setting.
+   *
+   * @since {@link NessieApiV2}
+   */
+  GetCommitLogBuilder incrementalParsing(boolean incrementalParsing);
 }
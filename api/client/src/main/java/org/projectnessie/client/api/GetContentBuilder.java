@@ -17,6 +17,7 @@ package org.projectnessie.client.api;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import javax.validation.Valid;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Content;
@@ -40,4 +41,22 @@ public interface GetContentBuilder extends OnReferenceBuilder<GetContentBuilder>
   Map<ContentKey, Content> get() throws NessieNotFoundException;
 
   GetMultipleContentsResponse getWithResponse() throws NessieNotFoundException;
+
+  /**
+   * Asynchronous variant of {@link #getSingle(ContentKey)}. The returned stage completes
+   * exceptionally with a {@link NessieNotFoundException}, if the reference or content does not
+   * exist.
+   *
+   * @since {@link NessieApiV2}
+   */
+  CompletionStage<ContentResponse> getSingleAsync(
+      @Valid @jakarta.validation.Valid ContentKey key);
+
+  /**
+   * Asynchronous variant of {@link #getWithResponse()}. The returned stage completes exceptionally
+   * with a {@link NessieNotFoundException}, if the reference does not exist.
+   *
+   * @since {@link NessieApiV2}
+   */
+  CompletionStage<GetMultipleContentsResponse> getWithResponseAsync();
 }
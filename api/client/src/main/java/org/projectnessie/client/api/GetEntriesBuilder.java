@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.api;
 
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.EntriesResponse;
 
@@ -33,6 +34,27 @@ public interface GetEntriesBuilder
 
   GetEntriesBuilder withContent(boolean withContent);
 
+  /**
+   * Whether {@link #stream()} parses the entries of each page incrementally from the response,
+   * instead of deserializing each page as a whole, and requests the next page while the current one
+   * is being consumed. This reduces the heap required for large pages, but the stream holds an open
+   * HTTP response until it is exhausted or {@linkplain java.util.stream.Stream#close() closed}.
+   * Default is {@code false}.
+   *
+   * <p>Implementations that do not support incremental parsing ignore this setting.
+   *
+   * @since {@link NessieApiV2}
+   */
+  GetEntriesBuilder incrementalParsing(boolean incrementalParsing);
+
   @Override // kept for byte-code compatibility
   EntriesResponse get() throws NessieNotFoundException;
+
+  /**
+   * Asynchronous variant of {@link #get()}, fetches a single page. The returned stage completes
+   * exceptionally with a {@link NessieNotFoundException}, if the reference does not exist.
+   *
+   * @since {@link NessieApiV2}
+   */
+  CompletionStage<EntriesResponse> getAsync();
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.api;
 
+import java.util.concurrent.CompletionStage;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Pattern;
 import org.projectnessie.error.NessieNotFoundException;
@@ -54,4 +55,12 @@ public interface GetReferenceBuilder {
   }
 
   Reference get() throws NessieNotFoundException;
+
+  /**
+   * Asynchronous variant of {@link #get()}. The returned stage completes exceptionally with a
+   * {@link NessieNotFoundException}, if the reference does not exist.
+   *
+   * @since {@link NessieApiV2}
+   */
+  CompletionStage<Reference> getAsync();
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.builder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Helper for the asynchronous methods of the request builders of client implementations that do
+ * not support non-blocking requests.
+ */
+public final class AsyncUtil {
+
+  private AsyncUtil() {
+    // intentionally blank
+  }
+
+  @FunctionalInterface
+  public interface BlockingCall<R> {
+    R call() throws Exception;
+  }
+
+  /**
+   * Runs the given blocking call using the given executor, for example the {@link
+   * org.projectnessie.client.http.HttpClient#executor() executor of an HTTP client}. The returned
+   * stage completes exceptionally with the exception thrown by the call, for example a {@link
+   * org.projectnessie.error.NessieNotFoundException}.
+   */
+  public static <R> CompletionStage<R> supplyAsync(Executor executor, BlockingCall<R> call) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    executor.execute(
+        () -> {
+          try {
+            result.complete(call.call());
+          } catch (Throwable e) {
+            result.completeExceptionally(e);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Returns a stage that is already completed exceptionally with the given exception, for argument
+   * or state errors detected before an asynchronous call is started.
+   */
+  public static <R> CompletionStage<R> failedStage(Throwable failure) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    result.completeExceptionally(failure);
+    return result;
+  }
+}
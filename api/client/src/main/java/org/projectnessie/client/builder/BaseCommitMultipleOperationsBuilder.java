@@ -16,8 +16,11 @@
 package org.projectnessie.client.builder;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.projectnessie.client.api.CommitMultipleOperationsBuilder;
 import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.CommitResponse;
 import org.projectnessie.model.ImmutableOperations;
 import org.projectnessie.model.Operation;
 
@@ -44,4 +47,16 @@ public abstract class BaseCommitMultipleOperationsBuilder
     operations.addOperations(operation);
     return this;
   }
+
+  /**
+   * Executor for the blocking calls of the asynchronous methods that the implementation does not
+   * override, usually the {@link org.projectnessie.client.http.HttpClient#executor() executor of
+   * the HTTP client}.
+   */
+  protected abstract Executor executor();
+
+  @Override
+  public CompletionStage<CommitResponse> commitWithResponseAsync() {
+    return AsyncUtil.supplyAsync(executor(), this::commitWithResponse);
+  }
 }
@@ -15,6 +15,8 @@
  */
 package org.projectnessie.client.builder;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 import org.projectnessie.client.api.GetAllReferencesBuilder;
@@ -70,6 +72,26 @@ public abstract class BaseGetAllReferencesBuilder<PARAMS> implements GetAllRefer
     return get(p);
   }
 
+  /**
+   * Executor for the blocking calls of the asynchronous methods that the implementation does not
+   * override, usually the {@link org.projectnessie.client.http.HttpClient#executor() executor of
+   * the HTTP client}.
+   */
+  protected abstract Executor executor();
+
+  /**
+   * Asynchronous variant of {@link #get(Object)}, implementations that support non-blocking
+   * requests override this method.
+   */
+  protected CompletionStage<ReferencesResponse> getAsync(PARAMS p) {
+    return AsyncUtil.supplyAsync(executor(), () -> get(p));
+  }
+
+  @Override
+  public CompletionStage<ReferencesResponse> getAsync() {
+    return getAsync(paramsForPage.apply(params(), pageToken));
+  }
+
   @Override
   public Stream<Reference> stream() throws NessieNotFoundException {
     PARAMS p = params();
@@ -33,6 +33,7 @@ public abstract class BaseGetCommitLogBuilder<PARAMS>
   protected FetchOption fetchOption;
   protected String filter;
   protected String untilHash;
+  protected boolean incrementalParsing;
 
   protected BaseGetCommitLogBuilder(BiFunction<PARAMS, String, PARAMS> paramsForPage) {
     this.paramsForPage = paramsForPage;
@@ -68,6 +69,12 @@ public abstract class BaseGetCommitLogBuilder<PARAMS>
     return this;
   }
 
+  @Override
+  public GetCommitLogBuilder incrementalParsing(boolean incrementalParsing) {
+    this.incrementalParsing = incrementalParsing;
+    return this;
+  }
+
   protected abstract PARAMS params();
 
   @Override
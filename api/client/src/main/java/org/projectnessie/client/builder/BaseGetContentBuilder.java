@@ -16,8 +16,12 @@
 package org.projectnessie.client.builder;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.projectnessie.client.api.GetContentBuilder;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.ContentResponse;
+import org.projectnessie.model.GetMultipleContentsResponse;
 import org.projectnessie.model.ImmutableGetMultipleContentsRequest;
 
 public abstract class BaseGetContentBuilder extends BaseOnReferenceBuilder<GetContentBuilder>
@@ -37,4 +41,21 @@ public abstract class BaseGetContentBuilder extends BaseOnReferenceBuilder<GetCo
     request.addAllRequestedKeys(keys);
     return this;
   }
+
+  /**
+   * Executor for the blocking calls of the asynchronous methods that the implementation does not
+   * override, usually the {@link org.projectnessie.client.http.HttpClient#executor() executor of
+   * the HTTP client}.
+   */
+  protected abstract Executor executor();
+
+  @Override
+  public CompletionStage<ContentResponse> getSingleAsync(ContentKey key) {
+    return AsyncUtil.supplyAsync(executor(), () -> getSingle(key));
+  }
+
+  @Override
+  public CompletionStage<GetMultipleContentsResponse> getWithResponseAsync() {
+    return AsyncUtil.supplyAsync(executor(), this::getWithResponse);
+  }
 }
@@ -18,6 +18,8 @@ package org.projectnessie.client.builder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 import org.projectnessie.client.api.GetEntriesBuilder;
@@ -40,6 +42,7 @@ public abstract class BaseGetEntriesBuilder<PARAMS>
   protected String filter;
   protected Integer namespaceDepth;
   protected boolean withContent;
+  protected boolean incrementalParsing;
 
   protected BaseGetEntriesBuilder(BiFunction<PARAMS, String, PARAMS> paramsForPage) {
     this.paramsForPage = paramsForPage;
@@ -105,6 +108,12 @@ public abstract class BaseGetEntriesBuilder<PARAMS>
     return this;
   }
 
+  @Override
+  public GetEntriesBuilder incrementalParsing(boolean incrementalParsing) {
+    this.incrementalParsing = incrementalParsing;
+    return this;
+  }
+
   protected abstract PARAMS params();
 
   protected abstract EntriesResponse get(PARAMS p) throws NessieNotFoundException;
@@ -114,6 +123,26 @@ public abstract class BaseGetEntriesBuilder<PARAMS>
     return get(paramsForPage.apply(params(), pageToken));
   }
 
+  /**
+   * Executor for the blocking calls of the asynchronous methods that the implementation does not
+   * override, usually the {@link org.projectnessie.client.http.HttpClient#executor() executor of
+   * the HTTP client}.
+   */
+  protected abstract Executor executor();
+
+  /**
+   * Asynchronous variant of {@link #get(Object)}, implementations that support non-blocking
+   * requests override this method.
+   */
+  protected CompletionStage<EntriesResponse> getAsync(PARAMS p) {
+    return AsyncUtil.supplyAsync(executor(), () -> get(p));
+  }
+
+  @Override
+  public CompletionStage<EntriesResponse> getAsync() {
+    return getAsync(paramsForPage.apply(params(), pageToken));
+  }
+
   @Override
   public Stream<Entry> stream() throws NessieNotFoundException {
     PARAMS p = params();
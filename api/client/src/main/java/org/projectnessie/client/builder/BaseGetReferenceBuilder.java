@@ -15,8 +15,11 @@
  */
 package org.projectnessie.client.builder;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.projectnessie.client.api.GetReferenceBuilder;
 import org.projectnessie.model.FetchOption;
+import org.projectnessie.model.Reference;
 
 public abstract class BaseGetReferenceBuilder implements GetReferenceBuilder {
 
@@ -34,4 +37,16 @@ public abstract class BaseGetReferenceBuilder implements GetReferenceBuilder {
     this.fetchOption = fetchOption;
     return this;
   }
+
+  /**
+   * Executor for the blocking calls of the asynchronous methods that the implementation does not
+   * override, usually the {@link org.projectnessie.client.http.HttpClient#executor() executor of
+   * the HTTP client}.
+   */
+  protected abstract Executor executor();
+
+  @Override
+  public CompletionStage<Reference> getAsync() {
+    return AsyncUtil.supplyAsync(executor(), this::get);
+  }
 }
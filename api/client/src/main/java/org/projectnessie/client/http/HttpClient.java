@@ -18,6 +18,8 @@ package org.projectnessie.client.http;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.net.URI;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 
@@ -44,6 +46,41 @@ public interface HttpClient extends AutoCloseable {
 
   URI getBaseUri();
 
+  /**
+   * The number of requests that have been sent and whose response body has not been received or
+   * closed yet, or {@code -1} if the implementation does not track in-flight requests. With HTTP/2
+   * this is the number of active streams.
+   */
+  default int inFlightRequests() {
+    return -1;
+  }
+
+  /**
+   * The number of requests waiting to be sent because the {@linkplain
+   * Builder#setMaxConcurrentRequests(int) maximum number of concurrent requests} has been reached,
+   * or {@code -1} if the implementation does not limit concurrent requests.
+   */
+  default int queuedRequests() {
+    return -1;
+  }
+
+  /**
+   * The {@linkplain Builder#setMaxConcurrentRequests(int) maximum number of concurrent requests}
+   * enforced by this client, {@code 0} if the implementation does not limit concurrent requests.
+   */
+  default int maxConcurrentRequests() {
+    return 0;
+  }
+
+  /**
+   * Executor for blocking calls made on behalf of the caller, for example to prefetch the next page
+   * of a paged response. The built-in implementations use their own threads, which are released
+   * when the client is closed, the default uses the {@link ForkJoinPool#commonPool() common pool}.
+   */
+  default Executor executor() {
+    return ForkJoinPool.commonPool();
+  }
+
   @Override
   void close();
 
@@ -86,6 +123,27 @@ public interface HttpClient extends AutoCloseable {
     @CanIgnoreReturnValue
     Builder setForceUrlConnectionClient(boolean forceUrlConnectionClient);
 
+    /**
+     * Maximum number of requests in flight, {@code 0} (the default) means unlimited. Only
+     * effective with Java's new HTTP client.
+     */
+    @CanIgnoreReturnValue
+    Builder setMaxConcurrentRequests(int maxConcurrentRequests);
+
+    /**
+     * Number of threads that serialize request bodies, {@code 0} (the default) picks a value based
+     * on the number of CPUs. Only effective with Java's new HTTP client.
+     */
+    @CanIgnoreReturnValue
+    Builder setWriterThreads(int writerThreads);
+
+    /**
+     * Capacity in bytes of the cache for immutable responses, {@code 0} (the default) disables the
+     * cache.
+     */
+    @CanIgnoreReturnValue
+    Builder setResponseCacheCapacity(long responseCacheCapacity);
+
     @CanIgnoreReturnValue
     Builder setReadTimeoutMillis(int readTimeoutMillis);
 
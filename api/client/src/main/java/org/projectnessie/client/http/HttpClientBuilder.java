@@ -127,6 +127,21 @@ public class HttpClientBuilder extends NessieHttpClientBuilderImpl {
     return (HttpClientBuilder) super.withForceUrlConnectionClient(forceUrlConnectionClient);
   }
 
+  @Override
+  public HttpClientBuilder withMaxConcurrentRequests(int maxConcurrentRequests) {
+    return (HttpClientBuilder) super.withMaxConcurrentRequests(maxConcurrentRequests);
+  }
+
+  @Override
+  public HttpClientBuilder withWriterThreads(int writerThreads) {
+    return (HttpClientBuilder) super.withWriterThreads(writerThreads);
+  }
+
+  @Override
+  public HttpClientBuilder withResponseCacheCapacity(long responseCacheCapacity) {
+    return (HttpClientBuilder) super.withResponseCacheCapacity(responseCacheCapacity);
+  }
+
   @Override
   public HttpClientBuilder withApiCompatibilityCheck(boolean enable) {
     return (HttpClientBuilder) super.withApiCompatibilityCheck(enable);
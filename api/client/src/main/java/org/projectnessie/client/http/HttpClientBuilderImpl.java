@@ -25,6 +25,7 @@ import java.util.function.Function;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import org.projectnessie.client.NessieConfigConstants;
+import org.projectnessie.client.http.impl.HttpResponseCache;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 import org.projectnessie.client.http.impl.HttpUtils;
 import org.projectnessie.client.http.impl.jdk11.JavaHttpClient;
@@ -55,6 +56,9 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
   private boolean http2Upgrade;
   private String followRedirects;
   private boolean forceUrlConnectionClient;
+  private int maxConcurrentRequests;
+  private int writerThreads;
+  private long responseCacheCapacity;
   private int clientSpec = 2;
 
   HttpClientBuilderImpl() {}
@@ -75,6 +79,9 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
     this.http2Upgrade = other.http2Upgrade;
     this.followRedirects = other.followRedirects;
     this.forceUrlConnectionClient = other.forceUrlConnectionClient;
+    this.maxConcurrentRequests = other.maxConcurrentRequests;
+    this.writerThreads = other.writerThreads;
+    this.responseCacheCapacity = other.responseCacheCapacity;
     this.clientSpec = other.clientSpec;
   }
 
@@ -156,6 +163,24 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
     return this;
   }
 
+  @Override
+  public HttpClient.Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    return this;
+  }
+
+  @Override
+  public HttpClient.Builder setWriterThreads(int writerThreads) {
+    this.writerThreads = writerThreads;
+    return this;
+  }
+
+  @Override
+  public HttpClient.Builder setResponseCacheCapacity(long responseCacheCapacity) {
+    this.responseCacheCapacity = responseCacheCapacity;
+    return this;
+  }
+
   @Override
   public HttpClient.Builder setReadTimeoutMillis(int readTimeoutMillis) {
     this.readTimeoutMillis = readTimeoutMillis;
@@ -242,6 +267,10 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
             .isHttp11Only(!http2Upgrade)
             .followRedirects(followRedirects)
             .forceUrlConnectionClient(forceUrlConnectionClient)
+            .maxConcurrentRequests(maxConcurrentRequests)
+            .writerThreads(writerThreads)
+            .responseCache(
+                responseCacheCapacity > 0 ? new HttpResponseCache(responseCacheCapacity) : null)
             .build();
 
     return ImplSwitch.FACTORY.apply(config);
@@ -15,10 +15,16 @@
  */
 package org.projectnessie.client.http;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import org.projectnessie.client.builder.AsyncUtil;
 import org.projectnessie.client.http.HttpClient.Method;
 import org.projectnessie.client.http.impl.HttpHeaders;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 import org.projectnessie.client.http.impl.UriBuilder;
+import org.projectnessie.error.BaseNessieClientServerException;
 
 /** Class to hold an ongoing HTTP request and its parameters/filters. */
 public abstract class HttpRequest
@@ -95,6 +101,63 @@ public abstract class HttpRequest
     return executeRequest(Method.PUT, obj);
   }
 
+  /**
+   * Executes the request asynchronously.
+   *
+   * <p>HTTP client implementations that do not support non-blocking requests run {@link
+   * #executeRequest(Method, Object)} via {@link AsyncUtil#supplyAsync(Executor,
+   * AsyncUtil.BlockingCall)}, using the {@link HttpClient#executor() executor of the client}.
+   *
+   * @return a {@link CompletionStage} that completes with the response or, like {@link
+   *     #executeRequest(Method, Object)}, with an {@link HttpClientException}
+   */
+  public abstract CompletionStage<HttpResponse> executeRequestAsync(Method method, Object body);
+
+  /**
+   * Asynchronous variant of {@link #get()}. Unlike the synchronous methods, the returned stage
+   * completes exceptionally with API-level exceptions like {@link
+   * org.projectnessie.error.NessieNotFoundException} directly, not wrapped in an {@link
+   * HttpClientException}.
+   */
+  public CompletionStage<HttpResponse> getAsync() {
+    return unwrapAsync(executeRequestAsync(Method.GET, null));
+  }
+
+  /** Asynchronous variant of {@link #delete()}, see {@link #getAsync()}. */
+  public CompletionStage<HttpResponse> deleteAsync() {
+    return unwrapAsync(executeRequestAsync(Method.DELETE, null));
+  }
+
+  /** Asynchronous variant of {@link #post(Object)}, see {@link #getAsync()}. */
+  public CompletionStage<HttpResponse> postAsync(Object obj) {
+    return unwrapAsync(executeRequestAsync(Method.POST, obj));
+  }
+
+  /** Asynchronous variant of {@link #put(Object)}, see {@link #getAsync()}. */
+  public CompletionStage<HttpResponse> putAsync(Object obj) {
+    return unwrapAsync(executeRequestAsync(Method.PUT, obj));
+  }
+
+  private static CompletionStage<HttpResponse> unwrapAsync(CompletionStage<HttpResponse> stage) {
+    CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+    stage.whenComplete(
+        (response, failure) -> {
+          if (failure == null) {
+            result.complete(response);
+            return;
+          }
+          if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+          }
+          if (failure instanceof HttpClientException
+              && failure.getCause() instanceof BaseNessieClientServerException) {
+            failure = failure.getCause();
+          }
+          result.completeExceptionally(failure);
+        });
+    return result;
+  }
+
   /**
    * Sets the content-type to application/x-www-form-urlencoded. The provided body will be
    * automatically encoded as form data. This is a convenience method for {@code
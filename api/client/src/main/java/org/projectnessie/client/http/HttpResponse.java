@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.http;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
@@ -77,4 +78,20 @@ public class HttpResponse {
   public <V> V readEntity(Class<V> clazz) {
     return readEntity(mapper.readerFor(clazz));
   }
+
+  /**
+   * Returns a JSON parser over the response body, for callers that process large responses
+   * incrementally. The parser's codec is the client's {@link ObjectMapper}. The caller must close
+   * the returned parser, which also closes the response body.
+   */
+  public JsonParser jsonParser() {
+    try {
+      if (!responseContext.isJsonCompatibleResponse()) {
+        nonJsonResponse();
+      }
+      return mapper.getFactory().createParser(responseContext.getInputStream());
+    } catch (IOException e) {
+      throw new HttpClientException("Cannot parse response.", e);
+    }
+  }
 }
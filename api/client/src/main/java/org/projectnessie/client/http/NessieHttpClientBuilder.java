@@ -17,7 +17,10 @@ package org.projectnessie.client.http;
 
 import static org.projectnessie.client.NessieConfigConstants.CONF_FORCE_URL_CONNECTION_CLIENT;
 import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_2;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_MAX_CONCURRENT_REQUESTS;
 import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_REDIRECT;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_WRITER_THREADS;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.function.Function;
@@ -29,7 +32,8 @@ import org.projectnessie.client.config.NessieClientConfigSources;
 public interface NessieHttpClientBuilder extends NessieClientBuilder {
 
   /**
-   * Whether to allow HTTP/2 upgrade, default is {@code false}.
+   * Whether to allow HTTP/2 upgrade, default is {@code false}. For plain {@code http} URIs this
+   * enables the HTTP/2 cleartext ("h2c") upgrade.
    *
    * <p>Only valid on Java 11 and newer with Java's new HTTP client.
    */
@@ -53,6 +57,32 @@ public interface NessieHttpClientBuilder extends NessieClientBuilder {
   @CanIgnoreReturnValue
   NessieHttpClientBuilder withForceUrlConnectionClient(boolean forceUrlConnectionClient);
 
+  /**
+   * Maximum number of concurrent requests, default is {@code 0}, meaning unlimited. See {@link
+   * NessieConfigConstants#CONF_NESSIE_HTTP_MAX_CONCURRENT_REQUESTS}.
+   *
+   * <p>Only valid on Java 11 and newer with Java's new HTTP client.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withMaxConcurrentRequests(int maxConcurrentRequests);
+
+  /**
+   * Number of threads used to serialize request bodies, default is {@code 0}, meaning a CPU based
+   * default. See {@link NessieConfigConstants#CONF_NESSIE_HTTP_WRITER_THREADS}.
+   *
+   * <p>Only valid on Java 11 and newer with Java's new HTTP client.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withWriterThreads(int writerThreads);
+
+  /**
+   * Capacity in bytes of the client-side cache for immutable responses, default is {@code 0},
+   * meaning that responses are not cached. See {@link
+   * NessieConfigConstants#CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY}.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withResponseCacheCapacity(long responseCacheCapacity);
+
   @CanIgnoreReturnValue
   NessieHttpClientBuilder withResponseFactory(HttpResponseFactory responseFactory);
 
@@ -89,6 +119,21 @@ public interface NessieHttpClientBuilder extends NessieClientBuilder {
         withForceUrlConnectionClient(Boolean.parseBoolean(s.trim()));
       }
 
+      s = configuration.apply(CONF_NESSIE_HTTP_MAX_CONCURRENT_REQUESTS);
+      if (s != null) {
+        withMaxConcurrentRequests(Integer.parseInt(s.trim()));
+      }
+
+      s = configuration.apply(CONF_NESSIE_HTTP_WRITER_THREADS);
+      if (s != null) {
+        withWriterThreads(Integer.parseInt(s.trim()));
+      }
+
+      s = configuration.apply(CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY);
+      if (s != null) {
+        withResponseCacheCapacity(Long.parseLong(s.trim()));
+      }
+
       return this;
     }
 
@@ -107,6 +152,21 @@ public interface NessieHttpClientBuilder extends NessieClientBuilder {
       return this;
     }
 
+    @Override
+    public NessieHttpClientBuilder withMaxConcurrentRequests(int maxConcurrentRequests) {
+      return this;
+    }
+
+    @Override
+    public NessieHttpClientBuilder withWriterThreads(int writerThreads) {
+      return this;
+    }
+
+    @Override
+    public NessieHttpClientBuilder withResponseCacheCapacity(long responseCacheCapacity) {
+      return this;
+    }
+
     @Override
     public NessieHttpClientBuilder withResponseFactory(HttpResponseFactory responseFactory) {
       return this;
@@ -185,6 +185,27 @@ public class NessieHttpClientBuilderImpl
     return this;
   }
 
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withMaxConcurrentRequests(int maxConcurrentRequests) {
+    builder.setMaxConcurrentRequests(maxConcurrentRequests);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withWriterThreads(int writerThreads) {
+    builder.setWriterThreads(writerThreads);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withResponseCacheCapacity(long responseCacheCapacity) {
+    builder.setResponseCacheCapacity(responseCacheCapacity);
+    return this;
+  }
+
   @CanIgnoreReturnValue
   @Override
   public NessieHttpClientBuilderImpl withApiCompatibilityCheck(boolean enable) {
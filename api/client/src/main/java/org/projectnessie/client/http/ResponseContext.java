@@ -42,5 +42,13 @@ public interface ResponseContext {
 
   String getContentType();
 
+  /**
+   * Returns the (first) value of the given response header or {@code null}, if the header is not
+   * present or the implementation does not expose response headers.
+   */
+  default String getHeader(String name) {
+    return null;
+  }
+
   URI getRequestedUri();
 }
@@ -29,6 +29,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -36,7 +37,9 @@ import java.util.zip.GZIPOutputStream;
 import org.projectnessie.client.http.HttpClient.Method;
 import org.projectnessie.client.http.HttpClientException;
 import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.http.HttpResponse;
 import org.projectnessie.client.http.RequestContext;
+import org.projectnessie.client.http.ResponseContext;
 
 public abstract class BaseHttpRequest extends HttpRequest {
 
@@ -70,6 +73,31 @@ public abstract class BaseHttpRequest extends HttpRequest {
     return doesOutput;
   }
 
+  /**
+   * Returns the cached response for a {@code GET} request to the given URI, or {@code null} if the
+   * request has to be sent to the server.
+   */
+  protected HttpResponse cachedResponse(Method method, URI uri) {
+    HttpResponseCache cache = config.getResponseCache();
+    if (cache == null || method != Method.GET) {
+      return null;
+    }
+    ResponseContext cached = cache.lookup(uri);
+    return cached != null ? config.responseFactory().make(cached, config.getMapper()) : null;
+  }
+
+  /**
+   * Adds the response to the response cache, if enabled and the response is cacheable, and returns
+   * the response context to use to read the response.
+   */
+  protected ResponseContext cacheResponse(RequestContext context, ResponseContext responseContext) {
+    HttpResponseCache cache = config.getResponseCache();
+    if (cache == null || context.getMethod() != Method.GET) {
+      return responseContext;
+    }
+    return cache.store(context.getUri(), responseContext);
+  }
+
   protected void writeToOutputStream(RequestContext context, OutputStream outputStream)
       throws IOException {
     Object body = context.getBody().orElseThrow(NullPointerException::new);
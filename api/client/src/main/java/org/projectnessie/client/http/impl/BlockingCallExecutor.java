@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+/**
+ * Executor of an HTTP client for blocking calls made on behalf of the caller, for example to
+ * prefetch the next page of a paged response. Threads are created on demand, up to a maximum, and
+ * exit after being idle for a minute, so an idle client does not hold any threads. Calls exceeding
+ * the maximum number of threads are queued.
+ */
+public final class BlockingCallExecutor extends ThreadPoolExecutor {
+
+  /** Maximum number of threads, if the HTTP client does not limit the concurrent requests. */
+  public static final int DEFAULT_MAX_THREADS = 8;
+
+  private static final AtomicInteger CLIENT_ID = new AtomicInteger();
+
+  /**
+   * @param maxConcurrentRequests the maximum number of concurrent requests of the HTTP client,
+   *     which is also the maximum number of threads, {@code 0} or a negative value means unlimited
+   *     requests and {@link #DEFAULT_MAX_THREADS} threads.
+   */
+  public BlockingCallExecutor(int maxConcurrentRequests) {
+    super(
+        maxThreads(maxConcurrentRequests),
+        maxThreads(maxConcurrentRequests),
+        60L,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new BlockingCallThreadFactory(CLIENT_ID.incrementAndGet()));
+    allowCoreThreadTimeOut(true);
+  }
+
+  private static int maxThreads(int maxConcurrentRequests) {
+    // A blocking call that runs more requests than the client permits concurrently would wait for a
+    // slot anyway.
+    return maxConcurrentRequests > 0 ? maxConcurrentRequests : DEFAULT_MAX_THREADS;
+  }
+
+  private static final class BlockingCallThreadFactory implements ThreadFactory {
+    private final int clientId;
+    private final AtomicInteger threadId = new AtomicInteger();
+
+    BlockingCallThreadFactory(int clientId) {
+      this.clientId = clientId;
+    }
+
+    @Override
+    public Thread newThread(@Nonnull Runnable r) {
+      Thread thread =
+          new Thread(r, "nessie-client-" + clientId + "-blocking-" + threadId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import static org.projectnessie.client.http.impl.HttpUtils.HEADER_CACHE_CONTROL;
+import static org.projectnessie.client.http.impl.HttpUtils.HEADER_CONTENT_TYPE;
+import static org.projectnessie.client.http.impl.HttpUtils.HEADER_ETAG;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.client.http.ResponseContext;
+import org.projectnessie.client.http.Status;
+
+/**
+ * Bounded, in-memory cache for responses to {@code GET} requests that the server declared as
+ * immutable via {@code Cache-Control: immutable} and an {@code ETag}.
+ *
+ * <p>The Nessie server sends these headers for requests for detached commits, for example to
+ * retrieve contents or entries at {@code @1122334455667788}, because the response to those
+ * requests can never change. Cached responses are served without contacting the server.
+ *
+ * <p>Entries are evicted in least-recently-used order once the total size of the cached (already
+ * decompressed) response bodies exceeds the configured capacity.
+ *
+ * <p>Only response bodies up to a maximum entry size are cached. A larger body is not buffered
+ * completely: once more bytes than the maximum entry size have been read, the response is passed
+ * on with a stream that returns the bytes read so far, followed by the rest of the original body.
+ */
+public final class HttpResponseCache {
+
+  /** The default maximum size of a cached response body, if the capacity is larger. */
+  public static final long DEFAULT_MAX_ENTRY_BYTES = 1024L * 1024L;
+
+  private final long capacityBytes;
+  private final int maxEntryBytes;
+  private final LinkedHashMap<URI, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long sizeBytes;
+
+  public HttpResponseCache(long capacityBytes) {
+    this(capacityBytes, Math.min(capacityBytes, DEFAULT_MAX_ENTRY_BYTES));
+  }
+
+  public HttpResponseCache(long capacityBytes, long maxEntryBytes) {
+    HttpUtils.checkArgument(capacityBytes > 0, "Response cache capacity must be positive");
+    HttpUtils.checkArgument(
+        maxEntryBytes > 0 && maxEntryBytes <= capacityBytes && maxEntryBytes < Integer.MAX_VALUE,
+        "Maximum response cache entry size must be positive and not exceed the capacity");
+    this.capacityBytes = capacityBytes;
+    this.maxEntryBytes = (int) maxEntryBytes;
+  }
+
+  /** Returns the cached response for the given URI or {@code null}. */
+  public ResponseContext lookup(URI uri) {
+    synchronized (entries) {
+      return entries.get(uri);
+    }
+  }
+
+  /**
+   * Caches the given response, if it is cacheable, and returns a response context to be used
+   * instead of the given one, because the body of the given response has been consumed, at least
+   * partially. Non-cacheable responses are returned as is.
+   */
+  public ResponseContext store(URI uri, ResponseContext response) {
+    String etag = response.getHeader(HEADER_ETAG);
+    if (etag == null || !isImmutable(response.getHeader(HEADER_CACHE_CONTROL))) {
+      return response;
+    }
+
+    byte[] body;
+    try {
+      if (response.getResponseCode() != Status.OK) {
+        return response;
+      }
+      InputStream in = response.getInputStream();
+      body = readAtMost(in, maxEntryBytes + 1);
+      if (body.length > maxEntryBytes) {
+        // Too large to cache, stream the rest of the body.
+        return new PartiallyReadResponse(response, body, in);
+      }
+      in.close();
+    } catch (IOException e) {
+      throw new HttpClientException(
+          String.format("Failed to read response from '%s'.", response.getRequestedUri()), e);
+    }
+
+    CachedResponse cached = new CachedResponse(uri, response.getContentType(), etag, body);
+    synchronized (entries) {
+      CachedResponse previous = entries.put(uri, cached);
+      if (previous != null) {
+        sizeBytes -= previous.body.length;
+      }
+      sizeBytes += body.length;
+      for (Iterator<CachedResponse> it = entries.values().iterator();
+          sizeBytes > capacityBytes && it.hasNext(); ) {
+        sizeBytes -= it.next().body.length;
+        it.remove();
+      }
+    }
+    return cached;
+  }
+
+  /** Number of cached responses. */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /** Total size of the cached response bodies in bytes. */
+  public long sizeBytes() {
+    synchronized (entries) {
+      return sizeBytes;
+    }
+  }
+
+  static boolean isImmutable(String cacheControl) {
+    if (cacheControl == null) {
+      return false;
+    }
+    boolean immutable = false;
+    for (String directive : cacheControl.split(",")) {
+      String d = directive.trim().toLowerCase(Locale.ROOT);
+      if (d.equals("no-store") || d.equals("no-cache")) {
+        return false;
+      }
+      immutable |= d.equals("immutable");
+    }
+    return immutable;
+  }
+
+  /** Reads the stream until its end, but at most {@code limit} bytes, without closing it. */
+  private static byte[] readAtMost(InputStream in, int limit) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[8192];
+    while (out.size() < limit) {
+      int rd = in.read(buf, 0, Math.min(buf.length, limit - out.size()));
+      if (rd < 0) {
+        break;
+      }
+      out.write(buf, 0, rd);
+    }
+    return out.toByteArray();
+  }
+
+  /** A response whose body has been read partially, to be returned instead of the original. */
+  private static final class PartiallyReadResponse implements ResponseContext {
+    private final ResponseContext response;
+    private final InputStream body;
+
+    PartiallyReadResponse(ResponseContext response, byte[] head, InputStream rest) {
+      this.response = response;
+      this.body = new SequenceInputStream(new ByteArrayInputStream(head), rest);
+    }
+
+    @Override
+    public Status getResponseCode() throws IOException {
+      return response.getResponseCode();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return body;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return body;
+    }
+
+    @Override
+    public String getContentType() {
+      return response.getContentType();
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return response.getHeader(name);
+    }
+
+    @Override
+    public URI getRequestedUri() {
+      return response.getRequestedUri();
+    }
+  }
+
+  private static final class CachedResponse implements ResponseContext {
+    private final URI uri;
+    private final String contentType;
+    private final String etag;
+    private final byte[] body;
+
+    CachedResponse(URI uri, String contentType, String etag, byte[] body) {
+      this.uri = uri;
+      this.contentType = contentType;
+      this.etag = etag;
+      this.body = body;
+    }
+
+    @Override
+    public Status getResponseCode() {
+      return Status.OK;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return getInputStream();
+    }
+
+    @Override
+    public String getContentType() {
+      return contentType;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      if (HEADER_ETAG.equalsIgnoreCase(name)) {
+        return etag;
+      }
+      if (HEADER_CONTENT_TYPE.equalsIgnoreCase(name)) {
+        return contentType;
+      }
+      return null;
+    }
+
+    @Override
+    public URI getRequestedUri() {
+      return uri;
+    }
+  }
+}
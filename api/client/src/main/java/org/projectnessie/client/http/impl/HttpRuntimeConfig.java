@@ -78,6 +78,11 @@ public interface HttpRuntimeConfig extends AutoCloseable {
   @jakarta.annotation.Nullable
   SSLParameters getSslParameters();
 
+  /** Cache for immutable responses, {@code null} if response caching is disabled. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  HttpResponseCache getResponseCache();
+
   @Value.Default
   default boolean isHttp11Only() {
     // TODO Jersey/Grizzly has a serious bug that prevents it from working with Java's new HTTP
@@ -98,6 +103,18 @@ public interface HttpRuntimeConfig extends AutoCloseable {
     return false;
   }
 
+  /** Maximum number of requests in flight, {@code 0} means unlimited. */
+  @Value.Default
+  default int getMaxConcurrentRequests() {
+    return 0;
+  }
+
+  /** Number of threads serializing request bodies, {@code 0} means a CPU based default. */
+  @Value.Default
+  default int getWriterThreads() {
+    return 0;
+  }
+
   @Value.Default
   default int getClientSpec() {
     return 2;
@@ -29,6 +29,8 @@ public final class HttpUtils {
   public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
   public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
   public static final String HEADER_CONTENT_TYPE = "Content-Type";
+  public static final String HEADER_CACHE_CONTROL = "Cache-Control";
+  public static final String HEADER_ETAG = "ETag";
 
   private HttpUtils() {}
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl.jdk11;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the requests in flight for a {@link JavaHttpClient} and optionally limits their number.
+ *
+ * <p>A request is in flight from the moment it is sent until its response body has been received
+ * or closed, because until then it occupies a connection. With HTTP/1.1 the limit therefore
+ * effectively bounds the size of the connection pool. With HTTP/2 it bounds the number of streams
+ * multiplexed over the connection.
+ *
+ * <p>Requests exceeding the limit wait in a single FIFO queue, so that synchronous and
+ * asynchronous requests get slots in the order they arrived. Asynchronous requests are started
+ * when a slot is handed over to them, without blocking the calling thread. Synchronous requests
+ * block until they got a slot.
+ */
+final class InFlightRequests {
+
+  /**
+   * Asynchronous requests to be started by the current thread. A request can complete and release
+   * its slot while it is being started, which hands the slot to the next queued request. Starting
+   * that one from a loop, instead of from within the release, avoids unbounded recursion.
+   */
+  private static final ThreadLocal<ArrayDeque<Runnable>> STARTING = new ThreadLocal<>();
+
+  private final int limit;
+  private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+  private int inFlight;
+
+  /**
+   * @param limit the maximum number of requests in flight, {@code 0} or a negative value means
+   *     unlimited.
+   */
+  InFlightRequests(int limit) {
+    this.limit = limit;
+  }
+
+  /**
+   * Acquires a slot, blocking until one is available. The caller must {@linkplain Slot#close()
+   * close} the slot once the response body has been received or closed.
+   */
+  Slot acquire() throws InterruptedException {
+    Waiter waiter = new Waiter(null);
+    synchronized (this) {
+      if (waiters.isEmpty() && hasCapacity()) {
+        inFlight++;
+        return new Slot();
+      }
+      waiters.add(waiter);
+      try {
+        while (!waiter.granted) {
+          wait();
+        }
+        return new Slot();
+      } catch (InterruptedException e) {
+        if (!waiter.granted) {
+          waiters.remove(waiter);
+          throw e;
+        }
+      }
+    }
+    // The slot was handed over concurrently with the interrupt, pass it on.
+    release();
+    throw new InterruptedException();
+  }
+
+  /**
+   * Starts the given asynchronous request once a slot is available. The slot is released when the
+   * future returned by the request completes, so the request must have received the complete
+   * response body by then.
+   */
+  <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> request) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Runnable start =
+        () -> {
+          Slot slot = new Slot();
+          CompletableFuture<T> future;
+          try {
+            future = request.get();
+          } catch (RuntimeException e) {
+            slot.close();
+            result.completeExceptionally(e);
+            return;
+          }
+          future.whenComplete(
+              (r, t) -> {
+                slot.close();
+                if (t != null) {
+                  result.completeExceptionally(t);
+                } else {
+                  result.complete(r);
+                }
+              });
+        };
+
+    synchronized (this) {
+      if (!waiters.isEmpty() || !hasCapacity()) {
+        waiters.add(new Waiter(start));
+        return result;
+      }
+      inFlight++;
+    }
+    startAsync(start);
+    return result;
+  }
+
+  private boolean hasCapacity() {
+    return limit <= 0 || inFlight < limit;
+  }
+
+  private void release() {
+    Runnable start;
+    synchronized (this) {
+      // Hand the slot over to the longest waiting request, if any.
+      Waiter next = waiters.poll();
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+      if (next.start == null) {
+        next.granted = true;
+        notifyAll();
+        return;
+      }
+      start = next.start;
+    }
+    startAsync(start);
+  }
+
+  private static void startAsync(Runnable start) {
+    ArrayDeque<Runnable> starting = STARTING.get();
+    if (starting != null) {
+      // Already starting requests further up the stack of this thread.
+      starting.add(start);
+      return;
+    }
+    starting = new ArrayDeque<>();
+    STARTING.set(starting);
+    try {
+      for (Runnable next = start; next != null; next = starting.poll()) {
+        next.run();
+      }
+    } finally {
+      STARTING.remove();
+    }
+  }
+
+  /** The number of requests currently in flight. */
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  /** The number of requests waiting for a slot. */
+  synchronized int queued() {
+    return waiters.size();
+  }
+
+  /** A request waiting for a slot, either a blocked thread or an asynchronous request. */
+  private static final class Waiter {
+    /** Starts an asynchronous request, {@code null} for a blocked synchronous request. */
+    final Runnable start;
+
+    /** Whether the slot has been handed over to a synchronous request, guarded by the queue. */
+    boolean granted;
+
+    Waiter(Runnable start) {
+      this.start = start;
+    }
+  }
+
+  /** An acquired slot, releasing it more than once has no effect. */
+  final class Slot implements AutoCloseable {
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        release();
+      }
+    }
+  }
+}
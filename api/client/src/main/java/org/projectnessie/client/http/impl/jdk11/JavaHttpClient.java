@@ -15,13 +15,27 @@
  */
 package org.projectnessie.client.http.impl.jdk11;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
 import java.time.Duration;
 import java.util.Locale;
-import org.projectnessie.client.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import org.projectnessie.client.http.impl.BlockingCallExecutor;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 
 /**
@@ -36,9 +50,56 @@ import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 public final class JavaHttpClient implements org.projectnessie.client.http.HttpClient {
   final HttpRuntimeConfig config;
   private HttpClient client;
+  private final InFlightRequests inFlightRequests;
+
+  /**
+   * Executor used to serialize the request object to JSON.
+   *
+   * <p>Java's new {@link HttpClient} uses the {@link Flow.Publisher}/{@link Flow.Subscriber}/{@link
+   * Flow.Subscription} mechanism to write and read request and response data. We have to use that
+   * protocol. Since none of the implementations must block, writes and reads run in a separate
+   * pool.
+   *
+   * <p>Jackson has no "reactive" serialization mechanism, which means that we have to provide a
+   * custom {@link OutputStream}, which delegates {@link Flow.Subscriber#onNext(Object) writes} to
+   * the subscribing code.
+   */
+  private final ForkJoinPool writerPool;
+
+  private final BlockingCallExecutor executor;
+
+  private final JavaRequest.HttpExchange exchange =
+      new JavaRequest.HttpExchange() {
+        @Override
+        public HttpResponse<InputStream> send(HttpRequest request)
+            throws IOException, InterruptedException {
+          InFlightRequests.Slot slot = inFlightRequests.acquire();
+          try {
+            // The request stays in flight until its response body has been read or closed.
+            return client.send(request, info -> releasingBody(info, slot));
+          } catch (IOException | InterruptedException | RuntimeException | Error e) {
+            slot.close();
+            throw e;
+          }
+        }
+
+        @Override
+        public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request, BodyHandler<T> responseBodyHandler) {
+          return inFlightRequests.callAsync(() -> client.sendAsync(request, responseBodyHandler));
+        }
+      };
 
   public JavaHttpClient(HttpRuntimeConfig config) {
     this.config = config;
+    this.inFlightRequests = new InFlightRequests(config.getMaxConcurrentRequests());
+    this.executor = new BlockingCallExecutor(config.getMaxConcurrentRequests());
+    int writerThreads = config.getWriterThreads();
+    this.writerPool =
+        new ForkJoinPool(
+            writerThreads > 0
+                ? writerThreads
+                : Math.max(8, ForkJoinPool.getCommonPoolParallelism()));
 
     HttpClient.Builder clientBuilder =
         HttpClient.newBuilder()
@@ -63,9 +124,78 @@ public final class JavaHttpClient implements org.projectnessie.client.http.HttpC
     client = clientBuilder.build();
   }
 
+  private static BodySubscriber<InputStream> releasingBody(
+      ResponseInfo info, InFlightRequests.Slot slot) {
+    if (info.statusCode() == 204
+        || "0".equals(info.headers().firstValue("Content-Length").orElse(null))) {
+      // No body to wait for.
+      slot.close();
+      return BodySubscribers.ofInputStream();
+    }
+    return BodySubscribers.mapping(
+        BodySubscribers.ofInputStream(), body -> new ReleasingInputStream(body, slot));
+  }
+
+  /** Releases the slot of a request once its response body has been read or closed. */
+  private static final class ReleasingInputStream extends FilterInputStream {
+    private final InFlightRequests.Slot slot;
+
+    ReleasingInputStream(InputStream body, InFlightRequests.Slot slot) {
+      super(body);
+      this.slot = slot;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b < 0) {
+        slot.close();
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int rd = super.read(b, off, len);
+      if (rd < 0) {
+        slot.close();
+      }
+      return rd;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        slot.close();
+      }
+    }
+  }
+
+  @Override
+  public org.projectnessie.client.http.HttpRequest newRequest() {
+    return new JavaRequest(this.config, exchange, writerPool);
+  }
+
+  @Override
+  public int inFlightRequests() {
+    return inFlightRequests.inFlight();
+  }
+
+  @Override
+  public int queuedRequests() {
+    return inFlightRequests.queued();
+  }
+
+  @Override
+  public int maxConcurrentRequests() {
+    return config.getMaxConcurrentRequests();
+  }
+
   @Override
-  public HttpRequest newRequest() {
-    return new JavaRequest(this.config, (req, handler) -> client.send(req, handler));
+  public Executor executor() {
+    return executor;
   }
 
   @Override
@@ -76,6 +206,8 @@ public final class JavaHttpClient implements org.projectnessie.client.http.HttpC
   @Override
   public void close() {
     client = null;
+    writerPool.shutdown();
+    executor.shutdown();
     config.close();
   }
 }
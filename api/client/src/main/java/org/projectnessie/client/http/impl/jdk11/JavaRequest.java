@@ -17,9 +17,9 @@ package org.projectnessie.client.http.impl.jdk11;
 
 import static java.lang.Thread.currentThread;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -34,9 +34,10 @@ import java.nio.channels.Channels;
 import java.nio.channels.Pipe;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Flow;
-import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import org.projectnessie.client.http.HttpClient.Method;
 import org.projectnessie.client.http.HttpClientException;
@@ -55,30 +56,39 @@ import org.slf4j.LoggerFactory;
 final class JavaRequest extends BaseHttpRequest {
 
   /**
-   * A functional interface that is used to send an {@link HttpRequest} and return an {@link
-   * HttpResponse} without leaking the {@link HttpClient} instance.
+   * Sends an {@link HttpRequest} and returns an {@link HttpResponse} without leaking the {@link
+   * HttpClient} instance.
    */
-  @FunctionalInterface
-  interface HttpExchange<T> {
+  interface HttpExchange {
 
     /**
      * Sends the given request using the underlying client, blocking if necessary to get the
-     * response. The returned {@link HttpResponse}{@code <T>} contains the response status, headers,
-     * and body (as handled by given response body handler).
+     * response. The returned {@link HttpResponse} contains the response status, headers, and the
+     * body as a stream, which must be read or closed to complete the request.
      *
      * @see HttpClient#send(HttpRequest, HttpResponse.BodyHandler)
      */
-    HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
-        throws IOException, InterruptedException;
+    HttpResponse<InputStream> send(HttpRequest request) throws IOException, InterruptedException;
+
+    /**
+     * Sends the given request asynchronously using the underlying client. The request is complete
+     * when the returned future completes, so the body handler must receive the complete body.
+     *
+     * @see HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)
+     */
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(
+        HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler);
   }
 
   private static final Logger LOGGER = LoggerFactory.getLogger(JavaRequest.class);
 
-  private final HttpExchange<InputStream> exchange;
+  private final HttpExchange exchange;
+  private final Executor writerPool;
 
-  JavaRequest(HttpRuntimeConfig config, HttpExchange<InputStream> exchange) {
+  JavaRequest(HttpRuntimeConfig config, HttpExchange exchange, Executor writerPool) {
     super(config);
     this.exchange = exchange;
+    this.writerPool = writerPool;
   }
 
   @Override
@@ -86,69 +96,28 @@ final class JavaRequest extends BaseHttpRequest {
       throws HttpClientException {
 
     URI uri = uriBuilder.build();
-
-    HttpRequest.Builder request =
-        HttpRequest.newBuilder().uri(uri).timeout(Duration.ofMillis(config.getReadTimeoutMillis()));
-
-    RequestContext context = new RequestContextImpl(headers, uri, method, body);
-
-    boolean doesOutput = prepareRequest(context);
-
-    for (HttpHeader header : headers.allHeaders()) {
-      for (String value : header.getValues()) {
-        request = request.header(header.getName(), value);
-      }
+    org.projectnessie.client.http.HttpResponse cached = cachedResponse(method, uri);
+    if (cached != null) {
+      return cached;
     }
-
-    BodyPublisher bodyPublisher = doesOutput ? bodyPublisher(context) : BodyPublishers.noBody();
-    request = request.method(method.name(), bodyPublisher);
+    RequestContext context = new RequestContextImpl(headers, uri, method, body);
+    HttpRequest request = buildRequest(context, uri, method);
 
     HttpResponse<InputStream> response = null;
     try {
       try {
         LOGGER.debug("Sending {} request to {} ...", method, uri);
-        response = exchange.send(request.build(), BodyHandlers.ofInputStream());
-      } catch (HttpConnectTimeoutException e) {
-        throw new HttpClientException(
-            String.format(
-                "Timeout connecting to '%s' after %ds",
-                uri, config.getConnectionTimeoutMillis() / 1000),
-            e);
-      } catch (HttpTimeoutException e) {
-        throw new HttpClientReadTimeoutException(
-            String.format(
-                "Cannot finish %s request against '%s'. Timeout while waiting for response with a timeout of %ds",
-                method, uri, config.getReadTimeoutMillis() / 1000),
-            e);
-      } catch (MalformedURLException e) {
-        throw new HttpClientException(
-            String.format("Cannot perform %s request. Malformed Url for %s", method, uri), e);
+        response = exchange.send(request);
       } catch (IOException e) {
-        throw new HttpClientException(
-            String.format("Failed to execute %s request against '%s'.", method, uri), e);
+        throw sendFailure(e, method, uri);
       } catch (InterruptedException e) {
         throw new RuntimeException(e);
       }
 
-      JavaResponseContext responseContext = new JavaResponseContext(response);
-
-      List<BiConsumer<ResponseContext, Exception>> callbacks = context.getResponseCallbacks();
-      if (callbacks != null) {
-        callbacks.forEach(callback -> callback.accept(responseContext, null));
-      }
-
-      config.getResponseFilters().forEach(responseFilter -> responseFilter.filter(responseContext));
-
-      if (response.statusCode() >= 400) {
-        // This mimics the (weird) behavior of java.net.HttpURLConnection.getResponseCode() that
-        // throws an IOException for these status codes.
-        throw new HttpClientException(
-            String.format(
-                "%s request to %s failed with HTTP/%d", method, uri, response.statusCode()));
-      }
-
+      org.projectnessie.client.http.HttpResponse result =
+          processResponse(context, new JavaResponseContext(response), response.statusCode());
       response = null;
-      return config.responseFactory().make(responseContext, config.getMapper());
+      return result;
     } finally {
       if (response != null) {
         try {
@@ -165,6 +134,115 @@ final class JavaRequest extends BaseHttpRequest {
     }
   }
 
+  /**
+   * Sends the request via {@link HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)}, no
+   * thread is blocked while waiting for the response. The response body is received completely
+   * before the returned stage completes, so that reading the entity does not block either.
+   */
+  @Override
+  public CompletionStage<org.projectnessie.client.http.HttpResponse> executeRequestAsync(
+      Method method, Object body) {
+
+    URI uri;
+    RequestContext context;
+    HttpRequest request;
+    try {
+      uri = uriBuilder.build();
+      org.projectnessie.client.http.HttpResponse cached = cachedResponse(method, uri);
+      if (cached != null) {
+        return CompletableFuture.completedFuture(cached);
+      }
+      context = new RequestContextImpl(headers, uri, method, body);
+      request = buildRequest(context, uri, method);
+    } catch (RuntimeException e) {
+      CompletableFuture<org.projectnessie.client.http.HttpResponse> failed =
+          new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+
+    LOGGER.debug("Sending async {} request to {} ...", method, uri);
+    return exchange
+        .sendAsync(request, BodyHandlers.ofByteArray())
+        .handle(
+            (response, failure) -> {
+              if (failure != null) {
+                if (failure instanceof CompletionException && failure.getCause() != null) {
+                  failure = failure.getCause();
+                }
+                if (failure instanceof IOException) {
+                  throw sendFailure((IOException) failure, method, uri);
+                }
+                throw new CompletionException(failure);
+              }
+              JavaResponseContext responseContext =
+                  new JavaResponseContext(response, new ByteArrayInputStream(response.body()));
+              return processResponse(context, responseContext, response.statusCode());
+            });
+  }
+
+  private HttpRequest buildRequest(RequestContext context, URI uri, Method method) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder().uri(uri).timeout(Duration.ofMillis(config.getReadTimeoutMillis()));
+
+    boolean doesOutput = prepareRequest(context);
+
+    for (HttpHeader header : headers.allHeaders()) {
+      for (String value : header.getValues()) {
+        request = request.header(header.getName(), value);
+      }
+    }
+
+    BodyPublisher bodyPublisher = doesOutput ? bodyPublisher(context) : BodyPublishers.noBody();
+    return request.method(method.name(), bodyPublisher).build();
+  }
+
+  private HttpClientException sendFailure(IOException e, Method method, URI uri) {
+    if (e instanceof HttpConnectTimeoutException) {
+      return new HttpClientException(
+          String.format(
+              "Timeout connecting to '%s' after %ds",
+              uri, config.getConnectionTimeoutMillis() / 1000),
+          e);
+    }
+    if (e instanceof HttpTimeoutException) {
+      return new HttpClientReadTimeoutException(
+          String.format(
+              "Cannot finish %s request against '%s'. Timeout while waiting for response with a timeout of %ds",
+              method, uri, config.getReadTimeoutMillis() / 1000),
+          e);
+    }
+    if (e instanceof MalformedURLException) {
+      return new HttpClientException(
+          String.format("Cannot perform %s request. Malformed Url for %s", method, uri), e);
+    }
+    return new HttpClientException(
+        String.format("Failed to execute %s request against '%s'.", method, uri), e);
+  }
+
+  private org.projectnessie.client.http.HttpResponse processResponse(
+      RequestContext context, JavaResponseContext responseContext, int statusCode) {
+    List<BiConsumer<ResponseContext, Exception>> callbacks = context.getResponseCallbacks();
+    if (callbacks != null) {
+      callbacks.forEach(callback -> callback.accept(responseContext, null));
+    }
+
+    config.getResponseFilters().forEach(responseFilter -> responseFilter.filter(responseContext));
+
+    if (statusCode >= 400) {
+      // This mimics the (weird) behavior of java.net.HttpURLConnection.getResponseCode() that
+      // throws an IOException for these status codes.
+      throw new HttpClientException(
+          String.format(
+              "%s request to %s failed with HTTP/%d",
+              context.getMethod(), context.getUri(), statusCode));
+    }
+
+    return config
+        .responseFactory()
+        .make(cacheResponse(context, responseContext), config.getMapper());
+  }
+
   private BodyPublisher bodyPublisher(RequestContext context) {
     ClassLoader cl = getClass().getClassLoader();
     return BodyPublishers.ofInputStream(
@@ -192,19 +270,4 @@ final class JavaRequest extends BaseHttpRequest {
           }
         });
   }
-
-  /**
-   * Executor used to serialize the response object to JSON.
-   *
-   * <p>Java's new {@link HttpClient} uses the {@link Flow.Publisher}/{@link Flow.Subscriber}/{@link
-   * Flow.Subscription} mechanism to write and read request and response data. We have to use that
-   * protocol. Since none of the implementations must block, writes and reads run in a separate
-   * pool.
-   *
-   * <p>Jackson has no "reactive" serialization mechanism, which means that we have to provide a
-   * custom {@link OutputStream}, which delegates {@link Flow.Subscriber#onNext(Object) writes} to
-   * the subscribing code.
-   */
-  private static final Executor writerPool =
-      new ForkJoinPool(Math.max(8, ForkJoinPool.getCommonPoolParallelism()));
 }
@@ -37,14 +37,22 @@ import org.projectnessie.client.http.Status;
 @SuppressWarnings("Since15") // IntelliJ warns about new APIs. 15 is misleading, it means 11
 final class JavaResponseContext implements ResponseContext {
 
-  private final HttpResponse<InputStream> response;
+  private final HttpResponse<?> response;
   private final InputStream inputStream;
 
   JavaResponseContext(HttpResponse<InputStream> response) {
+    this(response, response.body());
+  }
+
+  /**
+   * Creates a response context for the given response, whose body has already been received, for
+   * example as a byte array by an asynchronous request.
+   */
+  JavaResponseContext(HttpResponse<?> response, InputStream body) {
     this.response = response;
 
     try {
-      this.inputStream = maybeDecompress();
+      this.inputStream = maybeDecompress(body);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -70,13 +78,17 @@ final class JavaResponseContext implements ResponseContext {
     return response.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null);
   }
 
+  @Override
+  public String getHeader(String name) {
+    return response.headers().firstValue(name).orElse(null);
+  }
+
   @Override
   public URI getRequestedUri() {
     return response.uri();
   }
 
-  private InputStream maybeDecompress() throws IOException {
-    InputStream base = response.body();
+  private InputStream maybeDecompress(InputStream base) throws IOException {
     String contentEncoding = response.headers().firstValue(HEADER_CONTENT_ENCODING).orElse("");
     if (GZIP.equals(contentEncoding)) {
       return new GZIPInputStream(base);
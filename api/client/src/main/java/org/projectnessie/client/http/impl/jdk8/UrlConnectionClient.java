@@ -16,8 +16,10 @@
 package org.projectnessie.client.http.impl.jdk8;
 
 import java.net.URI;
+import java.util.concurrent.Executor;
 import org.projectnessie.client.http.HttpClient;
 import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.http.impl.BlockingCallExecutor;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 
 /**
@@ -32,6 +34,7 @@ public final class UrlConnectionClient implements HttpClient {
       "Nessie's URLConnection client does not support the configuration options to specify SSL parameters. Switch to Java 11 instead.";
 
   private final HttpRuntimeConfig config;
+  private final BlockingCallExecutor executor;
 
   /**
    * Construct an HTTP client with a universal Accept header.
@@ -43,11 +46,12 @@ public final class UrlConnectionClient implements HttpClient {
     if (config.getSslParameters() != null) {
       throw new IllegalArgumentException(UNSUPPORTED_CONFIG_MESSAGE);
     }
+    this.executor = new BlockingCallExecutor(config.getMaxConcurrentRequests());
   }
 
   @Override
   public HttpRequest newRequest() {
-    return new UrlConnectionRequest(config);
+    return new UrlConnectionRequest(config, executor);
   }
 
   @Override
@@ -55,8 +59,14 @@ public final class UrlConnectionClient implements HttpClient {
     return config.getBaseUri();
   }
 
+  @Override
+  public Executor executor() {
+    return executor;
+  }
+
   @Override
   public void close() {
+    executor.shutdown();
     config.close();
   }
 }
@@ -24,8 +24,11 @@ import java.net.ProtocolException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import javax.net.ssl.HttpsURLConnection;
+import org.projectnessie.client.builder.AsyncUtil;
 import org.projectnessie.client.http.HttpClient.Method;
 import org.projectnessie.client.http.HttpClientException;
 import org.projectnessie.client.http.HttpClientReadTimeoutException;
@@ -40,13 +43,25 @@ import org.projectnessie.client.http.impl.RequestContextImpl;
 /** Class to hold an ongoing HTTP request and its parameters/filters. */
 final class UrlConnectionRequest extends BaseHttpRequest {
 
-  UrlConnectionRequest(HttpRuntimeConfig config) {
+  private final Executor executor;
+
+  UrlConnectionRequest(HttpRuntimeConfig config, Executor executor) {
     super(config);
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletionStage<HttpResponse> executeRequestAsync(Method method, Object body) {
+    return AsyncUtil.supplyAsync(executor, () -> executeRequest(method, body));
   }
 
   @Override
   public HttpResponse executeRequest(Method method, Object body) throws HttpClientException {
     URI uri = uriBuilder.build();
+    HttpResponse cached = cachedResponse(method, uri);
+    if (cached != null) {
+      return cached;
+    }
     try {
       HttpURLConnection con = (HttpURLConnection) uri.toURL().openConnection();
       con.setReadTimeout(config.getReadTimeoutMillis());
@@ -85,7 +100,9 @@ final class UrlConnectionRequest extends BaseHttpRequest {
 
       config.getResponseFilters().forEach(responseFilter -> responseFilter.filter(responseContext));
 
-      return config.responseFactory().make(responseContext, config.getMapper());
+      return config
+          .responseFactory()
+          .make(cacheResponse(context, responseContext), config.getMapper());
     } catch (ProtocolException e) {
       throw new HttpClientException(
           String.format("Cannot perform request against '%s'. Invalid protocol %s", uri, method),
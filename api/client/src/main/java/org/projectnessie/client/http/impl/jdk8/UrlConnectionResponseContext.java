@@ -59,6 +59,11 @@ final class UrlConnectionResponseContext implements ResponseContext {
     return connection.getHeaderField(HEADER_CONTENT_TYPE);
   }
 
+  @Override
+  public String getHeader(String name) {
+    return connection.getHeaderField(name);
+  }
+
   @Override
   public URI getRequestedUri() {
     return uri;
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.rest.v1;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.client.builder.BaseCommitMultipleOperationsBuilder;
 import org.projectnessie.error.NessieConflictException;
 import org.projectnessie.error.NessieNotFoundException;
@@ -39,4 +40,9 @@ final class HttpCommitMultipleOperations extends BaseCommitMultipleOperationsBui
     throw new UnsupportedOperationException(
         "Extended commit response data is not available in API v1");
   }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.rest.v1;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v1.params.ReferencesParams;
 import org.projectnessie.client.builder.BaseGetAllReferencesBuilder;
 import org.projectnessie.model.ReferencesResponse;
@@ -41,4 +42,9 @@ final class HttpGetAllReferences extends BaseGetAllReferencesBuilder<ReferencesP
   protected ReferencesResponse get(ReferencesParams p) {
     return client.getTreeApi().getAllReferences(p);
   }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
@@ -16,6 +16,7 @@
 package org.projectnessie.client.rest.v1;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import org.projectnessie.client.builder.BaseGetContentBuilder;
 import org.projectnessie.error.NessieNotFoundException;
@@ -51,4 +52,9 @@ final class HttpGetContent extends BaseGetContentBuilder {
     throw new UnsupportedOperationException(
         "Extended contents response data is not available in API v1");
   }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
@@ -16,6 +16,7 @@
 package org.projectnessie.client.rest.v1;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v1.params.EntriesParams;
 import org.projectnessie.client.api.GetEntriesBuilder;
 import org.projectnessie.client.builder.BaseGetEntriesBuilder;
@@ -76,4 +77,9 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
     }
     return client.getTreeApi().getEntries(refName, p);
   }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
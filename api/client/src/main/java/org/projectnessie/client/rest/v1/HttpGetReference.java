@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.rest.v1;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v1.params.GetReferenceParams;
 import org.projectnessie.client.builder.BaseGetReferenceBuilder;
 import org.projectnessie.error.NessieNotFoundException;
@@ -34,4 +35,9 @@ final class HttpGetReference extends BaseGetReferenceBuilder {
         .getReferenceByName(
             GetReferenceParams.builder().refName(refName).fetchOption(fetchOption).build());
   }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
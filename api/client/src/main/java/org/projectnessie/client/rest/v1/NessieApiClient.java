@@ -16,6 +16,8 @@
 package org.projectnessie.client.rest.v1;
 
 import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.projectnessie.api.v1.http.HttpConfigApi;
 import org.projectnessie.api.v1.http.HttpContentApi;
 import org.projectnessie.api.v1.http.HttpDiffApi;
@@ -62,6 +64,14 @@ public class NessieApiClient implements Closeable {
     return namespace;
   }
 
+  /**
+   * Executor for the blocking calls of asynchronous requests, the default uses the {@link
+   * ForkJoinPool#commonPool() common pool}.
+   */
+  public Executor executor() {
+    return ForkJoinPool.commonPool();
+  }
+
   @Override
   public void close() {}
 }
@@ -19,6 +19,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v1.http.HttpConfigApi;
 import org.projectnessie.api.v1.http.HttpContentApi;
 import org.projectnessie.api.v1.http.HttpDiffApi;
@@ -46,6 +47,11 @@ public final class RestV1Client extends NessieApiClient {
     this.httpClient = client;
   }
 
+  @Override
+  public Executor executor() {
+    return httpClient.executor();
+  }
+
   @Override
   public void close() {
     this.httpClient.close();
@@ -15,8 +15,11 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.projectnessie.client.builder.BaseCommitMultipleOperationsBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieConflictException;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Branch;
@@ -39,12 +42,28 @@ final class HttpCommitMultipleOperations extends BaseCommitMultipleOperationsBui
   public CommitResponse commitWithResponse()
       throws NessieNotFoundException, NessieConflictException {
 
-    return client
-        .newRequest()
-        .path("trees/{ref}/history/commit")
-        .resolveTemplate("ref", Reference.toPathString(branchName, hash))
+    return request()
         .unwrap(NessieNotFoundException.class, NessieConflictException.class)
         .post(operations.build())
         .readEntity(CommitResponse.class);
   }
+
+  @Override
+  public CompletionStage<CommitResponse> commitWithResponseAsync() {
+    return request()
+        .postAsync(operations.build())
+        .thenApply(r -> r.readEntity(CommitResponse.class));
+  }
+
+  private HttpRequest request() {
+    return client
+        .newRequest()
+        .path("trees/{ref}/history/commit")
+        .resolveTemplate("ref", Reference.toPathString(branchName, hash));
+  }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
@@ -15,9 +15,12 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.params.ReferencesParams;
 import org.projectnessie.client.builder.BaseGetAllReferencesBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.ReferencesResponse;
 
@@ -41,14 +44,26 @@ final class HttpGetAllReferences extends BaseGetAllReferencesBuilder<ReferencesP
 
   @Override
   protected ReferencesResponse get(ReferencesParams p) {
+    return request(p).get().readEntity(ReferencesResponse.class);
+  }
+
+  @Override
+  protected CompletionStage<ReferencesResponse> getAsync(ReferencesParams p) {
+    return request(p).getAsync().thenApply(r -> r.readEntity(ReferencesResponse.class));
+  }
+
+  private HttpRequest request(ReferencesParams p) {
     return client
         .newRequest()
         .path("trees")
         .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()))
         .queryParam("max-records", p.maxRecords())
         .queryParam("page-token", p.pageToken())
-        .queryParam("filter", p.filter())
-        .get()
-        .readEntity(ReferencesResponse.class);
+        .queryParam("filter", p.filter());
+  }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
   }
 }
@@ -15,12 +15,15 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.CommitLogParams;
 import org.projectnessie.client.builder.BaseGetCommitLogBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.LogResponse;
+import org.projectnessie.model.LogResponse.LogEntry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
@@ -44,6 +47,26 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
 
   @Override
   protected LogResponse get(CommitLogParams p) throws NessieNotFoundException {
+    return request(p).unwrap(NessieNotFoundException.class).get().readEntity(LogResponse.class);
+  }
+
+  @Override
+  public Stream<LogEntry> stream() throws NessieNotFoundException {
+    if (!incrementalParsing) {
+      return super.stream();
+    }
+    CommitLogParams p = params();
+    return new StreamingPages<>(
+            "logEntries",
+            LogEntry.class,
+            pageToken ->
+                request(p.forNextPage(pageToken)).unwrap(NessieNotFoundException.class).get(),
+            client.executor(),
+            StreamingPages.spareRequestSlot(client))
+        .stream();
+  }
+
+  private HttpRequest request(CommitLogParams p) {
     return client
         .newRequest()
         .path("trees/{ref}/history")
@@ -54,9 +77,6 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
         .queryParam("page-token", p.pageToken())
         .queryParam("filter", p.filter())
         .queryParam("limit-hash", p.startHash())
-        .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()))
-        .unwrap(NessieNotFoundException.class)
-        .get()
-        .readEntity(LogResponse.class);
+        .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()));
   }
 }
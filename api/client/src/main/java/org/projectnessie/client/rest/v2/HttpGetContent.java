@@ -16,8 +16,12 @@
 package org.projectnessie.client.rest.v2;
 
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import org.projectnessie.client.builder.AsyncUtil;
 import org.projectnessie.client.builder.BaseGetContentBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
@@ -39,6 +43,26 @@ final class HttpGetContent extends BaseGetContentBuilder {
 
   @Override
   public ContentResponse getSingle(ContentKey key) throws NessieNotFoundException {
+    return singleContentRequest(key)
+        .unwrap(NessieNotFoundException.class)
+        .get()
+        .readEntity(ContentResponse.class);
+  }
+
+  @Override
+  public CompletionStage<ContentResponse> getSingleAsync(ContentKey key) {
+    HttpRequest singleContentRequest;
+    try {
+      singleContentRequest = singleContentRequest(key);
+    } catch (IllegalStateException e) {
+      return AsyncUtil.failedStage(e);
+    }
+    return singleContentRequest
+        .getAsync()
+        .thenApply(response -> response.readEntity(ContentResponse.class));
+  }
+
+  private HttpRequest singleContentRequest(ContentKey key) {
     if (!request.build().getRequestedKeys().isEmpty()) {
       throw new IllegalStateException(
           "Must not use getSingle() with key() or keys(), pass the single key to getSingle()");
@@ -47,20 +71,33 @@ final class HttpGetContent extends BaseGetContentBuilder {
         .newRequest()
         .path("trees/{ref}/contents/{key}")
         .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef))
-        .resolveTemplate("key", key.toPathString())
-        .unwrap(NessieNotFoundException.class)
-        .get()
-        .readEntity(ContentResponse.class);
+        .resolveTemplate("key", key.toPathString());
   }
 
   @Override
   public GetMultipleContentsResponse getWithResponse() throws NessieNotFoundException {
-    return client
-        .newRequest()
-        .path("trees/{ref}/contents")
-        .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef))
+    return contentsRequest()
         .unwrap(NessieNotFoundException.class)
         .post(request.build())
         .readEntity(GetMultipleContentsResponse.class);
   }
+
+  @Override
+  public CompletionStage<GetMultipleContentsResponse> getWithResponseAsync() {
+    return contentsRequest()
+        .postAsync(request.build())
+        .thenApply(response -> response.readEntity(GetMultipleContentsResponse.class));
+  }
+
+  private HttpRequest contentsRequest() {
+    return client
+        .newRequest()
+        .path("trees/{ref}/contents")
+        .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef));
+  }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
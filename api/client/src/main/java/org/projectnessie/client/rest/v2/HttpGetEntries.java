@@ -15,6 +15,9 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.EntriesParams;
 import org.projectnessie.client.builder.BaseGetEntriesBuilder;
 import org.projectnessie.client.http.HttpClient;
@@ -22,6 +25,7 @@ import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
@@ -48,6 +52,31 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
 
   @Override
   protected EntriesResponse get(EntriesParams p) throws NessieNotFoundException {
+    return request(p).unwrap(NessieNotFoundException.class).get().readEntity(EntriesResponse.class);
+  }
+
+  @Override
+  protected CompletionStage<EntriesResponse> getAsync(EntriesParams p) {
+    return request(p).getAsync().thenApply(r -> r.readEntity(EntriesResponse.class));
+  }
+
+  @Override
+  public Stream<Entry> stream() throws NessieNotFoundException {
+    if (!incrementalParsing) {
+      return super.stream();
+    }
+    EntriesParams p = params();
+    return new StreamingPages<>(
+            "entries",
+            Entry.class,
+            pageToken ->
+                request(p.forNextPage(pageToken)).unwrap(NessieNotFoundException.class).get(),
+            client.executor(),
+            StreamingPages.spareRequestSlot(client))
+        .stream();
+  }
+
+  private HttpRequest request(EntriesParams p) {
     HttpRequest req =
         client
             .newRequest()
@@ -70,6 +99,11 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
     if (k != null) {
       req.queryParam("prefix-key", k.toPathString());
     }
-    return req.unwrap(NessieNotFoundException.class).get().readEntity(EntriesResponse.class);
+    return req;
+  }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
   }
 }
@@ -15,8 +15,11 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.projectnessie.client.builder.BaseGetReferenceBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.Reference;
@@ -32,14 +35,30 @@ final class HttpGetReference extends BaseGetReferenceBuilder {
 
   @Override
   public Reference get() throws NessieNotFoundException {
-    return client
-        .newRequest()
-        .path("trees/{ref}")
-        .queryParam("fetch", FetchOption.getFetchOptionName(fetchOption))
-        .resolveTemplate("ref", refName)
+    return request()
         .unwrap(NessieNotFoundException.class)
         .get()
         .readEntity(SingleReferenceResponse.class)
         .getReference();
   }
+
+  @Override
+  public CompletionStage<Reference> getAsync() {
+    return request()
+        .getAsync()
+        .thenApply(r -> r.readEntity(SingleReferenceResponse.class).getReference());
+  }
+
+  private HttpRequest request() {
+    return client
+        .newRequest()
+        .path("trees/{ref}")
+        .queryParam("fetch", FetchOption.getFetchOptionName(fetchOption))
+        .resolveTemplate("ref", refName);
+  }
+
+  @Override
+  protected Executor executor() {
+    return client.executor();
+  }
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.projectnessie.client.builder.AsyncUtil;
+import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.client.http.HttpResponse;
+import org.projectnessie.error.ImmutableNessieError;
+import org.projectnessie.error.NessieNotFoundException;
+import org.projectnessie.error.NessieRuntimeException;
+import org.projectnessie.model.PaginatedResponse;
+
+/**
+ * Streams the entries of a {@link PaginatedResponse paged response} by walking the JSON token
+ * stream of each page, instead of deserializing each page as a whole. Only one entry is
+ * materialized at a time.
+ *
+ * <p>As soon as the {@code hasMore} and {@code token} attributes of a page have been read, which
+ * the server sends before the entries, the request for the next page is sent using the given
+ * executor, usually the {@link org.projectnessie.client.http.HttpClient#executor() executor of the
+ * HTTP client}. The server prepares the next page while the caller consumes the current one. If
+ * the stream is closed early, a prefetch that has not been sent yet is skipped and the response of
+ * a prefetch in flight is closed once it arrives.
+ *
+ * <p>The current page occupies a request slot of the HTTP client until it has been read, a prefetch
+ * occupies another one. A prefetch is only sent if it does not take the last free slot, see {@link
+ * #spareRequestSlot(HttpClient)}, otherwise the next page is requested after the current page has
+ * been read. This leaves a slot for requests the caller sends while consuming the stream, which
+ * would otherwise wait forever if the client's limit is two or less.
+ *
+ * <p>Like {@link org.projectnessie.client.builder.StreamingUtil}, the first page is requested
+ * eagerly to propagate a {@link NessieNotFoundException}. A {@link NessieNotFoundException} for a
+ * later page is thrown as a {@link NessieRuntimeException} with the same error code, which has the
+ * original exception as its cause.
+ *
+ * @param <E> entry type
+ */
+final class StreamingPages<E> {
+
+  @FunctionalInterface
+  interface PageRequest {
+    HttpResponse send(String pageToken) throws NessieNotFoundException;
+  }
+
+  private final String entriesAttribute;
+  private final Class<E> entryType;
+  private final PageRequest pageRequest;
+  private final Executor executor;
+  private final BooleanSupplier prefetchAllowed;
+
+  StreamingPages(
+      String entriesAttribute,
+      Class<E> entryType,
+      PageRequest pageRequest,
+      Executor executor,
+      BooleanSupplier prefetchAllowed) {
+    this.entriesAttribute = entriesAttribute;
+    this.entryType = entryType;
+    this.pageRequest = pageRequest;
+    this.executor = executor;
+    this.prefetchAllowed = prefetchAllowed;
+  }
+
+  /**
+   * Allows a prefetch while the current page is being read, if the given client has at least two
+   * free request slots: one for the prefetch and one for other requests of the caller.
+   */
+  static BooleanSupplier spareRequestSlot(HttpClient client) {
+    return () -> {
+      int max = client.maxConcurrentRequests();
+      if (max <= 0) {
+        return true;
+      }
+      int inFlight = client.inFlightRequests();
+      return inFlight >= 0 && client.queuedRequests() <= 0 && inFlight + 2 <= max;
+    };
+  }
+
+  Stream<E> stream() throws NessieNotFoundException {
+    PageIterator iterator = new PageIterator(openPage(null));
+    int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+        .onClose(iterator::close);
+  }
+
+  private JsonParser openPage(String pageToken) throws NessieNotFoundException {
+    return pageRequest.send(pageToken).jsonParser();
+  }
+
+  private final class PageIterator implements Iterator<E> {
+    private JsonParser page;
+    private CompletableFuture<JsonParser> nextPage;
+    private boolean inEntries;
+    private boolean hasMore;
+    private boolean tokenRead;
+    private String token;
+    private int entriesInPage;
+    private E next;
+    private volatile boolean closed;
+
+    PageIterator(JsonParser firstPage) {
+      this.page = firstPage;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        try {
+          advance();
+        } catch (IOException e) {
+          close();
+          throw new HttpClientException("Cannot parse response.", e);
+        } catch (RuntimeException e) {
+          close();
+          throw e;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      E entry = next;
+      next = null;
+      return entry;
+    }
+
+    private void advance() throws IOException {
+      while (next == null) {
+        if (page == null) {
+          if (nextPage == null) {
+            return;
+          }
+          page = awaitNextPage();
+          continue;
+        }
+
+        JsonToken t = page.nextToken();
+
+        if (inEntries) {
+          if (t == JsonToken.END_ARRAY) {
+            inEntries = false;
+          } else {
+            next = page.readValueAs(entryType);
+            entriesInPage++;
+          }
+          continue;
+        }
+
+        if (t == null || (t == JsonToken.END_OBJECT && page.getParsingContext().inRoot())) {
+          finishPage();
+          continue;
+        }
+
+        if (t == JsonToken.FIELD_NAME) {
+          String name = page.getCurrentName();
+          t = page.nextToken();
+          if ("hasMore".equals(name)) {
+            hasMore = t == JsonToken.VALUE_TRUE;
+            maybeRequestNextPage(false);
+          } else if ("token".equals(name)) {
+            tokenRead = true;
+            token = t == JsonToken.VALUE_NULL ? null : page.getText();
+            maybeRequestNextPage(false);
+          } else if (entriesAttribute.equals(name) && t == JsonToken.START_ARRAY) {
+            inEntries = true;
+          } else {
+            page.skipChildren();
+          }
+        }
+      }
+    }
+
+    /**
+     * Requests the next page, if its token is known and it has not been requested yet.
+     *
+     * @param pageRead whether the current page has been read, which frees its request slot,
+     *     otherwise the request is a prefetch that is only sent if permitted
+     */
+    private void maybeRequestNextPage(boolean pageRead) {
+      if (hasMore && tokenRead && nextPage == null) {
+        if (!pageRead && !prefetchAllowed.getAsBoolean()) {
+          return;
+        }
+        String pageToken = token;
+        nextPage =
+            AsyncUtil.supplyAsync(executor, () -> prefetchPage(pageToken)).toCompletableFuture();
+      }
+    }
+
+    private JsonParser prefetchPage(String pageToken) throws NessieNotFoundException {
+      if (closed) {
+        throw new CancellationException("Stream closed before the next page was requested");
+      }
+      return openPage(pageToken);
+    }
+
+    private void finishPage() throws IOException {
+      page.close();
+      page = null;
+      if (hasMore) {
+        // an empty returned page is probably an error, let's assume something went wrong
+        if (entriesInPage == 0) {
+          throw new IllegalStateException(
+              "Backend returned empty page, but indicates there are more results");
+        }
+        tokenRead = true;
+        maybeRequestNextPage(true);
+      }
+      hasMore = false;
+      tokenRead = false;
+      token = null;
+      entriesInPage = 0;
+    }
+
+    private JsonParser awaitNextPage() {
+      CompletableFuture<JsonParser> pending = nextPage;
+      nextPage = null;
+      try {
+        return pending.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof NessieNotFoundException) {
+          throw new PageNotFoundException((NessieNotFoundException) cause);
+        }
+        throw new HttpClientException(cause);
+      }
+    }
+
+    void close() {
+      closed = true;
+      if (page != null) {
+        try {
+          page.close();
+        } catch (IOException e) {
+          // ignore
+        }
+        page = null;
+      }
+      if (nextPage != null) {
+        nextPage.thenAccept(
+            p -> {
+              try {
+                p.close();
+              } catch (IOException e) {
+                // ignore
+              }
+            });
+        nextPage = null;
+      }
+    }
+  }
+
+  /** A {@link NessieNotFoundException} thrown while requesting a page after the first one. */
+  static final class PageNotFoundException extends NessieRuntimeException {
+    PageNotFoundException(NessieNotFoundException cause) {
+      super(
+          ImmutableNessieError.builder()
+              .status(cause.getStatus())
+              .errorCode(cause.getErrorCode())
+              .reason("Not Found")
+              .message(cause.getMessage())
+              .serverStackTrace(cause.getServerStackTrace())
+              .build());
+      initCause(cause);
+    }
+  }
+}
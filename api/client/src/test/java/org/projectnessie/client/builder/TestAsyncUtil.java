@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.builder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.error.NessieNotFoundException;
+
+class TestAsyncUtil {
+
+  @Test
+  void supplyAsync() {
+    List<String> threads = new ArrayList<>();
+    Executor executor =
+        r -> {
+          Thread t = new Thread(r, "test-executor");
+          t.start();
+        };
+    assertThat(
+            AsyncUtil.supplyAsync(
+                    executor,
+                    () -> {
+                      threads.add(Thread.currentThread().getName());
+                      return "result";
+                    })
+                .toCompletableFuture())
+        .succeedsWithin(Duration.ofSeconds(10))
+        .isEqualTo("result");
+    assertThat(threads).containsExactly("test-executor");
+  }
+
+  @Test
+  void supplyAsyncFailure() {
+    NessieNotFoundException failure = new NessieNotFoundException("not found");
+    assertThat(
+            AsyncUtil.<String>supplyAsync(
+                    Runnable::run,
+                    () -> {
+                      throw failure;
+                    })
+                .toCompletableFuture())
+        .failsWithin(Duration.ofSeconds(10))
+        .withThrowableOfType(ExecutionException.class)
+        .havingCause()
+        .isSameAs(failure);
+  }
+
+  @Test
+  void failedStage() {
+    IllegalStateException failure = new IllegalStateException("failed");
+    assertThat(AsyncUtil.<String>failedStage(failure).toCompletableFuture())
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(ExecutionException.class)
+        .havingCause()
+        .isSameAs(failure);
+  }
+}
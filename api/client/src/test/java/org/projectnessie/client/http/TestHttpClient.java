@@ -53,6 +53,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -73,6 +78,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 import org.projectnessie.client.http.impl.jdk8.UrlConnectionClient;
 import org.projectnessie.client.util.HttpTestServer;
@@ -328,6 +334,174 @@ public class TestHttpClient {
     }
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void testAsync(boolean forceUrlConnection) throws Exception {
+    ExampleBean inputBean = new ExampleBean("x", 1, NOW);
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> {
+          if (req.getMethod().equals("POST")) {
+            try (InputStream in = req.getInputStream()) {
+              Object bean = MAPPER.readerFor(ExampleBean.class).readValue(in);
+              soft.assertThat(bean).isEqualTo(inputBean);
+            }
+          }
+          if (req.getRequestURI().endsWith("/fail")) {
+            resp.sendError(Status.INTERNAL_SERVER_ERROR.getCode());
+            return;
+          }
+          writeResponseBody(resp, MAPPER.writeValueAsString(inputBean));
+        };
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            createClient(server.getUri(), b -> b.setForceUrlConnectionClient(forceUrlConnection))) {
+      List<CompletableFuture<ExampleBean>> futures =
+          IntStream.range(0, 10)
+              .mapToObj(
+                  i ->
+                      (i % 2 == 0
+                              ? client.newRequest().getAsync()
+                              : client.newRequest().postAsync(inputBean))
+                          .thenApply(r -> r.readEntity(ExampleBean.class))
+                          .toCompletableFuture())
+              .collect(Collectors.toList());
+      for (CompletableFuture<ExampleBean> future : futures) {
+        soft.assertThat(future.get(30, TimeUnit.SECONDS)).isEqualTo(inputBean);
+      }
+
+      soft.assertThat(client.newRequest().path("fail").getAsync().toCompletableFuture())
+          .failsWithin(30, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(HttpClientException.class);
+
+      soft.assertThat(
+              client
+                  .newRequest()
+                  .path("a/b")
+                  .resolveTemplate("b", "b")
+                  .getAsync()
+                  .toCompletableFuture())
+          .failsWithin(30, TimeUnit.SECONDS)
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(HttpClientException.class);
+    }
+  }
+
+  @Test
+  void testMaxConcurrentRequests() throws Exception {
+    assumeThatCode(() -> Class.forName("java.net.http.HttpClient")).doesNotThrowAnyException();
+    ExampleBean inputBean = new ExampleBean("x", 1, NOW);
+    CountDownLatch proceed = new CountDownLatch(1);
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> {
+          try {
+            proceed.await(30, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+          writeResponseBody(resp, MAPPER.writeValueAsString(inputBean));
+        };
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client = createClient(server.getUri(), b -> b.setMaxConcurrentRequests(2))) {
+      List<CompletableFuture<HttpResponse>> futures =
+          IntStream.range(0, 5)
+              .mapToObj(i -> client.newRequest().getAsync().toCompletableFuture())
+              .collect(Collectors.toList());
+
+      soft.assertThat(client.inFlightRequests()).isEqualTo(2);
+      soft.assertThat(client.queuedRequests()).isEqualTo(3);
+
+      proceed.countDown();
+      for (CompletableFuture<HttpResponse> future : futures) {
+        soft.assertThat(future.get(30, TimeUnit.SECONDS).readEntity(ExampleBean.class))
+            .isEqualTo(inputBean);
+      }
+      soft.assertThat(client.inFlightRequests()).isEqualTo(0);
+      soft.assertThat(client.queuedRequests()).isEqualTo(0);
+    }
+  }
+
+  @Test
+  void testMaxConcurrentRequestsWhileBodiesOpen() throws Exception {
+    assumeThatCode(() -> Class.forName("java.net.http.HttpClient")).doesNotThrowAnyException();
+    ExampleBean inputBean = new ExampleBean("x", 1, NOW);
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> writeResponseBody(resp, MAPPER.writeValueAsString(inputBean));
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client = createClient(server.getUri(), b -> b.setMaxConcurrentRequests(2))) {
+      // The responses have been received, but their bodies have neither been read nor closed.
+      HttpResponse first = client.newRequest().get();
+      HttpResponse second = client.newRequest().get();
+      soft.assertThat(client.inFlightRequests()).isEqualTo(2);
+
+      CompletableFuture<HttpResponse> async = client.newRequest().getAsync().toCompletableFuture();
+      CompletableFuture<ExampleBean> sync =
+          CompletableFuture.supplyAsync(
+              () -> client.newRequest().get().readEntity(ExampleBean.class));
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      while (client.queuedRequests() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(10L);
+      }
+      soft.assertThat(client.queuedRequests()).isEqualTo(2);
+      soft.assertThat(client.inFlightRequests()).isEqualTo(2);
+      soft.assertThat(async).isNotDone();
+      soft.assertThat(sync).isNotDone();
+
+      // Reading the body of the first response releases its slot to the longest waiting request,
+      // the asynchronous one, which in turn releases it to the synchronous one once complete.
+      soft.assertThat(first.readEntity(ExampleBean.class)).isEqualTo(inputBean);
+      soft.assertThat(async.get(30, TimeUnit.SECONDS).readEntity(ExampleBean.class))
+          .isEqualTo(inputBean);
+      soft.assertThat(sync.get(30, TimeUnit.SECONDS)).isEqualTo(inputBean);
+      soft.assertThat(client.inFlightRequests()).isEqualTo(1);
+      soft.assertThat(client.queuedRequests()).isEqualTo(0);
+
+      soft.assertThat(second.readEntity(ExampleBean.class)).isEqualTo(inputBean);
+      soft.assertThat(client.inFlightRequests()).isEqualTo(0);
+      soft.assertThat(client.queuedRequests()).isEqualTo(0);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void testResponseCache(boolean forceUrlConnection) throws Exception {
+    ExampleBean inputBean = new ExampleBean("x", 1, NOW);
+    Map<String, Integer> requests = new ConcurrentHashMap<>();
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> {
+          requests.merge(req.getRequestURI(), 1, Integer::sum);
+          if (req.getRequestURI().endsWith("/immutable")) {
+            resp.setHeader("Cache-Control", "private, max-age=31536000, immutable");
+            resp.setHeader("ETag", "\"1234\"");
+          }
+          writeResponseBody(resp, MAPPER.writeValueAsString(inputBean));
+        };
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            createClient(
+                server.getUri(),
+                b ->
+                    b.setForceUrlConnectionClient(forceUrlConnection)
+                        .setResponseCacheCapacity(1024 * 1024))) {
+      for (int i = 0; i < 3; i++) {
+        soft.assertThat(client.newRequest().path("immutable").get().readEntity(ExampleBean.class))
+            .isEqualTo(inputBean);
+        soft.assertThat(
+                client
+                    .newRequest()
+                    .path("immutable")
+                    .getAsync()
+                    .toCompletableFuture()
+                    .get(30, TimeUnit.SECONDS)
+                    .readEntity(ExampleBean.class))
+            .isEqualTo(inputBean);
+        soft.assertThat(client.newRequest().path("mutable").get().readEntity(ExampleBean.class))
+            .isEqualTo(inputBean);
+      }
+      soft.assertThat(requests).containsEntry("/immutable", 1).containsEntry("/mutable", 3);
+    }
+  }
+
   @Test
   void testGetQueryParam() throws Exception {
     ExampleBean inputBean = new ExampleBean("x", 1, NOW);
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestBlockingCallExecutor {
+
+  @ParameterizedTest
+  @CsvSource({"2,2", "0," + BlockingCallExecutor.DEFAULT_MAX_THREADS})
+  public void threadsCapped(int maxConcurrentRequests, int expectedThreads) throws Exception {
+    BlockingCallExecutor executor = new BlockingCallExecutor(maxConcurrentRequests);
+    try {
+      int calls = expectedThreads + 3;
+      CountDownLatch proceed = new CountDownLatch(1);
+      CountDownLatch done = new CountDownLatch(calls);
+      AtomicInteger running = new AtomicInteger();
+      for (int i = 0; i < calls; i++) {
+        executor.execute(
+            () -> {
+              running.incrementAndGet();
+              try {
+                proceed.await(30, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              } finally {
+                done.countDown();
+              }
+            });
+      }
+
+      // Calls beyond the maximum number of threads are queued instead of rejected.
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      while (running.get() < expectedThreads && System.nanoTime() < deadline) {
+        Thread.sleep(10L);
+      }
+      assertThat(running.get()).isEqualTo(expectedThreads);
+      assertThat(executor.getPoolSize()).isEqualTo(expectedThreads);
+      assertThat(executor.getQueue()).hasSize(calls - expectedThreads);
+
+      proceed.countDown();
+      assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
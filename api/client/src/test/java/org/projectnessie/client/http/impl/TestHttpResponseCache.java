@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.client.http.ResponseContext;
+import org.projectnessie.client.http.Status;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestHttpResponseCache {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final URI URI_1 = URI.create("http://localhost/api/v2/trees/main@1234/entries");
+
+  @Test
+  void smallBodyIsCached() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(1000, 100);
+    TrackingResponse response = new TrackingResponse(body(100));
+
+    ResponseContext stored = cache.store(URI_1, response);
+
+    soft.assertThat(response.body.closed).isTrue();
+    soft.assertThat(cache.size()).isEqualTo(1);
+    soft.assertThat(cache.sizeBytes()).isEqualTo(100);
+    soft.assertThat(readAll(stored.getInputStream())).isEqualTo(body(100));
+    soft.assertThat(cache.lookup(URI_1)).isNotNull();
+    soft.assertThat(readAll(cache.lookup(URI_1).getInputStream())).isEqualTo(body(100));
+  }
+
+  @Test
+  void largeBodyIsStreamed() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(100_000, 100);
+    byte[] body = body(50_000);
+    TrackingResponse response = new TrackingResponse(body);
+
+    ResponseContext stored = cache.store(URI_1, response);
+
+    // Only one byte more than the maximum entry size has been read, the rest is streamed.
+    soft.assertThat(response.body.bytesRead).isEqualTo(101);
+    soft.assertThat(response.body.closed).isFalse();
+    soft.assertThat(cache.size()).isEqualTo(0);
+    soft.assertThat(cache.lookup(URI_1)).isNull();
+    soft.assertThat(stored.getHeader("ETag")).isEqualTo("\"1234\"");
+    try (InputStream in = stored.getInputStream()) {
+      soft.assertThat(readAll(in)).isEqualTo(body);
+    }
+    soft.assertThat(response.body.closed).isTrue();
+  }
+
+  @Test
+  void bodyOfMaxEntrySizeIsCached() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(1000, 100);
+    ResponseContext stored = cache.store(URI_1, new TrackingResponse(body(101)));
+    soft.assertThat(cache.size()).isEqualTo(0);
+    soft.assertThat(readAll(stored.getInputStream())).isEqualTo(body(101));
+
+    cache.store(URI_1, new TrackingResponse(body(100)));
+    soft.assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void defaultMaxEntrySize() throws Exception {
+    HttpResponseCache small = new HttpResponseCache(200);
+    small.store(URI_1, new TrackingResponse(body(200)));
+    soft.assertThat(small.size()).isEqualTo(1);
+
+    HttpResponseCache large = new HttpResponseCache(16 * HttpResponseCache.DEFAULT_MAX_ENTRY_BYTES);
+    large.store(
+        URI_1, new TrackingResponse(body((int) HttpResponseCache.DEFAULT_MAX_ENTRY_BYTES + 1)));
+    soft.assertThat(large.size()).isEqualTo(0);
+  }
+
+  @Test
+  void notCacheable() {
+    HttpResponseCache cache = new HttpResponseCache(1000, 100);
+    TrackingResponse response = new TrackingResponse(body(10));
+    response.cacheControl = "private, max-age=60";
+    soft.assertThat(cache.store(URI_1, response)).isSameAs(response);
+    soft.assertThat(response.body.bytesRead).isEqualTo(0);
+    soft.assertThat(cache.size()).isEqualTo(0);
+  }
+
+  private static byte[] body(int size) {
+    byte[] body = new byte[size];
+    Arrays.fill(body, (byte) 'x');
+    return body;
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[4096];
+    for (int rd; (rd = in.read(buf)) >= 0; ) {
+      out.write(buf, 0, rd);
+    }
+    return out.toByteArray();
+  }
+
+  private static final class TrackingStream extends ByteArrayInputStream {
+    int bytesRead;
+    boolean closed;
+
+    TrackingStream(byte[] buf) {
+      super(buf);
+    }
+
+    @Override
+    public synchronized int read() {
+      int b = super.read();
+      if (b >= 0) {
+        bytesRead++;
+      }
+      return b;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      int rd = super.read(b, off, len);
+      if (rd > 0) {
+        bytesRead += rd;
+      }
+      return rd;
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed = true;
+      super.close();
+    }
+  }
+
+  private static final class TrackingResponse implements ResponseContext {
+    final TrackingStream body;
+    String cacheControl = "private, max-age=31536000, immutable";
+
+    TrackingResponse(byte[] body) {
+      this.body = new TrackingStream(body);
+    }
+
+    @Override
+    public Status getResponseCode() {
+      return Status.OK;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      return body;
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+      return body;
+    }
+
+    @Override
+    public String getContentType() {
+      return "application/json";
+    }
+
+    @Override
+    public String getHeader(String name) {
+      switch (name) {
+        case "ETag":
+          return "\"1234\"";
+        case "Cache-Control":
+          return cacheControl;
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    public URI getRequestedUri() {
+      return URI_1;
+    }
+  }
+}
@@ -18,8 +18,10 @@ package org.projectnessie.client.rest.v1;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.projectnessie.client.NessieClientBuilder.createClientBuilderFromSystemSettings;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -27,6 +29,9 @@ import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
@@ -37,6 +42,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.api.v1.http.HttpTreeApi;
 import org.projectnessie.client.api.NessieApiV1;
 import org.projectnessie.client.api.NessieApiV2;
 import org.projectnessie.client.http.HttpClient;
@@ -49,6 +55,7 @@ import org.projectnessie.client.util.HttpTestServer;
 import org.projectnessie.client.util.HttpTestUtil;
 import org.projectnessie.client.util.JaegerTestTracer;
 import org.projectnessie.model.Branch;
+import org.projectnessie.model.Reference;
 
 @ExtendWith(SoftAssertionsExtension.class)
 class TestRestV1Client {
@@ -267,6 +274,25 @@ class TestRestV1Client {
     verify(client).close();
   }
 
+  @Test
+  void asyncRequestsUseClientExecutor() throws Exception {
+    NessieApiClient client = mock(NessieApiClient.class);
+    HttpTreeApi treeApi = mock(HttpTreeApi.class);
+    Branch main = Branch.of("main", null);
+    List<Runnable> calls = new ArrayList<>();
+    when(client.getTreeApi()).thenReturn(treeApi);
+    when(client.executor()).thenReturn(calls::add);
+    when(treeApi.getReferenceByName(any())).thenReturn(main);
+
+    CompletableFuture<Reference> reference =
+        new HttpApiV1(client).getReference().refName("main").getAsync().toCompletableFuture();
+    soft.assertThat(reference).isNotDone();
+    soft.assertThat(calls).hasSize(1);
+
+    calls.get(0).run();
+    soft.assertThat(reference).isCompletedWithValue(main);
+  }
+
   @Test
   void testCloseApiV2() {
     HttpClient client = mock(HttpClient.class);
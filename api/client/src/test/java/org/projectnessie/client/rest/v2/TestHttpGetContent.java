@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.ContentResponse;
+
+class TestHttpGetContent {
+
+  @Test
+  void getSingleAsyncWithKeysFailsTheStage() {
+    try (HttpClient client =
+        HttpClient.builder()
+            .setBaseUri(URI.create("http://localhost:1/"))
+            .setObjectMapper(new ObjectMapper())
+            .build()) {
+      HttpGetContent builder = new HttpGetContent(client);
+      builder.refName("main").key(ContentKey.of("a"));
+
+      CompletionStage<ContentResponse> stage = builder.getSingleAsync(ContentKey.of("b"));
+
+      assertThat(stage.toCompletableFuture())
+          .failsWithin(Duration.ZERO)
+          .withThrowableOfType(ExecutionException.class)
+          .havingCause()
+          .isInstanceOf(IllegalStateException.class)
+          .withMessageContaining("Must not use getSingle() with key() or keys()");
+    }
+  }
+}
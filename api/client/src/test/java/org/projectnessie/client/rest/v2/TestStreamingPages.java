@@ -0,0 +1,376 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.projectnessie.client.util.HttpTestUtil.writeResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpResponse;
+import org.projectnessie.client.rest.NessieHttpResponseFilter;
+import org.projectnessie.client.util.HttpTestServer;
+import org.projectnessie.error.ErrorCode;
+import org.projectnessie.error.ImmutableNessieError;
+import org.projectnessie.error.NessieError;
+import org.projectnessie.error.NessieNotFoundException;
+import org.projectnessie.error.NessieReferenceNotFoundException;
+import org.projectnessie.error.NessieRuntimeException;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
+import org.projectnessie.model.ImmutableEntriesResponse;
+
+class TestStreamingPages {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  void multiplePages() throws Exception {
+    List<Entry> entries = entries(10);
+    List<String> pageTokens = Collections.synchronizedList(new ArrayList<>());
+
+    try (HttpTestServer server = new HttpTestServer(pagedHandler(entries, pageTokens, null));
+        HttpClient client =
+            HttpClient.builder().setBaseUri(server.getUri()).setObjectMapper(MAPPER).build()) {
+      StreamingPages<Entry> pages = streamingPages(client, client.executor());
+      try (Stream<Entry> stream = pages.stream()) {
+        assertThat(stream).containsExactlyElementsOf(entries);
+      }
+    }
+
+    assertThat(pageTokens).containsExactly(null, "1", "2", "3");
+  }
+
+  @Test
+  void prefetchUsesExecutor() throws Exception {
+    List<Entry> entries = entries(10);
+    List<String> pageTokens = Collections.synchronizedList(new ArrayList<>());
+    List<String> requestThreads = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch secondPageRequested = new CountDownLatch(1);
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(r -> new Thread(r, "test-prefetch"));
+
+    HttpTestServer.RequestHandler handler =
+        pagedHandler(entries, pageTokens, secondPageRequested::countDown);
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            HttpClient.builder().setBaseUri(server.getUri()).setObjectMapper(MAPPER).build()) {
+      StreamingPages<Entry> pages =
+          new StreamingPages<>(
+              "entries",
+              Entry.class,
+              pageToken -> {
+                requestThreads.add(Thread.currentThread().getName());
+                return send(client, pageToken);
+              },
+              executor,
+              () -> true);
+      try (Stream<Entry> stream = pages.stream()) {
+        Iterator<Entry> iterator = stream.iterator();
+        assertThat(iterator.next()).isEqualTo(entries.get(0));
+
+        // The second page is requested while the caller is still on the first one.
+        assertThat(secondPageRequested.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(pageTokens).containsExactly(null, "1");
+
+        List<Entry> all = new ArrayList<>();
+        all.add(entries.get(0));
+        iterator.forEachRemaining(all::add);
+        assertThat(all).containsExactlyElementsOf(entries);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(pageTokens).containsExactly(null, "1", "2", "3");
+    assertThat(requestThreads)
+        .containsExactly(
+            Thread.currentThread().getName(), "test-prefetch", "test-prefetch", "test-prefetch");
+  }
+
+  @Test
+  void prefetchSkippedWhenClosedEarly() throws Exception {
+    List<Entry> entries = entries(10);
+    List<String> pageTokens = Collections.synchronizedList(new ArrayList<>());
+    List<Runnable> prefetches = new ArrayList<>();
+    Executor executor = prefetches::add;
+
+    try (HttpTestServer server = new HttpTestServer(pagedHandler(entries, pageTokens, null));
+        HttpClient client =
+            HttpClient.builder().setBaseUri(server.getUri()).setObjectMapper(MAPPER).build()) {
+      StreamingPages<Entry> pages = streamingPages(client, executor);
+      try (Stream<Entry> stream = pages.stream()) {
+        assertThat(stream.iterator().next()).isEqualTo(entries.get(0));
+        assertThat(prefetches).hasSize(1);
+      }
+
+      // The prefetch only starts after the stream has been closed, it must not send a request.
+      prefetches.forEach(Runnable::run);
+    }
+
+    assertThat(pageTokens).containsExactly((String) null);
+  }
+
+  @Test
+  void prefetchInFlightClosedWhenClosedEarly() throws Exception {
+    assumeThatCode(() -> Class.forName("java.net.http.HttpClient")).doesNotThrowAnyException();
+    List<Entry> entries = entries(10);
+    List<String> pageTokens = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch secondPageRequested = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(1);
+
+    HttpTestServer.RequestHandler handler =
+        pagedHandler(
+            entries,
+            pageTokens,
+            () -> {
+              secondPageRequested.countDown();
+              try {
+                proceed.await(30, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            HttpClient.builder().setBaseUri(server.getUri()).setObjectMapper(MAPPER).build()) {
+      StreamingPages<Entry> pages = streamingPages(client, client.executor());
+      try (Stream<Entry> stream = pages.stream()) {
+        assertThat(stream.iterator().next()).isEqualTo(entries.get(0));
+        assertThat(secondPageRequested.await(30, TimeUnit.SECONDS)).isTrue();
+      }
+      proceed.countDown();
+
+      // The response of the prefetch is closed once it arrives, which ends the request.
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      while (client.inFlightRequests() > 0 && System.nanoTime() < deadline) {
+        Thread.sleep(10L);
+      }
+      assertThat(client.inFlightRequests()).isEqualTo(0);
+    }
+
+    assertThat(pageTokens).containsExactly(null, "1");
+  }
+
+  @Test
+  void noPrefetchIntoLastRequestSlot() throws Exception {
+    assumeThatCode(() -> Class.forName("java.net.http.HttpClient")).doesNotThrowAnyException();
+    List<Entry> entries = entries(10);
+    List<String> pageTokens = Collections.synchronizedList(new ArrayList<>());
+    HttpTestServer.RequestHandler pages = pagedHandler(entries, pageTokens, null);
+
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> {
+          if (req.getRequestURI().endsWith("/other")) {
+            writeResponseBody(resp, "{}");
+          } else {
+            pages.handle(req, resp);
+          }
+        };
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            HttpClient.builder()
+                .setBaseUri(server.getUri())
+                .setObjectMapper(MAPPER)
+                .setMaxConcurrentRequests(2)
+                .build()) {
+      StreamingPages<Entry> streamingPages = streamingPages(client, client.executor());
+
+      // A synchronous request per entry needs a free slot while the current page is being read,
+      // which a prefetch must not take.
+      CompletableFuture<List<Entry>> consumed =
+          CompletableFuture.supplyAsync(
+              () -> {
+                try (Stream<Entry> stream = streamingPages.stream()) {
+                  return stream
+                      .peek(e -> client.newRequest().path("other").get().readEntity(Map.class))
+                      .collect(Collectors.toList());
+                } catch (NessieNotFoundException e) {
+                  throw new RuntimeException(e);
+                }
+              });
+
+      assertThat(consumed).succeedsWithin(Duration.ofSeconds(30)).isEqualTo(entries);
+    }
+
+    assertThat(pageTokens).containsExactly(null, "1", "2", "3");
+  }
+
+  @Test
+  void spareRequestSlot() {
+    HttpClient client = mock(HttpClient.class);
+    BooleanSupplier spare = StreamingPages.spareRequestSlot(client);
+
+    // unlimited
+    when(client.maxConcurrentRequests()).thenReturn(0);
+    assertThat(spare.getAsBoolean()).isTrue();
+
+    when(client.maxConcurrentRequests()).thenReturn(3);
+    when(client.inFlightRequests()).thenReturn(1);
+    when(client.queuedRequests()).thenReturn(0);
+    assertThat(spare.getAsBoolean()).isTrue();
+
+    when(client.inFlightRequests()).thenReturn(2);
+    assertThat(spare.getAsBoolean()).isFalse();
+
+    when(client.inFlightRequests()).thenReturn(1);
+    when(client.queuedRequests()).thenReturn(1);
+    assertThat(spare.getAsBoolean()).isFalse();
+
+    when(client.maxConcurrentRequests()).thenReturn(2);
+    when(client.queuedRequests()).thenReturn(0);
+    assertThat(spare.getAsBoolean()).isFalse();
+  }
+
+  @Test
+  void notFoundOnLaterPage() throws Exception {
+    List<Entry> entries = entries(10);
+    List<String> pageTokens = Collections.synchronizedList(new ArrayList<>());
+    HttpTestServer.RequestHandler pages = pagedHandler(entries, pageTokens, null);
+
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> {
+          if ("1".equals(req.getParameter("page-token"))) {
+            NessieError error =
+                ImmutableNessieError.builder()
+                    .status(404)
+                    .reason("Not Found")
+                    .errorCode(ErrorCode.REFERENCE_NOT_FOUND)
+                    .message("gone")
+                    .build();
+            resp.setStatus(404);
+            writeResponseBody(resp, MAPPER.writeValueAsString(error));
+          } else {
+            pages.handle(req, resp);
+          }
+        };
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            HttpClient.builder()
+                .setBaseUri(server.getUri())
+                .setObjectMapper(MAPPER)
+                .addResponseFilter(new NessieHttpResponseFilter())
+                .build()) {
+      StreamingPages<Entry> streamingPages = streamingPages(client, client.executor());
+      try (Stream<Entry> stream = streamingPages.stream()) {
+        assertThatThrownBy(() -> stream.collect(Collectors.toList()))
+            .isInstanceOf(NessieRuntimeException.class)
+            .hasCauseInstanceOf(NessieReferenceNotFoundException.class)
+            .extracting(e -> ((NessieRuntimeException) e).getErrorCode())
+            .isEqualTo(ErrorCode.REFERENCE_NOT_FOUND);
+      }
+    }
+  }
+
+  @Test
+  void emptyPageButMore() throws Exception {
+    HttpTestServer.RequestHandler handler =
+        (req, resp) -> {
+          String token = req.getParameter("page-token");
+          ImmutableEntriesResponse.Builder response =
+              EntriesResponse.builder().isHasMore(true).token("x");
+          if (token == null) {
+            response.addEntries(Entry.entry(ContentKey.of("key"), Content.Type.NAMESPACE));
+          }
+          writeResponseBody(resp, MAPPER.writeValueAsString(response.build()));
+        };
+
+    try (HttpTestServer server = new HttpTestServer(handler);
+        HttpClient client =
+            HttpClient.builder().setBaseUri(server.getUri()).setObjectMapper(MAPPER).build()) {
+      StreamingPages<Entry> pages = streamingPages(client, client.executor());
+      try (Stream<Entry> stream = pages.stream()) {
+        assertThatThrownBy(() -> stream.collect(Collectors.toList()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Backend returned empty page, but indicates there are more results");
+      }
+    }
+  }
+
+  private static List<Entry> entries(int count) {
+    List<Entry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      entries.add(Entry.entry(ContentKey.of("key" + i), Content.Type.ICEBERG_TABLE));
+    }
+    return entries;
+  }
+
+  /**
+   * Serves the given entries in pages of three, {@code onSecondPage} is called before the second
+   * page is served.
+   */
+  private static HttpTestServer.RequestHandler pagedHandler(
+      List<Entry> entries, List<String> pageTokens, Runnable onSecondPage) {
+    return (req, resp) -> {
+      String token = req.getParameter("page-token");
+      pageTokens.add(token);
+      if ("1".equals(token) && onSecondPage != null) {
+        onSecondPage.run();
+      }
+      int page = token == null ? 0 : Integer.parseInt(token);
+      int next = page + 1;
+      boolean hasMore = next * 3 < entries.size();
+      EntriesResponse response =
+          EntriesResponse.builder()
+              .entries(entries.subList(page * 3, Math.min(entries.size(), next * 3)))
+              .isHasMore(hasMore)
+              .token(hasMore ? Integer.toString(next) : null)
+              .build();
+      writeResponseBody(resp, MAPPER.writeValueAsString(response));
+    };
+  }
+
+  private static StreamingPages<Entry> streamingPages(HttpClient client, Executor executor) {
+    return new StreamingPages<>(
+        "entries",
+        Entry.class,
+        pageToken -> send(client, pageToken),
+        executor,
+        StreamingPages.spareRequestSlot(client));
+  }
+
+  private static HttpResponse send(HttpClient client, String pageToken)
+      throws NessieNotFoundException {
+    return client
+        .newRequest()
+        .path("entries")
+        .queryParam("page-token", pageToken)
+        .unwrap(NessieNotFoundException.class)
+        .get();
+  }
+}
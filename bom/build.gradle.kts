@@ -83,6 +83,7 @@ dependencies {
     api(project(":nessie-versioned-storage-inmemory"))
     api(project(":nessie-versioned-storage-jdbc"))
     api(project(":nessie-versioned-storage-mongodb"))
+    api(project(":nessie-versioned-storage-overflow"))
     api(project(":nessie-versioned-storage-rocksdb"))
     api(project(":nessie-versioned-storage-store"))
     api(project(":nessie-versioned-storage-testextension"))
@@ -15,35 +15,48 @@
  */
 package org.projectnessie.events.quarkus;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 import io.quarkus.vertx.ConsumeEvent;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import java.util.List;
 import java.util.Map;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector;
 import org.projectnessie.events.quarkus.config.EventBusConfigurer;
 import org.projectnessie.events.quarkus.delivery.EventDelivery;
 import org.projectnessie.events.quarkus.delivery.EventDeliveryFactory;
+import org.projectnessie.events.service.EventBatcher;
 import org.projectnessie.events.service.EventConfig;
 import org.projectnessie.events.service.EventFactory;
 import org.projectnessie.events.service.EventService;
 import org.projectnessie.events.service.EventSubscribers;
+import org.projectnessie.events.service.SubscriberQueue;
 import org.projectnessie.events.service.VersionStoreEvent;
 import org.projectnessie.events.spi.EventSubscriber;
 import org.projectnessie.events.spi.EventSubscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @ApplicationScoped
 public class QuarkusEventService extends EventService {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(QuarkusEventService.class);
+
   /**
    * The local event bus address used to exchange messages of type {@link VersionStoreEvent} between
    * {@link org.projectnessie.events.quarkus.collector.QuarkusResultCollector} and {@link
@@ -60,14 +73,16 @@ public class QuarkusEventService extends EventService {
    */
   public static final String NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX = "nessie.events.subscribers.";
 
+  private final Vertx vertx;
   private final EventBus bus;
   private final EventDeliveryFactory deliveryFactory;
   private final DeliveryOptions deliveryOptions;
+  private final Instance<MeterRegistry> registries;
 
   // Mandatory for CDI.
   @SuppressWarnings("unused")
   public QuarkusEventService() {
-    this(null, null, null, null, null, null);
+    this(null, null, null, null, null, null, null, null);
   }
 
   @Inject
@@ -75,23 +90,36 @@ public class QuarkusEventService extends EventService {
       EventConfig config,
       EventFactory factory,
       EventSubscribers subscribers,
+      @SuppressWarnings("CdiInjectionPointsInspection") Vertx vertx,
       EventBus bus,
       EventDeliveryFactory deliveryFactory,
       @Named(EventBusConfigurer.EVENTS_DELIVERY_OPTIONS_BEAN_NAME)
-          DeliveryOptions deliveryOptions) {
+          DeliveryOptions deliveryOptions,
+      @Any Instance<MeterRegistry> registries) {
     super(config, factory, subscribers);
+    this.vertx = vertx;
     this.bus = bus;
     this.deliveryFactory = deliveryFactory;
     this.deliveryOptions = deliveryOptions;
+    this.registries = registries;
   }
 
   public void onStartup(@Observes StartupEvent event) {
     start();
+    if (registries != null && registries.isResolvable()) {
+      QuarkusMetricsResultCollector.registerSubscriberQueueMetrics(
+          registries.get(), getSubscriberQueues());
+    }
+    if (!getSubscriberQueues().isEmpty()) {
+      // Events are offered to the subscriber queues on the thread that produced the result, see
+      // fireEvent().
+      return;
+    }
     for (Map.Entry<EventSubscription, EventSubscriber> entry :
         subscribers.getSubscriptions().entrySet()) {
       EventSubscription subscription = entry.getKey();
       EventSubscriber subscriber = entry.getValue();
-      Handler<Message<Event>> handler = e -> deliverEvent(e.body(), subscriber, subscription);
+      Handler<Message<Event>> handler = e -> dispatchEvent(e.body(), subscriber, subscription);
       for (EventType eventType : EventType.values()) {
         if (subscriber.accepts(eventType)) {
           String address = NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX + eventType;
@@ -103,17 +131,47 @@ public class QuarkusEventService extends EventService {
   }
 
   public void onShutdown(@Observes ShutdownEvent event) {
+    // Closing the queues also releases any thread blocked on a full queue.
     close();
   }
 
+  /**
+   * Receives results from {@link org.projectnessie.events.quarkus.collector.QuarkusResultCollector}
+   * on the event loop, or directly on the thread that produced them, if this service {@linkplain
+   * #requiresCallerThread() may block}. A result that arrives on the event loop although this
+   * service may block is processed on a worker thread instead.
+   */
   @ConsumeEvent(NESSIE_EVENTS_SERVICE_ADDR)
   @Override
   public void onVersionStoreEvent(VersionStoreEvent event) {
+    if (requiresCallerThread() && Context.isOnEventLoopThread()) {
+      vertx
+          .<Void>executeBlocking(
+              promise -> {
+                super.onVersionStoreEvent(event);
+                promise.complete();
+              },
+              true)
+          .onFailure(error -> LOGGER.error("Failed to process {}", event, error));
+      return;
+    }
     super.onVersionStoreEvent(event);
   }
 
+  /**
+   * Publishes the event on the event bus to the subscribers, or, if subscriber queues are enabled,
+   * offers it to their queues directly. Offering an event to a full queue may block, with the
+   * {@link SubscriberQueue.OverloadPolicy#BLOCK BLOCK} policy, or write to disk, with the {@link
+   * SubscriberQueue.OverloadPolicy#SPILL_TO_DISK SPILL_TO_DISK} policy. Since this service then
+   * {@linkplain #requiresCallerThread() requires the caller thread}, this happens on the thread
+   * that produced the result, which is held up until there is room in the queues.
+   */
   @Override
   protected void fireEvent(Event event) {
+    if (!getSubscriberQueues().isEmpty()) {
+      super.fireEvent(event);
+      return;
+    }
     // Publish the event to all interested subscribers that are listening to this address.
     String address = NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX + event.getType();
     bus.publish(address, event, deliveryOptions);
@@ -125,4 +183,37 @@ public class QuarkusEventService extends EventService {
     EventDelivery delivery = deliveryFactory.create(event, subscriber, subscription);
     delivery.start();
   }
+
+  @Override
+  protected void deliverEvents(
+      List<Event> events, EventSubscriber subscriber, EventSubscription subscription) {
+    EventDelivery delivery = deliveryFactory.create(events, subscriber, subscription);
+    delivery.start();
+  }
+
+  @Override
+  protected void deliverQueued(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onComplete) {
+    EventDelivery delivery = deliveryFactory.create(events, subscriber, subscription, onComplete);
+    delivery.start();
+  }
+
+  @Override
+  protected void deliverFromOutbox(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onComplete) {
+    EventDelivery delivery =
+        deliveryFactory.createOutboxDelivery(events, subscriber, subscription, onComplete);
+    delivery.start();
+  }
+
+  @Override
+  protected EventBatcher.Scheduler batchScheduler() {
+    return (delay, task) -> vertx.setTimer(Math.max(1L, delay.toMillis()), id -> task.run());
+  }
 }
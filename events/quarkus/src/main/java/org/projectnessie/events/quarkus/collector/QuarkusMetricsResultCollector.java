@@ -15,11 +15,19 @@
  */
 package org.projectnessie.events.quarkus.collector;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import java.security.Principal;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.projectnessie.events.service.EventSubscribers;
+import org.projectnessie.events.service.SubscriberQueue;
+import org.projectnessie.events.service.VersionStoreEvent;
+import org.projectnessie.events.spi.EventSubscription;
 import org.projectnessie.versioned.Result;
 
 public class QuarkusMetricsResultCollector extends QuarkusResultCollector {
@@ -33,6 +41,20 @@ public class QuarkusMetricsResultCollector extends QuarkusResultCollector {
    */
   public static final String NESSIE_RESULTS_REJECTED = "nessie.results.rejected";
 
+  /** The number of events waiting in a subscriber queue, including spilled events. */
+  public static final String NESSIE_EVENTS_QUEUE_DEPTH = "nessie.events.queue.depth";
+
+  /**
+   * The age in milliseconds of the oldest event of a subscriber queue that has not been delivered
+   * yet.
+   */
+  public static final String NESSIE_EVENTS_QUEUE_LAG = "nessie.events.queue.lag";
+
+  /** The total number of events dropped from a full subscriber queue. */
+  public static final String NESSIE_EVENTS_QUEUE_DROPPED = "nessie.events.queue.dropped";
+
+  public static final String SUBSCRIPTION_ID_TAG_NAME = "subscription";
+
   private final MeterRegistry registry;
 
   public QuarkusMetricsResultCollector(
@@ -42,7 +64,16 @@ public class QuarkusMetricsResultCollector extends QuarkusResultCollector {
       EventBus bus,
       DeliveryOptions options,
       MeterRegistry registry) {
-    super(subscribers, repositoryId, principal, bus, options);
+    this(subscribers, repositoryId, principal, busDestination(bus, options), registry);
+  }
+
+  public QuarkusMetricsResultCollector(
+      EventSubscribers subscribers,
+      String repositoryId,
+      Principal principal,
+      Consumer<VersionStoreEvent> destination,
+      MeterRegistry registry) {
+    super(subscribers, repositoryId, principal, destination);
     this.registry = registry;
   }
 
@@ -60,4 +91,24 @@ public class QuarkusMetricsResultCollector extends QuarkusResultCollector {
     }
     return shouldProcess;
   }
+
+  /** Registers the depth, lag and drop meters of the given subscriber queues. */
+  public static void registerSubscriberQueueMetrics(
+      MeterRegistry registry, Map<EventSubscription, SubscriberQueue> queues) {
+    queues.forEach(
+        (subscription, queue) -> {
+          Tags tags = Tags.of(SUBSCRIPTION_ID_TAG_NAME, subscription.getIdAsText());
+          Gauge.builder(NESSIE_EVENTS_QUEUE_DEPTH, queue, SubscriberQueue::depth)
+              .tags(tags)
+              .register(registry);
+          Gauge.builder(NESSIE_EVENTS_QUEUE_LAG, queue, q -> q.lag().toMillis())
+              .tags(tags)
+              .baseUnit("milliseconds")
+              .register(registry);
+          FunctionCounter.builder(
+                  NESSIE_EVENTS_QUEUE_DROPPED, queue, SubscriberQueue::droppedCount)
+              .tags(tags)
+              .register(registry);
+        });
+  }
 }
@@ -20,6 +20,7 @@ import static org.projectnessie.events.quarkus.QuarkusEventService.NESSIE_EVENTS
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import java.security.Principal;
+import java.util.function.Consumer;
 import org.projectnessie.events.quarkus.QuarkusEventService;
 import org.projectnessie.events.service.EventSubscribers;
 import org.projectnessie.events.service.ResultCollector;
@@ -28,7 +29,8 @@ import org.projectnessie.events.service.VersionStoreEvent;
 /**
  * A Quarkus-specific {@link ResultCollector} that publishes results to the Vert.x event bus on an
  * internal address that is consumed by {@link
- * QuarkusEventService#onVersionStoreEvent(VersionStoreEvent)}.
+ * QuarkusEventService#onVersionStoreEvent(VersionStoreEvent)}, or, if the event service {@linkplain
+ * QuarkusEventService#requiresCallerThread() requires it}, forwards them to the service directly.
  */
 public class QuarkusResultCollector extends ResultCollector {
 
@@ -38,10 +40,19 @@ public class QuarkusResultCollector extends ResultCollector {
       Principal user,
       EventBus bus,
       DeliveryOptions options) {
-    super(
-        subscribers,
-        repositoryId,
-        user,
-        event -> bus.publish(NESSIE_EVENTS_SERVICE_ADDR, event, options));
+    this(subscribers, repositoryId, user, busDestination(bus, options));
+  }
+
+  public QuarkusResultCollector(
+      EventSubscribers subscribers,
+      String repositoryId,
+      Principal user,
+      Consumer<VersionStoreEvent> destination) {
+    super(subscribers, repositoryId, user, destination);
+  }
+
+  /** Returns a destination that publishes results to the event service via the event bus. */
+  public static Consumer<VersionStoreEvent> busDestination(EventBus bus, DeliveryOptions options) {
+    return event -> bus.publish(NESSIE_EVENTS_SERVICE_ADDR, event, options);
   }
 }
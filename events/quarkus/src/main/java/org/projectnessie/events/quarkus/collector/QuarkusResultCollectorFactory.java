@@ -28,7 +28,9 @@ import jakarta.inject.Named;
 import java.security.Principal;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import org.projectnessie.events.quarkus.QuarkusEventService;
 import org.projectnessie.events.service.EventSubscribers;
+import org.projectnessie.events.service.VersionStoreEvent;
 import org.projectnessie.versioned.Result;
 
 public class QuarkusResultCollectorFactory {
@@ -41,6 +43,7 @@ public class QuarkusResultCollectorFactory {
   @LookupIfProperty(name = "nessie.version.store.events.enable", stringValue = "true")
   public Consumer<Result> newResultCollector(
       EventSubscribers subscribers,
+      QuarkusEventService service,
       EventBus bus,
       DeliveryOptions options,
       @Named(REPOSITORY_ID_BEAN_NAME) Instance<String> repositoryIds,
@@ -49,13 +52,19 @@ public class QuarkusResultCollectorFactory {
       @Any Instance<MeterRegistry> registries) {
     Principal principal = users.isResolvable() ? users.get().get() : null;
     String repositoryId = repositoryIds.isResolvable() ? repositoryIds.get() : "";
+    // Results are handed to the service on the calling thread, if the service may block, e.g. to
+    // append events to the outbox before the version store operation returns.
+    Consumer<VersionStoreEvent> destination =
+        service.requiresCallerThread()
+            ? service::onVersionStoreEvent
+            : QuarkusResultCollector.busDestination(bus, options);
     Consumer<Result> collector;
     if (registries.isResolvable()) {
       collector =
           new QuarkusMetricsResultCollector(
-              subscribers, repositoryId, principal, bus, options, registries.get());
+              subscribers, repositoryId, principal, destination, registries.get());
     } else {
-      collector = new QuarkusResultCollector(subscribers, repositoryId, principal, bus, options);
+      collector = new QuarkusResultCollector(subscribers, repositoryId, principal, destination);
     }
     if (tracers.isResolvable()) {
       String user = principal != null ? principal.getName() : null;
@@ -19,9 +19,12 @@ import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import org.projectnessie.events.service.EventConfig;
+import org.projectnessie.events.service.SubscriberQueue;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.events")
@@ -41,6 +44,84 @@ public interface QuarkusEventConfig extends EventConfig {
   @Override
   Map<String, String> getStaticProperties();
 
+  /**
+   * The maximum number of events delivered at once to subscribers implementing {@code
+   * BatchEventSubscriber}.
+   */
+  @WithName("batch-max-size")
+  @WithDefault("100")
+  @Override
+  int getBatchMaxSize();
+
+  /**
+   * The maximum time to wait for more events before delivering an incomplete batch to subscribers
+   * implementing {@code BatchEventSubscriber}.
+   */
+  @WithName("batch-linger-time")
+  @WithDefault("PT0.1S")
+  @Override
+  Duration getBatchLingerTime();
+
+  /**
+   * The capacity of the per-subscriber event queues. If greater than zero, each subscriber gets its
+   * own bounded queue, so that a slow subscriber does not hold up the delivery to other
+   * subscribers. Zero (the default) disables the queues.
+   */
+  @WithName("subscriber-queue-capacity")
+  @WithDefault("0")
+  @Override
+  int getSubscriberQueueCapacity();
+
+  /**
+   * What happens when an event is offered to a full subscriber queue: {@code BLOCK} (the default)
+   * blocks until the queue has room, {@code DROP_OLDEST} drops the oldest queued event and {@code
+   * SPILL_TO_DISK} appends the event to a spill log. Events are offered to the queues on the thread
+   * of the version store operation that produced them, never on the event loop, so {@code BLOCK}
+   * holds up that operation until the queue has room.
+   */
+  @WithName("subscriber-queue-overload-policy")
+  @WithDefault("BLOCK")
+  @Override
+  SubscriberQueue.OverloadPolicy getSubscriberQueueOverloadPolicy();
+
+  /** The directory for the spill logs, required for the {@code SPILL_TO_DISK} overload policy. */
+  @WithName("subscriber-queue-spill-directory")
+  @Override
+  Optional<Path> getSubscriberQueueSpillDirectory();
+
+  /**
+   * The directory of the durable event outbox. If set, events are appended to the outbox before
+   * the version store operation completes, and delivered to each subscriber asynchronously from the
+   * subscriber's own cursor. If not set (the default), events are delivered directly.
+   */
+  @WithName("outbox-directory")
+  @Override
+  Optional<Path> getOutboxDirectory();
+
+  /** The maximum number of events read from the outbox at once for a subscriber. */
+  @WithName("outbox-batch-size")
+  @WithDefault("100")
+  @Override
+  int getOutboxBatchSize();
+
+  /**
+   * The maximum number of attempts to deliver an event from the outbox to a subscriber, before the
+   * event is skipped. Replaces {@code retry.max-attempts} for events delivered from the outbox.
+   */
+  @WithName("outbox-max-delivery-attempts")
+  @WithDefault("5")
+  @Override
+  int getOutboxMaxDeliveryAttempts();
+
+  /**
+   * The initial delay between two attempts to deliver an event from the outbox. The delay doubles
+   * with each attempt, up to 32 times the initial delay.
+   */
+  @WithName("outbox-retry-backoff")
+  @WithDefault("PT1S")
+  @Override
+  Duration getOutboxRetryBackoff();
+
   @WithName("retry")
   RetryConfig getRetryConfig();
 
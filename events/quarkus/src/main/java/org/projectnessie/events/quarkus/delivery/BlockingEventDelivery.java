@@ -17,6 +17,7 @@ package org.projectnessie.events.quarkus.delivery;
 
 import io.vertx.core.Vertx;
 import java.time.Duration;
+import java.util.List;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
 import org.projectnessie.events.spi.EventSubscriber;
@@ -35,6 +36,15 @@ class BlockingEventDelivery extends StandardEventDelivery {
     this.vertx = vertx;
   }
 
+  BlockingEventDelivery(
+      List<Event> events,
+      EventSubscriber subscriber,
+      QuarkusEventConfig.RetryConfig config,
+      Vertx vertx) {
+    super(events, subscriber, config, vertx);
+    this.vertx = vertx;
+  }
+
   @Override
   void startAttempt(int currentAttempt, Duration nextDelay, Throwable previousError) {
     vertx.<Void>executeBlocking(
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+/**
+ * Runs a callback once the delivery has either succeeded, finally failed or was rejected, used to
+ * let a subscriber queue know when it can deliver the next events.
+ */
+class CompletionEventDelivery extends DelegatingEventDelivery {
+
+  private final Runnable onComplete;
+
+  CompletionEventDelivery(RetriableEventDelivery delegate, Runnable onComplete) {
+    super(delegate);
+    this.onComplete = onComplete;
+    setSelf(this);
+  }
+
+  @Override
+  void deliverySuccessful(int lastAttempt) {
+    try {
+      super.deliverySuccessful(lastAttempt);
+    } finally {
+      onComplete.run();
+    }
+  }
+
+  @Override
+  void deliveryFailed(int lastAttempt, Throwable error) {
+    try {
+      super.deliveryFailed(lastAttempt, error);
+    } finally {
+      onComplete.run();
+    }
+  }
+
+  @Override
+  void deliveryRejected() {
+    try {
+      super.deliveryRejected();
+    } finally {
+      onComplete.run();
+    }
+  }
+}
@@ -16,7 +16,8 @@
 package org.projectnessie.events.quarkus.delivery;
 
 /**
- * Interface for encapsulating the event delivery logic of a single event to a single subscriber.
+ * Interface for encapsulating the event delivery logic of a single event, or of a batch of events
+ * for a {@link org.projectnessie.events.spi.BatchEventSubscriber}, to a single subscriber.
  */
 public interface EventDelivery {
 
@@ -22,8 +22,12 @@ import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
+import org.projectnessie.events.quarkus.config.QuarkusEventConfig.RetryConfig;
 import org.projectnessie.events.spi.EventSubscriber;
 import org.projectnessie.events.spi.EventSubscription;
 
@@ -35,6 +39,7 @@ public class EventDeliveryFactory {
   private final Tracer tracer;
   private final MeterRegistry registry;
   private final io.micrometer.core.instrument.Clock clock;
+  private final RetryConfig outboxRetryConfig;
 
   @Inject
   public EventDeliveryFactory(
@@ -47,6 +52,7 @@ public class EventDeliveryFactory {
     this.tracer = extractInstance(tracers);
     this.registry = extractInstance(registries);
     this.clock = registry == null ? null : new MicrometerClockAdapter(config.getClock());
+    this.outboxRetryConfig = new OutboxRetryConfig(config);
   }
 
   private static <T> T extractInstance(Instance<T> instances) {
@@ -55,22 +61,96 @@ public class EventDeliveryFactory {
 
   public EventDelivery create(
       Event event, EventSubscriber subscriber, EventSubscription subscription) {
+    return create(Collections.singletonList(event), subscriber, subscription);
+  }
+
+  /**
+   * Creates a delivery for a batch of events. Retries, logging, metrics and tracing apply to the
+   * batch as a whole.
+   */
+  public EventDelivery create(
+      List<Event> events, EventSubscriber subscriber, EventSubscription subscription) {
+    return createDelivery(events, subscriber, subscription);
+  }
+
+  /**
+   * Creates a delivery for events taken from a subscriber queue, which calls {@code onComplete}
+   * once the delivery has either succeeded, finally failed or was rejected.
+   */
+  public EventDelivery create(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onComplete) {
+    return new CompletionEventDelivery(
+        createDelivery(events, subscriber, subscription), onComplete);
+  }
+
+  /**
+   * Creates a delivery for events read from the outbox, which calls {@code onComplete} once the
+   * delivery has either succeeded, finally failed or was rejected. Retries use the outbox settings
+   * instead of the {@linkplain QuarkusEventConfig#getRetryConfig() retry configuration}.
+   */
+  public EventDelivery createOutboxDelivery(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onComplete) {
+    return new CompletionEventDelivery(
+        createDelivery(events, subscriber, subscription, outboxRetryConfig), onComplete);
+  }
+
+  private RetriableEventDelivery createDelivery(
+      List<Event> events, EventSubscriber subscriber, EventSubscription subscription) {
+    return createDelivery(events, subscriber, subscription, config.getRetryConfig());
+  }
+
+  private RetriableEventDelivery createDelivery(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      RetryConfig retryConfig) {
     RetriableEventDelivery delivery =
         subscriber.isBlocking()
-            ? new BlockingEventDelivery(event, subscriber, config.getRetryConfig(), vertx)
-            : new StandardEventDelivery(event, subscriber, config.getRetryConfig(), vertx);
+            ? new BlockingEventDelivery(events, subscriber, retryConfig, vertx)
+            : new StandardEventDelivery(events, subscriber, retryConfig, vertx);
     if (LoggingEventDelivery.isLoggingEnabled()) {
-      delivery = new LoggingEventDelivery(delivery, event, subscription);
+      delivery = new LoggingEventDelivery(delivery, events, subscription);
     }
     if (registry != null) {
-      delivery = new MetricsEventDelivery(delivery, event, registry, clock);
+      delivery = new MetricsEventDelivery(delivery, events, registry, clock);
     }
     if (tracer != null) {
-      delivery = new TracingEventDelivery(delivery, event, subscription, config, tracer);
+      delivery = new TracingEventDelivery(delivery, events, subscription, config, tracer);
     }
     return delivery;
   }
 
+  /** Retry settings for outbox deliveries, derived from the outbox configuration. */
+  private static class OutboxRetryConfig implements RetryConfig {
+
+    private final QuarkusEventConfig config;
+
+    OutboxRetryConfig(QuarkusEventConfig config) {
+      this.config = config;
+    }
+
+    @Override
+    public int getMaxAttempts() {
+      return config.getOutboxMaxDeliveryAttempts();
+    }
+
+    @Override
+    public Duration getInitialDelay() {
+      return config.getOutboxRetryBackoff();
+    }
+
+    @Override
+    public Duration getMaxDelay() {
+      return config.getOutboxRetryBackoff().multipliedBy(32);
+    }
+  }
+
   private static class MicrometerClockAdapter implements io.micrometer.core.instrument.Clock {
 
     private final java.time.Clock clock;
@@ -19,6 +19,8 @@ import static org.projectnessie.events.service.EventService.EVENT_ID_MDC_KEY;
 import static org.projectnessie.events.service.EventService.SUBSCRIPTION_ID_MDC_KEY;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.spi.EventSubscription;
 import org.slf4j.Logger;
@@ -33,7 +35,7 @@ class LoggingEventDelivery extends DelegatingEventDelivery {
     return LOGGER.isDebugEnabled();
   }
 
-  private final Event event;
+  private final List<Event> events;
   private final EventSubscription subscription;
 
   private final Logger logger;
@@ -43,10 +45,23 @@ class LoggingEventDelivery extends DelegatingEventDelivery {
     this(delegate, event, subscription, LOGGER);
   }
 
+  LoggingEventDelivery(
+      RetriableEventDelivery delegate, List<Event> events, EventSubscription subscription) {
+    this(delegate, events, subscription, LOGGER);
+  }
+
   LoggingEventDelivery(
       RetriableEventDelivery delegate, Event event, EventSubscription subscription, Logger logger) {
+    this(delegate, Collections.singletonList(event), subscription, logger);
+  }
+
+  LoggingEventDelivery(
+      RetriableEventDelivery delegate,
+      List<Event> events,
+      EventSubscription subscription,
+      Logger logger) {
     super(delegate);
-    this.event = event;
+    this.events = events;
     this.subscription = subscription;
     this.logger = logger;
     setSelf(this);
@@ -55,7 +70,11 @@ class LoggingEventDelivery extends DelegatingEventDelivery {
   @Override
   public void start() {
     mdcPut();
-    logger.debug("Starting delivery for event: {}", event);
+    if (events.size() == 1) {
+      logger.debug("Starting delivery for event: {}", events.get(0));
+    } else {
+      logger.debug("Starting delivery for batch of {} events: {}", events.size(), events);
+    }
     try {
       super.start();
     } finally {
@@ -110,7 +129,9 @@ class LoggingEventDelivery extends DelegatingEventDelivery {
 
   private void mdcPut() {
     MDC.put(SUBSCRIPTION_ID_MDC_KEY, subscription.getIdAsText());
-    MDC.put(EVENT_ID_MDC_KEY, event.getIdAsText());
+    if (events.size() == 1) {
+      MDC.put(EVENT_ID_MDC_KEY, events.get(0).getIdAsText());
+    }
   }
 
   private void mdcRemove() {
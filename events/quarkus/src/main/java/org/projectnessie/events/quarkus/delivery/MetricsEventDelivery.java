@@ -19,8 +19,20 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.EventType;
 
+/**
+ * Records delivery metrics. All meters count events, also for batch deliveries: a successfully
+ * delivered batch of 10 commit events increments the {@value #NESSIE_EVENTS_SUCCESSFUL} counter for
+ * the {@code COMMIT} type by 10, and a retry of that batch increments the {@value
+ * #NESSIE_EVENTS_RETRIES} counter by 10.
+ */
 public class MetricsEventDelivery extends DelegatingEventDelivery {
 
   public enum DeliveryStatus {
@@ -49,16 +61,21 @@ public class MetricsEventDelivery extends DelegatingEventDelivery {
 
   private final MeterRegistry registry;
   private final Clock clock;
-  private final Tags tags;
+  private final Map<EventType, Integer> eventCounts = new EnumMap<>(EventType.class);
 
   private Timer.Sample sample;
 
   MetricsEventDelivery(
       RetriableEventDelivery delegate, Event event, MeterRegistry registry, Clock clock) {
+    this(delegate, Collections.singletonList(event), registry, clock);
+  }
+
+  MetricsEventDelivery(
+      RetriableEventDelivery delegate, List<Event> events, MeterRegistry registry, Clock clock) {
     super(delegate);
     this.registry = registry;
     this.clock = clock;
-    tags = Tags.of(EVENT_TYPE_TAG_NAME, event.getType().name());
+    events.forEach(e -> eventCounts.merge(e.getType(), 1, Integer::sum));
     setSelf(this);
   }
 
@@ -71,31 +88,44 @@ public class MetricsEventDelivery extends DelegatingEventDelivery {
   @Override
   void deliverySuccessful(int lastAttempt) {
     super.deliverySuccessful(lastAttempt);
-    sample.stop(totalTimer(DeliveryStatus.SUCCESSFUL));
-    registry.counter(NESSIE_EVENTS_SUCCESSFUL, tags).increment();
-    if (lastAttempt > 1) {
-      registry.counter(NESSIE_EVENTS_RETRIES, tags).increment(lastAttempt - 1);
-    }
+    record(DeliveryStatus.SUCCESSFUL, NESSIE_EVENTS_SUCCESSFUL, lastAttempt);
   }
 
   @Override
   void deliveryFailed(int lastAttempt, Throwable error) {
     super.deliveryFailed(lastAttempt, error);
-    sample.stop(totalTimer(DeliveryStatus.FAILED));
-    registry.counter(NESSIE_EVENTS_FAILED, tags).increment();
-    if (lastAttempt > 1) {
-      registry.counter(NESSIE_EVENTS_RETRIES, tags).increment(lastAttempt - 1);
-    }
+    record(DeliveryStatus.FAILED, NESSIE_EVENTS_FAILED, lastAttempt);
   }
 
   @Override
   void deliveryRejected() {
     super.deliveryRejected();
-    sample.stop(totalTimer(DeliveryStatus.REJECTED));
-    registry.counter(NESSIE_EVENTS_REJECTED, tags).increment();
+    record(DeliveryStatus.REJECTED, NESSIE_EVENTS_REJECTED, 1);
+  }
+
+  private void record(DeliveryStatus status, String counterName, int lastAttempt) {
+    long durationNanos = -1L;
+    for (Map.Entry<EventType, Integer> entry : eventCounts.entrySet()) {
+      Tags tags = Tags.of(EVENT_TYPE_TAG_NAME, entry.getKey().name());
+      int count = entry.getValue();
+      Timer timer = totalTimer(tags, status);
+      if (durationNanos < 0L) {
+        durationNanos = sample.stop(timer);
+        count--;
+      }
+      for (int i = 0; i < count; i++) {
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+      }
+      registry.counter(counterName, tags).increment(entry.getValue());
+      if (lastAttempt > 1) {
+        registry
+            .counter(NESSIE_EVENTS_RETRIES, tags)
+            .increment((double) (lastAttempt - 1) * entry.getValue());
+      }
+    }
   }
 
-  private Timer totalTimer(DeliveryStatus status) {
+  private Timer totalTimer(Tags tags, DeliveryStatus status) {
     return Timer.builder(NESSIE_EVENTS_TOTAL)
         .tags(tags.and(STATUS_TAG_NAME, status.name()))
         .publishPercentileHistogram()
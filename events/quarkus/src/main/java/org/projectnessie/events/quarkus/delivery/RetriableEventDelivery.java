@@ -16,7 +16,9 @@
 package org.projectnessie.events.quarkus.delivery;
 
 import java.time.Duration;
+import java.util.List;
 import org.projectnessie.events.api.Event;
+import org.projectnessie.events.spi.BatchEventSubscriber;
 import org.projectnessie.events.spi.EventSubscriber;
 
 /**
@@ -53,9 +55,10 @@ abstract class RetriableEventDelivery implements EventDelivery {
   abstract void startAttempt(int currentAttempt, Duration nextDelay, Throwable previousError);
 
   /**
-   * Tries to deliver the event to the subscriber.
+   * Tries to deliver the event, or the batch of events, to the subscriber.
    *
-   * @implSpec Implementers should call {@link EventSubscriber#onEvent(Event)}.
+   * @implSpec Implementers should call {@link EventSubscriber#onEvent(Event)}, or {@link
+   *     BatchEventSubscriber#onEvents(List)} for batches.
    * @param currentAttempt The current delivery attempt, starting at 1.
    */
   abstract void tryDeliver(int currentAttempt);
@@ -17,17 +17,23 @@ package org.projectnessie.events.quarkus.delivery;
 
 import io.vertx.core.Vertx;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
+import org.projectnessie.events.spi.BatchEventSubscriber;
 import org.projectnessie.events.spi.EventSubscriber;
 
 /**
  * A Non-blocking {@link RetriableEventDelivery} that executes delivery attempts directly on Vert.x
  * event loop. Suitable only for subscribers that do not block the event loop.
+ *
+ * <p>A delivery either carries a single event, or a batch of events for a {@link
+ * BatchEventSubscriber}. A batch is delivered, and retried, as a whole.
  */
 class StandardEventDelivery extends RetriableEventDelivery {
 
-  private final Event event;
+  private final List<Event> events;
   private final EventSubscriber subscriber;
   private final QuarkusEventConfig.RetryConfig config;
   private final Vertx vertx;
@@ -35,7 +41,15 @@ class StandardEventDelivery extends RetriableEventDelivery {
 
   StandardEventDelivery(
       Event event, EventSubscriber subscriber, QuarkusEventConfig.RetryConfig config, Vertx vertx) {
-    this.event = event;
+    this(Collections.singletonList(event), subscriber, config, vertx);
+  }
+
+  StandardEventDelivery(
+      List<Event> events,
+      EventSubscriber subscriber,
+      QuarkusEventConfig.RetryConfig config,
+      Vertx vertx) {
+    this.events = events;
     this.subscriber = subscriber;
     this.config = config;
     this.vertx = vertx;
@@ -43,7 +57,8 @@ class StandardEventDelivery extends RetriableEventDelivery {
 
   @Override
   public void start() {
-    if (subscriber.accepts(event)) {
+    // Batches only contain events that have been accepted by the subscriber already.
+    if (events.size() > 1 || subscriber.accepts(events.get(0))) {
       self.startAttempt(1, config.getInitialDelay(), null);
     } else {
       self.deliveryRejected();
@@ -62,7 +77,11 @@ class StandardEventDelivery extends RetriableEventDelivery {
 
   @Override
   void tryDeliver(int currentAttempt) {
-    subscriber.onEvent(event);
+    if (subscriber instanceof BatchEventSubscriber) {
+      ((BatchEventSubscriber) subscriber).onEvents(events);
+    } else {
+      events.forEach(subscriber::onEvent);
+    }
   }
 
   @Override
@@ -30,6 +30,8 @@ import io.opentelemetry.context.Scope;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.service.EventConfig;
 import org.projectnessie.events.spi.EventSubscription;
@@ -38,6 +40,9 @@ public class TracingEventDelivery extends DelegatingEventDelivery {
 
   public static final String NESSIE_EVENTS_SPAN_NAME_PREFIX = "nessie.events.subscribers.";
 
+  /** Span name suffix for the delivery of batches that contain events of different types. */
+  public static final String MIXED_BATCH_SPAN_NAME = "BATCH";
+
   public static final AttributeKey<String> EVENT_TYPE_KEY =
       AttributeKey.stringKey("nessie.events.type");
   public static final AttributeKey<String> SUBSCRIPTION_ID_KEY =
@@ -48,8 +53,10 @@ public class TracingEventDelivery extends DelegatingEventDelivery {
       AttributeKey.longKey("nessie.events.delivery-attempt");
   public static final AttributeKey<Long> RETRIES_KEY =
       AttributeKey.longKey("nessie.events.retries");
+  public static final AttributeKey<Long> BATCH_SIZE_KEY =
+      AttributeKey.longKey("nessie.events.batch-size");
 
-  private final Event event;
+  private final List<Event> events;
   private final EventSubscription subscription;
   private final Tracer tracer;
   private final String spanNamePrefix;
@@ -64,15 +71,37 @@ public class TracingEventDelivery extends DelegatingEventDelivery {
       EventSubscription subscription,
       EventConfig config,
       Tracer tracer) {
+    this(delegate, Collections.singletonList(event), subscription, config, tracer);
+  }
+
+  TracingEventDelivery(
+      RetriableEventDelivery delegate,
+      List<Event> events,
+      EventSubscription subscription,
+      EventConfig config,
+      Tracer tracer) {
     super(delegate);
-    this.event = event;
+    this.events = events;
     this.subscription = subscription;
     this.tracer = tracer;
     clock = config.getClock();
-    spanNamePrefix = NESSIE_EVENTS_SPAN_NAME_PREFIX + event.getType();
+    String eventType = commonEventType();
+    spanNamePrefix =
+        NESSIE_EVENTS_SPAN_NAME_PREFIX + (eventType != null ? eventType : MIXED_BATCH_SPAN_NAME);
     setSelf(this);
   }
 
+  /** Returns the type of all events of this delivery, or {@code null} if the types differ. */
+  private String commonEventType() {
+    String type = events.get(0).getType().name();
+    for (Event event : events) {
+      if (!event.getType().name().equals(type)) {
+        return null;
+      }
+    }
+    return type;
+  }
+
   @Override
   public void start() {
     deliverySpan = newDeliverySpan();
@@ -174,11 +203,19 @@ public class TracingEventDelivery extends DelegatingEventDelivery {
             .spanBuilder(spanName)
             .setSpanKind(SpanKind.INTERNAL)
             .setStartTimestamp(clock.instant())
-            .setAttribute(EVENT_TYPE_KEY, event.getType().name())
-            .setAttribute(EVENT_ID_KEY, event.getIdAsText())
             .setAttribute(SUBSCRIPTION_ID_KEY, subscription.getIdAsText())
             .setAttribute(PEER_SERVICE, "Nessie");
-    event.getEventInitiator().ifPresent(u -> spanBuilder.setAttribute(ENDUSER_ID, u));
+    String eventType = commonEventType();
+    if (eventType != null) {
+      spanBuilder.setAttribute(EVENT_TYPE_KEY, eventType);
+    }
+    if (events.size() == 1) {
+      Event event = events.get(0);
+      spanBuilder.setAttribute(EVENT_ID_KEY, event.getIdAsText());
+      event.getEventInitiator().ifPresent(u -> spanBuilder.setAttribute(ENDUSER_ID, u));
+    } else {
+      spanBuilder.setAttribute(BATCH_SIZE_KEY, (long) events.size());
+    }
     return spanBuilder;
   }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.eventbus.EventBus;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.quarkus.delivery.EventDelivery;
+import org.projectnessie.events.quarkus.delivery.EventDeliveryFactory;
+import org.projectnessie.events.service.EventConfig;
+import org.projectnessie.events.service.EventFactory;
+import org.projectnessie.events.service.EventSubscribers;
+import org.projectnessie.events.service.ImmutableVersionStoreEvent;
+import org.projectnessie.events.service.VersionStoreEvent;
+import org.projectnessie.events.spi.EventSubscriber;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.ImmutableReferenceCreatedResult;
+
+@ExtendWith(MockitoExtension.class)
+class TestQuarkusEventService {
+
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
+  EventConfig config;
+
+  @Mock EventSubscriber subscriber;
+  @Mock EventBus bus;
+  @Mock EventDeliveryFactory deliveryFactory;
+
+  @Test
+  void fullQueueHoldsUpProducer() throws Exception {
+    when(config.getSubscriberQueueCapacity()).thenReturn(1);
+    when(subscriber.accepts(any(Event.class))).thenReturn(true);
+    // Deliveries only complete when the test says so.
+    BlockingQueue<Runnable> completions = new LinkedBlockingQueue<>();
+    when(deliveryFactory.create(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Runnable onComplete = invocation.getArgument(3);
+              EventDelivery delivery = () -> completions.add(onComplete);
+              return delivery;
+            });
+
+    QuarkusEventService service =
+        new QuarkusEventService(
+            config,
+            new EventFactory(config),
+            new EventSubscribers(subscriber),
+            null,
+            bus,
+            deliveryFactory,
+            null,
+            null);
+    try {
+      service.onStartup(null);
+      assertThat(service.requiresCallerThread()).isTrue();
+
+      AtomicInteger returned = new AtomicInteger();
+      CompletableFuture<Void> producer =
+          CompletableFuture.runAsync(
+              () -> {
+                for (int i = 0; i < 3; i++) {
+                  service.onVersionStoreEvent(referenceCreated("branch" + i));
+                  returned.incrementAndGet();
+                }
+              });
+
+      // The first event is being delivered, the second one fills the queue, so the producer is
+      // held up offering the third one.
+      Runnable first = completions.poll(30, TimeUnit.SECONDS);
+      assertThat(first).isNotNull();
+      Thread.sleep(200L);
+      assertThat(producer).isNotDone();
+      assertThat(returned).hasValue(2);
+
+      // Completing the first delivery makes room in the queue for the third event.
+      first.run();
+      producer.get(30, TimeUnit.SECONDS);
+      assertThat(returned).hasValue(3);
+
+      Runnable second = completions.poll(30, TimeUnit.SECONDS);
+      assertThat(second).isNotNull();
+      second.run();
+      Runnable third = completions.poll(30, TimeUnit.SECONDS);
+      assertThat(third).isNotNull();
+      third.run();
+    } finally {
+      service.onShutdown(null);
+    }
+
+    // Queued events never go through the event bus.
+    verify(bus, never()).publish(any(), any(), any());
+    verify(bus, never()).localConsumer(any());
+  }
+
+  private static VersionStoreEvent referenceCreated(String branch) {
+    return ImmutableVersionStoreEvent.builder()
+        .result(
+            ImmutableReferenceCreatedResult.builder()
+                .namedRef(BranchName.of(branch))
+                .hash(Hash.of("1234"))
+                .build())
+        .repositoryId("repo")
+        .build();
+  }
+}
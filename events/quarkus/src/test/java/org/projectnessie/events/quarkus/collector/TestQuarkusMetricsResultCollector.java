@@ -16,13 +16,27 @@
 package org.projectnessie.events.quarkus.collector;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector.NESSIE_EVENTS_QUEUE_DEPTH;
+import static org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector.NESSIE_EVENTS_QUEUE_DROPPED;
+import static org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector.NESSIE_EVENTS_QUEUE_LAG;
 import static org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector.NESSIE_RESULTS_REJECTED;
 import static org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector.NESSIE_RESULTS_TOTAL;
+import static org.projectnessie.events.quarkus.collector.QuarkusMetricsResultCollector.SUBSCRIPTION_ID_TAG_NAME;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
 import org.junit.jupiter.api.Test;
+import org.projectnessie.events.api.Event;
 import org.projectnessie.events.service.EventSubscribers;
+import org.projectnessie.events.service.SubscriberQueue;
+import org.projectnessie.events.service.SubscriberQueue.OverloadPolicy;
+import org.projectnessie.events.spi.EventSubscription;
 
 class TestQuarkusMetricsResultCollector extends TestQuarkusResultCollector {
 
@@ -49,4 +63,37 @@ class TestQuarkusMetricsResultCollector extends TestQuarkusResultCollector {
     assertThat(registry.get(NESSIE_RESULTS_TOTAL).counter().count()).isEqualTo(1);
     assertThat(registry.get(NESSIE_RESULTS_REJECTED).counter().count()).isEqualTo(1);
   }
+
+  @Test
+  void testSubscriberQueueMetrics() {
+    Instant created = Instant.parse("2024-01-01T00:00:00Z");
+    Clock clock = Clock.fixed(created.plusSeconds(5), ZoneOffset.UTC);
+    // not started, so the events stay in the queue
+    SubscriberQueue queue =
+        new SubscriberQueue(
+            "queue1", 2, OverloadPolicy.DROP_OLDEST, null, 1, (events, onComplete) -> {}, clock);
+    EventSubscription subscription = mock(EventSubscription.class);
+    when(subscription.getIdAsText()).thenReturn("sub1");
+    QuarkusMetricsResultCollector.registerSubscriberQueueMetrics(
+        registry, Collections.singletonMap(subscription, queue));
+
+    Event event = mock(Event.class);
+    when(event.getEventCreationTimestamp()).thenReturn(created);
+    queue.offer(event);
+    queue.offer(event);
+    queue.offer(event);
+
+    assertThat(registry.get(NESSIE_EVENTS_QUEUE_DEPTH).tag(SUBSCRIPTION_ID_TAG_NAME, "sub1"))
+        .extracting(search -> search.gauge().value())
+        .isEqualTo(2d);
+    assertThat(registry.get(NESSIE_EVENTS_QUEUE_LAG).tag(SUBSCRIPTION_ID_TAG_NAME, "sub1"))
+        .extracting(search -> search.gauge().value())
+        .isEqualTo(5000d);
+    assertThat(registry.get(NESSIE_EVENTS_QUEUE_DROPPED).tag(SUBSCRIPTION_ID_TAG_NAME, "sub1"))
+        .extracting(search -> search.functionCounter().count())
+        .isEqualTo(1d);
+    assertThat(registry.get(NESSIE_EVENTS_QUEUE_LAG).gauge().getId().getBaseUnit())
+        .isEqualTo("milliseconds");
+    queue.close();
+  }
 }
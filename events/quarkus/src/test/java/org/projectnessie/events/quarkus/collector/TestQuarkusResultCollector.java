@@ -26,6 +26,8 @@ import static org.projectnessie.events.quarkus.QuarkusEventService.NESSIE_EVENTS
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -76,4 +78,17 @@ class TestQuarkusResultCollector {
     collector.accept(result);
     verify(bus, never()).publish(any(), any(), any());
   }
+
+  @Test
+  void testDirectDestination() {
+    when(result.getResultType()).thenReturn(ResultType.COMMIT);
+    when(subscriber.accepts(any(EventType.class))).thenReturn(true);
+    EventSubscribers subscribers = new EventSubscribers(subscriber);
+    List<VersionStoreEvent> received = new ArrayList<>();
+    QuarkusResultCollector collector =
+        new QuarkusResultCollector(subscribers, "repo1", () -> "alice", received::add);
+    collector.accept(result);
+    assertThat(received).singleElement().extracting(VersionStoreEvent::getResult).isSameAs(result);
+    verify(bus, never()).publish(any(), any(), any());
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TestCompletionEventDelivery extends TestRetriableEventDelivery<CompletionEventDelivery> {
+
+  final AtomicInteger completions = new AtomicInteger();
+
+  @Override
+  CompletionEventDelivery newDelivery() {
+    return new CompletionEventDelivery(
+        new StandardEventDelivery(event, subscriber, retryConfig, vertx),
+        completions::incrementAndGet);
+  }
+
+  @Override
+  @Test
+  void testDeliverySuccessNoRetry() {
+    super.testDeliverySuccessNoRetry();
+    assertThat(completions).hasValue(1);
+  }
+
+  @Override
+  @Test
+  void testDeliverySuccessWithRetry() {
+    super.testDeliverySuccessWithRetry();
+    assertThat(completions).hasValue(1);
+  }
+
+  @Override
+  @Test
+  void testDeliveryFailureWithRetry() {
+    super.testDeliveryFailureWithRetry();
+    assertThat(completions).hasValue(1);
+  }
+
+  @Override
+  @Test
+  void testDeliveryRejected() {
+    super.testDeliveryRejected();
+    assertThat(completions).hasValue(1);
+  }
+
+  @Test
+  void testCompletesWhenDelegateThrows() {
+    RetriableEventDelivery delegate = mock(RetriableEventDelivery.class);
+    CompletionEventDelivery delivery =
+        new CompletionEventDelivery(delegate, completions::incrementAndGet);
+    RuntimeException error = new RuntimeException("delegate");
+
+    doThrow(error).when(delegate).deliverySuccessful(1);
+    assertThatThrownBy(() -> delivery.deliverySuccessful(1)).isSameAs(error);
+    assertThat(completions).hasValue(1);
+
+    doThrow(error).when(delegate).deliveryFailed(2, error);
+    assertThatThrownBy(() -> delivery.deliveryFailed(2, error)).isSameAs(error);
+    assertThat(completions).hasValue(2);
+
+    doThrow(error).when(delegate).deliveryRejected();
+    assertThatThrownBy(delivery::deliveryRejected).isSameAs(error);
+    assertThat(completions).hasValue(3);
+  }
+}
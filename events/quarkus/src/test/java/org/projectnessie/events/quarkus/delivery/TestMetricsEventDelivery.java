@@ -18,6 +18,7 @@ package org.projectnessie.events.quarkus.delivery;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,10 +39,13 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.spi.BatchEventSubscriber;
 
 class TestMetricsEventDelivery extends TestRetriableEventDelivery<MetricsEventDelivery> {
 
@@ -118,6 +122,33 @@ class TestMetricsEventDelivery extends TestRetriableEventDelivery<MetricsEventDe
     assertThat(retriesCounter().count()).isEqualTo(0);
   }
 
+  @Test
+  void testBatchDelivery() {
+    BatchEventSubscriber batchSubscriber = mock(BatchEventSubscriber.class);
+    Event contentEvent = mock(Event.class);
+    when(contentEvent.getType()).thenReturn(EventType.CONTENT_STORED);
+    List<Event> events = List.of(event, event, contentEvent);
+    MetricsEventDelivery batchDelivery =
+        new MetricsEventDelivery(
+            new StandardEventDelivery(events, batchSubscriber, retryConfig, vertx),
+            events,
+            registry,
+            clock);
+    batchDelivery.start();
+    verify(batchSubscriber).onEvents(events);
+    assertThat(totalTimer(SUCCESSFUL).count()).isEqualTo(2);
+    assertThat(totalTimer(SUCCESSFUL).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20L);
+    assertThat(successfulCounter().count()).isEqualTo(2);
+    assertThat(
+            registry
+                .counter(
+                    NESSIE_EVENTS_SUCCESSFUL,
+                    Tags.of(EVENT_TYPE_TAG_NAME, EventType.CONTENT_STORED.name()))
+                .count())
+        .isEqualTo(1);
+    assertThat(retriesCounter().count()).isEqualTo(0);
+  }
+
   Timer totalTimer(MetricsEventDelivery.DeliveryStatus status) {
     return registry.timer(
         NESSIE_EVENTS_TOTAL,
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.spi.BatchEventSubscriber;
+
+/**
+ * Accumulates the events for a single {@link BatchEventSubscriber} into batches.
+ *
+ * <p>A batch is passed to the sink once it reaches the {@linkplain EventConfig#getBatchMaxSize()
+ * maximum batch size}. If a {@link Scheduler} is provided, a flush of the current batch is
+ * scheduled after the {@linkplain EventConfig#getBatchLingerTime() linger time} when its first
+ * event is added; otherwise the owner of this batcher is responsible for calling {@link #flush()}.
+ *
+ * <p>This class is thread-safe. The sink is never invoked while holding the lock of this batcher.
+ */
+public final class EventBatcher {
+
+  /** Schedules a task to be executed after a delay. */
+  @FunctionalInterface
+  public interface Scheduler {
+    void schedule(Duration delay, Runnable task);
+  }
+
+  private final int maxBatchSize;
+  private final Duration lingerTime;
+  private final Scheduler scheduler;
+  private final Consumer<List<Event>> sink;
+
+  // guarded by this
+  private List<Event> pending;
+  // guarded by this
+  private long batchNumber;
+
+  public EventBatcher(
+      int maxBatchSize, Duration lingerTime, Scheduler scheduler, Consumer<List<Event>> sink) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Max batch size must be greater than 0");
+    }
+    this.maxBatchSize = maxBatchSize;
+    this.lingerTime = lingerTime;
+    this.scheduler = scheduler;
+    this.sink = sink;
+    this.pending = new ArrayList<>();
+  }
+
+  /** Adds an event to the current batch, passes the batch to the sink if it is complete. */
+  public void add(Event event) {
+    List<Event> batch = null;
+    long lingerBatch = -1L;
+    synchronized (this) {
+      pending.add(event);
+      if (pending.size() >= maxBatchSize || (scheduler != null && lingerTime.isZero())) {
+        batch = takePending();
+      } else if (pending.size() == 1 && scheduler != null) {
+        lingerBatch = batchNumber;
+      }
+    }
+    if (batch != null) {
+      sink.accept(batch);
+    } else if (lingerBatch >= 0L) {
+      long scheduledBatch = lingerBatch;
+      scheduler.schedule(lingerTime, () -> flush(scheduledBatch));
+    }
+  }
+
+  /** Passes the current batch, if not empty, to the sink. */
+  public void flush() {
+    List<Event> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = takePending();
+    }
+    sink.accept(batch);
+  }
+
+  private void flush(long expectedBatchNumber) {
+    List<Event> batch;
+    synchronized (this) {
+      // The batch may have been completed already, do not flush the next one too early.
+      if (batchNumber != expectedBatchNumber || pending.isEmpty()) {
+        return;
+      }
+      batch = takePending();
+    }
+    sink.accept(batch);
+  }
+
+  private List<Event> takePending() {
+    List<Event> batch = pending;
+    pending = new ArrayList<>();
+    batchNumber++;
+    return batch;
+  }
+}
@@ -15,9 +15,12 @@
  */
 package org.projectnessie.events.service;
 
+import java.nio.file.Path;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
 import org.projectnessie.events.api.Event;
@@ -57,4 +60,74 @@ public interface EventConfig {
   default Clock getClock() {
     return Clock.systemUTC();
   }
+
+  /**
+   * The maximum number of events delivered at once to a {@link
+   * org.projectnessie.events.spi.BatchEventSubscriber}.
+   */
+  default int getBatchMaxSize() {
+    return 100;
+  }
+
+  /**
+   * The maximum time to wait for more events before delivering an incomplete batch to a {@link
+   * org.projectnessie.events.spi.BatchEventSubscriber}, counting from the first event of the
+   * batch. A linger time of zero disables batching.
+   *
+   * <p>Not used by the synchronous {@link EventService}, which delivers the current batches after
+   * processing each version store result.
+   */
+  default Duration getBatchLingerTime() {
+    return Duration.ofMillis(100);
+  }
+
+  /**
+   * The capacity of the per-subscriber event queues. If greater than zero, each subscriber gets its
+   * own bounded queue, drained by a dedicated thread, so that a slow subscriber cannot hold up the
+   * delivery to other subscribers. Zero (the default) disables the queues.
+   */
+  default int getSubscriberQueueCapacity() {
+    return 0;
+  }
+
+  /** What happens when an event is offered to a full subscriber queue. */
+  default SubscriberQueue.OverloadPolicy getSubscriberQueueOverloadPolicy() {
+    return SubscriberQueue.OverloadPolicy.BLOCK;
+  }
+
+  /**
+   * The directory for the spill logs of the subscriber queues, required for the {@link
+   * SubscriberQueue.OverloadPolicy#SPILL_TO_DISK} overload policy.
+   */
+  default Optional<Path> getSubscriberQueueSpillDirectory() {
+    return Optional.empty();
+  }
+
+  /**
+   * The directory of the durable event outbox. If present, events are appended to the outbox
+   * before {@link EventService#onVersionStoreEvent(VersionStoreEvent)} returns, and delivered to
+   * each subscriber asynchronously, from the subscriber's own cursor. If empty (the default),
+   * events are delivered directly via {@link EventService#fireEvent(Event)}.
+   */
+  default Optional<Path> getOutboxDirectory() {
+    return Optional.empty();
+  }
+
+  /** The maximum number of events read from the outbox at once for a subscriber. */
+  default int getOutboxBatchSize() {
+    return 100;
+  }
+
+  /**
+   * The maximum number of attempts to deliver an event from the outbox to a subscriber, before the
+   * event is skipped.
+   */
+  default int getOutboxMaxDeliveryAttempts() {
+    return 5;
+  }
+
+  /** The initial delay between two attempts to deliver an event from the outbox. */
+  default Duration getOutboxRetryBackoff() {
+    return Duration.ofSeconds(1);
+  }
 }
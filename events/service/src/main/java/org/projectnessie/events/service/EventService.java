@@ -16,18 +16,28 @@
 package org.projectnessie.events.service;
 
 import jakarta.annotation.Nullable;
+import java.nio.file.Path;
 import java.security.Principal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import org.projectnessie.events.api.Content;
 import org.projectnessie.events.api.ContentKey;
 import org.projectnessie.events.api.ContentStoredEvent;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
 import org.projectnessie.events.api.ReferenceCreatedEvent;
+import org.projectnessie.events.service.outbox.EventOutbox;
+import org.projectnessie.events.service.outbox.FileEventOutbox;
+import org.projectnessie.events.service.outbox.OutboxDispatcher;
 import org.projectnessie.events.service.util.ContentMapping;
+import org.projectnessie.events.spi.BatchEventSubscriber;
 import org.projectnessie.events.spi.EventSubscriber;
 import org.projectnessie.events.spi.EventSubscription;
 import org.projectnessie.events.spi.ImmutableEventSubscription;
@@ -55,6 +65,12 @@ import org.slf4j.MDC;
  * <p>This class is meant to be used as a singleton. It provides all the required functionality to
  * process and deliver events. Subclasses may override some of the protected methods to add support
  * for tracing, or to implement more sophisticated delivery logic.
+ *
+ * <p>If an {@linkplain EventConfig#getOutboxDirectory() outbox directory} is configured, events are
+ * not delivered via {@link #fireEvent(Event)}. Instead, all events produced for a version store
+ * result are durably appended to an {@link EventOutbox}, and each subscriber consumes the outbox
+ * asynchronously from its own cursor via an {@link OutboxDispatcher}, which hands the events to
+ * {@link #deliverFromOutbox(List, EventSubscriber, EventSubscription, Runnable)}.
  */
 public class EventService implements AutoCloseable {
 
@@ -68,9 +84,17 @@ public class EventService implements AutoCloseable {
   protected final EventSubscribers subscribers;
 
   private volatile boolean started;
+  private volatile boolean closed;
   private boolean hasContentSubscribers;
   private boolean hasCommitSubscribers;
 
+  private volatile Map<EventSubscription, EventBatcher> batchers = Collections.emptyMap();
+  private volatile Map<EventSubscription, SubscriberQueue> queues = Collections.emptyMap();
+  private boolean batchesFlushedPerResult;
+
+  private volatile EventOutbox outbox;
+  private volatile List<OutboxDispatcher> dispatchers = Collections.emptyList();
+
   public EventService(EventConfig config, EventFactory factory, EventSubscribers subscribers) {
     this.config = config;
     this.factory = factory;
@@ -91,16 +115,178 @@ public class EventService implements AutoCloseable {
               || subscribers.hasSubscribersFor(EventType.CONTENT_REMOVED);
       hasCommitSubscribers =
           hasContentSubscribers || subscribers.hasSubscribersFor(EventType.COMMIT);
+      if (config.getSubscriberQueueCapacity() > 0) {
+        startQueues();
+      } else {
+        startBatchers();
+      }
+      config.getOutboxDirectory().ifPresent(this::startOutbox);
       started = true;
     }
   }
 
+  private void startBatchers() {
+    EventBatcher.Scheduler scheduler = batchScheduler();
+    batchesFlushedPerResult = scheduler == null;
+    Map<EventSubscription, EventBatcher> batchers = new HashMap<>();
+    subscribers
+        .getSubscriptions()
+        .forEach(
+            (subscription, subscriber) -> {
+              if (subscriber instanceof BatchEventSubscriber) {
+                batchers.put(
+                    subscription,
+                    new EventBatcher(
+                        config.getBatchMaxSize(),
+                        config.getBatchLingerTime(),
+                        scheduler,
+                        batch -> deliverEvents(batch, subscriber, subscription)));
+              }
+            });
+    this.batchers = batchers;
+  }
+
+  /**
+   * Returns the scheduler used to deliver incomplete batches to {@link BatchEventSubscriber}s
+   * after the {@linkplain EventConfig#getBatchLingerTime() linger time}.
+   *
+   * @implNote This implementation returns {@code null}: since events are delivered synchronously,
+   *     the current batches are delivered after all events of a version store result have been
+   *     fired. Subclasses delivering events asynchronously should return a scheduler.
+   */
+  protected EventBatcher.Scheduler batchScheduler() {
+    return null;
+  }
+
+  private void startQueues() {
+    int capacity = config.getSubscriberQueueCapacity();
+    SubscriberQueue.OverloadPolicy policy = config.getSubscriberQueueOverloadPolicy();
+    Path spillDirectory = null;
+    if (policy == SubscriberQueue.OverloadPolicy.SPILL_TO_DISK) {
+      spillDirectory =
+          config
+              .getSubscriberQueueSpillDirectory()
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          "Overload policy SPILL_TO_DISK requires a spill directory"));
+    }
+    LOGGER.info("Using subscriber queues of capacity {}, overload policy {}", capacity, policy);
+    Map<EventSubscription, SubscriberQueue> queues = new HashMap<>();
+    Map<EventSubscriber, EventSubscription> subscriptions = subscriptionsBySubscriber();
+    for (Map.Entry<EventSubscriber, String> entry : stableSubscriberIds().entrySet()) {
+      EventSubscriber subscriber = entry.getKey();
+      EventSubscription subscription = subscriptions.get(subscriber);
+      String id = entry.getValue();
+      EventOutbox spill =
+          spillDirectory != null
+              ? FileEventOutbox.open(spillDirectory.resolve(id.replaceAll("[^A-Za-z0-9._-]", "_")))
+              : null;
+      queues.put(
+          subscription,
+          new SubscriberQueue(
+              id,
+              capacity,
+              policy,
+              spill,
+              subscriber instanceof BatchEventSubscriber ? config.getBatchMaxSize() : 1,
+              (events, onComplete) ->
+                  deliverQueued(events, subscriber, subscription, onComplete),
+              config.getClock()));
+    }
+    this.queues = queues;
+    queues.values().forEach(SubscriberQueue::start);
+  }
+
+  /** Returns the subscriber queues by subscription, empty if the queues are disabled. */
+  protected Map<EventSubscription, SubscriberQueue> getSubscriberQueues() {
+    return queues;
+  }
+
+  private Map<EventSubscriber, EventSubscription> subscriptionsBySubscriber() {
+    Map<EventSubscriber, EventSubscription> subscriptions = new HashMap<>();
+    subscribers.getSubscriptions().forEach((s, subscriber) -> subscriptions.put(subscriber, s));
+    return subscriptions;
+  }
+
+  /**
+   * Returns IDs for all subscribers, which are stable across restarts: derived from the subscriber
+   * class name and the position among the subscribers of the same class.
+   */
+  private Map<EventSubscriber, String> stableSubscriberIds() {
+    Map<EventSubscriber, String> ids = new LinkedHashMap<>();
+    Map<String, Integer> classCounts = new HashMap<>();
+    for (EventSubscriber subscriber : subscribers.getSubscribers()) {
+      String className = subscriber.getClass().getName();
+      int n = classCounts.merge(className, 1, Integer::sum);
+      ids.put(subscriber, n == 1 ? className : className + "#" + n);
+    }
+    return ids;
+  }
+
+  private void startOutbox(Path directory) {
+    LOGGER.info("Delivering events via outbox in {}", directory);
+    EventOutbox outbox = FileEventOutbox.open(directory);
+    List<OutboxDispatcher> dispatchers = new ArrayList<>();
+    Map<EventSubscriber, EventSubscription> subscriptions = subscriptionsBySubscriber();
+    for (Map.Entry<EventSubscriber, String> entry : stableSubscriberIds().entrySet()) {
+      EventSubscriber subscriber = entry.getKey();
+      EventSubscription subscription = subscriptions.get(subscriber);
+      dispatchers.add(
+          new OutboxDispatcher(
+              outbox,
+              entry.getValue(),
+              subscriber,
+              config.getOutboxBatchSize(),
+              config.getOutboxRetryBackoff(),
+              (events, onComplete) ->
+                  deliverFromOutbox(events, subscriber, subscription, onComplete),
+              this::onOutboxProgress));
+    }
+    this.outbox = outbox;
+    this.dispatchers = dispatchers;
+    dispatchers.forEach(OutboxDispatcher::start);
+  }
+
+  private void onOutboxProgress() {
+    EventOutbox outbox = this.outbox;
+    long min = Long.MAX_VALUE;
+    for (OutboxDispatcher dispatcher : dispatchers) {
+      min = Math.min(min, dispatcher.cursor());
+    }
+    if (outbox != null && min != Long.MAX_VALUE) {
+      outbox.truncate(min);
+    }
+  }
+
   /** Closes the event service by deactivating the subscribers. */
   @Override
   public synchronized void close() {
+    closed = true;
+    queues.values().forEach(SubscriberQueue::close);
+    queues = Collections.emptyMap();
+    dispatchers.forEach(OutboxDispatcher::close);
+    dispatchers = Collections.emptyList();
+    if (outbox != null) {
+      outbox.close();
+      outbox = null;
+    }
     subscribers.close();
   }
 
+  /**
+   * Returns whether {@link #onVersionStoreEvent(VersionStoreEvent)} may block, to durably append
+   * events to the {@linkplain EventConfig#getOutboxDirectory() outbox}, or to offer them to
+   * {@linkplain EventConfig#getSubscriberQueueCapacity() subscriber queues}. If so, the {@link
+   * ResultCollector} must forward results on the thread that produced them, before the version
+   * store operation returns, and not via an asynchronous in-memory hop: events handed over
+   * asynchronously would be lost if the server stopped before this service received them, and
+   * would pile up in memory instead of holding up the producer when a queue is full.
+   */
+  public boolean requiresCallerThread() {
+    return config.getOutboxDirectory().isPresent() || config.getSubscriberQueueCapacity() > 0;
+  }
+
   /**
    * Invoked when a result is received from the version store by {@link ResultCollector}, then
    * forwarded to this service for delivery.
@@ -114,7 +300,6 @@ public class EventService implements AutoCloseable {
    * @see ResultCollector#accept(Result)
    * @see ResultCollector#shouldProcess(Result)
    */
-  @SuppressWarnings("unchecked")
   public void onVersionStoreEvent(VersionStoreEvent event) {
     if (!started) {
       return;
@@ -122,24 +307,41 @@ public class EventService implements AutoCloseable {
     Result result = event.getResult();
     Principal user = event.getUser().orElse(null);
     String repositoryId = event.getRepositoryId();
+    EventOutbox outbox = this.outbox;
+    if (outbox == null) {
+      onResult(result, repositoryId, user, this::fireEvent);
+      if (batchesFlushedPerResult) {
+        batchers.values().forEach(EventBatcher::flush);
+      }
+    } else {
+      List<Event> events = new ArrayList<>();
+      onResult(result, repositoryId, user, events::add);
+      outbox.append(events);
+      dispatchers.forEach(OutboxDispatcher::signal);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void onResult(
+      Result result, String repositoryId, @Nullable Principal user, Consumer<Event> sink) {
     switch (result.getResultType()) {
       case COMMIT:
-        onCommitResult((CommitResult<Commit>) result, repositoryId, user);
+        onCommitResult((CommitResult<Commit>) result, repositoryId, user, sink);
         break;
       case MERGE:
-        onMergeResult((MergeResult<Commit>) result, repositoryId, user);
+        onMergeResult((MergeResult<Commit>) result, repositoryId, user, sink);
         break;
       case TRANSPLANT:
-        onTransplantResult((MergeResult<Commit>) result, repositoryId, user);
+        onTransplantResult((MergeResult<Commit>) result, repositoryId, user, sink);
         break;
       case REFERENCE_CREATED:
-        onReferenceCreatedResult((ReferenceCreatedResult) result, repositoryId, user);
+        onReferenceCreatedResult((ReferenceCreatedResult) result, repositoryId, user, sink);
         break;
       case REFERENCE_ASSIGNED:
-        onReferenceAssignedResult((ReferenceAssignedResult) result, repositoryId, user);
+        onReferenceAssignedResult((ReferenceAssignedResult) result, repositoryId, user, sink);
         break;
       case REFERENCE_DELETED:
-        onReferenceDeletedResult((ReferenceDeletedResult) result, repositoryId, user);
+        onReferenceDeletedResult((ReferenceDeletedResult) result, repositoryId, user, sink);
         break;
       default:
         throw new IllegalArgumentException("Unknown result type: " + result.getResultType());
@@ -147,71 +349,103 @@ public class EventService implements AutoCloseable {
   }
 
   private void onCommitResult(
-      CommitResult<Commit> result, String repositoryId, @Nullable Principal user) {
+      CommitResult<Commit> result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     LOGGER.debug("Received commit result: {}", result);
-    fireCommitEvent(result.getCommit(), result.getTargetBranch(), repositoryId, user);
+    fireCommitEvent(result.getCommit(), result.getTargetBranch(), repositoryId, user, sink);
   }
 
   private void onMergeResult(
-      MergeResult<Commit> result, String repositoryId, @Nullable Principal user) {
+      MergeResult<Commit> result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     LOGGER.debug("Received merge result: {}", result);
-    fireMergeEvent(result, repositoryId, user);
+    fireMergeEvent(result, repositoryId, user, sink);
   }
 
   private void onTransplantResult(
-      MergeResult<Commit> result, String repositoryId, @Nullable Principal user) {
+      MergeResult<Commit> result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     LOGGER.debug("Received transplant result: {}", result);
-    fireTransplantEvent(result, repositoryId, user);
+    fireTransplantEvent(result, repositoryId, user, sink);
   }
 
   private void onReferenceCreatedResult(
-      ReferenceCreatedResult result, String repositoryId, @Nullable Principal user) {
+      ReferenceCreatedResult result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     LOGGER.debug("Received branch created result: {}", result);
-    fireEvent(factory.newReferenceCreatedEvent(result, repositoryId, user));
+    sink.accept(factory.newReferenceCreatedEvent(result, repositoryId, user));
   }
 
   private void onReferenceAssignedResult(
-      ReferenceAssignedResult result, String repositoryId, @Nullable Principal user) {
+      ReferenceAssignedResult result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     LOGGER.debug("Received reference assigned result: {}", result);
-    fireEvent(factory.newReferenceUpdatedEvent(result, repositoryId, user));
+    sink.accept(factory.newReferenceUpdatedEvent(result, repositoryId, user));
   }
 
   private void onReferenceDeletedResult(
-      ReferenceDeletedResult result, String repositoryId, @Nullable Principal user) {
+      ReferenceDeletedResult result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     LOGGER.debug("Received reference deleted result: {}", result);
-    fireEvent(factory.newReferenceDeletedEvent(result, repositoryId, user));
+    sink.accept(factory.newReferenceDeletedEvent(result, repositoryId, user));
   }
 
   private void fireCommitEvent(
-      Commit commit, BranchName targetBranch, String repositoryId, @Nullable Principal user) {
-    fireEvent(factory.newCommitEvent(commit, targetBranch, repositoryId, user));
+      Commit commit,
+      BranchName targetBranch,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
+    sink.accept(factory.newCommitEvent(commit, targetBranch, repositoryId, user));
     if (hasContentSubscribers) {
-      fireContentEvents(commit, targetBranch, repositoryId, user);
+      fireContentEvents(commit, targetBranch, repositoryId, user, sink);
     }
   }
 
   private void fireMergeEvent(
-      MergeResult<Commit> result, String repositoryId, @Nullable Principal user) {
-    fireEvent(factory.newMergeEvent(result, repositoryId, user));
+      MergeResult<Commit> result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
+    sink.accept(factory.newMergeEvent(result, repositoryId, user));
     if (hasCommitSubscribers) {
       for (Commit commit : result.getCreatedCommits()) {
-        fireCommitEvent(commit, result.getTargetBranch(), repositoryId, user);
+        fireCommitEvent(commit, result.getTargetBranch(), repositoryId, user, sink);
       }
     }
   }
 
   private void fireTransplantEvent(
-      MergeResult<Commit> result, String repositoryId, @Nullable Principal user) {
-    fireEvent(factory.newTransplantEvent(result, repositoryId, user));
+      MergeResult<Commit> result,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
+    sink.accept(factory.newTransplantEvent(result, repositoryId, user));
     if (hasCommitSubscribers) {
       for (Commit commit : result.getCreatedCommits()) {
-        fireCommitEvent(commit, result.getTargetBranch(), repositoryId, user);
+        fireCommitEvent(commit, result.getTargetBranch(), repositoryId, user, sink);
       }
     }
   }
 
   private void fireContentEvents(
-      Commit commit, BranchName targetBranch, String repositoryId, @Nullable Principal user) {
+      Commit commit,
+      BranchName targetBranch,
+      String repositoryId,
+      @Nullable Principal user,
+      Consumer<Event> sink) {
     List<Operation> operations = commit.getOperations();
     if (operations != null && !operations.isEmpty()) {
       Hash hash = Objects.requireNonNull(commit.getHash());
@@ -220,12 +454,12 @@ public class EventService implements AutoCloseable {
         if (operation instanceof org.projectnessie.versioned.Put) {
           ContentKey contentKey = ContentMapping.map(operation.getKey());
           Content content = ContentMapping.map(((Put) operation).getValue());
-          fireEvent(
+          sink.accept(
               factory.newContentStoredEvent(
                   targetBranch, hash, commitTime, contentKey, content, repositoryId, user));
         } else if (operation instanceof org.projectnessie.versioned.Delete) {
           ContentKey contentKey = ContentMapping.map(operation.getKey());
-          fireEvent(
+          sink.accept(
               factory.newContentRemovedEvent(
                   targetBranch, hash, commitTime, contentKey, repositoryId, user));
         }
@@ -246,7 +480,34 @@ public class EventService implements AutoCloseable {
         subscribers.getSubscriptions().entrySet()) {
       EventSubscription subscription = entry.getKey();
       EventSubscriber subscriber = entry.getValue();
+      dispatchEvent(event, subscriber, subscription);
+    }
+  }
+
+  /**
+   * Adds the event to the queue of the subscriber, if {@linkplain
+   * EventConfig#getSubscriberQueueCapacity() enabled}, or to the current batch of a {@link
+   * BatchEventSubscriber}, if it accepts the event, or delivers it via {@link #deliverEvent(Event,
+   * EventSubscriber, EventSubscription)} to other subscribers.
+   */
+  protected void dispatchEvent(
+      Event event, EventSubscriber subscriber, EventSubscription subscription) {
+    SubscriberQueue queue = queues.get(subscription);
+    if (queue != null) {
+      if (subscriber.accepts(event)) {
+        queue.offer(event);
+      } else {
+        LOGGER.debug("Subscriber rejected event: {}", event);
+      }
+      return;
+    }
+    EventBatcher batcher = batchers.get(subscription);
+    if (batcher == null) {
       deliverEvent(event, subscriber, subscription);
+    } else if (subscriber.accepts(event)) {
+      batcher.add(event);
+    } else {
+      LOGGER.debug("Subscriber rejected event: {}", event);
     }
   }
 
@@ -269,4 +530,105 @@ public class EventService implements AutoCloseable {
       MDC.remove(EVENT_ID_MDC_KEY);
     }
   }
+
+  /**
+   * Delivers events taken from the queue of a subscriber, and calls {@code onComplete} once the
+   * delivery has finished. The events are a batch for a {@link BatchEventSubscriber}, or a single
+   * event for other subscribers.
+   *
+   * @implNote This implementation delivers synchronously. Subclasses that deliver asynchronously
+   *     must call {@code onComplete} when the delivery has either succeeded or finally failed.
+   */
+  protected void deliverQueued(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onComplete) {
+    try {
+      if (subscriber instanceof BatchEventSubscriber) {
+        deliverEvents(events, subscriber, subscription);
+      } else {
+        events.forEach(event -> deliverEvent(event, subscriber, subscription));
+      }
+    } finally {
+      onComplete.run();
+    }
+  }
+
+  /**
+   * Delivers events read from the {@linkplain EventConfig#getOutboxDirectory() outbox}, and calls
+   * {@code onComplete} once the delivery has either succeeded or finally failed. The events are a
+   * batch for a {@link BatchEventSubscriber}, or a single event for other subscribers; all of them
+   * have been accepted by the subscriber.
+   *
+   * @implNote This implementation delivers synchronously, retrying a failed delivery up to the
+   *     {@linkplain EventConfig#getOutboxMaxDeliveryAttempts() maximum number of attempts} with
+   *     exponential backoff; after that, the events are skipped and logged. If the service is
+   *     closed while retrying, {@code onComplete} is not called, and the events are redelivered
+   *     after a restart. Subclasses that deliver asynchronously must call {@code onComplete} when
+   *     the delivery has either succeeded or finally failed.
+   */
+  protected void deliverFromOutbox(
+      List<Event> events,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onComplete) {
+    boolean batch = subscriber instanceof BatchEventSubscriber;
+    Object description = batch ? events.size() + " events" : events.get(0);
+    long initialBackoff = config.getOutboxRetryBackoff().toMillis();
+    long backoff = initialBackoff;
+    for (int attempt = 1; ; attempt++) {
+      MDC.put(SUBSCRIPTION_ID_MDC_KEY, subscription.getIdAsText());
+      if (!batch) {
+        MDC.put(EVENT_ID_MDC_KEY, events.get(0).getIdAsText());
+      }
+      try {
+        LOGGER.debug("Delivering to subscriber {}: {}", subscriber, description);
+        if (batch) {
+          ((BatchEventSubscriber) subscriber).onEvents(events);
+        } else {
+          subscriber.onEvent(events.get(0));
+        }
+        LOGGER.debug("Successfully delivered: {}", description);
+        break;
+      } catch (Exception e) {
+        if (attempt >= config.getOutboxMaxDeliveryAttempts()) {
+          LOGGER.error(
+              "Could not be delivered after {} attempts, skipping: {}", attempt, description, e);
+          break;
+        }
+        LOGGER.warn(
+            "Delivery attempt {} failed, retrying in {} ms: {}", attempt, backoff, description, e);
+      } finally {
+        MDC.remove(SUBSCRIPTION_ID_MDC_KEY);
+        MDC.remove(EVENT_ID_MDC_KEY);
+      }
+      if (closed) {
+        return;
+      }
+      try {
+        Thread.sleep(backoff);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      backoff = Math.min(backoff * 2, initialBackoff * 32);
+    }
+    onComplete.run();
+  }
+
+  /** Delivers a batch of accepted events to a {@link BatchEventSubscriber}. */
+  protected void deliverEvents(
+      List<Event> events, EventSubscriber subscriber, EventSubscription subscription) {
+    MDC.put(SUBSCRIPTION_ID_MDC_KEY, subscription.getIdAsText());
+    try {
+      LOGGER.debug("Delivering {} events to subscriber {}", events.size(), subscriber);
+      ((BatchEventSubscriber) subscriber).onEvents(events);
+      LOGGER.debug("Events successfully delivered: {}", events);
+    } catch (Exception e) {
+      LOGGER.error("Events could not be delivered: {}", events, e);
+    } finally {
+      MDC.remove(SUBSCRIPTION_ID_MDC_KEY);
+    }
+  }
 }
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.service.outbox.EventOutbox;
+import org.projectnessie.events.service.outbox.OutboxEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of events for a single subscriber, drained by a dedicated thread.
+ *
+ * <p>The thread takes the oldest queued events, at most {@code maxBatchSize} at once, hands them to
+ * the {@link Delivery} and waits until the delivery has completed before it takes the next events.
+ * A slow subscriber therefore only fills its own queue, and does not hold up the delivery to other
+ * subscribers nor the thread firing the events.
+ *
+ * <p>What happens when an event is offered to a full queue is determined by the {@link
+ * OverloadPolicy}.
+ */
+public final class SubscriberQueue implements AutoCloseable {
+
+  /** Determines what happens when an event is offered to a full queue. */
+  public enum OverloadPolicy {
+    /**
+     * The thread offering the event blocks until the queue has room for it. This applies
+     * backpressure to the producer of the events.
+     */
+    BLOCK,
+    /** The oldest queued event is dropped to make room for the new one. */
+    DROP_OLDEST,
+    /**
+     * The event is appended to an on-disk spill log. Once events have been spilled, all new events
+     * are spilled, until the subscriber has caught up, to retain the order of the events.
+     */
+    SPILL_TO_DISK
+  }
+
+  /** Delivers events to the subscriber. */
+  @FunctionalInterface
+  public interface Delivery {
+    /**
+     * Starts the delivery of the given events, which must eventually call {@code onComplete}, when
+     * the delivery has either succeeded or finally failed.
+     */
+    void deliver(List<Event> events, Runnable onComplete);
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SubscriberQueue.class);
+
+  /** Cursor name of the queue in its spill log. */
+  private static final String SPILL_CONSUMER_ID = "queue";
+
+  private final String name;
+  private final int capacity;
+  private final OverloadPolicy policy;
+  private final EventOutbox spill;
+  private final int maxBatchSize;
+  private final Delivery delivery;
+  private final Clock clock;
+  private final Thread thread;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+
+  // guarded by lock
+  private final ArrayDeque<Event> queue = new ArrayDeque<>();
+  // guarded by lock
+  private boolean spilling;
+  // guarded by lock
+  private long spillCursor;
+  // guarded by lock
+  private long dropped;
+  // guarded by lock
+  private boolean closed;
+
+  private volatile Instant inFlightSince;
+
+  /**
+   * Creates a new queue, the queue thread is started by {@link #start()}.
+   *
+   * @param name the name of the queue, used for the name of its thread
+   * @param capacity the maximum number of queued events, excluding spilled events
+   * @param policy the overload policy
+   * @param spill the spill log, required if the policy is {@link OverloadPolicy#SPILL_TO_DISK};
+   *     events still in the spill log when the queue is created are delivered first
+   * @param maxBatchSize the maximum number of events passed to the delivery at once
+   * @param delivery the delivery
+   * @param clock the clock used to compute the {@linkplain #lag() lag}
+   */
+  public SubscriberQueue(
+      String name,
+      int capacity,
+      OverloadPolicy policy,
+      EventOutbox spill,
+      int maxBatchSize,
+      Delivery delivery,
+      Clock clock) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be greater than 0");
+    }
+    if (policy == OverloadPolicy.SPILL_TO_DISK && spill == null) {
+      throw new IllegalArgumentException("Overload policy SPILL_TO_DISK requires a spill log");
+    }
+    this.name = name;
+    this.capacity = capacity;
+    this.policy = policy;
+    this.spill = spill;
+    this.maxBatchSize = maxBatchSize;
+    this.delivery = delivery;
+    this.clock = clock;
+    if (spill != null) {
+      spillCursor = Math.max(0L, spill.loadCursor(SPILL_CONSUMER_ID));
+      spilling = spillCursor < spill.lastSequence();
+    }
+    thread = new Thread(this::run, "nessie-events-queue-" + name);
+    thread.setDaemon(true);
+  }
+
+  public void start() {
+    thread.start();
+  }
+
+  /** Adds an event to the queue, applying the overload policy if the queue is full. */
+  public void offer(Event event) {
+    lock.lock();
+    try {
+      if (closed) {
+        LOGGER.warn("Queue {} is closed, dropping event {}", name, event);
+        return;
+      }
+      if (!spilling && queue.size() < capacity) {
+        queue.add(event);
+        notEmpty.signal();
+        return;
+      }
+      switch (policy) {
+        case BLOCK:
+          while (queue.size() >= capacity && !closed) {
+            notFull.awaitUninterruptibly();
+          }
+          if (closed) {
+            LOGGER.warn("Queue {} is closed, dropping event {}", name, event);
+            return;
+          }
+          queue.add(event);
+          break;
+        case DROP_OLDEST:
+          Event oldest = queue.poll();
+          dropped++;
+          LOGGER.debug("Queue {} is full, dropping oldest event {}", name, oldest);
+          queue.add(event);
+          break;
+        case SPILL_TO_DISK:
+          spill.append(Collections.singletonList(event));
+          spilling = true;
+          break;
+        default:
+          throw new IllegalStateException("Unknown overload policy " + policy);
+      }
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The number of events waiting for delivery, including spilled events. */
+  public int depth() {
+    lock.lock();
+    try {
+      long spilled = spilling ? spill.lastSequence() - spillCursor : 0L;
+      return (int) Math.min(Integer.MAX_VALUE, queue.size() + spilled);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The number of events dropped by the {@link OverloadPolicy#DROP_OLDEST} policy. */
+  public long droppedCount() {
+    lock.lock();
+    try {
+      return dropped;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The time elapsed since the creation of the oldest event that has not been delivered yet, or
+   * zero if there is no such event in memory.
+   */
+  public Duration lag() {
+    Instant oldest = inFlightSince;
+    if (oldest == null) {
+      lock.lock();
+      try {
+        Event head = queue.peek();
+        oldest = head != null ? head.getEventCreationTimestamp() : null;
+      } finally {
+        lock.unlock();
+      }
+    }
+    if (oldest == null) {
+      return Duration.ZERO;
+    }
+    Duration lag = Duration.between(oldest, clock.instant());
+    return lag.isNegative() ? Duration.ZERO : lag;
+  }
+
+  private void run() {
+    while (true) {
+      List<Event> batch;
+      long spilledUpTo = -1L;
+      lock.lock();
+      try {
+        while (queue.isEmpty() && !spilling && !closed) {
+          notEmpty.awaitUninterruptibly();
+        }
+        if (closed) {
+          break;
+        }
+        if (!queue.isEmpty()) {
+          batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+          while (batch.size() < maxBatchSize && !queue.isEmpty()) {
+            batch.add(queue.poll());
+          }
+          notFull.signalAll();
+        } else {
+          // Only spilled events left, producers keep spilling until the spill log is drained.
+          List<OutboxEntry> entries = spill.read(spillCursor, maxBatchSize);
+          if (entries.isEmpty()) {
+            spilling = false;
+            continue;
+          }
+          batch = new ArrayList<>(entries.size());
+          entries.forEach(e -> batch.add(e.getEvent()));
+          spilledUpTo = entries.get(entries.size() - 1).getSequence();
+          spillCursor = spilledUpTo;
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      deliver(batch);
+
+      if (spilledUpTo >= 0L) {
+        try {
+          spill.storeCursor(SPILL_CONSUMER_ID, spilledUpTo);
+          spill.truncate(spilledUpTo);
+        } catch (RuntimeException e) {
+          LOGGER.warn("Failed to update the spill log of queue {}", name, e);
+        }
+      }
+    }
+    LOGGER.debug("Queue {} stopped", name);
+  }
+
+  private void deliver(List<Event> batch) {
+    inFlightSince = batch.get(0).getEventCreationTimestamp();
+    Semaphore completed = new Semaphore(0);
+    try {
+      delivery.deliver(batch, completed::release);
+      completed.acquireUninterruptibly();
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to deliver events from queue {}", name, e);
+    } finally {
+      inFlightSince = null;
+    }
+  }
+
+  /**
+   * Stops the queue thread after the current delivery. Events still queued in memory are
+   * discarded, spilled events are delivered after a restart.
+   */
+  @Override
+  public void close() {
+    int discarded;
+    lock.lock();
+    try {
+      closed = true;
+      discarded = queue.size();
+      queue.clear();
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    if (discarded > 0) {
+      LOGGER.warn("Queue {} closed, discarded {} undelivered events", name, discarded);
+    }
+    try {
+      thread.join(1000L);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (spill != null) {
+      spill.close();
+    }
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.projectnessie.events.api.CommitEvent;
+import org.projectnessie.events.api.CommitMeta;
+import org.projectnessie.events.api.Content;
+import org.projectnessie.events.api.ContentEvent;
+import org.projectnessie.events.api.ContentKey;
+import org.projectnessie.events.api.ContentStoredEvent;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.api.ImmutableCommitEvent;
+import org.projectnessie.events.api.ImmutableCommitMeta;
+import org.projectnessie.events.api.ImmutableContent;
+import org.projectnessie.events.api.ImmutableContentRemovedEvent;
+import org.projectnessie.events.api.ImmutableContentStoredEvent;
+import org.projectnessie.events.api.ImmutableMergeEvent;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.ImmutableReferenceDeletedEvent;
+import org.projectnessie.events.api.ImmutableReferenceUpdatedEvent;
+import org.projectnessie.events.api.ImmutableTransplantEvent;
+import org.projectnessie.events.api.MergeEvent;
+import org.projectnessie.events.api.MultiReferenceEvent;
+import org.projectnessie.events.api.Reference;
+import org.projectnessie.events.api.ReferenceEvent;
+import org.projectnessie.events.api.WithHashAfterEvent;
+import org.projectnessie.events.api.WithHashBeforeEvent;
+
+/**
+ * Serializes {@link Event}s to JSON and back, for the {@link EventOutbox}.
+ *
+ * <p>The events API types carry no Jackson annotations, so the (de)serialization is done
+ * explicitly, field by field. Free-form properties, of events and contents, are serialized as
+ * plain JSON objects.
+ */
+public final class EventCodec {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+  private EventCodec() {}
+
+  public static byte[] encode(Event event) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("type", event.getType().name());
+    node.put("id", event.getIdAsText());
+    node.put("repositoryId", event.getRepositoryId());
+    node.put("eventCreationTimestamp", event.getEventCreationTimestamp().toString());
+    event.getEventInitiator().ifPresent(initiator -> node.put("eventInitiator", initiator));
+    node.set("properties", MAPPER.valueToTree(event.getProperties()));
+
+    if (event instanceof ReferenceEvent) {
+      node.set("reference", encodeReference(((ReferenceEvent) event).getReference()));
+    }
+    if (event instanceof MultiReferenceEvent) {
+      MultiReferenceEvent e = (MultiReferenceEvent) event;
+      node.set("sourceReference", encodeReference(e.getSourceReference()));
+      node.set("targetReference", encodeReference(e.getTargetReference()));
+    }
+    if (event instanceof WithHashBeforeEvent) {
+      node.put("hashBefore", ((WithHashBeforeEvent) event).getHashBefore());
+    }
+    if (event instanceof WithHashAfterEvent) {
+      node.put("hashAfter", ((WithHashAfterEvent) event).getHashAfter());
+    }
+    if (event instanceof MergeEvent) {
+      node.put("commonAncestorHash", ((MergeEvent) event).getCommonAncestorHash());
+    }
+    if (event instanceof CommitEvent) {
+      node.set("commitMeta", encodeCommitMeta(((CommitEvent) event).getCommitMeta()));
+    }
+    if (event instanceof ContentEvent) {
+      ContentEvent e = (ContentEvent) event;
+      node.put("hash", e.getHash());
+      node.put("commitCreationTimestamp", e.getCommitCreationTimestamp().toString());
+      node.set("contentKey", MAPPER.valueToTree(e.getContentKey().getElements()));
+    }
+    if (event instanceof ContentStoredEvent) {
+      node.set("content", encodeContent(((ContentStoredEvent) event).getContent()));
+    }
+
+    try {
+      return MAPPER.writeValueAsBytes(node);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static Event decode(byte[] bytes) {
+    JsonNode node;
+    try {
+      node = MAPPER.readTree(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    EventType type = EventType.valueOf(node.get("type").asText());
+    UUID id = UUID.fromString(node.get("id").asText());
+    String repositoryId = node.get("repositoryId").asText();
+    Instant created = Instant.parse(node.get("eventCreationTimestamp").asText());
+    Optional<String> initiator = optionalText(node, "eventInitiator");
+    Map<String, Object> properties = MAPPER.convertValue(node.get("properties"), MAP_TYPE);
+
+    switch (type) {
+      case REFERENCE_CREATED:
+        return ImmutableReferenceCreatedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .reference(decodeReference(node.get("reference")))
+            .hashAfter(node.get("hashAfter").asText())
+            .build();
+      case REFERENCE_UPDATED:
+        return ImmutableReferenceUpdatedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .reference(decodeReference(node.get("reference")))
+            .hashBefore(node.get("hashBefore").asText())
+            .hashAfter(node.get("hashAfter").asText())
+            .build();
+      case REFERENCE_DELETED:
+        return ImmutableReferenceDeletedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .reference(decodeReference(node.get("reference")))
+            .hashBefore(node.get("hashBefore").asText())
+            .build();
+      case COMMIT:
+        return ImmutableCommitEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .reference(decodeReference(node.get("reference")))
+            .hashBefore(node.get("hashBefore").asText())
+            .hashAfter(node.get("hashAfter").asText())
+            .commitMeta(decodeCommitMeta(node.get("commitMeta")))
+            .build();
+      case MERGE:
+        return ImmutableMergeEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .sourceReference(decodeReference(node.get("sourceReference")))
+            .targetReference(decodeReference(node.get("targetReference")))
+            .hashBefore(node.get("hashBefore").asText())
+            .hashAfter(node.get("hashAfter").asText())
+            .commonAncestorHash(node.get("commonAncestorHash").asText())
+            .build();
+      case TRANSPLANT:
+        return ImmutableTransplantEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .sourceReference(decodeReference(node.get("sourceReference")))
+            .targetReference(decodeReference(node.get("targetReference")))
+            .hashBefore(node.get("hashBefore").asText())
+            .hashAfter(node.get("hashAfter").asText())
+            .build();
+      case CONTENT_STORED:
+        return ImmutableContentStoredEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .reference(decodeReference(node.get("reference")))
+            .hash(node.get("hash").asText())
+            .commitCreationTimestamp(Instant.parse(node.get("commitCreationTimestamp").asText()))
+            .contentKey(ContentKey.of(textList(node.get("contentKey"))))
+            .content(decodeContent(node.get("content")))
+            .build();
+      case CONTENT_REMOVED:
+        return ImmutableContentRemovedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(created)
+            .eventInitiator(initiator)
+            .properties(properties)
+            .reference(decodeReference(node.get("reference")))
+            .hash(node.get("hash").asText())
+            .commitCreationTimestamp(Instant.parse(node.get("commitCreationTimestamp").asText()))
+            .contentKey(ContentKey.of(textList(node.get("contentKey"))))
+            .build();
+      default:
+        throw new IllegalArgumentException("Unknown event type: " + type);
+    }
+  }
+
+  private static ObjectNode encodeReference(Reference reference) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("simpleName", reference.getSimpleName());
+    reference.getFullName().ifPresent(fullName -> node.put("fullName", fullName));
+    node.put("type", reference.getType());
+    return node;
+  }
+
+  private static Reference decodeReference(JsonNode node) {
+    return ImmutableReference.builder()
+        .simpleName(node.get("simpleName").asText())
+        .fullName(optionalText(node, "fullName"))
+        .type(node.get("type").asText())
+        .build();
+  }
+
+  private static ObjectNode encodeCommitMeta(CommitMeta commitMeta) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("committer", commitMeta.getCommitter());
+    node.set("authors", MAPPER.valueToTree(commitMeta.getAuthors()));
+    node.set("allSignedOffBy", MAPPER.valueToTree(commitMeta.getAllSignedOffBy()));
+    node.put("message", commitMeta.getMessage());
+    node.put("commitTimestamp", commitMeta.getCommitTimestamp().toString());
+    node.put("authorTimestamp", commitMeta.getAuthorTimestamp().toString());
+    ObjectNode allProperties = node.putObject("allProperties");
+    commitMeta.getAllProperties().forEach((k, v) -> allProperties.set(k, MAPPER.valueToTree(v)));
+    return node;
+  }
+
+  private static CommitMeta decodeCommitMeta(JsonNode node) {
+    ImmutableCommitMeta.Builder builder =
+        ImmutableCommitMeta.builder()
+            .committer(node.get("committer").asText())
+            .authors(textList(node.get("authors")))
+            .allSignedOffBy(textList(node.get("allSignedOffBy")))
+            .message(node.get("message").asText())
+            .commitTimestamp(Instant.parse(node.get("commitTimestamp").asText()))
+            .authorTimestamp(Instant.parse(node.get("authorTimestamp").asText()));
+    node.get("allProperties")
+        .fields()
+        .forEachRemaining(e -> builder.putAllProperties(e.getKey(), textList(e.getValue())));
+    return builder.build();
+  }
+
+  private static ObjectNode encodeContent(Content content) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("type", content.getType());
+    node.put("id", content.getId());
+    node.set("properties", MAPPER.valueToTree(content.getProperties()));
+    return node;
+  }
+
+  private static Content decodeContent(JsonNode node) {
+    return ImmutableContent.builder()
+        .type(node.get("type").asText())
+        .id(node.get("id").asText())
+        .properties(MAPPER.convertValue(node.get("properties"), MAP_TYPE))
+        .build();
+  }
+
+  private static Optional<String> optionalText(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? Optional.empty() : Optional.of(value.asText());
+  }
+
+  private static List<String> textList(JsonNode node) {
+    List<String> list = new ArrayList<>(node.size());
+    ((ArrayNode) node).forEach(element -> list.add(element.asText()));
+    return list;
+  }
+}
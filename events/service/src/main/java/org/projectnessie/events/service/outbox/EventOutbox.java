@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import java.util.List;
+import org.projectnessie.events.api.Event;
+
+/**
+ * A durable, append-only log of {@link Event}s.
+ *
+ * <p>Events are appended by the event service when a version store result is received, and
+ * consumed asynchronously by one dispatcher per subscriber. Each consumer keeps its own cursor, the
+ * sequence number of the last event it has processed, so that delivery resumes where it left off
+ * after a restart or a delivery failure. Events are delivered at least once.
+ */
+public interface EventOutbox extends AutoCloseable {
+
+  /**
+   * Durably appends the given events, in order, and returns the sequence number of the last
+   * appended event.
+   */
+  long append(List<Event> events);
+
+  /** Returns the sequence number of the last appended event, or 0 if the outbox is empty. */
+  long lastSequence();
+
+  /**
+   * Reads at most {@code maxEntries} events with a sequence number greater than {@code
+   * afterSequence}, in sequence order.
+   */
+  List<OutboxEntry> read(long afterSequence, int maxEntries);
+
+  /**
+   * Returns the stored cursor of the given consumer, or -1 if there is no cursor for that consumer
+   * yet.
+   */
+  long loadCursor(String consumerId);
+
+  /** Durably stores the cursor of the given consumer. */
+  void storeCursor(String consumerId, long sequence);
+
+  /**
+   * Discards events with a sequence number lower than or equal to {@code sequence}, which have been
+   * processed by all consumers. Implementations may retain more events than requested.
+   */
+  void truncate(long sequence);
+
+  @Override
+  void close();
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.projectnessie.events.api.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EventOutbox} backed by segment files in a local directory.
+ *
+ * <p>Events are appended to the current segment file as records consisting of a header (payload
+ * length, sequence number, CRC32 of the payload) followed by the {@linkplain EventCodec JSON
+ * representation} of the event. The segment file is synced to disk before {@link #append(List)}
+ * returns. A new segment is started once the current one exceeds the configured size. Segment files
+ * are named after the sequence number of their first event.
+ *
+ * <p>A torn record at the end of the last segment, for example after a crash during an append, is
+ * detected by its length or checksum and discarded when the outbox is opened.
+ *
+ * <p>Consumer cursors are stored in separate files, which are replaced atomically.
+ */
+public final class FileEventOutbox implements EventOutbox {
+
+  public static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileEventOutbox.class);
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String CURSOR_PREFIX = "cursor-";
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+  private final Path directory;
+  private final long maxSegmentSize;
+
+  /** Segment files by the sequence number of their first record. */
+  private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+  /**
+   * Segment (first sequence number) and file position of records by their sequence number,
+   * remembered at the end of each {@link #read(long, int)}, so that the next read of a consumer
+   * does not have to scan the segment from its beginning.
+   */
+  private final ConcurrentSkipListMap<Long, long[]> readPositions = new ConcurrentSkipListMap<>();
+
+  // guarded by this
+  private FileChannel current;
+  private volatile long lastSequence;
+
+  private FileEventOutbox(Path directory, long maxSegmentSize) {
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  public static FileEventOutbox open(Path directory) {
+    return open(directory, DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  public static FileEventOutbox open(Path directory, long maxSegmentSize) {
+    if (maxSegmentSize <= HEADER_SIZE) {
+      throw new IllegalArgumentException("Max segment size is too small: " + maxSegmentSize);
+    }
+    FileEventOutbox outbox = new FileEventOutbox(directory, maxSegmentSize);
+    try {
+      outbox.recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open event outbox in " + directory, e);
+    }
+    return outbox;
+  }
+
+  private void recover() throws IOException {
+    Files.createDirectories(directory);
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(
+          file -> {
+            String name = file.getFileName().toString();
+            if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+              String seq =
+                  name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+              segments.put(Long.parseLong(seq), file);
+            }
+          });
+    }
+
+    if (segments.isEmpty()) {
+      startSegment(1L);
+      lastSequence = 0L;
+      return;
+    }
+
+    Map.Entry<Long, Path> last = segments.lastEntry();
+    FileChannel channel = FileChannel.open(last.getValue(), READ, WRITE);
+    long lastValid = last.getKey() - 1;
+    long position = 0L;
+    long size = channel.size();
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    while (position + HEADER_SIZE <= size) {
+      header.clear();
+      readFully(channel, header, position);
+      header.flip();
+      int length = header.getInt();
+      long sequence = header.getLong();
+      int crc = header.getInt();
+      if (length < 0 || position + HEADER_SIZE + length > size) {
+        break;
+      }
+      ByteBuffer payload = ByteBuffer.allocate(length);
+      readFully(channel, payload, position + HEADER_SIZE);
+      if (crc(payload.array()) != crc || sequence != lastValid + 1) {
+        break;
+      }
+      lastValid = sequence;
+      position += HEADER_SIZE + length;
+    }
+    if (position < size) {
+      LOGGER.warn(
+          "Discarding {} bytes of incomplete records at the end of event outbox segment {}",
+          size - position,
+          last.getValue());
+      channel.truncate(position);
+      channel.force(true);
+    }
+    channel.position(position);
+    current = channel;
+    lastSequence = lastValid;
+  }
+
+  @Override
+  public synchronized long append(List<Event> events) {
+    if (events.isEmpty()) {
+      return lastSequence;
+    }
+    try {
+      if (current.size() >= maxSegmentSize) {
+        current.close();
+        startSegment(lastSequence + 1);
+      }
+      long sequence = lastSequence;
+      for (Event event : events) {
+        byte[] payload = EventCodec.encode(event);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(payload.length).putLong(++sequence).putInt(crc(payload)).put(payload);
+        record.flip();
+        while (record.hasRemaining()) {
+          current.write(record);
+        }
+      }
+      current.force(false);
+      lastSequence = sequence;
+      return sequence;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to append to event outbox", e);
+    }
+  }
+
+  private void startSegment(long firstSequence) throws IOException {
+    Path file =
+        directory.resolve(
+            String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    current = FileChannel.open(file, CREATE, READ, WRITE, TRUNCATE_EXISTING);
+    segments.put(firstSequence, file);
+  }
+
+  @Override
+  public long lastSequence() {
+    return lastSequence;
+  }
+
+  @Override
+  public List<OutboxEntry> read(long afterSequence, int maxEntries) {
+    // Only records up to this sequence number are guaranteed to be completely written.
+    long readLimit = lastSequence;
+    List<OutboxEntry> entries = new ArrayList<>();
+    if (afterSequence >= readLimit) {
+      return entries;
+    }
+    Long first = segments.floorKey(afterSequence + 1);
+    if (first == null) {
+      first = segments.firstKey();
+    }
+    Iterator<Map.Entry<Long, Path>> segmentIter = segments.tailMap(first).entrySet().iterator();
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    try {
+      while (segmentIter.hasNext() && entries.size() < maxEntries) {
+        Map.Entry<Long, Path> segment = segmentIter.next();
+        Map.Entry<Long, long[]> hint = readPositions.floorEntry(afterSequence + 1);
+        long position =
+            hint != null && hint.getValue()[0] == segment.getKey() ? hint.getValue()[1] : 0L;
+        try (FileChannel channel = FileChannel.open(segment.getValue(), READ)) {
+          while (entries.size() < maxEntries) {
+            header.clear();
+            if (!readFully(channel, header, position)) {
+              break;
+            }
+            header.flip();
+            int length = header.getInt();
+            long sequence = header.getLong();
+            if (sequence > readLimit) {
+              break;
+            }
+            if (sequence > afterSequence) {
+              ByteBuffer payload = ByteBuffer.allocate(length);
+              readFully(channel, payload, position + HEADER_SIZE);
+              entries.add(OutboxEntry.of(sequence, EventCodec.decode(payload.array())));
+            }
+            position += HEADER_SIZE + length;
+          }
+        }
+        if (entries.size() == maxEntries || !segmentIter.hasNext()) {
+          long next = entries.isEmpty() ? afterSequence + 1 : last(entries).getSequence() + 1;
+          readPositions.put(next, new long[] {segment.getKey(), position});
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read from event outbox", e);
+    }
+    return entries;
+  }
+
+  private static OutboxEntry last(List<OutboxEntry> entries) {
+    return entries.get(entries.size() - 1);
+  }
+
+  @Override
+  public long loadCursor(String consumerId) {
+    Path file = cursorFile(consumerId);
+    try {
+      if (!Files.exists(file)) {
+        return -1L;
+      }
+      return Long.parseLong(new String(Files.readAllBytes(file), UTF_8).trim());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load event outbox cursor from " + file, e);
+    }
+  }
+
+  @Override
+  public void storeCursor(String consumerId, long sequence) {
+    Path file = cursorFile(consumerId);
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.wrap(Long.toString(sequence).getBytes(UTF_8));
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to store event outbox cursor to " + file, e);
+    }
+    try {
+      Files.move(tmp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to store event outbox cursor to " + file, e);
+    }
+  }
+
+  private Path cursorFile(String consumerId) {
+    return directory.resolve(CURSOR_PREFIX + consumerId.replaceAll("[^A-Za-z0-9._-]", "_"));
+  }
+
+  @Override
+  public synchronized void truncate(long sequence) {
+    // A segment can be deleted if all its records have been processed, which is the case if the
+    // next segment starts at or before the first unprocessed record. The current segment is never
+    // deleted.
+    Iterator<Map.Entry<Long, Path>> iter = segments.entrySet().iterator();
+    if (!iter.hasNext()) {
+      return;
+    }
+    Map.Entry<Long, Path> segment = iter.next();
+    while (iter.hasNext()) {
+      Map.Entry<Long, Path> next = iter.next();
+      if (next.getKey() > sequence + 1) {
+        break;
+      }
+      try {
+        Files.deleteIfExists(segment.getValue());
+        segments.remove(segment.getKey());
+        LOGGER.debug("Deleted event outbox segment {}", segment.getValue());
+      } catch (IOException e) {
+        LOGGER.warn("Failed to delete event outbox segment {}", segment.getValue(), e);
+        break;
+      }
+      segment = next;
+    }
+    readPositions.headMap(segments.firstKey()).clear();
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close event outbox", e);
+    }
+  }
+
+  /** Fills the buffer from the given file position, returns {@code false} on end-of-file. */
+  private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int crc(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+}
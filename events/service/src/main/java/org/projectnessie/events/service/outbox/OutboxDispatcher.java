@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.spi.BatchEventSubscriber;
+import org.projectnessie.events.spi.EventSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the events of an {@link EventOutbox} to a single subscriber, in a dedicated thread.
+ *
+ * <p>The dispatcher reads batches of events after its cursor and hands them to its {@link
+ * Delivery} one by one, or, for a {@link BatchEventSubscriber}, all accepted events of a batch at
+ * once. Retries are the responsibility of the delivery; the dispatcher waits until the delivery
+ * has either succeeded or finally failed before it moves on. The cursor is stored after each
+ * batch, so events are redelivered after a restart if the server stopped in the middle of a batch.
+ */
+public final class OutboxDispatcher implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+  private static final long IDLE_WAIT_MILLIS = 1000L;
+
+  /** Delivers events read from the outbox to the subscriber of a dispatcher. */
+  @FunctionalInterface
+  public interface Delivery {
+
+    /**
+     * Delivers the given accepted events, a batch for a {@link BatchEventSubscriber}, or a single
+     * event for other subscribers, and calls {@code onComplete} once the delivery has either
+     * succeeded or finally failed. The delivery may complete asynchronously.
+     */
+    void deliver(List<Event> events, Runnable onComplete);
+  }
+
+  private final EventOutbox outbox;
+  private final String consumerId;
+  private final EventSubscriber subscriber;
+  private final int batchSize;
+  private final Duration retryBackoff;
+  private final Delivery delivery;
+  private final Runnable onProgress;
+  private final Thread thread;
+
+  private volatile long cursor;
+  private volatile boolean closed;
+
+  // guarded by this
+  private boolean signalled;
+
+  public OutboxDispatcher(
+      EventOutbox outbox,
+      String consumerId,
+      EventSubscriber subscriber,
+      int batchSize,
+      Duration retryBackoff,
+      Delivery delivery,
+      Runnable onProgress) {
+    this.outbox = outbox;
+    this.consumerId = consumerId;
+    this.subscriber = subscriber;
+    this.batchSize = batchSize;
+    this.retryBackoff = retryBackoff;
+    this.delivery = delivery;
+    this.onProgress = onProgress;
+
+    long stored = outbox.loadCursor(consumerId);
+    if (stored < 0L) {
+      // New consumer: only events appended from now on are delivered.
+      stored = outbox.lastSequence();
+      outbox.storeCursor(consumerId, stored);
+    }
+    this.cursor = stored;
+
+    this.thread = new Thread(this::run, "nessie-events-outbox-" + consumerId);
+    this.thread.setDaemon(true);
+  }
+
+  public void start() {
+    thread.start();
+  }
+
+  /** The sequence number of the last event processed by this dispatcher. */
+  public long cursor() {
+    return cursor;
+  }
+
+  public String consumerId() {
+    return consumerId;
+  }
+
+  /** Wakes up the dispatcher after new events have been appended to the outbox. */
+  public synchronized void signal() {
+    signalled = true;
+    notifyAll();
+  }
+
+  private void run() {
+    LOGGER.debug("Starting outbox dispatcher {} at sequence {}", consumerId, cursor);
+    while (!closed) {
+      try {
+        List<OutboxEntry> entries = outbox.read(cursor, batchSize);
+        if (entries.isEmpty()) {
+          awaitSignal();
+          continue;
+        }
+        if (subscriber instanceof BatchEventSubscriber) {
+          if (deliverBatch(entries)) {
+            cursor = entries.get(entries.size() - 1).getSequence();
+          }
+        } else {
+          for (OutboxEntry entry : entries) {
+            if (!deliverSingle(entry.getEvent())) {
+              // closed before the delivery completed, the event is redelivered after a restart
+              break;
+            }
+            cursor = entry.getSequence();
+          }
+        }
+        outbox.storeCursor(consumerId, cursor);
+        onProgress.run();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (RuntimeException e) {
+        LOGGER.error("Outbox dispatcher {} failed, retrying", consumerId, e);
+        try {
+          Thread.sleep(retryBackoff.toMillis());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    LOGGER.debug("Outbox dispatcher {} stopped at sequence {}", consumerId, cursor);
+  }
+
+  private synchronized void awaitSignal() throws InterruptedException {
+    if (!signalled && !closed) {
+      wait(IDLE_WAIT_MILLIS);
+    }
+    signalled = false;
+  }
+
+  private boolean deliverSingle(Event event) throws InterruptedException {
+    if (!subscriber.accepts(event)) {
+      LOGGER.debug("Subscriber rejected event: {}", event);
+      return true;
+    }
+    return deliverAndWait(Collections.singletonList(event));
+  }
+
+  private boolean deliverBatch(List<OutboxEntry> entries) throws InterruptedException {
+    List<Event> events = new ArrayList<>(entries.size());
+    for (OutboxEntry entry : entries) {
+      if (subscriber.accepts(entry.getEvent())) {
+        events.add(entry.getEvent());
+      }
+    }
+    if (events.isEmpty()) {
+      return true;
+    }
+    return deliverAndWait(events);
+  }
+
+  /**
+   * Hands the events to the delivery and waits until it has completed. Returns {@code false} if
+   * the dispatcher has been closed before the delivery completed.
+   */
+  private boolean deliverAndWait(List<Event> events) throws InterruptedException {
+    CountDownLatch completed = new CountDownLatch(1);
+    delivery.deliver(events, completed::countDown);
+    while (!completed.await(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+      if (closed) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    signal();
+    try {
+      // Not interrupting the thread: an interrupt closes any file channel it is using.
+      thread.join(IDLE_WAIT_MILLIS + retryBackoff.toMillis() * 32);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
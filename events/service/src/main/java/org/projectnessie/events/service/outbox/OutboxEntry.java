@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import org.immutables.value.Value;
+import org.projectnessie.events.api.Event;
+
+/** An {@link Event} read from an {@link EventOutbox}, together with its sequence number. */
+@Value.Immutable
+public interface OutboxEntry {
+
+  static OutboxEntry of(long sequence, Event event) {
+    return ImmutableOutboxEntry.of(sequence, event);
+  }
+
+  /** The sequence number of the event in the outbox, starting at 1. */
+  @Value.Parameter(order = 1)
+  long getSequence();
+
+  @Value.Parameter(order = 2)
+  Event getEvent();
+}
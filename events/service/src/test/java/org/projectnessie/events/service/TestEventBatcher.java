@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.events.api.Event;
+
+class TestEventBatcher {
+
+  final List<List<Event>> batches = new ArrayList<>();
+  final List<Runnable> scheduled = new ArrayList<>();
+
+  @Test
+  void maxBatchSize() {
+    EventBatcher batcher = new EventBatcher(3, Duration.ofSeconds(1), null, batches::add);
+    Event e1 = mock(Event.class);
+    Event e2 = mock(Event.class);
+    Event e3 = mock(Event.class);
+    Event e4 = mock(Event.class);
+    batcher.add(e1);
+    batcher.add(e2);
+    assertThat(batches).isEmpty();
+    batcher.add(e3);
+    batcher.add(e4);
+    assertThat(batches).containsExactly(List.of(e1, e2, e3));
+    batcher.flush();
+    assertThat(batches).containsExactly(List.of(e1, e2, e3), List.of(e4));
+    batcher.flush();
+    assertThat(batches).hasSize(2);
+  }
+
+  @Test
+  void lingerTime() {
+    EventBatcher batcher =
+        new EventBatcher(2, Duration.ofMillis(100), (d, task) -> scheduled.add(task), batches::add);
+    Event e1 = mock(Event.class);
+    Event e2 = mock(Event.class);
+    Event e3 = mock(Event.class);
+
+    batcher.add(e1);
+    assertThat(scheduled).hasSize(1);
+    batcher.add(e2);
+    assertThat(batches).containsExactly(List.of(e1, e2));
+
+    batcher.add(e3);
+    assertThat(scheduled).hasSize(2);
+    // The flush scheduled for the first, already delivered, batch must not flush the second one.
+    scheduled.get(0).run();
+    assertThat(batches).hasSize(1);
+    scheduled.get(1).run();
+    assertThat(batches).containsExactly(List.of(e1, e2), List.of(e3));
+  }
+
+  @Test
+  void zeroLingerTime() {
+    EventBatcher batcher =
+        new EventBatcher(10, Duration.ZERO, (d, task) -> scheduled.add(task), batches::add);
+    Event e1 = mock(Event.class);
+    batcher.add(e1);
+    assertThat(batches).containsExactly(List.of(e1));
+    assertThat(scheduled).isEmpty();
+  }
+
+  @Test
+  void illegalMaxBatchSize() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new EventBatcher(0, Duration.ZERO, null, batches::add));
+  }
+}
@@ -15,27 +15,45 @@
  */
 package org.projectnessie.events.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.service.outbox.FileEventOutbox;
+import org.projectnessie.events.spi.BatchEventSubscriber;
 import org.projectnessie.events.spi.EventSubscriber;
+import org.projectnessie.events.spi.EventSubscription;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.IcebergTable;
 import org.projectnessie.versioned.BranchName;
@@ -61,6 +79,8 @@ public class TestEventService {
 
   @Mock EventSubscriber subscriber1;
   @Mock EventSubscriber subscriber2;
+  @Mock BatchEventSubscriber batchSubscriber;
+  @Captor ArgumentCaptor<List<Event>> batchesCaptor;
 
   @ParameterizedTest
   @MethodSource("allResults")
@@ -75,6 +95,7 @@ public class TestEventService {
     EventSubscribers subscribers = new EventSubscribers(subscriber1, subscriber2);
     try (EventService eventService = new EventService(config, factory, subscribers)) {
       eventService.start();
+      assertThat(eventService.requiresCallerThread()).isFalse();
       VersionStoreEvent versionStoreEvent =
           ImmutableVersionStoreEvent.builder()
               .result(result)
@@ -125,6 +146,113 @@ public class TestEventService {
     verifyNoMoreInteractions(subscriber1, subscriber2);
   }
 
+  @Test
+  void deliveryBatched() throws Exception {
+    when(config.getBatchMaxSize()).thenReturn(3);
+    when(batchSubscriber.accepts(any(EventType.class))).thenReturn(true);
+    when(batchSubscriber.accepts(any(Event.class))).thenReturn(true);
+    EventFactory factory = new EventFactory(config);
+    EventSubscribers subscribers = new EventSubscribers(batchSubscriber);
+    try (EventService eventService = new EventService(config, factory, subscribers)) {
+      eventService.start();
+      // merge event + commit event + content stored event + content removed event
+      Result merge =
+          allResults().filter(r -> r.getResultType() == ResultType.MERGE).findFirst().orElseThrow();
+      eventService.onVersionStoreEvent(
+          ImmutableVersionStoreEvent.builder().result(merge).repositoryId("repo").build());
+    }
+    verify(batchSubscriber, times(2)).onEvents(batchesCaptor.capture());
+    assertThat(batchesCaptor.getAllValues())
+        .extracting(batch -> batch.stream().map(Event::getType).collect(Collectors.toList()))
+        .containsExactly(
+            List.of(EventType.MERGE, EventType.COMMIT, EventType.CONTENT_STORED),
+            List.of(EventType.CONTENT_REMOVED));
+    verify(batchSubscriber, never()).onEvent(any());
+  }
+
+  @Test
+  void deliveryViaOutbox(@TempDir Path outboxDir) throws Exception {
+    when(config.getOutboxDirectory()).thenReturn(Optional.of(outboxDir));
+    when(config.getOutboxRetryBackoff()).thenReturn(Duration.ofMillis(10));
+    when(subscriber1.accepts(any(Event.class))).thenReturn(true);
+    // first delivery attempt fails, the second one succeeds
+    doThrow(new RuntimeException("boom")).doCallRealMethod().when(subscriber1).onEvent(any());
+    EventFactory factory = new EventFactory(config);
+    EventSubscribers subscribers = new EventSubscribers(subscriber1);
+    try (EventService eventService = new EventService(config, factory, subscribers)) {
+      eventService.start();
+      // The outbox append must happen before the version store operation returns.
+      assertThat(eventService.requiresCallerThread()).isTrue();
+      eventService.onVersionStoreEvent(
+          ImmutableVersionStoreEvent.builder()
+              .result(
+                  ImmutableReferenceCreatedResult.builder()
+                      .namedRef(BranchName.of("branch1"))
+                      .hash(Hash.of("1234"))
+                      .build())
+              .repositoryId("repo")
+              .build());
+      verify(subscriber1, timeout(5000)).onReferenceCreated(any());
+      verify(subscriber1, times(2)).onEvent(any());
+    }
+    verify(subscriber1).onSubscribe(any());
+    verify(subscriber1).close();
+    verifyNoMoreInteractions(subscriber1);
+
+    try (FileEventOutbox outbox = FileEventOutbox.open(outboxDir)) {
+      assertThat(outbox.lastSequence()).isEqualTo(1L);
+      assertThat(outbox.loadCursor(subscriber1.getClass().getName())).isEqualTo(1L);
+    }
+  }
+
+  @Test
+  void outboxDeliveryGoesThroughDeliverFromOutbox(@TempDir Path outboxDir) throws Exception {
+    when(config.getOutboxDirectory()).thenReturn(Optional.of(outboxDir));
+    when(subscriber1.accepts(any(Event.class))).thenReturn(true);
+    EventFactory factory = new EventFactory(config);
+    EventSubscribers subscribers = new EventSubscribers(subscriber1);
+    BlockingQueue<List<Event>> delivered = new LinkedBlockingQueue<>();
+    BlockingQueue<Runnable> completions = new LinkedBlockingQueue<>();
+    try (EventService eventService =
+        new EventService(config, factory, subscribers) {
+          @Override
+          protected void deliverFromOutbox(
+              List<Event> events,
+              EventSubscriber subscriber,
+              EventSubscription subscription,
+              Runnable onComplete) {
+            delivered.add(events);
+            completions.add(onComplete);
+          }
+        }) {
+      eventService.start();
+      eventService.onVersionStoreEvent(
+          ImmutableVersionStoreEvent.builder()
+              .result(
+                  ImmutableReferenceCreatedResult.builder()
+                      .namedRef(BranchName.of("branch1"))
+                      .hash(Hash.of("1234"))
+                      .build())
+              .repositoryId("repo")
+              .build());
+      assertThat(delivered.poll(5, TimeUnit.SECONDS))
+          .singleElement()
+          .extracting(Event::getType)
+          .isEqualTo(EventType.REFERENCE_CREATED);
+      Runnable onComplete = completions.poll(5, TimeUnit.SECONDS);
+      assertThat(onComplete).isNotNull();
+      // the delivery completes asynchronously, from another thread
+      Thread completer = new Thread(onComplete);
+      completer.start();
+      completer.join();
+    }
+    verify(subscriber1, never()).onEvent(any());
+
+    try (FileEventOutbox outbox = FileEventOutbox.open(outboxDir)) {
+      assertThat(outbox.loadCursor(subscriber1.getClass().getName())).isEqualTo(1L);
+    }
+  }
+
   private Stream<Result> allResults() {
     Commit commit =
         ImmutableCommit.builder()
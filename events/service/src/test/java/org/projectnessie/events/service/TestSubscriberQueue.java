@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.Reference;
+import org.projectnessie.events.api.ReferenceCreatedEvent;
+import org.projectnessie.events.service.SubscriberQueue.OverloadPolicy;
+import org.projectnessie.events.service.outbox.FileEventOutbox;
+
+class TestSubscriberQueue {
+
+  static final Instant NOW = Instant.parse("2023-08-01T12:00:00Z");
+
+  @TempDir Path dir;
+
+  final BlockingQueue<List<Event>> delivered = new LinkedBlockingQueue<>();
+  final CountDownLatch gate = new CountDownLatch(1);
+
+  SubscriberQueue queue;
+
+  @AfterEach
+  void close() {
+    gate.countDown();
+    if (queue != null) {
+      queue.close();
+    }
+  }
+
+  @Test
+  void invalidArguments() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> newQueue(0, OverloadPolicy.BLOCK, 1, null))
+        .withMessage("Queue capacity must be greater than 0");
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> newQueue(1, OverloadPolicy.SPILL_TO_DISK, 1, null))
+        .withMessage("Overload policy SPILL_TO_DISK requires a spill log");
+  }
+
+  @Test
+  void batches() throws Exception {
+    queue = newQueue(10, OverloadPolicy.BLOCK, 2, null);
+    Event e1 = event(1);
+    Event e2 = event(2);
+    Event e3 = event(3);
+    queue.offer(e1);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e1);
+    queue.offer(e2);
+    queue.offer(e3);
+    assertThat(queue.depth()).isEqualTo(2);
+    gate.countDown();
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e2, e3);
+  }
+
+  @Test
+  void block() throws Exception {
+    queue = newQueue(1, OverloadPolicy.BLOCK, 1, null);
+    Event e1 = event(1);
+    Event e2 = event(2);
+    Event e3 = event(3);
+    queue.offer(e1);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e1);
+    queue.offer(e2);
+
+    Thread producer = new Thread(() -> queue.offer(e3));
+    producer.start();
+    producer.join(200L);
+    assertThat(producer.isAlive()).isTrue();
+
+    gate.countDown();
+    producer.join(5000L);
+    assertThat(producer.isAlive()).isFalse();
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e2);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e3);
+    assertThat(queue.droppedCount()).isZero();
+  }
+
+  @Test
+  void dropOldest() throws Exception {
+    queue = newQueue(2, OverloadPolicy.DROP_OLDEST, 1, null);
+    Event e1 = event(1);
+    Event e2 = event(2);
+    Event e3 = event(3);
+    Event e4 = event(4);
+    queue.offer(e1);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e1);
+    queue.offer(e2);
+    queue.offer(e3);
+    queue.offer(e4);
+    assertThat(queue.depth()).isEqualTo(2);
+    assertThat(queue.droppedCount()).isEqualTo(1L);
+
+    gate.countDown();
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e3);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e4);
+  }
+
+  @Test
+  void spillToDisk() throws Exception {
+    queue = newQueue(1, OverloadPolicy.SPILL_TO_DISK, 10, FileEventOutbox.open(dir));
+    Event e1 = event(1);
+    Event e2 = event(2);
+    Event e3 = event(3);
+    Event e4 = event(4);
+    queue.offer(e1);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e1);
+    queue.offer(e2);
+    queue.offer(e3);
+    queue.offer(e4);
+    assertThat(queue.depth()).isEqualTo(3);
+    assertThat(queue.droppedCount()).isZero();
+
+    // in-memory events first, then the spilled events in the order they were offered
+    gate.countDown();
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e2);
+    assertThat(delivered.poll(5, SECONDS)).containsExactly(e3, e4);
+
+    queue.close();
+    queue = null;
+    try (FileEventOutbox spill = FileEventOutbox.open(dir)) {
+      assertThat(spill.loadCursor("queue")).isEqualTo(spill.lastSequence());
+    }
+  }
+
+  @Test
+  void spilledEventsDeliveredAfterRestart() throws Exception {
+    try (FileEventOutbox spill = FileEventOutbox.open(dir)) {
+      spill.append(List.of(event(1), event(2)));
+    }
+    gate.countDown();
+    queue = newQueue(1, OverloadPolicy.SPILL_TO_DISK, 10, FileEventOutbox.open(dir));
+    assertThat(delivered.poll(5, SECONDS))
+        .extracting(e -> ((ReferenceCreatedEvent) e).getReference().getSimpleName())
+        .containsExactly("branch1", "branch2");
+  }
+
+  @Test
+  void lag() throws Exception {
+    queue = newQueue(10, OverloadPolicy.BLOCK, 1, null);
+    assertThat(queue.lag()).isEqualTo(Duration.ZERO);
+    queue.offer(event(1));
+    delivered.poll(5, SECONDS);
+    assertThat(queue.lag()).isEqualTo(Duration.ofSeconds(30));
+  }
+
+  private SubscriberQueue newQueue(
+      int capacity, OverloadPolicy policy, int maxBatchSize, FileEventOutbox spill) {
+    SubscriberQueue queue =
+        new SubscriberQueue(
+            "test",
+            capacity,
+            policy,
+            spill,
+            maxBatchSize,
+            (events, onComplete) -> {
+              delivered.add(events);
+              try {
+                gate.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              onComplete.run();
+            },
+            Clock.fixed(NOW.plusSeconds(30), ZoneOffset.UTC));
+    queue.start();
+    return queue;
+  }
+
+  private static Event event(int i) {
+    return ImmutableReferenceCreatedEvent.builder()
+        .id(UUID.randomUUID())
+        .repositoryId("repo1")
+        .eventCreationTimestamp(NOW)
+        .reference(
+            ImmutableReference.builder().simpleName("branch" + i).type(Reference.BRANCH).build())
+        .hashAfter("1234")
+        .build();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.events.api.ContentKey;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.ImmutableCommitEvent;
+import org.projectnessie.events.api.ImmutableCommitMeta;
+import org.projectnessie.events.api.ImmutableContent;
+import org.projectnessie.events.api.ImmutableContentRemovedEvent;
+import org.projectnessie.events.api.ImmutableContentStoredEvent;
+import org.projectnessie.events.api.ImmutableMergeEvent;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.ImmutableReferenceDeletedEvent;
+import org.projectnessie.events.api.ImmutableReferenceUpdatedEvent;
+import org.projectnessie.events.api.ImmutableTransplantEvent;
+import org.projectnessie.events.api.Reference;
+
+class TestEventCodec {
+
+  @ParameterizedTest
+  @MethodSource("events")
+  void roundTrip(Event event) {
+    byte[] encoded = EventCodec.encode(event);
+    assertThat(EventCodec.decode(encoded)).isEqualTo(event);
+  }
+
+  static Stream<Event> events() {
+    return Stream.of(
+        ImmutableReferenceCreatedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .eventInitiator("alice")
+            .properties(ImmutableMap.of("key", "value"))
+            .reference(branch())
+            .hashAfter("1234")
+            .build(),
+        ImmutableReferenceUpdatedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("")
+            .eventCreationTimestamp(Instant.now())
+            .reference(tag())
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .build(),
+        ImmutableReferenceDeletedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .reference(branch())
+            .hashBefore("1234")
+            .build(),
+        ImmutableCommitEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .eventInitiator("alice")
+            .reference(branch())
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .commitMeta(
+                ImmutableCommitMeta.builder()
+                    .committer("committer")
+                    .authors(Arrays.asList("author1", "author2"))
+                    .allSignedOffBy(Collections.singletonList("signer"))
+                    .message("message")
+                    .commitTimestamp(Instant.now())
+                    .authorTimestamp(Instant.now())
+                    .putAllProperties("key", Arrays.asList("value1", "value2"))
+                    .build())
+            .build(),
+        ImmutableMergeEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .sourceReference(branch())
+            .targetReference(tag())
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .commonAncestorHash("0000")
+            .build(),
+        ImmutableTransplantEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .sourceReference(branch())
+            .targetReference(tag())
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .build(),
+        ImmutableContentStoredEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .reference(branch())
+            .hash("1234")
+            .commitCreationTimestamp(Instant.now())
+            .contentKey(ContentKey.of("ns", "table"))
+            .content(
+                ImmutableContent.builder()
+                    .id("id")
+                    .type("ICEBERG_TABLE")
+                    .properties(
+                        ImmutableMap.of(
+                            "metadataLocation", "s3://bucket/path",
+                            "nested", ImmutableMap.of("list", Arrays.asList("a", "b"))))
+                    .build())
+            .build(),
+        ImmutableContentRemovedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(Instant.now())
+            .reference(branch())
+            .hash("1234")
+            .commitCreationTimestamp(Instant.now())
+            .contentKey(ContentKey.of("ns", "table"))
+            .build());
+  }
+
+  private static Reference branch() {
+    return ImmutableReference.builder()
+        .simpleName("branch1")
+        .fullName("refs/heads/branch1")
+        .type(Reference.BRANCH)
+        .build();
+  }
+
+  private static Reference tag() {
+    return ImmutableReference.builder().simpleName("tag1").type(Reference.TAG).build();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.service.outbox;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.Reference;
+
+class TestFileEventOutbox {
+
+  @TempDir Path dir;
+
+  @Test
+  void appendAndRead() {
+    List<Event> events = events(10);
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir)) {
+      assertThat(outbox.lastSequence()).isEqualTo(0L);
+      assertThat(outbox.read(0L, 100)).isEmpty();
+
+      assertThat(outbox.append(events.subList(0, 4))).isEqualTo(4L);
+      assertThat(outbox.append(events.subList(4, 10))).isEqualTo(10L);
+
+      assertThat(outbox.read(0L, 100)).extracting(OutboxEntry::getEvent).isEqualTo(events);
+      assertThat(outbox.read(0L, 3))
+          .extracting(OutboxEntry::getSequence)
+          .containsExactly(1L, 2L, 3L);
+      assertThat(outbox.read(3L, 3))
+          .extracting(OutboxEntry::getSequence)
+          .containsExactly(4L, 5L, 6L);
+      assertThat(outbox.read(8L, 100))
+          .extracting(OutboxEntry::getEvent)
+          .isEqualTo(events.subList(8, 10));
+      assertThat(outbox.read(10L, 100)).isEmpty();
+    }
+
+    // reopen
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir)) {
+      assertThat(outbox.lastSequence()).isEqualTo(10L);
+      assertThat(outbox.read(5L, 100))
+          .extracting(OutboxEntry::getEvent)
+          .isEqualTo(events.subList(5, 10));
+      assertThat(outbox.append(events(1))).isEqualTo(11L);
+    }
+  }
+
+  @Test
+  void cursors() {
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir)) {
+      assertThat(outbox.loadCursor("org.example.Subscriber#2")).isEqualTo(-1L);
+      outbox.storeCursor("org.example.Subscriber#2", 42L);
+      outbox.storeCursor("org.example.Subscriber", 1L);
+      assertThat(outbox.loadCursor("org.example.Subscriber#2")).isEqualTo(42L);
+    }
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir)) {
+      assertThat(outbox.loadCursor("org.example.Subscriber#2")).isEqualTo(42L);
+      assertThat(outbox.loadCursor("org.example.Subscriber")).isEqualTo(1L);
+    }
+  }
+
+  @Test
+  void tornTailRecord() throws IOException {
+    List<Event> events = events(3);
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir)) {
+      outbox.append(events);
+    }
+    Path segment = segments().get(0);
+    Files.write(segment, new byte[] {0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 4, 1, 2}, APPEND);
+
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir)) {
+      assertThat(outbox.lastSequence()).isEqualTo(3L);
+      assertThat(outbox.append(events(1))).isEqualTo(4L);
+      assertThat(outbox.read(0L, 100))
+          .extracting(OutboxEntry::getSequence)
+          .containsExactly(1L, 2L, 3L, 4L);
+    }
+  }
+
+  @Test
+  void segmentsAndTruncate() throws IOException {
+    List<Event> events = events(20);
+    try (FileEventOutbox outbox = FileEventOutbox.open(dir, 1024)) {
+      for (Event event : events) {
+        outbox.append(List.of(event));
+      }
+      assertThat(segments()).hasSizeGreaterThan(2);
+      assertThat(outbox.read(0L, 100)).extracting(OutboxEntry::getEvent).isEqualTo(events);
+
+      outbox.truncate(10L);
+      assertThat(outbox.read(10L, 100))
+          .extracting(OutboxEntry::getEvent)
+          .isEqualTo(events.subList(10, 20));
+
+      outbox.truncate(20L);
+      assertThat(segments()).hasSize(1);
+      assertThat(outbox.read(20L, 100)).isEmpty();
+      assertThat(outbox.append(events(1))).isEqualTo(21L);
+      assertThat(outbox.read(20L, 100)).extracting(OutboxEntry::getSequence).containsExactly(21L);
+    }
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files
+          .filter(f -> f.getFileName().toString().startsWith("segment-"))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static List<Event> events(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                ImmutableReferenceCreatedEvent.builder()
+                    .id(UUID.randomUUID())
+                    .repositoryId("repo1")
+                    .eventCreationTimestamp(Instant.now())
+                    .reference(
+                        ImmutableReference.builder()
+                            .simpleName("branch" + i)
+                            .type(Reference.BRANCH)
+                            .build())
+                    .hashAfter("1234")
+                    .build())
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.spi;
+
+import java.util.List;
+import org.projectnessie.events.api.Event;
+
+/**
+ * An {@link EventSubscriber} that receives events in batches.
+ *
+ * <p>Events accepted by this subscriber are accumulated by Nessie and delivered via {@link
+ * #onEvents(List)} once the configured maximum batch size is reached, or the configured linger time
+ * has elapsed since the first event of the batch was received, whichever comes first. This is
+ * suitable for subscribers that benefit from bulk writes, like subscribers pushing events to a
+ * message broker or a search index.
+ *
+ * <p>If the delivery of a batch fails, the whole batch is retried, according to the retry
+ * configuration of the server. Subscribers must therefore be prepared to receive the same event
+ * more than once.
+ *
+ * <p>{@link #onEvent(Event)} is not called for subscribers implementing this interface.
+ */
+public interface BatchEventSubscriber extends EventSubscriber {
+
+  /**
+   * Called with a batch of events, in the order in which they were produced. The batch is never
+   * empty, and only contains events {@linkplain #accepts(Event) accepted} by this subscriber.
+   */
+  void onEvents(List<Event> events);
+}
@@ -24,6 +24,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -38,8 +39,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.projectnessie.gc.contents.ContentReference;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.contents.spi.PersistenceSpi;
 import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.gc.identify.CutoffPolicy;
 import org.projectnessie.model.ContentKey;
 
 /** Tests for all {@link PersistenceSpi} implementations. */
@@ -374,6 +377,13 @@ public abstract class AbstractPersistenceSpi {
     }
 
     soft.assertThat(persistenceSpi.fetchDistinctContentIdCount(nonExisting)).isEqualTo(0L);
+    try (Stream<Map.Entry<String, Long>> counts =
+        persistenceSpi.fetchContentReferenceCounts(nonExisting)) {
+      soft.assertThat(counts).isEmpty();
+    }
+    try (Stream<ReferenceMark> marks = persistenceSpi.fetchReferenceMarks(nonExisting)) {
+      soft.assertThat(marks).isEmpty();
+    }
 
     soft.assertThatThrownBy(
             () -> persistenceSpi.finishedIdentifyLiveContents(nonExisting, Instant.now(), null))
@@ -457,6 +467,16 @@ public abstract class AbstractPersistenceSpi {
       soft.assertThat(contentIds).containsExactlyInAnyOrderElementsOf(vals2.contentIds());
     }
 
+    try (Stream<Map.Entry<String, Long>> counts =
+        persistenceSpi.fetchContentReferenceCounts(vals1.id)) {
+      soft.assertThat(counts)
+          .containsExactlyInAnyOrderElementsOf(
+              vals1.refs.stream()
+                  .collect(
+                      Collectors.groupingBy(ContentReference::contentId, Collectors.counting()))
+                  .entrySet());
+    }
+
     try (Stream<LiveContentSet> all = persistenceSpi.getAllLiveContents()) {
       soft.assertThat(all)
           .containsExactlyInAnyOrder(
@@ -465,6 +485,43 @@ public abstract class AbstractPersistenceSpi {
     }
   }
 
+  @Test
+  public void referenceMarks() throws Exception {
+    LiveSetVals vals1 = new LiveSetVals();
+    vals1.startIdentify();
+    LiveSetVals vals2 = new LiveSetVals();
+    vals2.startIdentify();
+
+    Instant cutoff = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    ReferenceMark main = ReferenceMark.referenceMark("main", "cafebabe", cutoff);
+    ReferenceMark branch =
+        ReferenceMark.referenceMark("branch", "deadbeef", CutoffPolicy.NO_TIMESTAMP);
+    ReferenceMark other = ReferenceMark.referenceMark("main", "01234567", cutoff.plusSeconds(1));
+
+    persistenceSpi.addReferenceMark(vals1.id, main);
+    persistenceSpi.addReferenceMark(vals1.id, branch);
+    // Only the first mark per reference is kept
+    persistenceSpi.addReferenceMark(
+        vals1.id, ReferenceMark.referenceMark("main", "12345678", cutoff));
+    persistenceSpi.addReferenceMark(vals2.id, other);
+
+    try (Stream<ReferenceMark> marks = persistenceSpi.fetchReferenceMarks(vals1.id)) {
+      soft.assertThat(marks).containsExactlyInAnyOrder(main, branch);
+    }
+    try (Stream<ReferenceMark> marks = persistenceSpi.fetchReferenceMarks(vals2.id)) {
+      soft.assertThat(marks).containsExactly(other);
+    }
+
+    persistenceSpi.deleteLiveContentSet(vals1.id);
+    try (Stream<ReferenceMark> marks = persistenceSpi.fetchReferenceMarks(vals1.id)) {
+      soft.assertThat(marks).isEmpty();
+    }
+    assertDeleted(vals1.id);
+    try (Stream<ReferenceMark> marks = persistenceSpi.fetchReferenceMarks(vals2.id)) {
+      soft.assertThat(marks).containsExactly(other);
+    }
+  }
+
   @Test
   public void baseLocations() throws Exception {
     LiveSetVals vals1 = new LiveSetVals();
@@ -34,9 +34,23 @@ import org.projectnessie.gc.identify.IdentifyLiveContents;
  */
 public interface AddContents extends AutoCloseable {
 
+  /**
+   * Adds the given live content references.
+   *
+   * @return the number of content references that have been added, excluding duplicates, or, if
+   *     the content references are persisted {@linkplain
+   *     LiveContentSetsRepository.Builder#writeBehindQueueSize(int) asynchronously}, the number of
+   *     content references that have been queued
+   */
   long addLiveContent(
       @NotNull @jakarta.validation.constraints.NotNull Stream<ContentReference> contentReference);
 
+  /**
+   * Records the HEAD commit and cut-off timestamp of a walked named reference, used by subsequent
+   * incremental runs.
+   */
+  void addReferenceMark(@NotNull @jakarta.validation.constraints.NotNull ReferenceMark mark);
+
   void finished();
 
   void finishedExceptionally(@NotNull @jakarta.validation.constraints.NotNull Throwable e);
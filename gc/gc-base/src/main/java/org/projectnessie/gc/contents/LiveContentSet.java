@@ -19,6 +19,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.net.URI;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -89,6 +90,21 @@ public abstract class LiveContentSet {
     return persistenceSpi().fetchContentReferences(id(), contentId);
   }
 
+  /** Returns the number of content references for each content ID in this live set. */
+  @MustBeClosed
+  public Stream<Map.Entry<String, Long>> fetchContentReferenceCounts() {
+    return persistenceSpi().fetchContentReferenceCounts(id());
+  }
+
+  /**
+   * Returns the {@link ReferenceMark}s recorded while identifying the live contents of this set,
+   * empty if none have been recorded.
+   */
+  @MustBeClosed
+  public Stream<ReferenceMark> fetchReferenceMarks() {
+    return persistenceSpi().fetchReferenceMarks(id());
+  }
+
   public void associateBaseLocations(String contentId, Collection<URI> baseLocations) {
     // TODO detect duplicate base locations for different content-IDs
     persistenceSpi().associateBaseLocations(id(), contentId, baseLocations);
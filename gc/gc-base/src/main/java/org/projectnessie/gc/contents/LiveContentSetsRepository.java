@@ -58,6 +58,28 @@ public abstract class LiveContentSetsRepository {
     @CanIgnoreReturnValue
     Builder persistenceSpi(PersistenceSpi persistenceSpi);
 
+    /**
+     * Number of chunks of live content references that can be queued for the {@linkplain
+     * #writeBehindThreads(int) writer threads}, default is {@code 0}, which means that live
+     * content references are persisted by the threads that walk the commit logs.
+     *
+     * <p>With a write-behind queue, {@link AddContents#addLiveContent(Stream)} hands the content
+     * references to the writer threads in chunks while it consumes the stream, and returns once
+     * the last chunk has been queued, returning the number of handed over content references.
+     * Failures to persist content references are reported by subsequent calls to {@link
+     * AddContents#addLiveContent(Stream)} and when the {@link AddContents} instance is closed,
+     * which waits until all queued content references have been persisted.
+     */
+    @CanIgnoreReturnValue
+    Builder writeBehindQueueSize(int writeBehindQueueSize);
+
+    /**
+     * Number of writer threads that persist the queued live content references, default is {@code
+     * 1}. Only effective with a {@linkplain #writeBehindQueueSize(int) write-behind queue}.
+     */
+    @CanIgnoreReturnValue
+    Builder writeBehindThreads(int writeBehindThreads);
+
     LiveContentSetsRepository build();
   }
 
@@ -86,9 +108,15 @@ public abstract class LiveContentSetsRepository {
       private volatile boolean closed;
       private boolean finished;
       private Throwable failure;
+      private final LiveContentWriter writer;
 
       {
         persistenceSpi().startIdentifyLiveContents(id, created);
+        writer =
+            writeBehindQueueSize() > 0
+                ? new LiveContentWriter(
+                    persistenceSpi(), id, writeBehindQueueSize(), writeBehindThreads())
+                : null;
       }
 
       @Override
@@ -123,9 +151,19 @@ public abstract class LiveContentSetsRepository {
           @NotNull @jakarta.validation.constraints.NotNull
               Stream<ContentReference> contentReference) {
         Preconditions.checkState(!closed, "AddContents instance already closed.");
+        if (writer != null) {
+          return writer.submit(contentReference);
+        }
         return persistenceSpi().addIdentifiedLiveContent(id, contentReference);
       }
 
+      @Override
+      public void addReferenceMark(
+          @NotNull @jakarta.validation.constraints.NotNull ReferenceMark mark) {
+        Preconditions.checkState(!closed, "AddContents instance already closed.");
+        persistenceSpi().addReferenceMark(id, mark);
+      }
+
       @Override
       public void close() {
         if (!finished) {
@@ -135,6 +173,16 @@ public abstract class LiveContentSetsRepository {
           return;
         }
         closed = true;
+        if (writer != null) {
+          Throwable writeFailure = writer.finish();
+          if (writeFailure != null) {
+            if (failure == null) {
+              failure = writeFailure;
+            } else {
+              failure.addSuppressed(writeFailure);
+            }
+          }
+        }
         persistenceSpi().finishedIdentifyLiveContents(id, clock().instant(), failure);
       }
     };
@@ -142,6 +190,24 @@ public abstract class LiveContentSetsRepository {
 
   abstract PersistenceSpi persistenceSpi();
 
+  @Value.Default
+  int writeBehindQueueSize() {
+    return 0;
+  }
+
+  @Value.Default
+  int writeBehindThreads() {
+    return 1;
+  }
+
+  @Value.Check
+  void verify() {
+    Preconditions.checkArgument(
+        writeBehindQueueSize() >= 0, "Write-behind queue size must not be negative");
+    Preconditions.checkArgument(
+        writeBehindThreads() > 0, "Number of write-behind threads must be positive");
+  }
+
   @Value.Default
   @VisibleForTesting
   Clock clock() {
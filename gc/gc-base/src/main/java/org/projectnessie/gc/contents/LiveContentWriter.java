@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.projectnessie.gc.contents.spi.PersistenceSpi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists live content references from dedicated writer threads, so that the threads walking
+ * Nessie commit logs do not have to wait for the persistence layer while they produce content
+ * references.
+ *
+ * <p>{@link #submit(Stream)} consumes the given stream in chunks of at most {@code chunkSize}
+ * content references and puts each chunk into a bounded queue, so only a bounded number of content
+ * references is held in memory. The writer threads take the chunks from the queue and pass them to
+ * {@link PersistenceSpi#addIdentifiedLiveContent(UUID, Stream)}. {@link #submit(Stream)} returns
+ * once the last chunk has been enqueued, it only blocks while the queue is full. The number of
+ * content references that the persistence layer actually added and a failure to persist content
+ * references are available once {@link #finish()} returned.
+ */
+final class LiveContentWriter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(LiveContentWriter.class);
+
+  static final int DEFAULT_CHUNK_SIZE = 1000;
+
+  /** Marker to let a writer thread terminate, compared by identity. */
+  private static final List<ContentReference> END = new ArrayList<>();
+
+  private final PersistenceSpi persistenceSpi;
+  private final UUID liveSetId;
+  private final int chunkSize;
+  private final BlockingQueue<List<ContentReference>> queue;
+  private final Thread[] threads;
+  private final AtomicLong added = new AtomicLong();
+  private volatile Throwable failure;
+
+  LiveContentWriter(PersistenceSpi persistenceSpi, UUID liveSetId, int queueSize, int threads) {
+    this(persistenceSpi, liveSetId, queueSize, threads, DEFAULT_CHUNK_SIZE);
+  }
+
+  @VisibleForTesting
+  LiveContentWriter(
+      PersistenceSpi persistenceSpi, UUID liveSetId, int queueSize, int threads, int chunkSize) {
+    this.persistenceSpi = persistenceSpi;
+    this.liveSetId = liveSetId;
+    this.chunkSize = chunkSize;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.threads = new Thread[threads];
+    for (int i = 0; i < threads; i++) {
+      Thread thread = new Thread(this::run, "nessie-gc-live-content-writer-" + liveSetId + "-" + i);
+      thread.setDaemon(true);
+      thread.start();
+      this.threads[i] = thread;
+    }
+  }
+
+  /**
+   * Hands the given content references to the writer threads.
+   *
+   * @return the number of submitted content references, including duplicates
+   * @throws IllegalStateException if a writer thread failed to persist content references
+   */
+  long submit(Stream<ContentReference> contentReference) {
+    checkNotFailed();
+    long submitted = 0L;
+    List<ContentReference> chunk = new ArrayList<>();
+    for (Iterator<ContentReference> iter = contentReference.iterator(); iter.hasNext(); ) {
+      chunk.add(iter.next());
+      submitted++;
+      if (chunk.size() == chunkSize) {
+        enqueue(chunk);
+        chunk = new ArrayList<>();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      enqueue(chunk);
+    }
+    return submitted;
+  }
+
+  /**
+   * Waits until all submitted content references have been persisted and terminates the writer
+   * threads.
+   *
+   * @return the failure of a writer thread or {@code null}
+   */
+  Throwable finish() {
+    try {
+      if (failure == null) {
+        try {
+          for (int i = 0; i < threads.length; i++) {
+            enqueue(END);
+          }
+        } catch (IllegalStateException e) {
+          // a writer thread failed, handled below
+        }
+      }
+      if (failure != null) {
+        // The remaining writer threads might wait for chunks that will never be enqueued.
+        interruptWriters();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      interruptWriters();
+      return e;
+    }
+    LOGGER.debug(
+        "live-set#{}: Writer threads persisted {} new live content references.",
+        liveSetId,
+        added.get());
+    return failure;
+  }
+
+  /**
+   * The number of content references that have been added by the persistence layer, excluding
+   * duplicates. Final once {@link #finish()} returned.
+   */
+  long added() {
+    return added.get();
+  }
+
+  private void enqueue(List<ContentReference> chunk) {
+    try {
+      // Regularly check whether a writer thread has failed, the queue might not drain anymore.
+      while (!queue.offer(chunk, 100, MILLISECONDS)) {
+        checkNotFailed();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void checkNotFailed() {
+    Throwable f = failure;
+    if (f != null) {
+      throw new IllegalStateException("Persisting live content references failed", f);
+    }
+  }
+
+  private void interruptWriters() {
+    for (Thread thread : threads) {
+      thread.interrupt();
+    }
+  }
+
+  private synchronized void failed(Throwable e) {
+    if (failure == null) {
+      failure = e;
+    } else {
+      failure.addSuppressed(e);
+    }
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        List<ContentReference> chunk = queue.take();
+        if (chunk == END || failure != null) {
+          return;
+        }
+        added.addAndGet(persistenceSpi.addIdentifiedLiveContent(liveSetId, chunk.stream()));
+      }
+    } catch (InterruptedException e) {
+      // interrupted by finish()
+    } catch (Throwable e) {
+      failed(e);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents;
+
+import java.time.Instant;
+import javax.validation.constraints.NotNull;
+import org.immutables.value.Value;
+import org.projectnessie.gc.identify.CutoffPolicy;
+import org.projectnessie.gc.identify.IdentifyLiveContents;
+
+/**
+ * Records the HEAD commit of a named reference and the cut-off timestamp that were used to identify
+ * the live contents of that reference, used by incremental runs of {@link IdentifyLiveContents}.
+ */
+@Value.Immutable
+public interface ReferenceMark {
+
+  /** Name of the Nessie named reference. */
+  @Value.Parameter(order = 1)
+  String referenceName();
+
+  /** The HEAD commit ID of the named reference when its commit log was walked. */
+  @Value.Parameter(order = 2)
+  String headCommitId();
+
+  /**
+   * The {@link CutoffPolicy#timestamp() cut-off timestamp} that was used to walk the commit log,
+   * {@link CutoffPolicy#NO_TIMESTAMP} if the cut-off policy is not timestamp based.
+   */
+  @Value.Parameter(order = 3)
+  Instant cutoffTimestamp();
+
+  static ReferenceMark referenceMark(
+      @NotNull @jakarta.validation.constraints.NotNull String referenceName,
+      @NotNull @jakarta.validation.constraints.NotNull String headCommitId,
+      @NotNull @jakarta.validation.constraints.NotNull Instant cutoffTimestamp) {
+    return ImmutableReferenceMark.of(referenceName, headCommitId, cutoffTimestamp);
+  }
+}
@@ -20,6 +20,7 @@ import static java.util.Collections.emptySet;
 import com.google.common.base.Preconditions;
 import java.net.URI;
 import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -39,6 +40,7 @@ import org.projectnessie.gc.contents.ImmutableLiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSet.Status;
 import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.contents.spi.PersistenceSpi;
 import org.projectnessie.gc.files.FileReference;
 
@@ -57,6 +59,8 @@ public class InMemoryPersistenceSpi implements PersistenceSpi {
 
     final Map<String, Collection<URI>> baseLocations = new ConcurrentHashMap<>();
 
+    final Map<String, ReferenceMark> referenceMarks = new ConcurrentHashMap<>();
+
     final AtomicReference<LiveContentSet> liveContentSet;
 
     final Set<FileReference> fileDeletions = new HashSet<>();
@@ -195,6 +199,35 @@ public class InMemoryPersistenceSpi implements PersistenceSpi {
         .orElse(Stream.empty());
   }
 
+  @Override
+  public Stream<Map.Entry<String, Long>> fetchContentReferenceCounts(
+      @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId) {
+    return getOptional(liveSetId)
+        .map(
+            lcs ->
+                lcs.contents.entrySet().stream()
+                    .map(
+                        e ->
+                            (Map.Entry<String, Long>)
+                                new SimpleImmutableEntry<>(e.getKey(), (long) e.getValue().size())))
+        .orElse(Stream.empty());
+  }
+
+  @Override
+  public void addReferenceMark(
+      @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId,
+      @NotNull @jakarta.validation.constraints.NotNull ReferenceMark referenceMark) {
+    get(liveSetId).referenceMarks.putIfAbsent(referenceMark.referenceName(), referenceMark);
+  }
+
+  @Override
+  public Stream<ReferenceMark> fetchReferenceMarks(
+      @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId) {
+    return getOptional(liveSetId)
+        .map(lcs -> lcs.referenceMarks.values().stream())
+        .orElse(Stream.empty());
+  }
+
   @Override
   public void associateBaseLocations(
       UUID liveSetId, String contentId, Collection<URI> baseLocations) {
@@ -19,6 +19,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.net.URI;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -27,6 +28,7 @@ import org.projectnessie.gc.contents.ContentReference;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
 import org.projectnessie.gc.contents.LiveContentSetsRepository;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.files.FileReference;
 
 /**
@@ -75,6 +77,19 @@ public interface PersistenceSpi {
       @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId,
       @NotNull @jakarta.validation.constraints.NotNull String contentId);
 
+  /** Returns the number of content references for each content ID in the given live set. */
+  @MustBeClosed
+  Stream<Map.Entry<String, Long>> fetchContentReferenceCounts(
+      @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId);
+
+  void addReferenceMark(
+      @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId,
+      @NotNull @jakarta.validation.constraints.NotNull ReferenceMark referenceMark);
+
+  @MustBeClosed
+  Stream<ReferenceMark> fetchReferenceMarks(
+      @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId);
+
   void associateBaseLocations(
       @NotNull @jakarta.validation.constraints.NotNull UUID liveSetId,
       @NotNull @jakarta.validation.constraints.NotNull String contentId,
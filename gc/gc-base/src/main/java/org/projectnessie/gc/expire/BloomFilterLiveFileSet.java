@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.expire;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.PrimitiveSink;
+import com.google.errorprone.annotations.MustBeClosed;
+import java.net.URI;
+import java.util.stream.Stream;
+import org.projectnessie.gc.files.FileReference;
+
+/** {@link LiveFileSet} backed by an in-memory bloom filter. */
+@SuppressWarnings("UnstableApiUsage")
+final class BloomFilterLiveFileSet implements LiveFileSet {
+
+  private final BloomFilter<URI> filter;
+
+  BloomFilterLiveFileSet(long expectedFileCount, double falsePositiveProbability) {
+    this.filter =
+        BloomFilter.create(
+            BloomFilterLiveFileSet::funnel, expectedFileCount, falsePositiveProbability);
+  }
+
+  @Override
+  public void add(URI path) {
+    filter.put(path);
+  }
+
+  @Override
+  public double expectedFpp() {
+    return filter.expectedFpp();
+  }
+
+  @Override
+  public long approximateElementCount() {
+    return filter.approximateElementCount();
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<FileReference> notLive(URI baseLocation, Stream<FileReference> files) {
+    return files.filter(f -> !filter.mightContain(f.path()));
+  }
+
+  @Override
+  public void close() {}
+
+  /**
+   * Add URI components discretely to the {@link PrimitiveSink}, because that is more efficient than
+   * converting the {@code URI} to a {@code String}, especially since the {@code URI}s are almost
+   * always relative and have only the path component.
+   */
+  static void funnel(URI uri, PrimitiveSink sink) {
+    funnelString(uri.getScheme(), sink);
+    funnelString(uri.getHost(), sink);
+    int port = uri.getPort();
+    if (port != 0) {
+      sink.putInt(uri.getPort());
+    }
+    funnelString(uri.getRawPath(), sink);
+  }
+
+  private static void funnelString(String s, PrimitiveSink sink) {
+    if (s != null) {
+      sink.putUnencodedChars(s);
+    }
+  }
+}
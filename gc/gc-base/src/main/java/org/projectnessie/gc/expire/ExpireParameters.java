@@ -16,7 +16,9 @@
 package org.projectnessie.gc.expire;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.nio.file.Path;
 import java.time.Instant;
+import javax.annotation.Nullable;
 import org.immutables.value.Value;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.files.FileDeleter;
@@ -30,6 +32,7 @@ public interface ExpireParameters {
   long DEFAULT_EXPECTED_FILE_COUNT = 1_000_000L;
   double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.00001d;
   double DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY = 0.0001d;
+  int DEFAULT_LIVE_FILE_SET_SPILL_RUN_SIZE = 500_000;
 
   static Builder builder() {
     return ImmutableExpireParameters.builder();
@@ -56,6 +59,24 @@ public interface ExpireParameters {
     @CanIgnoreReturnValue
     Builder allowedFalsePositiveProbability(double allowedFalsePositiveProbability);
 
+    /**
+     * If set, the live files of a content are tracked exactly, using sorted runs of path hashes
+     * that are spilled to temporary files in this directory, instead of using a bloom-filter. The
+     * bloom-filter settings {@link #expectedFileCount(long)}, {@link
+     * #falsePositiveProbability(double)} and {@link #allowedFalsePositiveProbability(double)} do
+     * not apply in this case.
+     */
+    @CanIgnoreReturnValue
+    Builder liveFileSetSpillDirectory(Path liveFileSetSpillDirectory);
+
+    /**
+     * The number of entries kept in memory before a sorted run is spilled to disk, see {@link
+     * #liveFileSetSpillDirectory(Path)}, defaults to {@value
+     * #DEFAULT_LIVE_FILE_SET_SPILL_RUN_SIZE}.
+     */
+    @CanIgnoreReturnValue
+    Builder liveFileSetSpillRunSize(int liveFileSetSpillRunSize);
+
     /** Function used to recustively list files from a base location. */
     @CanIgnoreReturnValue
     Builder filesLister(FilesLister filesLister);
@@ -97,6 +118,15 @@ public interface ExpireParameters {
     return DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY;
   }
 
+  @Nullable
+  @jakarta.annotation.Nullable
+  Path liveFileSetSpillDirectory();
+
+  @Value.Default
+  default int liveFileSetSpillRunSize() {
+    return DEFAULT_LIVE_FILE_SET_SPILL_RUN_SIZE;
+  }
+
   FilesLister filesLister();
 
   ContentToFiles contentToFiles();
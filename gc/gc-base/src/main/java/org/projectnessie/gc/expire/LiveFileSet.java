@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.expire;
+
+import com.google.errorprone.annotations.MustBeClosed;
+import java.net.URI;
+import java.util.stream.Stream;
+import org.projectnessie.gc.files.FileReference;
+
+/**
+ * Set of live file paths for a single content, populated via {@link #add(URI)} while identifying
+ * live files and then used to filter the files found in the content's base locations.
+ */
+interface LiveFileSet extends AutoCloseable {
+
+  /** Adds the (relative) path of a live file. */
+  void add(URI path);
+
+  /**
+   * The expected false-positive-probability of {@link #notLive(URI, Stream)}, {@code 0d} for exact
+   * implementations.
+   */
+  double expectedFpp();
+
+  long approximateElementCount();
+
+  /**
+   * Returns the files of the given stream that are not contained in this set, all files of the
+   * given stream must belong to the given base location. Closing the returned stream also closes
+   * the given stream.
+   */
+  @MustBeClosed
+  Stream<FileReference> notLive(URI baseLocation, Stream<FileReference> files);
+
+  @Override
+  void close();
+}
@@ -15,11 +15,10 @@
  */
 package org.projectnessie.gc.expire;
 
-import com.google.common.hash.BloomFilter;
-import com.google.common.hash.PrimitiveSink;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -48,14 +47,24 @@ public abstract class PerContentDeleteExpired {
     @CanIgnoreReturnValue
     Builder contentId(String contentId);
 
+    /**
+     * Whether the base locations of the content are listed and purged in parallel, using the
+     * fork-join pool that runs {@link #expire()}, default is {@code false}.
+     */
+    @CanIgnoreReturnValue
+    Builder parallelBaseLocations(boolean parallelBaseLocations);
+
     PerContentDeleteExpired build();
   }
 
   /** Returns a stream of files that can be expired. */
-  @SuppressWarnings("UnstableApiUsage")
   public DeleteSummary expire() {
-    BloomFilter<URI> filter = createBloomFilter();
+    try (LiveFileSet filter = createLiveFileSet()) {
+      return expire(filter);
+    }
+  }
 
+  private DeleteSummary expire(LiveFileSet filter) {
     Set<URI> baseLocations = new HashSet<>();
     Consumer<URI> addBaseLocation =
         l -> {
@@ -90,7 +99,11 @@ public abstract class PerContentDeleteExpired {
 
     expireParameters().liveContentSet().associateBaseLocations(contentId(), baseLocations);
 
-    return baseLocations.stream()
+    Stream<URI> baseLocationStream = baseLocations.stream();
+    if (parallelBaseLocations()) {
+      baseLocationStream = baseLocationStream.parallel();
+    }
+    return baseLocationStream
         .map(
             baseLocation -> {
               try (Stream<FileReference> fileObjects = identifyExpiredFiles(filter, baseLocation)) {
@@ -106,8 +119,7 @@ public abstract class PerContentDeleteExpired {
    * First part of {@link #expire()} to identify all files that are referenced by all live {@link
    * Content} objects.
    */
-  @SuppressWarnings("UnstableApiUsage")
-  private long identifyLiveFiles(BloomFilter<URI> filter, Consumer<URI> addBaseLocation) {
+  private long identifyLiveFiles(LiveFileSet filter, Consumer<URI> addBaseLocation) {
     LOGGER.debug(
         "live-set#{} content#{}: Start collecting files and base locations, max file modification time: {}.",
         expireParameters().liveContentSet().id(),
@@ -129,7 +141,7 @@ public abstract class PerContentDeleteExpired {
           contents
               .peek(f -> addBaseLocation.accept(f.base()))
               .map(FileReference::path)
-              .peek(filter::put)
+              .peek(filter::add)
               .count();
     }
 
@@ -150,9 +162,8 @@ public abstract class PerContentDeleteExpired {
    * Second part of {@link #expire()} to walk all base locations and identify the files that are not
    * referenced by any live content object.
    */
-  @SuppressWarnings("UnstableApiUsage")
   @MustBeClosed
-  private Stream<FileReference> identifyExpiredFiles(BloomFilter<URI> filter, URI baseLocation)
+  private Stream<FileReference> identifyExpiredFiles(LiveFileSet filter, URI baseLocation)
       throws NessieFileIOException {
     ExpireStats expireStats = new ExpireStats();
     long maxFileTime = expireParameters().maxFileModificationTime().toEpochMilli();
@@ -165,13 +176,12 @@ public abstract class PerContentDeleteExpired {
 
     @SuppressWarnings("MustBeClosedChecker")
     Stream<FileReference> list = expireParameters().filesLister().listRecursively(baseLocation);
-    return list.filter(
+    @SuppressWarnings("MustBeClosedChecker")
+    Stream<FileReference> notLive =
+        filter.notLive(baseLocation, list.peek(f -> expireStats.totalFiles++));
+    return notLive
+        .filter(
             f -> {
-              expireStats.totalFiles++;
-              if (filter.mightContain(f.path())) {
-                expireStats.liveFiles++;
-                return false;
-              }
               if (f.modificationTimeMillisEpoch() > maxFileTime) {
                 expireStats.newFiles++;
                 return false;
@@ -180,19 +190,22 @@ public abstract class PerContentDeleteExpired {
               return true;
             })
         .onClose(
-            () ->
-                LOGGER.info(
-                    "live-set#{} content#{}: Found {} total files in base location {}, "
-                        + "{} files considered expired, "
-                        + "{} files considered live, "
-                        + "{} files are newer than max-file-modification-time.",
-                    expireParameters().liveContentSet().id(),
-                    contentId(),
-                    expireStats.totalFiles,
-                    baseLocation,
-                    expireStats.expiredFiles,
-                    expireStats.liveFiles,
-                    expireStats.newFiles));
+            () -> {
+              expireStats.liveFiles =
+                  expireStats.totalFiles - expireStats.expiredFiles - expireStats.newFiles;
+              LOGGER.info(
+                  "live-set#{} content#{}: Found {} total files in base location {}, "
+                      + "{} files considered expired, "
+                      + "{} files considered live, "
+                      + "{} files are newer than max-file-modification-time.",
+                  expireParameters().liveContentSet().id(),
+                  contentId(),
+                  expireStats.totalFiles,
+                  baseLocation,
+                  expireStats.expiredFiles,
+                  expireStats.liveFiles,
+                  expireStats.newFiles);
+            });
   }
 
   private static final class ExpireStats {
@@ -202,38 +215,21 @@ public abstract class PerContentDeleteExpired {
     long newFiles = 0;
   }
 
-  @SuppressWarnings("UnstableApiUsage")
-  BloomFilter<URI> createBloomFilter() {
-    return BloomFilter.create(
-        PerContentDeleteExpired::funnel,
-        expireParameters().expectedFileCount(),
-        expireParameters().falsePositiveProbability());
-  }
-
-  /**
-   * Add URI components discretely to the {@link PrimitiveSink}, because that is more efficient than
-   * converting the {@code URI} to a {@code String}, especially since the {@code URI}s are almost
-   * always relative and have only the path component.
-   */
-  @SuppressWarnings("UnstableApiUsage")
-  private static void funnel(URI uri, PrimitiveSink sink) {
-    funnelString(uri.getScheme(), sink);
-    funnelString(uri.getHost(), sink);
-    int port = uri.getPort();
-    if (port != 0) {
-      sink.putInt(uri.getPort());
-    }
-    funnelString(uri.getRawPath(), sink);
-  }
-
-  @SuppressWarnings("UnstableApiUsage")
-  private static void funnelString(String s, PrimitiveSink sink) {
-    if (s != null) {
-      sink.putUnencodedChars(s);
+  LiveFileSet createLiveFileSet() {
+    Path spillDirectory = expireParameters().liveFileSetSpillDirectory();
+    if (spillDirectory != null) {
+      return new SpillingLiveFileSet(spillDirectory, expireParameters().liveFileSetSpillRunSize());
     }
+    return new BloomFilterLiveFileSet(
+        expireParameters().expectedFileCount(), expireParameters().falsePositiveProbability());
   }
 
   abstract ExpireParameters expireParameters();
 
   abstract String contentId();
+
+  @Value.Default
+  boolean parallelBaseLocations() {
+    return false;
+  }
 }
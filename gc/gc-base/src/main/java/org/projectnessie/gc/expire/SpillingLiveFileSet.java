@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.expire;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import com.google.errorprone.annotations.MustBeClosed;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.projectnessie.gc.files.FileReference;
+
+/**
+ * Exact {@link LiveFileSet} with bounded heap usage, that stores 128-bit hashes of the live file
+ * paths in sorted runs, which are spilled to disk when {@code runSize} entries have been collected.
+ *
+ * <p>{@link #notLive(URI, Stream)} sorts the listed files of a base location by their path hash in
+ * the same way, spilling to disk as needed, and then performs a merge-join of the sorted listed
+ * files against the sorted live path hashes. Heap usage is therefore bounded by {@code runSize}
+ * entries plus one read buffer per run, independent of the number of live or listed files.
+ *
+ * <p>Unlike {@link BloomFilterLiveFileSet}, there are no false positives, except for collisions of
+ * 128-bit hashes.
+ *
+ * <p>{@link #add(URI)} must not be called concurrently. Once all live files have been added, {@link
+ * #notLive(URI, Stream)} can be called concurrently for different base locations.
+ */
+final class SpillingLiveFileSet implements LiveFileSet {
+
+  @SuppressWarnings("UnstableApiUsage")
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+  private static final Comparator<ListedFile> LISTED_FILE_ORDER =
+      Comparator.comparing(f -> f.hash);
+
+  private final Path directory;
+  private final int runSize;
+  private final List<Path> liveRuns = new ArrayList<>();
+  private List<PathHash> liveBuffer = new ArrayList<>();
+  private final AtomicInteger runFileCounter = new AtomicInteger();
+  private long count;
+  private volatile boolean sealed;
+
+  SpillingLiveFileSet(Path spillDirectory, int runSize) {
+    Preconditions.checkArgument(runSize > 0, "runSize must be greater than 0");
+    this.runSize = runSize;
+    try {
+      Files.createDirectories(spillDirectory);
+      this.directory = Files.createTempDirectory(spillDirectory, "nessie-gc-live-files-");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void add(URI path) {
+    Preconditions.checkState(!sealed, "Cannot add live files after notLive() has been called");
+    liveBuffer.add(PathHash.of(path));
+    count++;
+    if (liveBuffer.size() >= runSize) {
+      liveBuffer.sort(null);
+      liveRuns.add(writeRun(liveBuffer, PathHash::write));
+      liveBuffer = new ArrayList<>();
+    }
+  }
+
+  @Override
+  public double expectedFpp() {
+    return 0d;
+  }
+
+  @Override
+  public long approximateElementCount() {
+    return count;
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<FileReference> notLive(URI baseLocation, Stream<FileReference> files) {
+    seal();
+
+    NotLiveIterator notLive = new NotLiveIterator(baseLocation, files);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                notLive, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(notLive::close)
+        .onClose(files::close);
+  }
+
+  private synchronized void seal() {
+    if (!sealed) {
+      // The in-memory tail of the live hashes becomes an in-memory run.
+      liveBuffer.sort(null);
+      sealed = true;
+    }
+  }
+
+  @Override
+  public void close() {
+    liveBuffer = new ArrayList<>();
+    try (DirectoryStream<Path> runFiles = Files.newDirectoryStream(directory)) {
+      for (Path runFile : runFiles) {
+        Files.deleteIfExists(runFile);
+      }
+      Files.deleteIfExists(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Lazily sorts the listed files by path hash, on the first call to {@link #hasNext()}, and then
+   * merge-joins those against the live path hashes.
+   */
+  private final class NotLiveIterator extends AbstractIterator<FileReference> {
+    private final URI baseLocation;
+    private final Stream<FileReference> files;
+    private final List<Path> listedRuns = new ArrayList<>();
+    private final List<Closeable> openRuns = new ArrayList<>();
+    private Iterator<ListedFile> listed;
+    private PeekingIterator<PathHash> live;
+
+    NotLiveIterator(URI baseLocation, Stream<FileReference> files) {
+      this.baseLocation = baseLocation;
+      this.files = files;
+    }
+
+    @Override
+    protected FileReference computeNext() {
+      if (listed == null) {
+        listed = sortListedFiles();
+        live = Iterators.peekingIterator(mergeLiveRuns());
+      }
+
+      while (listed.hasNext()) {
+        ListedFile file = listed.next();
+        while (live.hasNext() && live.peek().compareTo(file.hash) < 0) {
+          live.next();
+        }
+        if (live.hasNext() && live.peek().equals(file.hash)) {
+          continue;
+        }
+        return FileReference.of(file.path, baseLocation, file.modificationTimeMillisEpoch);
+      }
+      return endOfData();
+    }
+
+    private Iterator<ListedFile> sortListedFiles() {
+      List<ListedFile> buffer = new ArrayList<>();
+      for (Iterator<FileReference> iter = files.iterator(); iter.hasNext(); ) {
+        FileReference f = iter.next();
+        buffer.add(
+            new ListedFile(PathHash.of(f.path()), f.path(), f.modificationTimeMillisEpoch()));
+        if (buffer.size() >= runSize) {
+          buffer.sort(LISTED_FILE_ORDER);
+          listedRuns.add(writeRun(buffer, ListedFile::write));
+          buffer = new ArrayList<>();
+        }
+      }
+      buffer.sort(LISTED_FILE_ORDER);
+
+      List<Iterator<ListedFile>> runs = new ArrayList<>();
+      for (Path run : listedRuns) {
+        runs.add(open(run, ListedFile::read));
+      }
+      runs.add(buffer.iterator());
+      return Iterators.mergeSorted(runs, LISTED_FILE_ORDER);
+    }
+
+    private Iterator<PathHash> mergeLiveRuns() {
+      List<Iterator<PathHash>> runs = new ArrayList<>();
+      for (Path run : liveRuns) {
+        runs.add(open(run, PathHash::read));
+      }
+      runs.add(liveBuffer.iterator());
+      return Iterators.mergeSorted(runs, Comparator.naturalOrder());
+    }
+
+    private <T> Iterator<T> open(Path run, RunReader<T> reader) {
+      RunFile<T> runFile = new RunFile<>(run, reader);
+      openRuns.add(runFile);
+      return runFile;
+    }
+
+    void close() {
+      try {
+        for (Closeable run : openRuns) {
+          run.close();
+        }
+        for (Path run : listedRuns) {
+          Files.deleteIfExists(run);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        openRuns.clear();
+        listedRuns.clear();
+      }
+    }
+  }
+
+  private <T> Path writeRun(List<T> sorted, RunWriter<T> writer) {
+    Path file = directory.resolve("run-" + runFileCounter.getAndIncrement());
+    try (DataOutputStream out =
+        new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE))) {
+      out.writeInt(sorted.size());
+      for (T entry : sorted) {
+        writer.write(entry, out);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return file;
+  }
+
+  @FunctionalInterface
+  private interface RunWriter<T> {
+    void write(T entry, DataOutputStream out) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface RunReader<T> {
+    T read(DataInputStream in) throws IOException;
+  }
+
+  /** Sequentially reads the entries of a run file. */
+  private static final class RunFile<T> extends AbstractIterator<T> implements Closeable {
+    private final DataInputStream in;
+    private final RunReader<T> reader;
+    private int remaining;
+
+    RunFile(Path file, RunReader<T> reader) {
+      this.reader = reader;
+      try {
+        this.in =
+            new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE));
+        this.remaining = in.readInt();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    protected T computeNext() {
+      if (remaining == 0) {
+        return endOfData();
+      }
+      remaining--;
+      try {
+        return reader.read(in);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
+  /** 128-bit hash of a file path, ordered as an unsigned 128-bit integer. */
+  private static final class PathHash implements Comparable<PathHash> {
+    final long high;
+    final long low;
+
+    PathHash(long high, long low) {
+      this.high = high;
+      this.low = low;
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    static PathHash of(URI path) {
+      Hasher hasher = HASH_FUNCTION.newHasher();
+      BloomFilterLiveFileSet.funnel(path, hasher);
+      HashCode hash = hasher.hash();
+      byte[] b = hash.asBytes();
+      return new PathHash(
+          Longs.fromBytes(b[0], b[1], b[2], b[3], b[4], b[5], b[6], b[7]),
+          Longs.fromBytes(b[8], b[9], b[10], b[11], b[12], b[13], b[14], b[15]));
+    }
+
+    static PathHash read(DataInputStream in) throws IOException {
+      return new PathHash(in.readLong(), in.readLong());
+    }
+
+    static void write(PathHash hash, DataOutputStream out) throws IOException {
+      out.writeLong(hash.high);
+      out.writeLong(hash.low);
+    }
+
+    @Override
+    public int compareTo(PathHash o) {
+      int c = Long.compareUnsigned(high, o.high);
+      return c != 0 ? c : Long.compareUnsigned(low, o.low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PathHash)) {
+        return false;
+      }
+      PathHash other = (PathHash) o;
+      return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+  }
+
+  private static final class ListedFile {
+    final PathHash hash;
+    final URI path;
+    final long modificationTimeMillisEpoch;
+
+    ListedFile(PathHash hash, URI path, long modificationTimeMillisEpoch) {
+      this.hash = hash;
+      this.path = path;
+      this.modificationTimeMillisEpoch = modificationTimeMillisEpoch;
+    }
+
+    static ListedFile read(DataInputStream in) throws IOException {
+      PathHash hash = PathHash.read(in);
+      long modificationTimeMillisEpoch = in.readLong();
+      URI path = URI.create(in.readUTF());
+      return new ListedFile(hash, path, modificationTimeMillisEpoch);
+    }
+
+    static void write(ListedFile file, DataOutputStream out) throws IOException {
+      PathHash.write(file.hash, out);
+      out.writeLong(file.modificationTimeMillisEpoch);
+      out.writeUTF(file.path.toString());
+    }
+  }
+}
@@ -21,8 +21,14 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.immutables.value.Value;
 import org.projectnessie.gc.expire.Expire;
@@ -35,6 +41,13 @@ import org.slf4j.LoggerFactory;
 /**
  * Expire-contents &amp; delete-orphan-files (the <em>sweep</em> phase of the mark-and-sweep
  * approach) implementation using a local thread pool.
+ *
+ * <p>With {@link #weightedScheduling()}, contents are scheduled by descending weight, the number of
+ * live content references of each content, so that the largest contents start first and the
+ * smaller ones fill the gaps. Each of the {@link #parallelism()} workers takes the next-heaviest
+ * content from a shared queue. The base locations of a single content are processed as fork-join
+ * subtasks, which idle workers steal once the queue of contents is drained, so a few huge contents
+ * are not processed by a single thread.
  */
 @Value.Immutable
 public abstract class DefaultLocalExpire implements Expire {
@@ -58,6 +71,14 @@ public abstract class DefaultLocalExpire implements Expire {
     @CanIgnoreReturnValue
     Builder parallelism(int parallelism);
 
+    /**
+     * Whether contents are scheduled by descending weight and base locations of a single content
+     * are processed in parallel, default is {@code false}, which processes contents in no
+     * particular order and the base locations of a content sequentially.
+     */
+    @CanIgnoreReturnValue
+    Builder weightedScheduling(boolean weightedScheduling);
+
     DefaultLocalExpire build();
   }
 
@@ -84,11 +105,56 @@ public abstract class DefaultLocalExpire implements Expire {
   }
 
   private DeleteSummary expireInForkJoinPool() {
-    try (Stream<String> contentIds = expireParameters().liveContentSet().fetchContentIds()) {
-      return contentIds
-          .parallel()
-          .map(this::expireSingleContent)
-          .reduce(DeleteSummary.EMPTY, DeleteSummary::add);
+    if (!weightedScheduling()) {
+      try (Stream<String> contentIds = expireParameters().liveContentSet().fetchContentIds()) {
+        return contentIds
+            .parallel()
+            .map(this::expireSingleContent)
+            .reduce(DeleteSummary.EMPTY, DeleteSummary::add);
+      }
+    }
+
+    List<String> contentIds = contentIdsByDescendingWeight();
+    LOGGER.debug(
+        "live-set#{}: Scheduling {} contents by descending weight.",
+        expireParameters().liveContentSet().id(),
+        contentIds.size());
+
+    AtomicInteger nextContent = new AtomicInteger();
+    List<ForkJoinTask<DeleteSummary>> workers = new ArrayList<>();
+    for (int i = 0; i < Math.min(parallelism(), contentIds.size()); i++) {
+      workers.add(
+          ForkJoinTask.adapt(
+                  () -> {
+                    DeleteSummary summary = DeleteSummary.EMPTY;
+                    for (int idx = nextContent.getAndIncrement();
+                        idx < contentIds.size();
+                        idx = nextContent.getAndIncrement()) {
+                      summary = summary.add(expireSingleContent(contentIds.get(idx)));
+                    }
+                    return summary;
+                  })
+              .fork());
+    }
+
+    DeleteSummary summary = DeleteSummary.EMPTY;
+    for (ForkJoinTask<DeleteSummary> worker : workers) {
+      summary = summary.add(worker.join());
+    }
+    return summary;
+  }
+
+  @VisibleForTesting
+  List<String> contentIdsByDescendingWeight() {
+    try (Stream<Map.Entry<String, Long>> counts =
+        expireParameters().liveContentSet().fetchContentReferenceCounts()) {
+      return counts
+          .sorted(
+              Comparator.comparing(Map.Entry<String, Long>::getValue)
+                  .reversed()
+                  .thenComparing(Map.Entry<String, Long>::getKey))
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toList());
     }
   }
 
@@ -100,6 +166,7 @@ public abstract class DefaultLocalExpire implements Expire {
     return PerContentDeleteExpired.builder()
         .expireParameters(expireParameters())
         .contentId(contentId)
+        .parallelBaseLocations(weightedScheduling())
         .build()
         .expire();
   }
@@ -111,6 +178,11 @@ public abstract class DefaultLocalExpire implements Expire {
     return DEFAULT_PARALLELISM;
   }
 
+  @Value.Default
+  boolean weightedScheduling() {
+    return false;
+  }
+
   @Value.Default
   @VisibleForTesting
   Clock clock() {
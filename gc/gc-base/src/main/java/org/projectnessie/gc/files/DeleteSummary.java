@@ -27,13 +27,21 @@ public interface DeleteSummary {
     return ImmutableDeleteSummary.of(deleted, failures);
   }
 
+  static DeleteSummary of(long deleted, long failures, long retries) {
+    return ImmutableDeleteSummary.builder()
+        .deleted(deleted)
+        .failures(failures)
+        .retries(retries)
+        .build();
+  }
+
   @CanIgnoreReturnValue
   default DeleteSummary add(DeleteResult deleteResult) {
     switch (deleteResult) {
       case SUCCESS:
-        return of(deleted() + 1L, failures());
+        return of(deleted() + 1L, failures(), retries());
       case FAILURE:
-        return of(deleted(), failures() + 1L);
+        return of(deleted(), failures() + 1L, retries());
       default:
         throw new IllegalArgumentException("" + deleteResult);
     }
@@ -41,7 +49,12 @@ public interface DeleteSummary {
 
   @CanIgnoreReturnValue
   default DeleteSummary add(DeleteSummary b) {
-    return of(deleted() + b.deleted(), failures() + b.failures());
+    return of(deleted() + b.deleted(), failures() + b.failures(), retries() + b.retries());
+  }
+
+  @CanIgnoreReturnValue
+  default DeleteSummary withAdditionalRetries(long retries) {
+    return retries == 0L ? this : of(deleted(), failures(), retries() + retries);
   }
 
   /** Number of successful deletes. */
@@ -51,4 +64,10 @@ public interface DeleteSummary {
   /** Number of deletes that failed. */
   @Value.Parameter(order = 2)
   long failures();
+
+  /** Number of delete attempts that have been retried after a failure. */
+  @Value.Default
+  default long retries() {
+    return 0L;
+  }
 }
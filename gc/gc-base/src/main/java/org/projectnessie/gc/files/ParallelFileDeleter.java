@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.files;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link FileDeleter} that deletes files concurrently using a pool of delete workers, shared by
+ * all base locations and contents, on top of a {@link #delegate() delegate}.
+ *
+ * <ul>
+ *   <li>Files passed to {@link #deleteMultiple(URI, Stream)} are split into chunks of {@link
+ *       #chunkSize()} files, which are processed by {@link #parallelism()} worker threads.
+ *   <li>For base locations that support {@link #bulkDelete() bulk deletes}, like object stores,
+ *       each chunk is passed to the delegate's {@link FileDeleter#deleteMultiple(URI, Stream)}. If
+ *       any file of a chunk could not be deleted, the whole chunk is retried, because bulk delete
+ *       implementations do not report which files could not be deleted and deleting a
+ *       non-existing object succeeds in object stores.
+ *   <li>For all other base locations, files are deleted one by one via {@link
+ *       FileDeleter#delete(FileReference)} and each failed delete is retried individually.
+ *   <li>Retries use an exponential backoff starting at {@link #retryBackoff()}, up to {@link
+ *       #maxRetries()} times.
+ *   <li>An optional global token-bucket rate limit of {@link #maxDeletesPerSecond()} files per
+ *       second protects the storage from too many delete requests.
+ * </ul>
+ */
+@Value.Immutable
+public abstract class ParallelFileDeleter implements FileDeleter, AutoCloseable {
+
+  public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_CHUNK_SIZE = 1000;
+  public static final int DEFAULT_MAX_RETRIES = 3;
+  public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(100);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelFileDeleter.class);
+
+  public static Builder builder() {
+    return ImmutableParallelFileDeleter.builder();
+  }
+
+  public interface Builder {
+    /** The file deleter that actually deletes the files. */
+    @CanIgnoreReturnValue
+    Builder delegate(FileDeleter delegate);
+
+    /** Number of delete worker threads, default is {@value #DEFAULT_PARALLELISM}. */
+    @CanIgnoreReturnValue
+    Builder parallelism(int parallelism);
+
+    /** Number of files per chunk of work, default is {@value #DEFAULT_CHUNK_SIZE}. */
+    @CanIgnoreReturnValue
+    Builder chunkSize(int chunkSize);
+
+    /** Maximum number of retries of a failed delete, default is {@value #DEFAULT_MAX_RETRIES}. */
+    @CanIgnoreReturnValue
+    Builder maxRetries(int maxRetries);
+
+    /** Backoff before the first retry, doubled for every further retry, default is 100ms. */
+    @CanIgnoreReturnValue
+    Builder retryBackoff(Duration retryBackoff);
+
+    /** Maximum number of files deleted per second, default is {@code 0} for unlimited. */
+    @CanIgnoreReturnValue
+    Builder maxDeletesPerSecond(double maxDeletesPerSecond);
+
+    /**
+     * Tests whether the {@link #delegate(FileDeleter) delegate} implements an efficient and
+     * idempotent bulk delete for a base location. Default is to delete each file individually.
+     */
+    @CanIgnoreReturnValue
+    Builder bulkDelete(Predicate<URI> bulkDelete);
+
+    ParallelFileDeleter build();
+  }
+
+  @SuppressWarnings("immutables:incompat")
+  private volatile boolean hasExecutor;
+
+  abstract FileDeleter delegate();
+
+  @Value.Default
+  int parallelism() {
+    return DEFAULT_PARALLELISM;
+  }
+
+  @Value.Default
+  int chunkSize() {
+    return DEFAULT_CHUNK_SIZE;
+  }
+
+  @Value.Default
+  int maxRetries() {
+    return DEFAULT_MAX_RETRIES;
+  }
+
+  @Value.Default
+  Duration retryBackoff() {
+    return DEFAULT_RETRY_BACKOFF;
+  }
+
+  @Value.Default
+  double maxDeletesPerSecond() {
+    return 0d;
+  }
+
+  @Value.Default
+  Predicate<URI> bulkDelete() {
+    return baseUri -> false;
+  }
+
+  @Value.Check
+  void verify() {
+    Preconditions.checkArgument(parallelism() >= 1, "Parallelism must be greater than 0");
+    Preconditions.checkArgument(chunkSize() >= 1, "Chunk size must be greater than 0");
+    Preconditions.checkArgument(maxRetries() >= 0, "Max retries must not be negative");
+    Preconditions.checkArgument(
+        maxDeletesPerSecond() >= 0d, "Max deletes per second must not be negative");
+  }
+
+  @Value.Lazy
+  ExecutorService executor() {
+    AtomicInteger threadNum = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism(),
+            r -> {
+              Thread t = new Thread(r, "nessie-gc-delete-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    hasExecutor = true;
+    return executor;
+  }
+
+  @Value.Lazy
+  @SuppressWarnings("UnstableApiUsage")
+  RateLimiter rateLimiter() {
+    return RateLimiter.create(maxDeletesPerSecond());
+  }
+
+  @Override
+  public void close() {
+    if (hasExecutor) {
+      executor().shutdownNow();
+    }
+  }
+
+  @Override
+  public DeleteResult delete(FileReference fileReference) {
+    DeleteSummary summary = deleteWithRetries(fileReference);
+    return summary.failures() == 0L ? DeleteResult.SUCCESS : DeleteResult.FAILURE;
+  }
+
+  @Override
+  public DeleteSummary deleteMultiple(URI baseUri, Stream<FileReference> fileObjects) {
+    boolean bulk = bulkDelete().test(baseUri);
+
+    // Limits the number of chunks held in memory, if the workers cannot keep up.
+    Semaphore inFlight = new Semaphore(2 * parallelism());
+    List<CompletableFuture<DeleteSummary>> chunks = new ArrayList<>();
+    try {
+      List<FileReference> chunk = new ArrayList<>();
+      for (Iterator<FileReference> iter = fileObjects.iterator(); iter.hasNext(); ) {
+        chunk.add(iter.next());
+        if (chunk.size() == chunkSize() || !iter.hasNext()) {
+          inFlight.acquire();
+          List<FileReference> files = chunk;
+          chunks.add(
+              CompletableFuture.supplyAsync(
+                      () -> bulk ? bulkDeleteChunk(baseUri, files) : deleteChunk(files),
+                      executor())
+                  .whenComplete((r, t) -> inFlight.release()));
+          chunk = new ArrayList<>();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      chunks.forEach(f -> f.cancel(true));
+      throw new RuntimeException(e);
+    }
+
+    try {
+      return chunks.stream()
+          .map(CompletableFuture::join)
+          .reduce(DeleteSummary.EMPTY, DeleteSummary::add);
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+  }
+
+  private DeleteSummary deleteChunk(List<FileReference> files) {
+    DeleteSummary summary = DeleteSummary.EMPTY;
+    for (FileReference file : files) {
+      summary = summary.add(deleteWithRetries(file));
+    }
+    return summary;
+  }
+
+  private DeleteSummary deleteWithRetries(FileReference fileReference) {
+    for (int attempt = 0; ; attempt++) {
+      acquire(1);
+      if (delegate().delete(fileReference) == DeleteResult.SUCCESS) {
+        return DeleteSummary.of(1L, 0L, attempt);
+      }
+      if (attempt == maxRetries()) {
+        LOGGER.debug("Giving up deleting {} after {} retries", fileReference, attempt);
+        return DeleteSummary.of(0L, 1L, attempt);
+      }
+      backoff(attempt);
+    }
+  }
+
+  private DeleteSummary bulkDeleteChunk(URI baseUri, List<FileReference> files) {
+    for (int attempt = 0; ; attempt++) {
+      acquire(files.size());
+      DeleteSummary summary = delegate().deleteMultiple(baseUri, files.stream());
+      if (summary.failures() == 0L || attempt == maxRetries()) {
+        if (summary.failures() > 0L) {
+          LOGGER.debug(
+              "Giving up deleting {} of {} files in {} after {} retries",
+              summary.failures(),
+              files.size(),
+              baseUri,
+              attempt);
+        }
+        return summary.withAdditionalRetries(attempt);
+      }
+      backoff(attempt);
+    }
+  }
+
+  @SuppressWarnings("UnstableApiUsage")
+  private void acquire(int permits) {
+    if (maxDeletesPerSecond() > 0d) {
+      rateLimiter().acquire(permits);
+    }
+  }
+
+  private void backoff(int attempt) {
+    long millis = retryBackoff().toMillis() << Math.min(attempt, 16);
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.gc.identify.CutoffPolicy.NO_TIMESTAMP;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Memory efficient variant of {@link DefaultVisitedDeduplicator} with the same semantics.
+ *
+ * <p>Instead of commit-ID strings, this implementation keeps the 128-bit murmur3 hash of each
+ * commit ID in a {@code long[]} based open-addressing hash table. That needs between 20 and 45
+ * bytes of heap per visited commit, instead of a few hundred bytes for a hex-encoded commit-ID
+ * string in a hash set. The probability that two distinct commit IDs collide is negligible even for
+ * billions of commits.
+ *
+ * <p>The hash tables are split into a configurable number of stripes, selected by the commit-ID
+ * hash, each guarded by its own lock, so that concurrent commit log walks of {@link
+ * IdentifyLiveContents} do not contend on a single lock.
+ */
+public final class CompactVisitedDeduplicator implements VisitedDeduplicator {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final Stripe[] stripes;
+
+  public CompactVisitedDeduplicator() {
+    this(1);
+  }
+
+  /**
+   * @param stripes number of independently locked stripes, usually the {@link
+   *     IdentifyLiveContents#parallelism() parallelism} of the live-contents identification
+   */
+  public CompactVisitedDeduplicator(int stripes) {
+    Preconditions.checkArgument(stripes > 0, "Number of stripes must be greater than 0");
+    this.stripes = new Stripe[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new Stripe();
+    }
+  }
+
+  @Override
+  public boolean alreadyVisited(
+      @Nonnull @jakarta.annotation.Nonnull Instant cutoffTimestamp,
+      @Nonnull @jakarta.annotation.Nonnull String commitId) {
+    if (cutoffTimestamp.equals(NO_TIMESTAMP)) {
+      return false;
+    }
+
+    byte[] b = HASH_FUNCTION.hashString(commitId, UTF_8).asBytes();
+    long high = Longs.fromBytes(b[0], b[1], b[2], b[3], b[4], b[5], b[6], b[7]);
+    long low = Longs.fromBytes(b[8], b[9], b[10], b[11], b[12], b[13], b[14], b[15]);
+
+    Stripe stripe = stripes[(int) ((high >>> 1) % stripes.length)];
+    return stripe.alreadyVisited(cutoffTimestamp, high, low);
+  }
+
+  /** Number of distinct (cut-off timestamp, commit) pairs that have been recorded. */
+  @VisibleForTesting
+  long size() {
+    long size = 0L;
+    for (Stripe stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  private static final class Stripe {
+    private final Map<Instant, CommitHashSet> alreadyVisited = new HashMap<>();
+
+    synchronized boolean alreadyVisited(Instant cutoffTimestamp, long high, long low) {
+      for (Map.Entry<Instant, CommitHashSet> instantSetEntry : alreadyVisited.entrySet()) {
+        if (!instantSetEntry.getKey().isAfter(cutoffTimestamp)
+            && instantSetEntry.getValue().contains(high, low)) {
+          return true;
+        }
+      }
+
+      CommitHashSet commits =
+          alreadyVisited.computeIfAbsent(cutoffTimestamp, x -> new CommitHashSet());
+      return !commits.add(high, low);
+    }
+
+    synchronized long size() {
+      return alreadyVisited.values().stream().mapToLong(s -> s.size).sum();
+    }
+  }
+
+  /**
+   * Open-addressing hash set of 128-bit values using linear probing. Each slot occupies two
+   * consecutive elements of {@link #slots}, an all-zero slot is empty. The all-zero value itself is
+   * tracked by {@link #containsZero}.
+   */
+  @VisibleForTesting
+  static final class CommitHashSet {
+    private static final int INITIAL_CAPACITY = 1024;
+    // Largest power-of-two capacity that results in a valid Java array length
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private long[] slots = new long[INITIAL_CAPACITY * 2];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int size;
+    private boolean containsZero;
+
+    boolean contains(long high, long low) {
+      if (high == 0L && low == 0L) {
+        return containsZero;
+      }
+      long[] s = slots;
+      for (int i = (int) low & mask; ; i = (i + 1) & mask) {
+        long h = s[i * 2];
+        long l = s[i * 2 + 1];
+        if (h == 0L && l == 0L) {
+          return false;
+        }
+        if (h == high && l == low) {
+          return true;
+        }
+      }
+    }
+
+    /** Adds the given value, returns {@code false} if the value was already present. */
+    boolean add(long high, long low) {
+      if (high == 0L && low == 0L) {
+        if (containsZero) {
+          return false;
+        }
+        containsZero = true;
+        size++;
+        return true;
+      }
+      for (int i = (int) low & mask; ; i = (i + 1) & mask) {
+        long h = slots[i * 2];
+        long l = slots[i * 2 + 1];
+        if (h == 0L && l == 0L) {
+          slots[i * 2] = high;
+          slots[i * 2 + 1] = low;
+          if (++size > (mask + 1) / 4 * 3) {
+            grow();
+          }
+          return true;
+        }
+        if (h == high && l == low) {
+          return false;
+        }
+      }
+    }
+
+    int size() {
+      return size;
+    }
+
+    private void grow() {
+      int capacity = mask + 1;
+      Preconditions.checkState(
+          capacity < MAX_CAPACITY, "Too many visited commits for a single cut-off timestamp");
+      long[] old = slots;
+      int newCapacity = capacity * 2;
+      slots = new long[newCapacity * 2];
+      mask = newCapacity - 1;
+      for (int j = 0; j < old.length; j += 2) {
+        long high = old[j];
+        long low = old[j + 1];
+        if (high != 0L || low != 0L) {
+          int i = (int) low & mask;
+          while (slots[i * 2] != 0L || slots[i * 2 + 1] != 0L) {
+            i = (i + 1) & mask;
+          }
+          slots[i * 2] = high;
+          slots[i * 2 + 1] = low;
+        }
+      }
+    }
+  }
+}
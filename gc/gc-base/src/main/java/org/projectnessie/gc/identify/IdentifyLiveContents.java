@@ -20,7 +20,9 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.UUID;
@@ -28,12 +30,17 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.immutables.value.Value;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.gc.contents.AddContents;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.gc.contents.LiveContentSet;
+import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
 import org.projectnessie.gc.contents.LiveContentSetsRepository;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.repository.RepositoryConnector;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.Content;
@@ -65,7 +72,20 @@ import org.slf4j.LoggerFactory;
  *   <li>The desired number of named-references being walked concurrently.
  *   <li>A {@link #visitedDeduplicator() de-duplication functionality} to prevent walking the same
  *       commit(s) with compatible cut-off timestamps.
+ *   <li>An optional {@link #incrementalFrom() previous live content set} to only walk the commits
+ *       that have been added since that live content set has been identified.
  * </ul>
+ *
+ * <p><em>Incremental identification:</em> if {@link #recordReferenceMarks()} is enabled, the HEAD
+ * commit and the cut-off timestamp of every walked named reference are recorded as {@link
+ * ReferenceMark}s with the live content set. A later run that is configured with {@link
+ * #incrementalFrom()} stops walking a reference's commit log when it reaches the recorded HEAD
+ * commit of the same reference, if the reference's current cut-off timestamp is not older than the
+ * recorded one, and then adds all content references of the previous live content set to the new
+ * one. The result is a superset of the result of a full run: contents that became non-live since
+ * the previous run, for example because the cut-off timestamp moved or a reference was deleted, are
+ * retained until the next full run. References that use a cut-off policy that is not based on a
+ * timestamp are always walked fully.
  */
 @Value.Immutable
 public abstract class IdentifyLiveContents {
@@ -147,6 +167,23 @@ public abstract class IdentifyLiveContents {
     @CanIgnoreReturnValue
     Builder parallelism(int parallelism);
 
+    /**
+     * Record the HEAD commit and cut-off timestamp of every walked named reference, so that the
+     * resulting live content set can be used as the base for a later {@link
+     * #incrementalFrom(UUID) incremental} run, default is {@code false}.
+     */
+    @CanIgnoreReturnValue
+    Builder recordReferenceMarks(boolean recordReferenceMarks);
+
+    /**
+     * ID of a previous, successfully identified live content set with {@link
+     * #recordReferenceMarks(boolean) recorded reference marks}. Commit logs are only walked down
+     * to the HEAD commits recorded in that live content set, whose content references are then
+     * merged into the new live content set. Implies {@link #recordReferenceMarks(boolean)}.
+     */
+    @CanIgnoreReturnValue
+    Builder incrementalFrom(UUID previousLiveContentSetId);
+
     IdentifyLiveContents build();
   }
 
@@ -174,6 +211,10 @@ public abstract class IdentifyLiveContents {
   private UUID walkAllReferences() {
     try (AddContents addContents = liveContentSetsRepository().newAddContents()) {
       try {
+        LiveContentSet previous = previousLiveContentSet();
+        Map<String, ReferenceMark> previousMarks = referenceMarks(previous);
+        AtomicBoolean mergePrevious = new AtomicBoolean();
+
         Stream<Reference> refs = repositoryConnector().allReferences();
 
         // If a Reference comparator is configured, then apply it to the stream of references.
@@ -186,9 +227,27 @@ public abstract class IdentifyLiveContents {
 
         Optional<ReferencesWalkResult> result =
             refs.parallel()
-                .map(ref -> identifyContentsForReference(addContents, ref))
+                .map(
+                    ref -> {
+                      CutoffPolicy cutoffPolicy = cutOffPolicySupplier().get(ref);
+                      ReferenceMark previousMark =
+                          usablePreviousMark(previousMarks.get(ref.getName()), cutoffPolicy);
+                      ReferencesWalkResult r =
+                          identifyContentsForReference(
+                              addContents, ref, cutoffPolicy, previousMark, mergePrevious);
+                      if (recordReferenceMarks() || previous != null) {
+                        addContents.addReferenceMark(
+                            ReferenceMark.referenceMark(
+                                ref.getName(), ref.getHash(), cutoffPolicy.timestamp()));
+                      }
+                      return r;
+                    })
                 .reduce(ReferencesWalkResult::add);
 
+        if (mergePrevious.get()) {
+          mergePreviousLiveContents(addContents, previous);
+        }
+
         LOGGER.info(
             "live-set#{}: Finished walking all named references, took {}: {}.",
             addContents.id(),
@@ -210,10 +269,97 @@ public abstract class IdentifyLiveContents {
     }
   }
 
-  private ReferencesWalkResult identifyContentsForReference(
-      AddContents addContents, Reference namedReference) {
-    CutoffPolicy cutoffPolicy = cutOffPolicySupplier().get(namedReference);
+  @Nullable
+  private LiveContentSet previousLiveContentSet() {
+    UUID previousId = incrementalFrom();
+    if (previousId == null) {
+      return null;
+    }
+    LiveContentSet previous;
+    try {
+      previous = liveContentSetsRepository().getLiveContentSet(previousId);
+    } catch (LiveContentSetNotFoundException e) {
+      throw new IllegalArgumentException(
+          "Live content set " + previousId + " for incremental identification does not exist", e);
+    }
+    switch (previous.status()) {
+      case IDENTIFY_SUCCESS:
+      case EXPIRY_IN_PROGRESS:
+      case EXPIRY_SUCCESS:
+      case EXPIRY_FAILED:
+        return previous;
+      default:
+        throw new IllegalArgumentException(
+            "Live content set "
+                + previousId
+                + " for incremental identification has not been successfully identified, status is "
+                + previous.status());
+    }
+  }
+
+  private static Map<String, ReferenceMark> referenceMarks(@Nullable LiveContentSet previous) {
+    if (previous == null) {
+      return Collections.emptyMap();
+    }
+    try (Stream<ReferenceMark> marks = previous.fetchReferenceMarks()) {
+      Map<String, ReferenceMark> r =
+          marks.collect(Collectors.toMap(ReferenceMark::referenceName, Function.identity()));
+      if (r.isEmpty()) {
+        LOGGER.warn(
+            "Live content set {} has no reference marks, walking all references fully.",
+            previous.id());
+      }
+      return r;
+    }
+  }
 
+  /**
+   * A previous reference mark can only be used, if the new cut-off timestamp is not older than the
+   * one used by the previous run, because otherwise the previous live content set would miss the
+   * contents between both cut-off timestamps.
+   */
+  @Nullable
+  private static ReferenceMark usablePreviousMark(
+      @Nullable ReferenceMark previousMark, CutoffPolicy cutoffPolicy) {
+    if (previousMark == null) {
+      return null;
+    }
+    Instant previousCutoff = previousMark.cutoffTimestamp();
+    Instant cutoff = cutoffPolicy.timestamp();
+    if (CutoffPolicy.NO_TIMESTAMP.equals(previousCutoff)
+        || CutoffPolicy.NO_TIMESTAMP.equals(cutoff)
+        || cutoff.isBefore(previousCutoff)) {
+      return null;
+    }
+    return previousMark;
+  }
+
+  private void mergePreviousLiveContents(AddContents addContents, LiveContentSet previous) {
+    LOGGER.info(
+        "live-set#{}: Merging content references from previous live-set#{}.",
+        addContents.id(),
+        previous.id());
+    long merged = 0L;
+    try (Stream<String> contentIds = previous.fetchContentIds()) {
+      for (String contentId : (Iterable<String>) contentIds::iterator) {
+        try (Stream<ContentReference> refs = previous.fetchContentReferences(contentId)) {
+          merged += addContents.addLiveContent(refs);
+        }
+      }
+    }
+    LOGGER.info(
+        "live-set#{}: Merged {} content references from previous live-set#{}.",
+        addContents.id(),
+        merged,
+        previous.id());
+  }
+
+  private ReferencesWalkResult identifyContentsForReference(
+      AddContents addContents,
+      Reference namedReference,
+      CutoffPolicy cutoffPolicy,
+      @Nullable ReferenceMark previousMark,
+      AtomicBoolean mergePrevious) {
     if (visitedDeduplicator().alreadyVisited(cutoffPolicy.timestamp(), namedReference.getHash())) {
       // This commit-ID has already been visited with the same (or maybe an older/smaller)
       // cut-off-timestamp, can abort.
@@ -249,6 +395,21 @@ public abstract class IdentifyLiveContents {
         Instant commitTime = commitMeta.getCommitTime();
         String commitHash = commitMeta.getHash();
         List<Operation> operations = logEntry.getOperations();
+        if (previousMark != null && previousMark.headCommitId().equals(commitHash)) {
+          // All content references reachable from this commit, using an older or equal cut-off
+          // timestamp, are in the previous live content set, can abort.
+          mergePrevious.set(true);
+          LOGGER.info(
+              "live-set#{}: Finished walking the commit log of {} using {} after {} commits, "
+                  + "commit {} is the HEAD of the previous live content set.",
+              addContents.id(),
+              namedReference,
+              cutoffPolicy,
+              numCommits,
+              commitHash);
+          return ReferencesWalkResult.singleShortCircuit(numCommits, numContents);
+        }
+
         if (operations == null) {
           // Shout never happen, but in case it's a commit without any operation, just ignore it.
           continue;
@@ -425,6 +586,15 @@ public abstract class IdentifyLiveContents {
     return DEFAULT_PARALLELISM;
   }
 
+  @Value.Default
+  boolean recordReferenceMarks() {
+    return false;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  abstract UUID incrementalFrom();
+
   @Value.Check
   void verify() {
     Preconditions.checkArgument(parallelism() >= 1, "Parallelism must be greater than 0");
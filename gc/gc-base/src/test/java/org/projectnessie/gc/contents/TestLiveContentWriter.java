@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.gc.contents.LiveContentSet.Status;
+import org.projectnessie.gc.contents.inmem.InMemoryPersistenceSpi;
+import org.projectnessie.model.ContentKey;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestLiveContentWriter {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private RecordingPersistenceSpi persistenceSpi;
+  private UUID id;
+
+  @BeforeEach
+  void setup() {
+    persistenceSpi = new RecordingPersistenceSpi();
+    id = UUID.randomUUID();
+    persistenceSpi.startIdentifyLiveContents(id, Instant.now());
+  }
+
+  static List<ContentReference> refs(int from, int to) {
+    return IntStream.range(from, to)
+        .mapToObj(
+            i ->
+                ContentReference.icebergTable(
+                    "cid-" + i, "cafebabe", ContentKey.of("key-" + i), "meta-" + i, i))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void chunksInSubmissionOrder() {
+    LiveContentWriter writer = new LiveContentWriter(persistenceSpi, id, 2, 1, 10);
+
+    soft.assertThat(writer.submit(refs(0, 25).stream())).isEqualTo(25L);
+    soft.assertThat(writer.submit(refs(25, 30).stream())).isEqualTo(5L);
+    soft.assertThat(writer.submit(Stream.empty())).isEqualTo(0L);
+    soft.assertThat(writer.finish()).isNull();
+
+    soft.assertThat(persistenceSpi.chunks)
+        .containsExactly(refs(0, 10), refs(10, 20), refs(20, 25), refs(25, 30));
+    soft.assertThat(writer.added()).isEqualTo(30L);
+  }
+
+  @Test
+  public void multipleWriters() {
+    LiveContentWriter writer = new LiveContentWriter(persistenceSpi, id, 2, 4, 10);
+
+    soft.assertThat(writer.submit(refs(0, 1000).stream())).isEqualTo(1000L);
+    soft.assertThat(writer.finish()).isNull();
+
+    soft.assertThat(persistenceSpi.chunks).hasSize(100);
+    soft.assertThat(persistenceSpi.chunks.stream().flatMap(List::stream))
+        .containsExactlyInAnyOrderElementsOf(refs(0, 1000));
+    soft.assertThat(writer.added()).isEqualTo(1000L);
+  }
+
+  @Test
+  public void submitDoesNotWaitForWriter() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    persistenceSpi.onChunk =
+        chunk -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        };
+
+    LiveContentWriter writer = new LiveContentWriter(persistenceSpi, id, 2, 1, 10);
+    // The writer thread is blocked, but the chunks fit into the queue.
+    soft.assertThat(writer.submit(refs(0, 20).stream())).isEqualTo(20L);
+    soft.assertThat(persistenceSpi.chunks).isEmpty();
+
+    release.countDown();
+    soft.assertThat(writer.finish()).isNull();
+    soft.assertThat(persistenceSpi.chunks).containsExactly(refs(0, 10), refs(10, 20));
+  }
+
+  @Test
+  public void countsExcludeDuplicates() {
+    LiveContentWriter writer = new LiveContentWriter(persistenceSpi, id, 2, 1, 10);
+
+    soft.assertThat(writer.submit(refs(0, 15).stream())).isEqualTo(15L);
+    // Already persisted
+    soft.assertThat(writer.submit(refs(10, 20).stream())).isEqualTo(10L);
+    // Duplicates within the submitted stream
+    soft.assertThat(writer.submit(Stream.concat(refs(20, 22).stream(), refs(20, 22).stream())))
+        .isEqualTo(4L);
+    soft.assertThat(writer.finish()).isNull();
+
+    soft.assertThat(writer.added()).isEqualTo(22L);
+
+    soft.assertThat(persistenceSpi.fetchDistinctContentIdCount(id)).isEqualTo(22L);
+  }
+
+  @Test
+  public void boundedChunks() {
+    int chunkSize = 10;
+    AtomicInteger produced = new AtomicInteger();
+    List<Integer> producedAtChunkStart = Collections.synchronizedList(new ArrayList<>());
+    persistenceSpi.onChunk = chunk -> producedAtChunkStart.add(produced.get());
+
+    LiveContentWriter writer = new LiveContentWriter(persistenceSpi, id, 1, 1, chunkSize);
+    soft.assertThat(writer.submit(refs(0, 1000).stream().peek(r -> produced.incrementAndGet())))
+        .isEqualTo(1000L);
+    soft.assertThat(writer.finish()).isNull();
+
+    soft.assertThat(producedAtChunkStart).hasSize(100);
+    // When the writer starts persisting a chunk, the submitting thread can only be ahead by the
+    // queued chunks and the chunk it is currently building, the queue may have been refilled
+    // since the writer took the current chunk.
+    for (int i = 0; i < producedAtChunkStart.size(); i++) {
+      soft.assertThat(producedAtChunkStart.get(i)).isLessThanOrEqualTo((i + 4) * chunkSize);
+    }
+  }
+
+  @Test
+  public void failurePropagation() {
+    RuntimeException failure = new RuntimeException("boom");
+    AtomicInteger calls = new AtomicInteger();
+    persistenceSpi.onChunk =
+        chunk -> {
+          if (calls.incrementAndGet() == 2) {
+            throw failure;
+          }
+        };
+
+    LiveContentWriter writer = new LiveContentWriter(persistenceSpi, id, 2, 1, 10);
+
+    // The writer thread fails on the 2nd chunk, so the queue does not drain and submit() notices
+    // the failure while enqueueing the remaining chunks.
+    soft.assertThatThrownBy(() -> writer.submit(refs(0, 100).stream()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Persisting live content references failed")
+        .hasCause(failure);
+    soft.assertThatThrownBy(() -> writer.submit(refs(100, 101).stream()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasCause(failure);
+    soft.assertThat(writer.finish()).isSameAs(failure);
+  }
+
+  @Test
+  public void closeFlushesAddContents() throws Exception {
+    LiveContentSetsRepository repository =
+        LiveContentSetsRepository.builder()
+            .persistenceSpi(persistenceSpi)
+            .writeBehindQueueSize(2)
+            .writeBehindThreads(2)
+            .build();
+
+    UUID liveSetId;
+    try (AddContents addContents = repository.newAddContents()) {
+      liveSetId = addContents.id();
+      soft.assertThat(addContents.addLiveContent(refs(0, 2500).stream())).isEqualTo(2500L);
+      // Queued, although already persisted or queued
+      soft.assertThat(addContents.addLiveContent(refs(0, 10).stream())).isEqualTo(10L);
+      addContents.finished();
+    }
+
+    LiveContentSet liveContentSet = repository.getLiveContentSet(liveSetId);
+    soft.assertThat(liveContentSet.status()).isEqualTo(Status.IDENTIFY_SUCCESS);
+    soft.assertThat(liveContentSet.fetchDistinctContentIdCount()).isEqualTo(2500L);
+  }
+
+  @Test
+  public void closeReportsWriteFailure() throws Exception {
+    persistenceSpi.onChunk =
+        chunk -> {
+          throw new RuntimeException("boom");
+        };
+    LiveContentSetsRepository repository =
+        LiveContentSetsRepository.builder()
+            .persistenceSpi(persistenceSpi)
+            .writeBehindQueueSize(2)
+            .build();
+
+    UUID liveSetId;
+    try (AddContents addContents = repository.newAddContents()) {
+      liveSetId = addContents.id();
+      // Only queued, the failure is reported when closing the AddContents instance
+      soft.assertThat(addContents.addLiveContent(refs(0, 10).stream())).isEqualTo(10L);
+      addContents.finished();
+    }
+
+    LiveContentSet liveContentSet = repository.getLiveContentSet(liveSetId);
+    soft.assertThat(liveContentSet.status()).isEqualTo(Status.IDENTIFY_FAILED);
+    soft.assertThat(liveContentSet.errorMessage()).contains("boom");
+  }
+
+  static final class RecordingPersistenceSpi extends InMemoryPersistenceSpi {
+    final List<List<ContentReference>> chunks = Collections.synchronizedList(new ArrayList<>());
+    volatile Consumer<List<ContentReference>> onChunk = chunk -> {};
+
+    @Override
+    public long addIdentifiedLiveContent(
+        UUID liveSetId, Stream<ContentReference> contentReference) {
+      List<ContentReference> chunk = contentReference.collect(Collectors.toList());
+      onChunk.accept(chunk);
+      chunks.add(chunk);
+      return super.addIdentifiedLiveContent(liveSetId, chunk.stream());
+    }
+  }
+}
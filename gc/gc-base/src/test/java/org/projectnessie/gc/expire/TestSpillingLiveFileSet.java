@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.expire;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.gc.files.FileReference;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestSpillingLiveFileSet {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @TempDir Path tempDir;
+
+  static final URI BASE = URI.create("meep://host/data/lake/table/");
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, 100, 100_000})
+  public void exactNotLive(int runSize) throws IOException {
+    int numFiles = 1000;
+    Set<URI> live =
+        IntStream.range(0, numFiles)
+            .filter(i -> i % 3 != 0)
+            .mapToObj(i -> URI.create("data/file-" + i))
+            .collect(Collectors.toSet());
+    Set<URI> expectedNotLive =
+        IntStream.range(0, numFiles)
+            .filter(i -> i % 3 == 0)
+            .mapToObj(i -> URI.create("data/file-" + i))
+            .collect(Collectors.toSet());
+
+    Path spillDir = tempDir.resolve("spill");
+    try (LiveFileSet liveFileSet = new SpillingLiveFileSet(spillDir, runSize)) {
+      live.forEach(liveFileSet::add);
+      // add duplicates
+      live.forEach(liveFileSet::add);
+
+      soft.assertThat(liveFileSet.expectedFpp()).isEqualTo(0d);
+      soft.assertThat(liveFileSet.approximateElementCount()).isEqualTo(2L * live.size());
+
+      Stream<FileReference> listing =
+          IntStream.range(0, numFiles)
+              .mapToObj(i -> FileReference.of(URI.create("data/file-" + i), BASE, 42L + i));
+
+      List<FileReference> notLive;
+      try (Stream<FileReference> s = liveFileSet.notLive(BASE, listing)) {
+        notLive = s.collect(Collectors.toList());
+      }
+
+      soft.assertThat(notLive).extracting(FileReference::path).hasSameElementsAs(expectedNotLive);
+      soft.assertThat(notLive).hasSize(expectedNotLive.size());
+      soft.assertThat(notLive)
+          .allSatisfy(
+              f -> {
+                soft.assertThat(f.base()).isEqualTo(BASE);
+                soft.assertThat(f.modificationTimeMillisEpoch())
+                    .isEqualTo(42L + Integer.parseInt(f.path().getPath().substring(10)));
+              });
+
+      // the live file set's temporary directory
+      try (Stream<Path> files = Files.list(spillDir)) {
+        soft.assertThat(files).hasSize(1);
+      }
+    }
+
+    // everything is removed when the live file set is closed
+    try (Stream<Path> files = Files.list(spillDir)) {
+      soft.assertThat(files).isEmpty();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.expire.local;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.gc.contents.LiveContentSet;
+import org.projectnessie.gc.contents.inmem.InMemoryPersistenceSpi;
+import org.projectnessie.gc.contents.spi.PersistenceSpi;
+import org.projectnessie.gc.expire.ExpireParameters;
+import org.projectnessie.gc.files.DeleteResult;
+import org.projectnessie.gc.files.DeleteSummary;
+import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.model.ContentKey;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestDefaultLocalExpire {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final URI BASE = URI.create("meep://host/data/lake/");
+
+  private PersistenceSpi persistenceSpi;
+  private UUID id;
+
+  @BeforeEach
+  void setup() {
+    persistenceSpi = new InMemoryPersistenceSpi();
+    id = UUID.randomUUID();
+    persistenceSpi.startIdentifyLiveContents(id, Instant.now());
+    // content-id -> number of live content references
+    addContentReferences("a", 1);
+    addContentReferences("b", 3);
+    addContentReferences("c", 5);
+    addContentReferences("d", 3);
+    addContentReferences("e", 2);
+    persistenceSpi.finishedIdentifyLiveContents(id, Instant.now(), null);
+  }
+
+  private void addContentReferences(String contentId, int count) {
+    persistenceSpi.addIdentifiedLiveContent(
+        id,
+        IntStream.range(0, count)
+            .mapToObj(
+                i ->
+                    ContentReference.icebergTable(
+                        contentId,
+                        "cafe" + i,
+                        ContentKey.of(contentId),
+                        BASE.resolve(contentId + "/metadata-" + i).toString(),
+                        i)));
+  }
+
+  @Test
+  public void contentIdsByDescendingWeight() throws Exception {
+    DefaultLocalExpire expire = expire(new ArrayList<>(), true);
+
+    // Ties are ordered by content ID
+    soft.assertThat(expire.contentIdsByDescendingWeight()).containsExactly("c", "b", "d", "e", "a");
+  }
+
+  @Test
+  public void weightedSchedulingOrder() throws Exception {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    DeleteSummary summary = expire(processed, true).expire();
+
+    // A single worker processes the heaviest contents first.
+    soft.assertThat(processed.stream().distinct()).containsExactly("c", "b", "d", "e", "a");
+    soft.assertThat(processed).hasSize(14);
+    soft.assertThat(summary.deleted()).isEqualTo(5L);
+    soft.assertThat(summary.failures()).isEqualTo(0L);
+  }
+
+  @Test
+  public void unweightedScheduling() throws Exception {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    DeleteSummary summary = expire(processed, false).expire();
+
+    soft.assertThat(processed.stream().distinct())
+        .containsExactlyInAnyOrder("a", "b", "c", "d", "e");
+    soft.assertThat(processed).hasSize(14);
+    soft.assertThat(summary.deleted()).isEqualTo(5L);
+  }
+
+  @Test
+  public void weightedSchedulingIsOptIn() throws Exception {
+    soft.assertThat(
+            DefaultLocalExpire.builder()
+                .expireParameters(expireParameters(new ArrayList<>()))
+                .build()
+                .weightedScheduling())
+        .isFalse();
+  }
+
+  private DefaultLocalExpire expire(List<String> processed, boolean weightedScheduling)
+      throws Exception {
+    return DefaultLocalExpire.builder()
+        .expireParameters(expireParameters(processed))
+        .parallelism(1)
+        .weightedScheduling(weightedScheduling)
+        .build();
+  }
+
+  private ExpireParameters expireParameters(List<String> processed) throws Exception {
+    LiveContentSet liveContentSet = persistenceSpi.getLiveContentSet(id);
+    return ExpireParameters.builder()
+        .liveContentSet(liveContentSet)
+        .expectedFileCount(100)
+        .maxFileModificationTime(Instant.now())
+        // One unused file per base location
+        .filesLister(
+            path ->
+                Stream.of(
+                    FileReference.of(path.resolve("metadata-0"), path, 1L),
+                    FileReference.of(path.resolve("unused"), path, 1L)))
+        .fileDeleter(fileObject -> DeleteResult.SUCCESS)
+        .contentToFiles(
+            contentReference -> {
+              processed.add(contentReference.contentId());
+              URI base = BASE.resolve(contentReference.contentId() + "/");
+              return Stream.of(
+                  FileReference.of(
+                      URI.create(contentReference.metadataLocation()), base, -1L));
+            })
+        .build();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.files;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestParallelFileDeleter {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static final URI BASE = URI.create("file:///base/");
+
+  static Stream<FileReference> files(int num) {
+    return IntStream.range(0, num)
+        .mapToObj(i -> FileReference.of(URI.create("file-" + i), BASE, 0L));
+  }
+
+  @Test
+  public void deleteAll() {
+    Set<URI> deleted = ConcurrentHashMap.newKeySet();
+    FileDeleter delegate =
+        f -> deleted.add(f.absolutePath()) ? DeleteResult.SUCCESS : DeleteResult.FAILURE;
+
+    try (ParallelFileDeleter deleter =
+        ParallelFileDeleter.builder().delegate(delegate).parallelism(3).chunkSize(7).build()) {
+      soft.assertThat(deleter.deleteMultiple(BASE, files(100)))
+          .isEqualTo(DeleteSummary.of(100L, 0L));
+    }
+    soft.assertThat(deleted)
+        .containsExactlyInAnyOrderElementsOf(
+            files(100).map(FileReference::absolutePath).collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void retryIndividualFailures() {
+    Map<URI, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    // Every 10th file fails twice, file-0 always fails
+    FileDeleter delegate =
+        f -> {
+          int attempt =
+              attempts.computeIfAbsent(f.path(), x -> new AtomicInteger()).incrementAndGet();
+          int num = Integer.parseInt(f.path().toString().substring("file-".length()));
+          if (num == 0 || (num % 10 == 0 && attempt <= 2)) {
+            return DeleteResult.FAILURE;
+          }
+          return DeleteResult.SUCCESS;
+        };
+
+    try (ParallelFileDeleter deleter =
+        ParallelFileDeleter.builder()
+            .delegate(delegate)
+            .chunkSize(10)
+            .maxRetries(3)
+            .retryBackoff(Duration.ofMillis(1))
+            .build()) {
+      soft.assertThat(deleter.deleteMultiple(BASE, files(50)))
+          .isEqualTo(DeleteSummary.of(49L, 1L, 3L + 4 * 2L));
+    }
+    soft.assertThat(attempts.get(URI.create("file-0"))).hasValue(4);
+  }
+
+  @Test
+  public void bulkRetriesWholeChunk() {
+    AtomicInteger calls = new AtomicInteger();
+    FileDeleter delegate =
+        new FileDeleter() {
+          @Override
+          public DeleteResult delete(FileReference fileReference) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public DeleteSummary deleteMultiple(URI baseUri, Stream<FileReference> fileObjects) {
+            long count = fileObjects.count();
+            // first bulk delete fails for one file
+            return calls.incrementAndGet() == 1
+                ? DeleteSummary.of(count - 1, 1L)
+                : DeleteSummary.of(count, 0L);
+          }
+        };
+
+    try (ParallelFileDeleter deleter =
+        ParallelFileDeleter.builder()
+            .delegate(delegate)
+            .bulkDelete(BASE::equals)
+            .parallelism(1)
+            .chunkSize(10)
+            .retryBackoff(Duration.ofMillis(1))
+            .build()) {
+      soft.assertThat(deleter.deleteMultiple(BASE, files(30)))
+          .isEqualTo(DeleteSummary.of(30L, 0L, 1L));
+    }
+    soft.assertThat(calls).hasValue(4);
+  }
+
+  @Test
+  public void rateLimit() {
+    try (ParallelFileDeleter deleter =
+        ParallelFileDeleter.builder()
+            .delegate(f -> DeleteResult.SUCCESS)
+            .maxDeletesPerSecond(100d)
+            .build()) {
+      long start = System.nanoTime();
+      soft.assertThat(deleter.deleteMultiple(BASE, files(30)))
+          .isEqualTo(DeleteSummary.of(30L, 0L));
+      // The token bucket starts empty, 30 deletes need at least ~290ms
+      soft.assertThat(Duration.ofNanos(System.nanoTime() - start))
+          .isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+  }
+}
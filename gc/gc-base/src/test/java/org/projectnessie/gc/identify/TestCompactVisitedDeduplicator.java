@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import java.time.Instant;
+import java.util.stream.IntStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCompactVisitedDeduplicator {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void sameSemanticsAsDefault(int stripes) {
+    CompactVisitedDeduplicator dedup = new CompactVisitedDeduplicator(stripes);
+
+    Instant t = Instant.now();
+    Instant minus1 = t.minusSeconds(1);
+    Instant minus2 = t.minusSeconds(2);
+
+    soft.assertThat(dedup.alreadyVisited(t, "commit-1")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(t, "commit-1")).isTrue();
+
+    soft.assertThat(dedup.alreadyVisited(minus2, "commit-1")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(minus2, "commit-1")).isTrue();
+
+    soft.assertThat(dedup.alreadyVisited(minus1, "commit-1")).isTrue();
+
+    soft.assertThat(dedup.alreadyVisited(t, "commit-2")).isFalse();
+
+    soft.assertThat(dedup.alreadyVisited(minus2, "commit-3")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(minus1, "commit-3")).isTrue();
+
+    soft.assertThat(dedup.alreadyVisited(CutoffPolicy.NO_TIMESTAMP, "commit-1")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(CutoffPolicy.NO_TIMESTAMP, "commit-1")).isFalse();
+  }
+
+  @Test
+  public void manyCommits() {
+    CompactVisitedDeduplicator dedup = new CompactVisitedDeduplicator(3);
+    Instant t = Instant.now();
+    int num = 100_000;
+
+    soft.assertThat(
+            IntStream.range(0, num)
+                .mapToObj(i -> String.format("%064x", i))
+                .filter(c -> dedup.alreadyVisited(t, c)))
+        .isEmpty();
+    soft.assertThat(dedup.size()).isEqualTo(num);
+    soft.assertThat(
+            IntStream.range(0, num)
+                .mapToObj(i -> String.format("%064x", i))
+                .allMatch(c -> dedup.alreadyVisited(t, c)))
+        .isTrue();
+    soft.assertThat(dedup.size()).isEqualTo(num);
+  }
+
+  @Test
+  public void hashSet() {
+    CompactVisitedDeduplicator.CommitHashSet set = new CompactVisitedDeduplicator.CommitHashSet();
+
+    soft.assertThat(set.contains(0L, 0L)).isFalse();
+    soft.assertThat(set.add(0L, 0L)).isTrue();
+    soft.assertThat(set.add(0L, 0L)).isFalse();
+    soft.assertThat(set.contains(0L, 0L)).isTrue();
+
+    // Values with the same low bits must not be confused
+    for (long i = 1; i <= 5000; i++) {
+      soft.assertThat(set.add(i, 1024L)).isTrue();
+    }
+    for (long i = 1; i <= 5000; i++) {
+      soft.assertThat(set.contains(i, 1024L)).isTrue();
+      soft.assertThat(set.contains(1024L, i)).isFalse();
+    }
+    soft.assertThat(set.size()).isEqualTo(5001);
+  }
+}
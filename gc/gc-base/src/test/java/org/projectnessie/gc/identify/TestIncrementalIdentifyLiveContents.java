@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import static java.util.Collections.singleton;
+import static org.projectnessie.gc.identify.CutoffPolicy.atTimestamp;
+import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
+
+import com.google.common.collect.Maps;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.gc.contents.LiveContentSet;
+import org.projectnessie.gc.contents.LiveContentSetsRepository;
+import org.projectnessie.gc.contents.ReferenceMark;
+import org.projectnessie.gc.contents.inmem.InMemoryPersistenceSpi;
+import org.projectnessie.gc.repository.RepositoryConnector;
+import org.projectnessie.model.Branch;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.Detached;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.LogResponse.LogEntry;
+import org.projectnessie.model.Operation;
+import org.projectnessie.model.Operation.Put;
+import org.projectnessie.model.Reference;
+
+/**
+ * Verifies that an incremental mark, based on the {@link ReferenceMark}s of a previous live content
+ * set, never misses a content that a full mark identifies as live.
+ */
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestIncrementalIdentifyLiveContents {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final Instant T0 = Instant.parse("2023-01-01T00:00:00Z");
+
+  private LiveContentSetsRepository repository;
+  private Repo repo;
+
+  @BeforeEach
+  void setup() {
+    repository =
+        LiveContentSetsRepository.builder().persistenceSpi(new InMemoryPersistenceSpi()).build();
+    repo = new Repo();
+  }
+
+  /** Commit n has the commit timestamp {@code T0 + n * 10 seconds}. */
+  static Instant commitTime(int n) {
+    return T0.plusSeconds(n * 10L);
+  }
+
+  /** Cut-off timestamp between commits {@code n} and {@code n + 1}. */
+  static CutoffPolicy cutoffAfterCommit(int n) {
+    return atTimestamp(commitTime(n).plusSeconds(5));
+  }
+
+  @Test
+  public void referenceWithNewCommits() {
+    String c2 = repo.commit(repo.commit(null, "a", 1), "b", 1);
+    String c4 = repo.commit(repo.commit(c2, "a", 2), "c", 1);
+    repo.branch("main", c4);
+
+    UUID previous = identify(cutoffAfterCommit(2), null);
+    soft.assertThat(marks(previous))
+        .containsExactly(ReferenceMark.referenceMark("main", c4, commitTime(2).plusSeconds(5)));
+
+    String c6 = repo.commit(repo.commit(c4, "b", 2), "d", 1);
+    repo.branch("main", c6);
+
+    // A later cut-off timestamp can use the previous mark
+    repo.walked.clear();
+    UUID incremental = identify(cutoffAfterCommit(3), previous);
+    // c6 + c5 + c4, which is the previous HEAD
+    soft.assertThat(repo.walked.get("main")).hasValue(3);
+    soft.assertThat(marks(incremental))
+        .containsExactly(ReferenceMark.referenceMark("main", c6, commitTime(3).plusSeconds(5)));
+
+    UUID full = identify(cutoffAfterCommit(3), null);
+
+    soft.assertThat(liveMetadata(incremental))
+        .containsAll(liveMetadata(full))
+        .containsExactlyInAnyOrder("a-2", "b-1", "b-2", "c-1", "d-1");
+  }
+
+  @Test
+  public void forceReassignedReference() {
+    String c2 = repo.commit(repo.commit(null, "a", 1), "b", 1);
+    String c4 = repo.commit(repo.commit(c2, "a", 2), "c", 1);
+    repo.branch("main", c4);
+
+    UUID previous = identify(cutoffAfterCommit(2), null);
+
+    // The previous HEAD c4 is not an ancestor of the new HEAD
+    String c6 = repo.commit(repo.commit(c2, "a", 3), "e", 1);
+    repo.branch("main", c6);
+
+    repo.walked.clear();
+    UUID incremental = identify(cutoffAfterCommit(2), previous);
+    // c6 + c5 + c2, which is the first non-live commit, the whole commit log was walked
+    soft.assertThat(repo.walked.get("main")).hasValue(3);
+
+    UUID full = identify(cutoffAfterCommit(2), null);
+
+    // Nothing from the previous live content set was merged, it is not reachable anymore
+    soft.assertThat(liveMetadata(incremental))
+        .containsExactlyInAnyOrderElementsOf(liveMetadata(full))
+        .containsExactlyInAnyOrder("a-3", "b-1", "e-1");
+  }
+
+  @Test
+  public void deletedAndNewReference() {
+    String c2 = repo.commit(repo.commit(null, "a", 1), "b", 1);
+    String c4 = repo.commit(repo.commit(c2, "a", 2), "c", 1);
+    String f5 = repo.commit(c2, "x", 1);
+    repo.branch("main", c4);
+    repo.branch("feature", f5);
+
+    UUID previous = identify(cutoffAfterCommit(2), null);
+    soft.assertThat(marks(previous))
+        .extracting(ReferenceMark::referenceName)
+        .containsExactlyInAnyOrder("main", "feature");
+
+    repo.refs.remove("feature");
+    String o6 = repo.commit(c4, "y", 1);
+    repo.branch("other", o6);
+
+    repo.walked.clear();
+    UUID incremental = identify(cutoffAfterCommit(2), previous);
+    // Stops at the previous HEAD, which is the current HEAD
+    soft.assertThat(repo.walked.get("main")).hasValue(1);
+    // No previous mark for the new reference, walked down to the first non-live commit c2
+    soft.assertThat(repo.walked.get("other")).hasValue(4);
+    soft.assertThat(repo.walked).doesNotContainKey("feature");
+    soft.assertThat(marks(incremental))
+        .extracting(ReferenceMark::referenceName)
+        .containsExactlyInAnyOrder("main", "other");
+
+    UUID full = identify(cutoffAfterCommit(2), null);
+
+    // The contents of the deleted reference are conservatively retained via the previous live
+    // content set, a full mark would not consider them live.
+    soft.assertThat(liveMetadata(full)).containsExactlyInAnyOrder("a-2", "b-1", "c-1", "y-1");
+    soft.assertThat(liveMetadata(incremental))
+        .containsAll(liveMetadata(full))
+        .containsExactlyInAnyOrder("a-1", "a-2", "b-1", "c-1", "x-1", "y-1");
+  }
+
+  @Test
+  public void earlierCutoffIgnoresPreviousMark() {
+    String c2 = repo.commit(repo.commit(null, "a", 1), "b", 1);
+    String c4 = repo.commit(repo.commit(c2, "a", 2), "c", 1);
+    repo.branch("main", c4);
+
+    UUID previous = identify(cutoffAfterCommit(2), null);
+
+    // The previous live content set does not contain a-1, which is live for the earlier cut-off
+    repo.walked.clear();
+    UUID incremental = identify(cutoffAfterCommit(1), previous);
+    // c4 + c3 + c2 + c1, which is the first non-live commit
+    soft.assertThat(repo.walked.get("main")).hasValue(4);
+
+    UUID full = identify(cutoffAfterCommit(1), null);
+
+    soft.assertThat(liveMetadata(incremental))
+        .containsExactlyInAnyOrderElementsOf(liveMetadata(full))
+        .containsExactlyInAnyOrder("a-1", "a-2", "b-1", "c-1");
+  }
+
+  @Test
+  public void nonTimestampCutoffIgnoresPreviousMark() {
+    String c2 = repo.commit(repo.commit(null, "a", 1), "b", 1);
+    String c4 = repo.commit(repo.commit(c2, "a", 2), "c", 1);
+    repo.branch("main", c4);
+
+    UUID previous = identify(CutoffPolicy.numCommits(2), null);
+    soft.assertThat(marks(previous))
+        .containsExactly(ReferenceMark.referenceMark("main", c4, CutoffPolicy.NO_TIMESTAMP));
+
+    String c5 = repo.commit(c4, "d", 1);
+    repo.branch("main", c5);
+
+    repo.walked.clear();
+    UUID incremental = identify(cutoffAfterCommit(2), previous);
+    // c5 + c4 + c3 + c2, which is the first non-live commit, c4 was not used as a stop
+    soft.assertThat(repo.walked.get("main")).hasValue(4);
+
+    UUID full = identify(cutoffAfterCommit(2), null);
+
+    soft.assertThat(liveMetadata(incremental))
+        .containsExactlyInAnyOrderElementsOf(liveMetadata(full))
+        .containsExactlyInAnyOrder("a-2", "b-1", "c-1", "d-1");
+  }
+
+  private UUID identify(CutoffPolicy cutoffPolicy, UUID incrementalFrom) {
+    IdentifyLiveContents.Builder builder =
+        IdentifyLiveContents.builder()
+            .contentTypeFilter(
+                new ContentTypeFilter() {
+                  @Override
+                  public boolean test(Content.Type type) {
+                    return ICEBERG_TABLE == type;
+                  }
+
+                  @Override
+                  public Set<Content.Type> validTypes() {
+                    return singleton(ICEBERG_TABLE);
+                  }
+                })
+            .cutOffPolicySupplier(r -> cutoffPolicy)
+            .contentToContentReference(
+                (content, commitId, key) ->
+                    ContentReference.icebergTable(
+                        content.getId(),
+                        commitId,
+                        key,
+                        ((IcebergTable) content).getMetadataLocation(),
+                        ((IcebergTable) content).getSnapshotId()))
+            .liveContentSetsRepository(repository)
+            .repositoryConnector(repo)
+            .recordReferenceMarks(true);
+    if (incrementalFrom != null) {
+      builder.incrementalFrom(incrementalFrom);
+    }
+    return builder.build().identifyLiveContents();
+  }
+
+  private Set<ReferenceMark> marks(UUID id) {
+    try (Stream<ReferenceMark> marks = liveContentSet(id).fetchReferenceMarks()) {
+      return marks.collect(Collectors.toSet());
+    }
+  }
+
+  private Set<String> liveMetadata(UUID id) {
+    LiveContentSet liveContentSet = liveContentSet(id);
+    Set<String> metadata = new HashSet<>();
+    try (Stream<String> contentIds = liveContentSet.fetchContentIds()) {
+      contentIds.forEach(
+          contentId -> {
+            try (Stream<ContentReference> refs =
+                liveContentSet.fetchContentReferences(contentId)) {
+              refs.map(ContentReference::metadataLocation).forEach(metadata::add);
+            }
+          });
+    }
+    return metadata;
+  }
+
+  private LiveContentSet liveContentSet(UUID id) {
+    try {
+      return repository.getLiveContentSet(id);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Simple in-memory repository. Every commit puts one table, the metadata location of the table
+   * {@code key} in version {@code n} is {@code key-n}.
+   */
+  static final class Repo implements RepositoryConnector {
+    final Map<String, LogEntry> commits = new HashMap<>();
+    final Map<String, Reference> refs = new LinkedHashMap<>();
+    final Map<String, AtomicInteger> walked = new ConcurrentHashMap<>();
+    int commitNum;
+
+    String commit(String parent, String key, int version) {
+      int n = ++commitNum;
+      String hash = String.format("%016x", n);
+      commits.put(
+          hash,
+          LogEntry.builder()
+              .commitMeta(
+                  CommitMeta.builder()
+                      .commitTime(commitTime(n))
+                      .hash(hash)
+                      .message("commit " + n)
+                      .build())
+              .parentCommitHash(parent)
+              .addOperations(
+                  Put.of(
+                      ContentKey.of(key),
+                      IcebergTable.of(key + "-" + version, version, 1, 2, 3, "cid-" + key)))
+              .build());
+      return hash;
+    }
+
+    LogEntry parent(LogEntry logEntry) {
+      String parent = logEntry.getParentCommitHash();
+      return parent != null ? commits.get(parent) : null;
+    }
+
+    void branch(String name, String hash) {
+      refs.put(name, Branch.of(name, hash));
+    }
+
+    @Override
+    public Stream<Reference> allReferences() {
+      return refs.values().stream();
+    }
+
+    @Override
+    public Stream<LogEntry> commitLog(Reference ref) {
+      AtomicInteger counter = walked.computeIfAbsent(ref.getName(), n -> new AtomicInteger());
+      List<LogEntry> log = new ArrayList<>();
+      for (LogEntry e = commits.get(ref.getHash()); e != null; e = parent(e)) {
+        log.add(e);
+      }
+      return log.stream().peek(e -> counter.incrementAndGet());
+    }
+
+    @Override
+    public Stream<Map.Entry<ContentKey, Content>> allContents(
+        Detached ref, Set<Content.Type> types) {
+      Map<ContentKey, Content> contents = new LinkedHashMap<>();
+      for (LogEntry e = commits.get(ref.getHash()); e != null; e = parent(e)) {
+        for (Operation op : e.getOperations()) {
+          contents.putIfAbsent(op.getKey(), ((Put) op).getContent());
+        }
+      }
+      return contents.entrySet().stream().map(e -> Maps.immutableEntry(e.getKey(), e.getValue()));
+    }
+
+    @Override
+    public void close() {}
+  }
+}
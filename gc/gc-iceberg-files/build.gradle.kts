@@ -46,6 +46,9 @@ dependencies {
   implementation(libs.iceberg.aws)
   implementation(libs.iceberg.gcp)
   implementation(libs.iceberg.azure)
+  // S3 listing with delimiter, the AWS SDK is provided at runtime along with iceberg-aws
+  compileOnly(platform(libs.awssdk.bom))
+  compileOnly("software.amazon.awssdk:s3")
 
   compileOnly(libs.errorprone.annotations)
   compileOnly(libs.immutables.value.annotations)
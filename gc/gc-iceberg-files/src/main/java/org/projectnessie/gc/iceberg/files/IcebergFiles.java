@@ -18,14 +18,19 @@ package org.projectnessie.gc.iceberg.files;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
@@ -43,6 +48,9 @@ import org.projectnessie.gc.files.FilesLister;
 import org.projectnessie.gc.files.NessieFileIOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 
 /**
  * Provides functionality to {@link FilesLister list} and {@link FileDeleter delete} files using
@@ -79,6 +87,13 @@ public abstract class IcebergFiles implements FilesLister, FileDeleter, AutoClos
 
     Builder properties(Map<String, ? extends String> entries);
 
+    /**
+     * Number of threads used to list the files below a base location concurrently, shared by all
+     * concurrent {@link #listRecursively(URI)} invocations. The default of {@code 1} lists the
+     * files of a base location sequentially.
+     */
+    Builder listingParallelism(int listingParallelism);
+
     IcebergFiles build();
   }
 
@@ -89,12 +104,27 @@ public abstract class IcebergFiles implements FilesLister, FileDeleter, AutoClos
 
   abstract Map<String, String> properties();
 
+  @Value.Default
+  int listingParallelism() {
+    return 1;
+  }
+
+  @Value.Check
+  void verify() {
+    if (listingParallelism() < 1) {
+      throw new IllegalArgumentException("Listing parallelism must be greater than 0");
+    }
+  }
+
   @SuppressWarnings("immutables:incompat")
   private volatile boolean hasResolvingFileIO;
 
   @SuppressWarnings("immutables:incompat")
   private volatile boolean hasS3FileIO;
 
+  @SuppressWarnings("immutables:incompat")
+  private volatile boolean hasListingExecutor;
+
   @Value.Lazy
   public FileIO resolvingFileIO() {
     ResolvingFileIO fileIO = new ResolvingFileIO();
@@ -114,8 +144,26 @@ public abstract class IcebergFiles implements FilesLister, FileDeleter, AutoClos
     return fileIO;
   }
 
+  @Value.Lazy
+  ExecutorService listingExecutor() {
+    AtomicInteger threadNum = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            listingParallelism(),
+            r -> {
+              Thread t = new Thread(r, "nessie-gc-list-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    hasListingExecutor = true;
+    return executor;
+  }
+
   @Override
   public void close() {
+    if (hasListingExecutor) {
+      listingExecutor().shutdownNow();
+    }
     try {
       if (hasS3FileIO) {
         s3().close();
@@ -137,28 +185,114 @@ public abstract class IcebergFiles implements FilesLister, FileDeleter, AutoClos
     }
   }
 
+  /**
+   * Whether {@link #deleteMultiple(URI, Stream)} uses an idempotent bulk delete for the given base
+   * location, which is the case for S3.
+   */
+  public boolean supportsBulkDelete(URI baseUri) {
+    return isS3(baseUri);
+  }
+
   @Override
   @MustBeClosed
   public Stream<FileReference> listRecursively(URI path) throws NessieFileIOException {
     URI basePath = ensureTrailingSlash(path);
-    if (isS3(path)) {
+    boolean s3 = isS3(path);
+
+    if (listingParallelism() > 1) {
+      return ParallelListing.listParallel(
+          basePath,
+          listingParallelism(),
+          listingExecutor(),
+          s3 ? dir -> listS3Level(basePath, dir) : dir -> listHadoopLevel(basePath, dir),
+          s3 ? dir -> listS3(basePath, dir) : dir -> listHadoop(basePath, dir));
+    }
 
-      @SuppressWarnings("resource")
-      S3FileIO fileIo = s3();
-      return StreamSupport.stream(fileIo.listPrefix(basePath.toString()).spliterator(), false)
-          .map(
-              f ->
-                  FileReference.of(
-                      basePath.relativize(URI.create(f.location())),
-                      basePath,
-                      f.createdAtMillis()));
+    return s3 ? listS3(basePath, basePath) : listHadoop(basePath, basePath);
+  }
+
+  private Stream<FileReference> listS3(URI basePath, URI directory) {
+    @SuppressWarnings("resource")
+    S3FileIO fileIo = s3();
+    return StreamSupport.stream(fileIo.listPrefix(directory.toString()).spliterator(), false)
+        .map(
+            f ->
+                FileReference.of(
+                    basePath.relativize(URI.create(f.location())), basePath, f.createdAtMillis()));
+  }
+
+  private ParallelListing.Level listS3Level(URI basePath, URI directory) {
+    @SuppressWarnings("resource")
+    S3Client client = s3().client();
+    String bucket = directory.getAuthority();
+    String prefix = directory.getPath().substring(1);
+    ListObjectsV2Response response =
+        client.listObjectsV2(
+            b ->
+                b.bucket(bucket)
+                    .prefix(prefix)
+                    .delimiter("/")
+                    .maxKeys(ParallelListing.MAX_LEVEL_ENTRIES));
+    if (response.isTruncated()) {
+      return null;
     }
 
-    return listHadoop(basePath);
+    String location = directory.getScheme() + "://" + bucket + "/";
+    List<FileReference> files =
+        response.contents().stream()
+            // Only direct children, in case the object store ignores the delimiter
+            .filter(o -> o.key().indexOf('/', prefix.length()) < 0)
+            .map(
+                o ->
+                    FileReference.of(
+                        basePath.relativize(URI.create(location + o.key())),
+                        basePath,
+                        o.lastModified().toEpochMilli()))
+            .collect(Collectors.toList());
+    List<URI> directories =
+        response.commonPrefixes().stream()
+            .map(CommonPrefix::prefix)
+            .map(p -> p.endsWith("/") ? p : p + "/")
+            .filter(p -> p.length() > prefix.length() && p.startsWith(prefix))
+            .map(p -> p.substring(0, p.indexOf('/', prefix.length()) + 1))
+            .distinct()
+            .map(p -> URI.create(location + p))
+            .collect(Collectors.toList());
+    return new ParallelListing.Level(files, directories);
+  }
+
+  private ParallelListing.Level listHadoopLevel(URI basePath, URI directory)
+      throws NessieFileIOException {
+    Path p = new Path(directory);
+    try {
+      FileSystem fs = p.getFileSystem(hadoopConfiguration());
+      RemoteIterator<FileStatus> iterator = fs.listStatusIterator(p);
+      List<FileReference> files = new ArrayList<>();
+      List<URI> directories = new ArrayList<>();
+      for (int count = 0; iterator.hasNext(); count++) {
+        if (count == ParallelListing.MAX_LEVEL_ENTRIES) {
+          return null;
+        }
+        FileStatus status = iterator.next();
+        if (status.isDirectory()) {
+          directories.add(ensureTrailingSlash(status.getPath().toUri()));
+        } else if (status.isFile()) {
+          files.add(
+              FileReference.of(
+                  basePath.relativize(status.getPath().toUri()),
+                  basePath,
+                  status.getModificationTime()));
+        }
+      }
+      return new ParallelListing.Level(files, directories);
+    } catch (IOException e) {
+      throw new NessieFileIOException(e);
+    }
   }
 
-  private Stream<FileReference> listHadoop(URI basePath) throws NessieFileIOException {
-    Path p = new Path(basePath);
+  private Stream<FileReference> listHadoop(URI basePath, URI directory)
+      throws NessieFileIOException {
+    Path p = new Path(directory);
     FileSystem fs;
     try {
       fs = p.getFileSystem(hadoopConfiguration());
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.iceberg.files;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.gc.files.NessieFileIOException;
+
+/**
+ * Lists all files below a base location concurrently.
+ *
+ * <p>The directories (or object store prefixes) below the base location are discovered level by
+ * level, until there are at least as many directories as the requested parallelism, up to {@value
+ * #MAX_DISCOVERY_DEPTH} levels deep. A directory is only expanded if its direct children fit into
+ * a single listing request of at most {@value #MAX_LEVEL_ENTRIES} entries, otherwise it is listed
+ * recursively as a whole. The recursive listings of all discovered directories then run on the
+ * given executor and are merged into a single stream of files, in no particular order.
+ */
+final class ParallelListing {
+  static final int MAX_LEVEL_ENTRIES = 1000;
+  static final int MAX_DISCOVERY_DEPTH = 3;
+
+  private static final int BATCH_SIZE = 1000;
+
+  private ParallelListing() {}
+
+  /** The direct children of a directory. */
+  static final class Level {
+    final List<FileReference> files;
+    final List<URI> directories;
+
+    Level(List<FileReference> files, List<URI> directories) {
+      this.files = files;
+      this.directories = directories;
+    }
+  }
+
+  @FunctionalInterface
+  interface LevelLister {
+    /**
+     * Lists the direct children of the given directory, returns {@code null} if the directory has
+     * more than {@link #MAX_LEVEL_ENTRIES} direct children.
+     */
+    Level listLevel(URI directory) throws NessieFileIOException;
+  }
+
+  @FunctionalInterface
+  interface RecursiveLister {
+    Stream<FileReference> listRecursively(URI directory) throws NessieFileIOException;
+  }
+
+  static Stream<FileReference> listParallel(
+      URI basePath,
+      int parallelism,
+      Executor executor,
+      LevelLister levelLister,
+      RecursiveLister recursiveLister)
+      throws NessieFileIOException {
+    List<FileReference> files = new ArrayList<>();
+    List<URI> recursive = new ArrayList<>();
+    List<URI> expand = Collections.singletonList(basePath);
+    for (int depth = 0;
+        depth < MAX_DISCOVERY_DEPTH
+            && !expand.isEmpty()
+            && recursive.size() + expand.size() < parallelism;
+        depth++) {
+      List<URI> next = new ArrayList<>();
+      for (URI directory : expand) {
+        Level level = levelLister.listLevel(directory);
+        if (level == null) {
+          recursive.add(directory);
+        } else {
+          files.addAll(level.files);
+          next.addAll(level.directories);
+        }
+      }
+      expand = next;
+    }
+    recursive.addAll(expand);
+
+    if (recursive.isEmpty()) {
+      return files.stream();
+    }
+    if (recursive.size() == 1 && files.isEmpty()) {
+      return recursiveLister.listRecursively(recursive.get(0));
+    }
+
+    MergingIterator merging = new MergingIterator(recursive, recursiveLister, executor);
+    return Stream.concat(
+            files.stream(),
+            StreamSupport.stream(Spliterators.spliteratorUnknownSize(merging, 0), false))
+        .onClose(merging::close);
+  }
+
+  private static final class MergingIterator implements Iterator<FileReference>, AutoCloseable {
+
+    /** Marker for a finished recursive listing, compared by identity. */
+    private static final List<FileReference> END = new ArrayList<>();
+
+    private final BlockingQueue<List<FileReference>> queue;
+    private int remaining;
+    private Iterator<FileReference> current = Collections.emptyIterator();
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    MergingIterator(List<URI> directories, RecursiveLister lister, Executor executor) {
+      this.queue = new ArrayBlockingQueue<>(2 * directories.size() + 2);
+      this.remaining = directories.size();
+      for (URI directory : directories) {
+        executor.execute(() -> produce(directory, lister));
+      }
+    }
+
+    private void produce(URI directory, RecursiveLister lister) {
+      try (Stream<FileReference> files = lister.listRecursively(directory)) {
+        List<FileReference> batch = new ArrayList<>(BATCH_SIZE);
+        for (Iterator<FileReference> iter = files.iterator(); iter.hasNext() && !closed; ) {
+          batch.add(iter.next());
+          if (batch.size() == BATCH_SIZE) {
+            put(batch);
+            batch = new ArrayList<>(BATCH_SIZE);
+          }
+        }
+        if (!batch.isEmpty()) {
+          put(batch);
+        }
+      } catch (Throwable e) {
+        failure = e;
+      } finally {
+        put(END);
+      }
+    }
+
+    private void put(List<FileReference> batch) {
+      try {
+        // Regularly check whether the consumer has closed the stream, it would not take any more
+        // files.
+        while (!closed) {
+          if (queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        if (remaining == 0) {
+          return false;
+        }
+        List<FileReference> batch;
+        try {
+          batch = queue.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        }
+        Throwable f = failure;
+        if (f != null) {
+          throw new RuntimeException("Failed to list files", f);
+        }
+        if (batch == END) {
+          remaining--;
+        } else {
+          current = batch.iterator();
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public FileReference next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      queue.clear();
+    }
+  }
+}
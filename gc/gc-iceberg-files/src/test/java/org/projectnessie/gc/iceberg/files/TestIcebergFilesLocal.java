@@ -34,7 +34,11 @@ public class TestIcebergFilesLocal extends AbstractFiles {
 
   @BeforeEach
   void setUp() {
-    hadoop = IcebergFiles.builder().build();
+    hadoop = createIcebergFiles();
+  }
+
+  protected IcebergFiles createIcebergFiles() {
+    return IcebergFiles.builder().build();
   }
 
   @AfterEach
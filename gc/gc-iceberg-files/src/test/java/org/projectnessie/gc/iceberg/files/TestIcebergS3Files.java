@@ -29,8 +29,8 @@ import java.util.stream.Stream;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.iceberg.aws.HttpClientProperties;
 import org.apache.iceberg.aws.s3.S3FileIOProperties;
-import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.gc.files.DeleteSummary;
 import org.projectnessie.gc.files.FileReference;
@@ -44,8 +44,9 @@ public class TestIcebergS3Files {
 
   private static final String BUCKET = "bucket";
 
-  @Test
-  public void icebergS3() throws Exception {
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  public void icebergS3(int listingParallelism) throws Exception {
     URI baseUri = icebergBaseUri("/path/");
 
     Set<String> keys = new TreeSet<>();
@@ -54,9 +55,10 @@ public class TestIcebergS3Files {
     keys.add("path/file-3");
     keys.add("path/dir-1/file-4");
     keys.add("path/dir-1/dir-2/file-5");
+    keys.add("path/dir-3/dir-4/file-6");
 
     try (S3MockServer server = createServer(keys);
-        IcebergFiles s3 = createIcebergFiles(server)) {
+        IcebergFiles s3 = createIcebergFiles(server, listingParallelism)) {
 
       Set<URI> expect =
           keys.stream()
@@ -105,8 +107,8 @@ public class TestIcebergS3Files {
    * objects, plus ~3 seconds for deleting 10000 objects).
    */
   @ParameterizedTest
-  @ValueSource(ints = {500})
-  public void manyFiles(int numFiles) throws Exception {
+  @CsvSource({"500,1", "500,4"})
+  public void manyFiles(int numFiles, int listingParallelism) throws Exception {
     URI baseUri = icebergBaseUri("/path/");
 
     Set<String> keys =
@@ -115,10 +117,10 @@ public class TestIcebergS3Files {
             .collect(Collectors.toCollection(HashSet::new));
 
     try (S3MockServer server = createServer(keys);
-        IcebergFiles s3 = createIcebergFiles(server)) {
+        IcebergFiles s3 = createIcebergFiles(server, listingParallelism)) {
 
       try (Stream<FileReference> files = s3.listRecursively(baseUri)) {
-        assertThat(files).hasSize(numFiles);
+        assertThat(files).hasSize(numFiles).doesNotHaveDuplicates();
       }
 
       int deletes = numFiles / 10;
@@ -136,10 +138,11 @@ public class TestIcebergS3Files {
     }
   }
 
-  private IcebergFiles createIcebergFiles(S3MockServer server) {
+  private IcebergFiles createIcebergFiles(S3MockServer server, int listingParallelism) {
     return IcebergFiles.builder()
         .properties(icebergProperties(server))
         .hadoopConfiguration(hadoopConfiguration(server))
+        .listingParallelism(listingParallelism)
         .build();
   }
 
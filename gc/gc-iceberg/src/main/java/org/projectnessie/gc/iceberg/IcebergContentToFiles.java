@@ -20,10 +20,14 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.ManifestReaderUtil;
 import org.apache.iceberg.Snapshot;
@@ -47,6 +51,7 @@ import org.slf4j.LoggerFactory;
 public abstract class IcebergContentToFiles implements ContentToFiles {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(IcebergContentToFiles.class);
+  public static final int DEFAULT_MANIFEST_READ_AHEAD = 8;
   public static final String S3_KEY_NOT_FOUND =
       "software.amazon.awssdk.services.s3.model.NoSuchKeyException";
 
@@ -58,11 +63,54 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
     @CanIgnoreReturnValue
     Builder io(FileIO io);
 
+    /**
+     * Optional cache for the contents of manifest lists and manifest files, can be shared across
+     * multiple instances and expire runs.
+     */
+    @CanIgnoreReturnValue
+    Builder manifestCache(ManifestCache manifestCache);
+
+    /**
+     * Optional executor used to read the manifest files of a snapshot in parallel. If not set,
+     * manifest files are read sequentially by the thread consuming the stream returned by {@link
+     * #extractFiles(ContentReference)}. The executor is not managed by this class.
+     */
+    @CanIgnoreReturnValue
+    Builder manifestReaderExecutor(Executor manifestReaderExecutor);
+
+    /**
+     * Maximum number of manifest files per snapshot that are read ahead of the consumer of the
+     * stream returned by {@link #extractFiles(ContentReference)}, only relevant if a {@link
+     * #manifestReaderExecutor(Executor) manifest reader executor} is configured, default is
+     * {@value #DEFAULT_MANIFEST_READ_AHEAD}.
+     */
+    @CanIgnoreReturnValue
+    Builder manifestReadAhead(int manifestReadAhead);
+
     IcebergContentToFiles build();
   }
 
   abstract FileIO io();
 
+  @Nullable
+  @jakarta.annotation.Nullable
+  abstract ManifestCache manifestCache();
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  abstract Executor manifestReaderExecutor();
+
+  @Value.Default
+  int manifestReadAhead() {
+    return DEFAULT_MANIFEST_READ_AHEAD;
+  }
+
+  @Value.Check
+  void verify() {
+    Preconditions.checkArgument(
+        manifestReadAhead() >= 1, "manifestReadAhead must be greater than 0");
+  }
+
   /**
    * Provides a {@link Stream} with the {@link FileReference}s referencing the table-metadata, the
    * {@link Snapshot#manifestListLocation() manifest-list}, all {@link ManifestFile manifest-files}
@@ -112,6 +160,19 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
                   // .flatMap() for lazy loading
                   .flatMap(
                       x -> {
+                        ManifestCache manifestCache = manifestCache();
+                        Executor executor = manifestReaderExecutor();
+                        if (executor != null) {
+                          @SuppressWarnings("MustBeClosedChecker")
+                          Stream<URI> r =
+                              parallelManifestsAndDataFiles(
+                                  manifestCache, executor, io, snapshot, contentReference);
+                          return r;
+                        }
+                        if (manifestCache != null) {
+                          return allManifestsAndDataFiles(
+                              manifestCache, io, snapshot, contentReference);
+                        }
                         @SuppressWarnings("MustBeClosedChecker")
                         Stream<URI> r = allManifestsAndDataFiles(io, snapshot, contentReference);
                         return r;
@@ -141,6 +202,47 @@ public abstract class IcebergContentToFiles implements ContentToFiles {
             });
   }
 
+  /**
+   * Same as {@link #allManifestsAndDataFiles(FileIO, Snapshot, ContentReference)}, but serves the
+   * manifest list and manifest file contents from the given {@link ManifestCache}.
+   */
+  static Stream<URI> allManifestsAndDataFiles(
+      ManifestCache manifestCache,
+      FileIO io,
+      Snapshot snapshot,
+      ContentReference contentReference) {
+    return manifestCache.manifests(io, snapshot).stream()
+        .flatMap(
+            mf ->
+                Stream.concat(
+                    Stream.of(manifestFileUri(mf, contentReference)),
+                    // .flatMap() for lazy loading
+                    Stream.of(mf)
+                        .flatMap(m -> manifestCache.dataFilePaths(io, m).stream())
+                        .map(dataFilePath -> dataFileUri(dataFilePath, contentReference))));
+  }
+
+  /**
+   * Same as {@link #allManifestsAndDataFiles(FileIO, Snapshot, ContentReference)}, but reads the
+   * manifest files using the given executor, see {@link ParallelManifestReader}.
+   */
+  @MustBeClosed
+  Stream<URI> parallelManifestsAndDataFiles(
+      @Nullable @jakarta.annotation.Nullable ManifestCache manifestCache,
+      Executor executor,
+      FileIO io,
+      Snapshot snapshot,
+      ContentReference contentReference) {
+    List<ManifestFile> manifests =
+        manifestCache != null ? manifestCache.manifests(io, snapshot) : snapshot.allManifests(io);
+    Function<ManifestFile, List<String>> dataFilePaths =
+        manifestCache != null
+            ? mf -> manifestCache.dataFilePaths(io, mf)
+            : mf -> ManifestCache.readDataFilePaths(io, mf);
+    return ParallelManifestReader.allManifestsAndDataFiles(
+        manifests.iterator(), dataFilePaths, executor, manifestReadAhead(), contentReference);
+  }
+
   /** Provide all {@link ManifestFile}s for the given {@link Snapshot}. */
   static Stream<ManifestFile> allManifests(FileIO io, Snapshot snapshot) {
     return snapshot.allManifests(io).stream();
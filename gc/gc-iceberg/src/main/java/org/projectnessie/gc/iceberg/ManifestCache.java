@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.iceberg;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestReaderUtil;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+
+/**
+ * Bounded cache for the contents of Iceberg manifest lists and manifest files, keyed by the
+ * location of the manifest list or manifest file.
+ *
+ * <p>Successive snapshots of a table share most of their manifest files, so extracting the files of
+ * many snapshots of the same table would otherwise read the same manifest files over and over
+ * again. Manifest lists and manifest files are immutable, so cached entries never become stale.
+ *
+ * <p>The cache is bounded by the estimated heap size of the cached entries. One instance can be
+ * shared by multiple {@link IcebergContentToFiles} instances and across multiple expire runs, it is
+ * safe for concurrent use.
+ */
+public final class ManifestCache {
+
+  public static final long DEFAULT_MAX_WEIGHT_BYTES = 256L * 1024L * 1024L;
+
+  private static final int LIST_OVERHEAD = 64;
+  private static final int STRING_OVERHEAD = 48;
+  private static final int MANIFEST_FILE_OVERHEAD = 512;
+
+  private final Cache<String, List<?>> cache;
+
+  private ManifestCache(long maxWeightBytes) {
+    Preconditions.checkArgument(maxWeightBytes > 0L, "maxWeightBytes must be positive");
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxWeightBytes)
+            .weigher((String key, List<?> value) -> weigh(key, value))
+            .recordStats()
+            .build();
+  }
+
+  /** Creates a new cache with the given maximum estimated heap size in bytes. */
+  public static ManifestCache newManifestCache(long maxWeightBytes) {
+    return new ManifestCache(maxWeightBytes);
+  }
+
+  /** Number of lookups that were served from the cache. */
+  public long hitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /** Number of lookups that required reading a manifest list or manifest file. */
+  public long missCount() {
+    return cache.stats().missCount();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /** Returns the manifest files of the given snapshot. */
+  List<ManifestFile> manifests(FileIO io, Snapshot snapshot) {
+    String manifestListLocation = snapshot.manifestListLocation();
+    if (manifestListLocation == null) {
+      // Iceberg spec v1 has the manifest files embedded in the table-metadata.
+      return snapshot.allManifests(io);
+    }
+    return get(manifestListLocation, () -> ImmutableList.copyOf(snapshot.allManifests(io)));
+  }
+
+  /**
+   * Returns the paths of all data and delete files in the given manifest file, including the
+   * entries of every status.
+   */
+  List<String> dataFilePaths(FileIO io, ManifestFile manifestFile) {
+    return get(manifestFile.path(), () -> readDataFilePaths(io, manifestFile));
+  }
+
+  /** Reads the paths of all data and delete files in the given manifest file into a list. */
+  static List<String> readDataFilePaths(FileIO io, ManifestFile manifestFile) {
+    try (CloseableIterable<String> paths =
+        ManifestReaderUtil.readPathsFromManifest(manifestFile, io)) {
+      return ImmutableList.copyOf(paths);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> List<T> get(String location, Callable<List<T>> loader) {
+    try {
+      return (List<T>) cache.get(location, loader);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof IOException) {
+        throw new UncheckedIOException((IOException) cause);
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private static int weigh(String key, List<?> value) {
+    long weight = LIST_OVERHEAD + STRING_OVERHEAD + 2L * key.length();
+    for (Object element : value) {
+      if (element instanceof ManifestFile) {
+        String path = ((ManifestFile) element).path();
+        weight += MANIFEST_FILE_OVERHEAD + 2L * (path != null ? path.length() : 0);
+      } else {
+        weight += STRING_OVERHEAD + 2L * ((String) element).length();
+      }
+    }
+    return (int) Math.min(Integer.MAX_VALUE, weight);
+  }
+
+  @Override
+  public String toString() {
+    return "ManifestCache{" + cache.stats() + '}';
+  }
+}
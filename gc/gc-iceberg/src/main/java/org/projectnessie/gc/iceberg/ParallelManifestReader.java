@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.iceberg;
+
+import static java.util.Collections.emptyIterator;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.iceberg.ManifestFile;
+import org.projectnessie.gc.contents.ContentReference;
+
+/**
+ * Reads the data and delete file paths of manifest files using an {@link Executor}, reading at most
+ * {@code readAhead} manifest files ahead of the one being consumed.
+ *
+ * <p>The returned URIs are in the same order as for a sequential read: each manifest file's URI
+ * followed by the URIs of its data and delete files. New manifest files are only submitted for
+ * reading when the consumer advances, so the amount of buffered manifest file contents per
+ * iterator stays bounded, independent of the number of manifest files in a snapshot.
+ */
+final class ParallelManifestReader extends AbstractIterator<URI> implements AutoCloseable {
+
+  private final Iterator<ManifestFile> manifests;
+  private final Function<ManifestFile, List<String>> dataFilePaths;
+  private final Executor executor;
+  private final int readAhead;
+  private final ContentReference contentReference;
+
+  private final Deque<PendingManifest> pending = new ArrayDeque<>();
+  private Iterator<URI> current = emptyIterator();
+  private boolean closed;
+
+  private ParallelManifestReader(
+      Iterator<ManifestFile> manifests,
+      Function<ManifestFile, List<String>> dataFilePaths,
+      Executor executor,
+      int readAhead,
+      ContentReference contentReference) {
+    this.manifests = manifests;
+    this.dataFilePaths = dataFilePaths;
+    this.executor = executor;
+    this.readAhead = readAhead;
+    this.contentReference = contentReference;
+  }
+
+  static Stream<URI> allManifestsAndDataFiles(
+      Iterator<ManifestFile> manifests,
+      Function<ManifestFile, List<String>> dataFilePaths,
+      Executor executor,
+      int readAhead,
+      ContentReference contentReference) {
+    ParallelManifestReader reader =
+        new ParallelManifestReader(
+            manifests, dataFilePaths, executor, readAhead, contentReference);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                reader, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(reader::close);
+  }
+
+  @Override
+  protected URI computeNext() {
+    while (true) {
+      if (current.hasNext()) {
+        return current.next();
+      }
+      if (closed) {
+        return endOfData();
+      }
+
+      fill();
+
+      PendingManifest next = pending.poll();
+      if (next == null) {
+        return endOfData();
+      }
+
+      // Submit the next manifest file, before waiting for the current one.
+      fill();
+
+      URI manifestFileUri =
+          IcebergContentToFiles.manifestFileUri(next.manifestFile, contentReference);
+      List<String> paths = await(next.dataFilePaths);
+      current =
+          Iterators.concat(
+              Iterators.singletonIterator(manifestFileUri),
+              Iterators.transform(
+                  paths.iterator(),
+                  path -> IcebergContentToFiles.dataFileUri(path, contentReference)));
+    }
+  }
+
+  private void fill() {
+    while (pending.size() < readAhead && manifests.hasNext()) {
+      ManifestFile manifestFile = manifests.next();
+      pending.add(
+          new PendingManifest(
+              manifestFile,
+              CompletableFuture.supplyAsync(() -> dataFilePaths.apply(manifestFile), executor)));
+    }
+  }
+
+  private static List<String> await(CompletableFuture<List<String>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    current = emptyIterator();
+    for (PendingManifest p : pending) {
+      p.dataFilePaths.cancel(false);
+    }
+    pending.clear();
+  }
+
+  private static final class PendingManifest {
+    final ManifestFile manifestFile;
+    final CompletableFuture<List<String>> dataFilePaths;
+
+    PendingManifest(ManifestFile manifestFile, CompletableFuture<List<String>> dataFilePaths) {
+      this.manifestFile = manifestFile;
+      this.dataFilePaths = dataFilePaths;
+    }
+  }
+}
@@ -119,6 +119,40 @@ public class TestIcebergContentToFiles {
     }
   }
 
+  @ParameterizedTest
+  @MethodSource("contentToFiles")
+  public void contentToFilesWithManifestCache(
+      IcebergFileIOMocking fileIO,
+      ContentReference contentReference,
+      Set<URI> expectedFiles,
+      Set<URI> basePaths) {
+    ManifestCache manifestCache =
+        ManifestCache.newManifestCache(ManifestCache.DEFAULT_MAX_WEIGHT_BYTES);
+    IcebergContentToFiles contentToFiles =
+        IcebergContentToFiles.builder().io(fileIO).manifestCache(manifestCache).build();
+
+    try (Stream<FileReference> extractFiles = contentToFiles.extractFiles(contentReference)) {
+      soft.assertThat(extractFiles)
+          .allSatisfy(f -> assertThat(f.base()).isIn(basePaths))
+          .map(FileReference::absolutePath)
+          .containsExactlyInAnyOrderElementsOf(expectedFiles);
+    }
+    // one manifest list + one manifest file
+    soft.assertThat(manifestCache.missCount()).isEqualTo(2L);
+    soft.assertThat(manifestCache.hitCount()).isEqualTo(0L);
+
+    // A different instance sharing the same cache must not read the manifests again
+    IcebergContentToFiles other =
+        IcebergContentToFiles.builder().io(fileIO).manifestCache(manifestCache).build();
+    try (Stream<FileReference> extractFiles = other.extractFiles(contentReference)) {
+      soft.assertThat(extractFiles)
+          .map(FileReference::absolutePath)
+          .containsExactlyInAnyOrderElementsOf(expectedFiles);
+    }
+    soft.assertThat(manifestCache.missCount()).isEqualTo(2L);
+    soft.assertThat(manifestCache.hitCount()).isEqualTo(2L);
+  }
+
   @Test
   public void safeAgainstMissingTableMetadata() {
     InputFile inputFile = mock(InputFile.class);
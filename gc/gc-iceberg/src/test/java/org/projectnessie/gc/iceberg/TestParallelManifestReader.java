@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.iceberg;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.iceberg.ManifestFile;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.model.ContentKey;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestParallelManifestReader {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static final ContentReference CONTENT_REFERENCE =
+      ContentReference.icebergTable("cid", "12345678", ContentKey.of("foo"), "/meta", 0L);
+
+  ExecutorService executor;
+
+  @BeforeEach
+  void createExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  static List<ManifestFile> manifests(int count) {
+    List<ManifestFile> manifests = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ManifestFile mf = mock(ManifestFile.class);
+      when(mf.path()).thenReturn("file:///table/metadata/manifest-" + i + ".avro");
+      manifests.add(mf);
+    }
+    return manifests;
+  }
+
+  static List<String> dataFiles(ManifestFile mf) {
+    String manifest = mf.path().substring(mf.path().lastIndexOf('/') + 1);
+    return IntStream.range(0, 3)
+        .mapToObj(i -> "file:///table/data/" + manifest + "-" + i + ".parquet")
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void sameOrderAsSequential() {
+    List<ManifestFile> manifests = manifests(50);
+
+    List<URI> expected = new ArrayList<>();
+    for (ManifestFile mf : manifests) {
+      expected.add(URI.create(mf.path()));
+      dataFiles(mf).stream().map(URI::create).forEach(expected::add);
+    }
+
+    try (Stream<URI> uris =
+        ParallelManifestReader.allManifestsAndDataFiles(
+            manifests.iterator(),
+            TestParallelManifestReader::dataFiles,
+            executor,
+            5,
+            CONTENT_REFERENCE)) {
+      soft.assertThat(uris).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  public void boundedReadAhead() {
+    List<ManifestFile> manifests = manifests(50);
+    AtomicInteger read = new AtomicInteger();
+    Function<ManifestFile, List<String>> reader =
+        mf -> {
+          read.incrementAndGet();
+          return dataFiles(mf);
+        };
+
+    try (Stream<URI> uris =
+        ParallelManifestReader.allManifestsAndDataFiles(
+            manifests.iterator(), reader, executor, 3, CONTENT_REFERENCE)) {
+      // Lazy: nothing is read before the stream is consumed
+      soft.assertThat(read).hasValue(0);
+
+      soft.assertThat(uris.limit(2)).hasSize(2);
+      // The first manifest plus up to 3 read-ahead manifests
+      soft.assertThat(read.get()).isLessThanOrEqualTo(4);
+    }
+  }
+
+  @Test
+  public void failurePropagates() {
+    List<ManifestFile> manifests = manifests(10);
+    Function<ManifestFile, List<String>> reader =
+        mf -> {
+          if (mf.path().contains("manifest-3.")) {
+            throw new IllegalStateException("boom");
+          }
+          return dataFiles(mf);
+        };
+
+    try (Stream<URI> uris =
+        ParallelManifestReader.allManifestsAndDataFiles(
+            manifests.iterator(), reader, executor, 4, CONTENT_REFERENCE)) {
+      soft.assertThatIllegalStateException().isThrownBy(uris::count).withMessage("boom");
+    }
+  }
+}
@@ -21,19 +21,23 @@ import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_FILE_DELETIONS
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_LIVE_CONTENTS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_LIVE_CONTENT_SET;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_LIVE_SET_LOCATIONS;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.DELETE_REFERENCE_MARKS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.ERROR_LENGTH;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.FINISH_EXPIRE;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.FINISH_IDENTIFY;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.INSERT_CONTENT_LOCATION;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.INSERT_FILE_DELETIONS;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.INSERT_REFERENCE_MARK;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_ALL_LIVE_CONTENT_SETS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_COUNT;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_IDS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_LOCATION;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_LOCATION_ALL;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_REFERENCES;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_CONTENT_REFERENCE_COUNTS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_FILE_DELETIONS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_LIVE_CONTENT_SET;
+import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.SELECT_REFERENCE_MARKS;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.START_EXPIRE;
 import static org.projectnessie.gc.contents.jdbc.SqlDmlDdl.START_IDENTIFY;
 
@@ -44,13 +48,16 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
@@ -63,19 +70,27 @@ import org.intellij.lang.annotations.Language;
 import org.projectnessie.gc.contents.ContentReference;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.FromRow;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.Prepare;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.ResultSetSplit;
 import org.projectnessie.gc.contents.jdbc.JdbcHelper.WithStatement;
 import org.projectnessie.gc.contents.spi.PersistenceSpi;
 import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.gc.identify.CutoffPolicy;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.types.ContentTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Value.Immutable
 public abstract class JdbcPersistenceSpi implements PersistenceSpi {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcPersistenceSpi.class);
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
   public static Builder builder() {
     return ImmutableJdbcPersistenceSpi.builder();
   }
@@ -84,6 +99,12 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
   public interface Builder {
     Builder dataSource(DataSource dataSource);
 
+    /**
+     * Number of rows that are sent to the database as a single JDBC batch when adding live
+     * contents, base locations and file deletions, default is {@value #DEFAULT_BATCH_SIZE}.
+     */
+    Builder batchSize(int batchSize);
+
     JdbcPersistenceSpi build();
   }
 
@@ -167,6 +188,23 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
         true);
   }
 
+  /**
+   * Executes the pending batch of the given statement and returns the number of inserted rows.
+   * Drivers that do not report per-row update counts, for example PostgreSQL with {@code
+   * reWriteBatchedInserts}, report every row as inserted.
+   */
+  static long executeBatch(PreparedStatement stmt) throws SQLException {
+    long count = 0L;
+    for (int updated : stmt.executeBatch()) {
+      if (updated > 0) {
+        count += updated;
+      } else if (updated == Statement.SUCCESS_NO_INFO) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   static String trimError(String s) {
     if (s.length() <= ERROR_LENGTH) {
       return s;
@@ -213,6 +251,7 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
         (conn, stmt) -> {
           stmt.setString(1, liveSetId.toString());
           long count = 0L;
+          int pending = 0;
           for (Iterator<ContentReference> iter = contentReference.iterator(); iter.hasNext(); ) {
             ContentReference ref = iter.next();
             stmt.setString(2, ref.contentId());
@@ -234,11 +273,15 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
               throw new UnsupportedOperationException(
                   "Unsupported content type " + ref.contentType());
             }
-            // TODO add batch updates
-            if (stmt.executeUpdate() != 0) {
-              count++;
+            stmt.addBatch();
+            if (++pending == batchSize()) {
+              count += executeBatch(stmt);
+              pending = 0;
             }
           }
+          if (pending > 0) {
+            count += executeBatch(stmt);
+          }
           return count;
         },
         true);
@@ -256,6 +299,50 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
         JdbcPersistenceSpi::contentReference);
   }
 
+  @Override
+  @MustBeClosed
+  public Stream<Map.Entry<String, Long>> fetchContentReferenceCounts(UUID liveSetId) {
+    return streamingResult(
+        SELECT_CONTENT_REFERENCE_COUNTS,
+        stmt -> stmt.setString(1, liveSetId.toString()),
+        rs -> new SimpleImmutableEntry<>(rs.getString(1), rs.getLong(2)));
+  }
+
+  @Override
+  public void addReferenceMark(UUID liveSetId, ReferenceMark referenceMark) {
+    singleStatement(
+        INSERT_REFERENCE_MARK,
+        (conn, stmt) -> {
+          stmt.setString(1, liveSetId.toString());
+          stmt.setString(2, referenceMark.referenceName());
+          stmt.setString(3, referenceMark.headCommitId());
+          Instant cutoff = referenceMark.cutoffTimestamp();
+          if (CutoffPolicy.NO_TIMESTAMP.equals(cutoff)) {
+            stmt.setNull(4, Types.TIMESTAMP);
+          } else {
+            stmt.setTimestamp(4, Timestamp.from(cutoff));
+          }
+          stmt.executeUpdate();
+          return null;
+        },
+        true);
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<ReferenceMark> fetchReferenceMarks(UUID liveSetId) {
+    return streamingResult(
+        SELECT_REFERENCE_MARKS,
+        stmt -> stmt.setString(1, liveSetId.toString()),
+        rs -> {
+          Timestamp cutoff = rs.getTimestamp(3);
+          return ReferenceMark.referenceMark(
+              rs.getString(1),
+              rs.getString(2),
+              cutoff != null ? cutoff.toInstant() : CutoffPolicy.NO_TIMESTAMP);
+        });
+  }
+
   @Override
   public void associateBaseLocations(
       UUID liveSetId, String contentId, Collection<URI> baseLocations) {
@@ -264,9 +351,17 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
         (conn, stmt) -> {
           stmt.setString(1, liveSetId.toString());
           stmt.setString(2, contentId);
+          int pending = 0;
           for (URI baseLocation : baseLocations) {
             stmt.setString(3, baseLocation.toString());
-            stmt.executeUpdate();
+            stmt.addBatch();
+            if (++pending == batchSize()) {
+              executeBatch(stmt);
+              pending = 0;
+            }
+          }
+          if (pending > 0) {
+            executeBatch(stmt);
           }
           return null;
         },
@@ -296,6 +391,7 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
 
   @Override
   public void deleteLiveContentSet(UUID liveSetId) {
+    deleteReferenceMarks(liveSetId);
     singleStatement(
         DELETE_FILE_DELETIONS,
         (conn, stmt) -> {
@@ -319,6 +415,29 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
         true);
   }
 
+  /**
+   * Reference marks are deleted in a separate transaction, because the table does not exist in
+   * schemas that have been created before incremental identification was introduced, which must
+   * not prevent deleting live content sets.
+   */
+  private void deleteReferenceMarks(UUID liveSetId) {
+    try {
+      singleStatement(
+          DELETE_REFERENCE_MARKS,
+          (conn, stmt) -> {
+            stmt.setString(1, liveSetId.toString());
+            return stmt.executeUpdate();
+          },
+          true);
+    } catch (RuntimeException e) {
+      LOGGER.warn(
+          "Could not delete reference marks for live content set {}, the table "
+              + "gc_live_set_reference_marks might be missing in the database schema.",
+          liveSetId,
+          e);
+    }
+  }
+
   private LiveContentSet currentLiveSet(Connection conn, UUID liveSetId) throws SQLException {
     try (PreparedStatement stmt = conn.prepareStatement(SELECT_LIVE_CONTENT_SET)) {
       return queryLiveContentSet(liveSetId, stmt);
@@ -361,16 +480,22 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
         INSERT_FILE_DELETIONS,
         (conn, stmt) -> {
           long count = 0L;
+          int pending = 0;
           for (Iterator<FileReference> iter = files.iterator(); iter.hasNext(); ) {
             FileReference f = iter.next();
             stmt.setString(1, liveSetId.toString());
             stmt.setString(2, f.base().toString());
             stmt.setString(3, f.path().toString());
             stmt.setLong(4, f.modificationTimeMillisEpoch());
-            if (stmt.executeUpdate() != 0) {
-              count++;
+            stmt.addBatch();
+            if (++pending == batchSize()) {
+              count += executeBatch(stmt);
+              pending = 0;
             }
           }
+          if (pending > 0) {
+            count += executeBatch(stmt);
+          }
           return count;
         },
         true);
@@ -468,4 +593,14 @@ public abstract class JdbcPersistenceSpi implements PersistenceSpi {
   }
 
   abstract DataSource dataSource();
+
+  @Value.Default
+  int batchSize() {
+    return DEFAULT_BATCH_SIZE;
+  }
+
+  @Value.Check
+  void verify() {
+    Preconditions.checkArgument(batchSize() >= 1, "Batch size must be greater than 0");
+  }
 }
@@ -69,6 +69,31 @@ final class SqlDmlDdl {
           + "    modification_timestamp BIGINT, \n"
           + "    PRIMARY KEY (live_set_id, base_uri, path_uri))";
 
+  @Language("SQL")
+  static final String CREATE_LIVE_SET_REFERENCE_MARKS =
+      "CREATE TABLE gc_live_set_reference_marks (\n"
+          + "    live_set_id VARCHAR(40), \n"
+          + "    ref_name VARCHAR(250), \n"
+          + "    head_commit_id VARCHAR(100), \n"
+          + "    cutoff_timestamp TIMESTAMP, \n"
+          + "    PRIMARY KEY (live_set_id, ref_name))";
+
+  @Language("SQL")
+  static final String INSERT_REFERENCE_MARK =
+      "INSERT INTO gc_live_set_reference_marks \n"
+          + "    (live_set_id, ref_name, head_commit_id, cutoff_timestamp) VALUES (?, ?, ?, ?) \n"
+          + "    ON CONFLICT DO NOTHING";
+
+  @Language("SQL")
+  static final String SELECT_REFERENCE_MARKS =
+      "SELECT ref_name, head_commit_id, cutoff_timestamp \n"
+          + "    FROM gc_live_set_reference_marks \n"
+          + "    WHERE live_set_id = ?";
+
+  @Language("SQL")
+  static final String DELETE_REFERENCE_MARKS =
+      "DELETE FROM gc_live_set_reference_marks WHERE live_set_id = ?";
+
   @Language("SQL")
   static final String INSERT_FILE_DELETIONS =
       "INSERT INTO gc_file_deletions \n"
@@ -132,6 +157,13 @@ final class SqlDmlDdl {
           + "    FROM gc_live_set_contents \n"
           + "    WHERE live_set_id = ?";
 
+  @Language("SQL")
+  static final String SELECT_CONTENT_REFERENCE_COUNTS =
+      "SELECT content_id, COUNT(*) \n"
+          + "    FROM gc_live_set_contents \n"
+          + "    WHERE live_set_id = ? \n"
+          + "    GROUP BY content_id";
+
   @Language("SQL")
   static final String START_IDENTIFY =
       "INSERT INTO gc_live_sets \n"
@@ -175,7 +207,8 @@ final class SqlDmlDdl {
               CREATE_LIVE_SETS,
               CREATE_LIVE_SET_CONTENTS,
               CREATE_LIVE_SET_LOCATIONS,
-              CREATE_FILE_DELETIONS));
+              CREATE_FILE_DELETIONS,
+              CREATE_LIVE_SET_REFERENCE_MARKS));
 
   static final List<String> ALL_TABLE_NAMES =
       Collections.unmodifiableList(
@@ -183,5 +216,6 @@ final class SqlDmlDdl {
               "gc_live_set_content_locations",
               "gc_live_set_contents",
               "gc_live_sets",
-              "gc_file_deletions"));
+              "gc_file_deletions",
+              "gc_live_set_reference_marks"));
 }
@@ -19,12 +19,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.time.Instant;
 import java.util.UUID;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.contents.spi.PersistenceSpi;
+import org.projectnessie.gc.identify.CutoffPolicy;
 import org.projectnessie.gc.contents.tests.AbstractPersistenceSpi;
 
 public abstract class AbstractJdbcPersistenceSpi extends AbstractPersistenceSpi {
@@ -52,7 +57,11 @@ public abstract class AbstractJdbcPersistenceSpi extends AbstractPersistenceSpi
 
   @Override
   protected PersistenceSpi createPersistenceSpi() {
-    return JdbcPersistenceSpi.builder().dataSource(dataSource).build();
+    return JdbcPersistenceSpi.builder().dataSource(dataSource).batchSize(batchSize()).build();
+  }
+
+  protected int batchSize() {
+    return JdbcPersistenceSpi.DEFAULT_BATCH_SIZE;
   }
 
   @BeforeEach
@@ -73,6 +82,59 @@ public abstract class AbstractJdbcPersistenceSpi extends AbstractPersistenceSpi
     }
   }
 
+  @Test
+  public void referenceMarksRows() throws Exception {
+    UUID id = UUID.randomUUID();
+    persistenceSpi.startIdentifyLiveContents(id, Instant.now());
+
+    Instant cutoff = Instant.parse("2023-03-04T05:06:07.123Z");
+    persistenceSpi.addReferenceMark(id, ReferenceMark.referenceMark("main", "cafe", cutoff));
+    persistenceSpi.addReferenceMark(
+        id, ReferenceMark.referenceMark("branch", "beef", CutoffPolicy.NO_TIMESTAMP));
+
+    try (Connection conn = dataSource.getConnection();
+        PreparedStatement st =
+            conn.prepareStatement(
+                "SELECT ref_name, head_commit_id, cutoff_timestamp "
+                    + "FROM gc_live_set_reference_marks WHERE live_set_id = ? ORDER BY ref_name")) {
+      st.setString(1, id.toString());
+      try (ResultSet rs = st.executeQuery()) {
+        soft.assertThat(rs.next()).isTrue();
+        soft.assertThat(rs.getString(1)).isEqualTo("branch");
+        soft.assertThat(rs.getString(2)).isEqualTo("beef");
+        // NO_TIMESTAMP is represented as NULL
+        soft.assertThat(rs.getTimestamp(3)).isNull();
+        soft.assertThat(rs.next()).isTrue();
+        soft.assertThat(rs.getString(1)).isEqualTo("main");
+        soft.assertThat(rs.getString(2)).isEqualTo("cafe");
+        soft.assertThat(rs.getTimestamp(3).toInstant()).isEqualTo(cutoff);
+        soft.assertThat(rs.next()).isFalse();
+      }
+    }
+  }
+
+  @Test
+  public void deleteWithoutReferenceMarksTable() throws Exception {
+    UUID id = UUID.randomUUID();
+    persistenceSpi.startIdentifyLiveContents(id, Instant.now());
+
+    // Simulate a schema that has been created before reference marks were introduced
+    try (Connection conn = dataSource.getConnection();
+        Statement st = conn.createStatement()) {
+      st.execute("DROP TABLE gc_live_set_reference_marks");
+    }
+    try {
+      persistenceSpi.deleteLiveContentSet(id);
+      soft.assertThatThrownBy(() -> persistenceSpi.getLiveContentSet(id))
+          .isInstanceOf(LiveContentSetNotFoundException.class);
+    } finally {
+      try (Connection conn = dataSource.getConnection();
+          Statement st = conn.createStatement()) {
+        st.execute(SqlDmlDdl.CREATE_LIVE_SET_REFERENCE_MARKS);
+      }
+    }
+  }
+
   @Override
   protected void assertDeleted(UUID id) throws Exception {
     try (Connection conn = dataSource.getConnection()) {
@@ -27,23 +27,32 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.apache.hadoop.conf.Configuration;
 import org.projectnessie.gc.contents.LiveContentSet;
 import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
 import org.projectnessie.gc.contents.LiveContentSetsRepository;
+import org.projectnessie.gc.contents.ReferenceMark;
 import org.projectnessie.gc.expire.Expire;
 import org.projectnessie.gc.expire.ExpireParameters;
 import org.projectnessie.gc.expire.local.DefaultLocalExpire;
 import org.projectnessie.gc.files.DeleteSummary;
 import org.projectnessie.gc.files.FileDeleter;
+import org.projectnessie.gc.files.ParallelFileDeleter;
 import org.projectnessie.gc.iceberg.IcebergContentToContentReference;
 import org.projectnessie.gc.iceberg.IcebergContentToFiles;
 import org.projectnessie.gc.iceberg.IcebergContentTypeFilter;
+import org.projectnessie.gc.iceberg.ManifestCache;
 import org.projectnessie.gc.iceberg.files.IcebergFiles;
+import org.projectnessie.gc.identify.CompactVisitedDeduplicator;
 import org.projectnessie.gc.identify.IdentifyLiveContents;
 import org.projectnessie.gc.identify.PerRefCutoffPolicySupplier;
+import org.projectnessie.gc.identify.VisitedDeduplicator;
 import org.projectnessie.gc.repository.RepositoryConnector;
 import org.projectnessie.gc.tool.cli.Closeables;
 import org.projectnessie.gc.tool.cli.options.IcebergOptions;
@@ -172,6 +181,15 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
             .repositoryConnector(repositoryConnector)
             .contentToContentReference(IcebergContentToContentReference.INSTANCE)
             .parallelism(markOptions.getParallelism())
+            .visitedDeduplicator(
+                markOptions.isDeduplicateVisitedCommits()
+                    ? new CompactVisitedDeduplicator(markOptions.getParallelism())
+                    : VisitedDeduplicator.NOOP)
+            .recordReferenceMarks(markOptions.isIncremental())
+            .incrementalFrom(
+                markOptions.isIncremental()
+                    ? latestIncrementalBase(liveContentSetsRepository)
+                    : null)
             .build();
 
     UUID liveContentSetId = identify.identifyLiveContents();
@@ -207,6 +225,31 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
     return liveContentSet;
   }
 
+  /**
+   * Returns the ID of the most recently created live-content-set that has been successfully
+   * identified, if it has recorded reference marks, or {@code null}. An older live-content-set is
+   * never used as the base, even if it has reference marks, because it does not contain the
+   * changes since the more recent one, for example the result of a non-incremental run.
+   */
+  private UUID latestIncrementalBase(LiveContentSetsRepository liveContentSetsRepository) {
+    LiveContentSet latest;
+    try (Stream<LiveContentSet> all = liveContentSetsRepository.getAllLiveContents()) {
+      latest =
+          all.filter(
+                  lcs ->
+                      lcs.status() != LiveContentSet.Status.IDENTIFY_IN_PROGRESS
+                          && lcs.status() != LiveContentSet.Status.IDENTIFY_FAILED)
+              .max(Comparator.comparing(LiveContentSet::created))
+              .orElse(null);
+    }
+    if (latest == null) {
+      return null;
+    }
+    try (Stream<ReferenceMark> marks = latest.fetchReferenceMarks()) {
+      return marks.findAny().isPresent() ? latest.id() : null;
+    }
+  }
+
   protected int expire(
       LiveContentSetsRepository liveContentSetsRepository,
       LiveContentSet liveContentSet,
@@ -220,31 +263,62 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
               + liveContentSet.status());
     }
 
-    try (IcebergFiles icebergFiles = createIcebergFiles(icebergOptions)) {
+    ExecutorService manifestReaders = createManifestReaderPool(sweepOptions);
+    ParallelFileDeleter parallelFileDeleter = null;
+    try (IcebergFiles icebergFiles =
+        createIcebergFiles(icebergOptions, sweepOptions.getListingParallelism())) {
       Instant maxFileModificationTime = sweepOptions.getMaxFileModificationTime();
       if (maxFileModificationTime == null) {
         maxFileModificationTime = liveContentSet.created();
       }
 
-      FileDeleter fileDeleter =
-          sweepOptions.isDeferDeletes() ? liveContentSet.fileDeleter() : icebergFiles;
+      FileDeleter fileDeleter;
+      if (sweepOptions.isDeferDeletes()) {
+        fileDeleter = liveContentSet.fileDeleter();
+      } else if (sweepOptions.getDeleteParallelism() > 0) {
+        parallelFileDeleter =
+            ParallelFileDeleter.builder()
+                .delegate(icebergFiles)
+                .bulkDelete(icebergFiles::supportsBulkDelete)
+                .parallelism(sweepOptions.getDeleteParallelism())
+                .maxRetries(sweepOptions.getDeleteRetries())
+                .maxDeletesPerSecond(sweepOptions.getMaxDeletesPerSecond())
+                .build();
+        fileDeleter = parallelFileDeleter;
+      } else {
+        fileDeleter = icebergFiles;
+      }
+
+      IcebergContentToFiles.Builder contentToFiles =
+          IcebergContentToFiles.builder().io(icebergFiles.resolvingFileIO());
+      ManifestCache manifestCache = null;
+      if (sweepOptions.getManifestCacheSize() > 0L) {
+        manifestCache = ManifestCache.newManifestCache(sweepOptions.getManifestCacheSize());
+        contentToFiles.manifestCache(manifestCache);
+      }
+      if (manifestReaders != null) {
+        contentToFiles
+            .manifestReaderExecutor(manifestReaders)
+            .manifestReadAhead(2 * sweepOptions.getManifestReadParallelism());
+      }
 
       ExpireParameters expireParameters =
           ExpireParameters.builder()
               .fileDeleter(fileDeleter)
               .filesLister(icebergFiles)
-              .contentToFiles(
-                  IcebergContentToFiles.builder().io(icebergFiles.resolvingFileIO()).build())
+              .contentToFiles(contentToFiles.build())
               .liveContentSet(liveContentSet)
               .maxFileModificationTime(maxFileModificationTime)
               .falsePositiveProbability(sweepOptions.getFalsePositiveProbability())
               .expectedFileCount(sweepOptions.getExpectedFileCount())
               .allowedFalsePositiveProbability(sweepOptions.getAllowedFalsePositiveProbability())
+              .liveFileSetSpillDirectory(sweepOptions.getExactLiveFilesDirectory())
               .build();
 
       Expire expire =
           DefaultLocalExpire.builder()
               .parallelism(sweepOptions.getParallelism())
+              .weightedScheduling(sweepOptions.isWeightedScheduling())
               .expireParameters(expireParameters)
               .build();
       DeleteSummary summary = expire.expire();
@@ -270,18 +344,70 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
       }
 
       commandSpec.commandLine().getOut().println(Ansi.AUTO.text("@|bold,green " + msg + "|@"));
+      if (manifestCache != null) {
+        commandSpec
+            .commandLine()
+            .getOut()
+            .printf(
+                "Manifest cache: %d hits, %d misses.%n",
+                manifestCache.hitCount(), manifestCache.missCount());
+      }
+
+      if (liveContentSet.expiryStarted() != null && liveContentSet.expiryCompleted() != null) {
+        commandSpec
+            .commandLine()
+            .getOut()
+            .printf(
+                "File deletion: %.1f files deleted per second, %d retries.%n",
+                summary.deleted()
+                    * 1000d
+                    / Math.max(
+                        1L,
+                        Duration.between(
+                                liveContentSet.expiryStarted(), liveContentSet.expiryCompleted())
+                            .toMillis()),
+                summary.retries());
+      }
 
       return summary.failures() == 0L ? 0 : 1;
+    } finally {
+      if (parallelFileDeleter != null) {
+        parallelFileDeleter.close();
+      }
+      if (manifestReaders != null) {
+        manifestReaders.shutdownNow();
+      }
     }
   }
 
+  private static ExecutorService createManifestReaderPool(SweepOptions sweepOptions) {
+    int parallelism = sweepOptions.getManifestReadParallelism();
+    if (parallelism <= 0) {
+      return null;
+    }
+    AtomicInteger threadNum = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        parallelism,
+        r -> {
+          Thread t = new Thread(r, "nessie-gc-manifest-reader-" + threadNum.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
   protected IcebergFiles createIcebergFiles(IcebergOptions icebergOptions) {
+    return createIcebergFiles(icebergOptions, 1);
+  }
+
+  protected IcebergFiles createIcebergFiles(
+      IcebergOptions icebergOptions, int listingParallelism) {
     Configuration conf = new Configuration();
     icebergOptions.getHadoopConf().forEach(conf::set);
 
     return IcebergFiles.builder()
         .properties(icebergOptions.getIcebergProperties())
         .hadoopConfiguration(conf)
+        .listingParallelism(Math.max(1, listingParallelism))
         .build();
   }
 }
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.sql.DataSource;
 import org.projectnessie.gc.contents.jdbc.AgroalJdbcDataSourceProvider;
+import org.projectnessie.gc.contents.jdbc.JdbcPersistenceSpi;
 import picocli.CommandLine;
 
 public class JdbcOptions {
@@ -51,6 +52,12 @@ public class JdbcOptions {
       description = "JDBC password used to authenticate the database access.")
   String password;
 
+  @CommandLine.Option(
+      names = "--jdbc-batch-size",
+      description = "Number of rows written to the database as a single JDBC batch.",
+      defaultValue = "" + JdbcPersistenceSpi.DEFAULT_BATCH_SIZE)
+  int batchSize;
+
   public DataSource createDataSource() throws SQLException {
     AgroalJdbcDataSourceProvider.Builder jdbcDsBuilder =
         AgroalJdbcDataSourceProvider.builder()
@@ -30,6 +30,23 @@ public class LiveContentSetsStorageOptions {
   @CommandLine.ArgGroup(multiplicity = "1")
   ContentsStorageGroup contentsStorageOpts;
 
+  @CommandLine.Option(
+      names = "--write-behind-queue-size",
+      description =
+          "Number of chunks of identified live contents that can be queued for a dedicated "
+              + "writer thread. The default 0 lets the threads walking the Nessie commit logs "
+              + "write to the contents storage directly.",
+      defaultValue = "0")
+  int writeBehindQueueSize;
+
+  @CommandLine.Option(
+      names = "--write-behind-threads",
+      description =
+          "Number of writer threads that persist the queued identified live contents, only "
+              + "effective with a --write-behind-queue-size greater than 0.",
+      defaultValue = "1")
+  int writeBehindThreads;
+
   static class ContentsStorageGroup {
     @CommandLine.ArgGroup InMemoryContentsStorageOptions inmemory;
 
@@ -61,6 +78,8 @@ public class LiveContentSetsStorageOptions {
       throws Exception {
     return LiveContentSetsRepository.builder()
         .persistenceSpi(createPersistenceSpi(closeables))
+        .writeBehindQueueSize(writeBehindQueueSize)
+        .writeBehindThreads(writeBehindThreads)
         .build();
   }
 
@@ -78,6 +97,6 @@ public class LiveContentSetsStorageOptions {
   private PersistenceSpi createJdbcPersistenceSpi(Closeables closeables, JdbcOptions jdbc)
       throws Exception {
     DataSource dataSource = closeables.maybeAdd(jdbc.createDataSource());
-    return JdbcPersistenceSpi.builder().dataSource(dataSource).build();
+    return JdbcPersistenceSpi.builder().dataSource(dataSource).batchSize(jdbc.batchSize).build();
   }
 }
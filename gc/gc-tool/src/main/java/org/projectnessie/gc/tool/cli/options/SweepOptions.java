@@ -18,7 +18,10 @@ package org.projectnessie.gc.tool.cli.options;
 import static org.projectnessie.gc.expire.ExpireParameters.DEFAULT_ALLOWED_FALSE_POSITIVE_PROBABILITY;
 import static org.projectnessie.gc.expire.ExpireParameters.DEFAULT_EXPECTED_FILE_COUNT;
 import static org.projectnessie.gc.expire.ExpireParameters.DEFAULT_FALSE_POSITIVE_PROBABILITY;
+import static org.projectnessie.gc.files.ParallelFileDeleter.DEFAULT_MAX_RETRIES;
+import static org.projectnessie.gc.iceberg.ManifestCache.DEFAULT_MAX_WEIGHT_BYTES;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import picocli.CommandLine;
 
@@ -76,10 +79,87 @@ public class SweepOptions {
               + "This option is incompatible with --inmemory.")
   boolean deferDeletes;
 
+  @CommandLine.Option(
+      names = "--exact-live-files-dir",
+      description =
+          "Track the live files of each content exactly, using sorted runs of file path hashes "
+              + "that are spilled to temporary files in this directory, instead of using a "
+              + "bloom-filter. This keeps heap usage bounded for very large tables and never "
+              + "aborts the expiry of a content. "
+              + "The options --expected-file-count, --fpp and --allowed-fpp do not apply then.")
+  Path exactLiveFilesDirectory;
+
+  @CommandLine.Option(
+      names = "--weighted-scheduling",
+      negatable = true,
+      description =
+          "Schedule contents by descending number of live content references, so the largest "
+              + "contents are expired first, and process the base locations of a content in "
+              + "parallel. By default, contents are processed in no particular order.")
+  boolean weightedScheduling;
+
+  @CommandLine.Option(
+      names = "--manifest-cache-size",
+      description =
+          "Maximum estimated heap size in bytes of the cache for Iceberg manifest lists and "
+              + "manifest files, which is shared by all contents checked during the sweep phase. "
+              + "A value of 0 disables the cache, which is the default. "
+              + "A reasonable size is "
+              + DEFAULT_MAX_WEIGHT_BYTES
+              + ".",
+      defaultValue = "0")
+  long manifestCacheSize;
+
+  @CommandLine.Option(
+      names = "--manifest-read-parallelism",
+      description =
+          "Number of threads used to read Iceberg manifest files in parallel, shared by all "
+              + "contents checked during the sweep phase. "
+              + "A value of 0, the default, reads manifest files sequentially.",
+      defaultValue = "0")
+  int manifestReadParallelism;
+
+  @CommandLine.Option(
+      names = "--listing-parallelism",
+      description =
+          "Number of threads that list the files below the base locations of contents, shared by "
+              + "all contents checked during the sweep phase. "
+              + "A value of 1, the default, lists the files of a base location sequentially.",
+      defaultValue = "1")
+  int listingParallelism;
+
+  @CommandLine.Option(
+      names = "--delete-parallelism",
+      description =
+          "Number of threads that delete files, shared by all contents and base locations. "
+              + "A value of 0, the default, deletes the files of a base location from a single "
+              + "thread. The options --max-deletes-per-second and --delete-retries only apply to "
+              + "values greater than 0.",
+      defaultValue = "0")
+  int deleteParallelism;
+
+  @CommandLine.Option(
+      names = "--max-deletes-per-second",
+      description =
+          "Maximum number of files deleted per second across all delete threads. "
+              + "A value of 0 means no limit.",
+      defaultValue = "0")
+  double maxDeletesPerSecond;
+
+  @CommandLine.Option(
+      names = "--delete-retries",
+      description = "Number of times a failed file delete is retried.",
+      defaultValue = "" + DEFAULT_MAX_RETRIES)
+  int deleteRetries;
+
   public boolean isDeferDeletes() {
     return deferDeletes;
   }
 
+  public Path getExactLiveFilesDirectory() {
+    return exactLiveFilesDirectory;
+  }
+
   public long getExpectedFileCount() {
     return expectedFileCount;
   }
@@ -96,6 +176,34 @@ public class SweepOptions {
     return parallelism;
   }
 
+  public boolean isWeightedScheduling() {
+    return weightedScheduling;
+  }
+
+  public long getManifestCacheSize() {
+    return manifestCacheSize;
+  }
+
+  public int getManifestReadParallelism() {
+    return manifestReadParallelism;
+  }
+
+  public int getListingParallelism() {
+    return listingParallelism;
+  }
+
+  public int getDeleteParallelism() {
+    return deleteParallelism;
+  }
+
+  public double getMaxDeletesPerSecond() {
+    return maxDeletesPerSecond;
+  }
+
+  public int getDeleteRetries() {
+    return deleteRetries;
+  }
+
   public Instant getMaxFileModificationTime() {
     return maxFileModificationTime;
   }
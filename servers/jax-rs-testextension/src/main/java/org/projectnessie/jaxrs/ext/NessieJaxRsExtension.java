@@ -59,6 +59,7 @@ import org.projectnessie.services.rest.RestV2ConfigResource;
 import org.projectnessie.services.rest.RestV2TreeResource;
 import org.projectnessie.services.restjavax.ConstraintViolationExceptionMapper;
 import org.projectnessie.services.restjavax.ContentKeyParamConverterProvider;
+import org.projectnessie.services.restjavax.ImmutableResponseFilter;
 import org.projectnessie.services.restjavax.NamespaceParamConverterProvider;
 import org.projectnessie.services.restjavax.NessieExceptionMapper;
 import org.projectnessie.services.restjavax.NessieJaxRsJsonMappingExceptionMapper;
@@ -262,6 +263,7 @@ public class NessieJaxRsExtension extends NessieClientResolver
               config.register(NessieExceptionMapper.class);
               config.register(NessieJaxRsJsonParseExceptionMapper.class, 10);
               config.register(NessieJaxRsJsonMappingExceptionMapper.class, 10);
+              config.register(ImmutableResponseFilter.class);
               config.register(EncodingFilter.class);
               config.register(GZipEncoder.class);
               config.register(DeflateEncoder.class);
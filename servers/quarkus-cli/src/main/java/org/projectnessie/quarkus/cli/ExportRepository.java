@@ -18,6 +18,7 @@ package org.projectnessie.quarkus.cli;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
 import jakarta.annotation.Nonnull;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,8 +32,12 @@ import org.projectnessie.versioned.transfer.ProgressEvent;
 import org.projectnessie.versioned.transfer.ProgressListener;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.files.FileExporter;
+import org.projectnessie.versioned.transfer.files.FileImporter;
+import org.projectnessie.versioned.transfer.files.ImportFileSupplier;
 import org.projectnessie.versioned.transfer.files.ZipArchiveExporter;
+import org.projectnessie.versioned.transfer.files.ZipArchiveImporter;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 import picocli.CommandLine;
 import picocli.CommandLine.PicocliException;
 
@@ -51,6 +56,8 @@ public class ExportRepository extends BaseCommand {
   static final String CONTENT_BATCH_SIZE = "--content-batch-size";
   static final String COMMIT_BATCH_SIZE = "--commit-batch-size";
   static final String EXPORT_VERSION = "--export-version";
+  static final String PARALLELISM = "--parallelism";
+  static final String INCREMENTAL_SINCE = "--incremental-since";
 
   enum Format {
     ZIP,
@@ -135,6 +142,27 @@ public class ExportRepository extends BaseCommand {
           "The export version, defaults to " + ExportImportConstants.DEFAULT_EXPORT_VERSION + ".")
   private int exportVersion;
 
+  @CommandLine.Option(
+      names = PARALLELISM,
+      description =
+          "Number of threads used to walk the commit logs and to fetch the contents of commits, "
+              + "defaults to "
+              + ExportImportConstants.DEFAULT_EXPORT_PARALLELISM
+              + ". Only effective for the new storage model.")
+  private Integer parallelism;
+
+  @CommandLine.Option(
+      names = INCREMENTAL_SINCE,
+      paramLabel = "<previous-export>",
+      description = {
+        "The ZIP file or directory of a previous export. If specified, only the commits that are "
+            + "not contained in the previous export are exported, named references are always "
+            + "exported completely.",
+        "The resulting incremental export can only be imported into the repository that "
+            + "contains the previous export. Only supported for the new storage model."
+      })
+  private Path incrementalSince;
+
   @Override
   protected Integer callWithDatabaseAdapter() throws Exception {
     return export(
@@ -188,6 +216,12 @@ public class ExportRepository extends BaseCommand {
       if (commitBatchSize != null) {
         builder.commitBatchSize(commitBatchSize);
       }
+      if (parallelism != null) {
+        builder.exportParallelism(parallelism);
+      }
+      if (incrementalSince != null) {
+        builder.previousHeadsAndForks(loadPreviousHeadsAndForks());
+      }
 
       PrintWriter out = spec.commandLine().getOut();
 
@@ -222,6 +256,21 @@ public class ExportRepository extends BaseCommand {
     return exportFileSupplier;
   }
 
+  private HeadsAndForks loadPreviousHeadsAndForks() throws Exception {
+    ImportFileSupplier previousExport;
+    if (Files.isRegularFile(incrementalSince)) {
+      previousExport = ZipArchiveImporter.builder().sourceZipFile(incrementalSince).build();
+    } else if (Files.isDirectory(incrementalSince)) {
+      previousExport = FileImporter.builder().sourceDirectory(incrementalSince).build();
+    } else {
+      throw new PicocliException(String.format("No such file or directory %s", incrementalSince));
+    }
+    try (ImportFileSupplier files = previousExport;
+        InputStream input = files.newFileInput(ExportImportConstants.HEADS_AND_FORKS)) {
+      return HeadsAndForks.parseFrom(input);
+    }
+  }
+
   private Format exportFormat() {
     if (outputFormat != null) {
       return outputFormat;
@@ -58,6 +58,8 @@ public class ImportRepository extends BaseCommand {
   static final String NO_OPTIMIZE = "--no-optimize";
   static final String INPUT_BUFFER_SIZE = "--input-buffer-size";
   static final String COMMIT_BATCH_SIZE = "--commit-batch-size";
+  static final String PARALLELISM = "--parallelism";
+  static final String CONCURRENT_WRITES = "--concurrent-writes";
 
   @CommandLine.Option(
       names = {"-p", PATH},
@@ -77,6 +79,23 @@ public class ImportRepository extends BaseCommand {
               + ".")
   private Integer commitBatchSize;
 
+  @CommandLine.Option(
+      names = PARALLELISM,
+      description =
+          "Number of threads used to read and decode the commits files concurrently, defaults to "
+              + ExportImportConstants.DEFAULT_IMPORT_PARALLELISM
+              + ". Only effective for the new storage model.")
+  private Integer parallelism;
+
+  @CommandLine.Option(
+      names = CONCURRENT_WRITES,
+      description =
+          "Maximum number of batches of objects that are written concurrently, defaults to "
+              + ExportImportConstants.DEFAULT_IMPORT_CONCURRENT_WRITES
+              + ", which means that batches are written synchronously. "
+              + "Only effective for the new storage model.")
+  private Integer concurrentWrites;
+
   @CommandLine.Option(
       names = INPUT_BUFFER_SIZE,
       description =
@@ -183,11 +202,25 @@ public class ImportRepository extends BaseCommand {
       if (commitBatchSize != null) {
         builder.commitBatchSize(commitBatchSize);
       }
+      if (parallelism != null) {
+        builder.importParallelism(parallelism);
+      }
+      if (concurrentWrites != null) {
+        builder.concurrentWrites(concurrentWrites);
+      }
+
+      NessieImporter importer = builder.progressListener(new ImportProgressListener(out)).build();
 
+      // Incremental exports are imported into the repository that contains the previous export.
+      boolean incremental = importer.loadExportMeta().getIncremental();
+      if (erase && incremental) {
+        throw new PicocliException(
+            ERASE_BEFORE_IMPORT + " cannot be used to import an incremental export.");
+      }
       if (erase) {
         spec.commandLine().getOut().println("Erasing repository...");
         persist.erase();
-      } else if (repositoryLogic(persist).repositoryExists()) {
+      } else if (!incremental && repositoryLogic(persist).repositoryExists()) {
         spec.commandLine()
             .getErr()
             .println(
@@ -198,8 +231,6 @@ public class ImportRepository extends BaseCommand {
         return EXIT_CODE_REPO_ALREADY_EXISTS;
       }
 
-      NessieImporter importer = builder.progressListener(new ImportProgressListener(out)).build();
-
       ImportResult importResult = importer.importNessieRepository();
 
       out.printf(
@@ -17,10 +17,25 @@ package org.projectnessie.quarkus.config;
 
 import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import java.util.Optional;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist.dynamodb")
 public interface QuarkusDynamoDBConfig {
   Optional<String> tablePrefix();
+
+  /**
+   * Whether the chunks of multi-object fetches are requested concurrently via the asynchronous
+   * DynamoDB client, configured via {@code quarkus.dynamodb.async-client.*}.
+   */
+  @WithDefault("false")
+  boolean asyncBatchReads();
+
+  /**
+   * Maximum number of concurrent {@code BatchGetItem} requests for a single multi-object fetch,
+   * only effective with {@link #asyncBatchReads()}.
+   */
+  @WithDefault("8")
+  int maxConcurrentBatchReads();
 }
@@ -16,8 +16,12 @@
 package org.projectnessie.quarkus.providers.storage;
 
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.CASSANDRA;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_CONCURRENCY_LATENCY_THRESHOLD;
 import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_DDL_TIMEOUT;
 import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_DML_TIMEOUT;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_INITIAL_CONCURRENT_REQUESTS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_MAX_CONCURRENT_REQUESTS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_MIN_CONCURRENT_REQUESTS;
 
 import com.datastax.oss.quarkus.runtime.api.session.QuarkusCqlSession;
 import jakarta.enterprise.context.Dependent;
@@ -53,6 +57,30 @@ public class CassandraBackendBuilder implements BackendBuilder {
       defaultValue = DEFAULT_DML_TIMEOUT)
   Duration dmlTimeout;
 
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.initial-concurrent-requests",
+      defaultValue = DEFAULT_INITIAL_CONCURRENT_REQUESTS)
+  int initialConcurrentRequests;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.min-concurrent-requests",
+      defaultValue = DEFAULT_MIN_CONCURRENT_REQUESTS)
+  int minConcurrentRequests;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.max-concurrent-requests",
+      defaultValue = DEFAULT_MAX_CONCURRENT_REQUESTS)
+  int maxConcurrentRequests;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.concurrency-latency-threshold",
+      defaultValue = DEFAULT_CONCURRENCY_LATENCY_THRESHOLD)
+  Duration concurrencyLatencyThreshold;
+
   @Override
   public Backend buildBackend() {
     CassandraBackendFactory factory = new CassandraBackendFactory();
@@ -63,6 +91,10 @@ public class CassandraBackendBuilder implements BackendBuilder {
               .keyspace(keyspace)
               .ddlTimeout(ddlTimeout)
               .dmlTimeout(dmlTimeout)
+              .initialConcurrentRequests(initialConcurrentRequests)
+              .minConcurrentRequests(minConcurrentRequests)
+              .maxConcurrentRequests(maxConcurrentRequests)
+              .concurrencyLatencyThreshold(concurrencyLatencyThreshold)
               .build();
       return factory.buildBackend(c);
     } catch (InterruptedException | ExecutionException e) {
@@ -18,12 +18,14 @@ package org.projectnessie.quarkus.providers.storage;
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.DYNAMODB;
 
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import org.projectnessie.quarkus.config.QuarkusDynamoDBConfig;
 import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendConfig;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @StoreType(DYNAMODB)
@@ -32,16 +34,22 @@ public class DynamoDBBackendBuilder implements BackendBuilder {
 
   @Inject DynamoDbClient client;
 
+  // Only resolved, if async batch reads are enabled
+  @Inject Instance<DynamoDbAsyncClient> asyncClient;
+
   @Inject QuarkusDynamoDBConfig dynamoDBConfig;
 
   @Override
   public Backend buildBackend() {
     DynamoDBBackendFactory factory = new DynamoDBBackendFactory();
-    DynamoDBBackendConfig c =
+    DynamoDBBackendConfig.Builder c =
         DynamoDBBackendConfig.builder()
             .client(client)
-            .tablePrefix(dynamoDBConfig.tablePrefix())
-            .build();
-    return factory.buildBackend(c);
+            .tablePrefix(dynamoDBConfig.tablePrefix());
+    if (dynamoDBConfig.asyncBatchReads()) {
+      c.asyncClient(asyncClient.get())
+          .maxConcurrentBatchReads(dynamoDBConfig.maxConcurrentBatchReads());
+    }
+    return factory.buildBackend(c.build());
   }
 }
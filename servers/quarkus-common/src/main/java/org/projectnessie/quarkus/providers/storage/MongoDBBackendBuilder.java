@@ -24,6 +24,7 @@ import io.quarkus.mongodb.runtime.MongoClients;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.projectnessie.quarkus.config.QuarkusMongoDBConfig;
 import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.mongodb.MongoDBBackendConfig;
@@ -37,6 +38,8 @@ public class MongoDBBackendBuilder implements BackendBuilder {
   @ConfigProperty(name = "quarkus.mongodb.database")
   String databaseName;
 
+  @Inject QuarkusMongoDBConfig mongoDBConfig;
+
   @Override
   public Backend buildBackend() {
     MongoClients mongoClients = Arc.container().instance(MongoClients.class).get();
@@ -45,7 +48,13 @@ public class MongoDBBackendBuilder implements BackendBuilder {
 
     MongoDBBackendFactory factory = new MongoDBBackendFactory();
     MongoDBBackendConfig c =
-        MongoDBBackendConfig.builder().databaseName(databaseName).client(client).build();
+        MongoDBBackendConfig.builder()
+            .databaseName(databaseName)
+            .client(client)
+            .fetchObjsBatchSize(mongoDBConfig.fetchObjsBatchSize())
+            .fetchObjsParallelism(mongoDBConfig.fetchObjsParallelism())
+            .secondaryObjReads(mongoDBConfig.secondaryObjReads())
+            .build();
     return factory.buildBackend(c);
   }
 }
@@ -21,7 +21,6 @@ import com.google.common.collect.ImmutableMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Supplier;
-import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.RepositoryConfig;
 import org.projectnessie.services.authz.AbstractBatchAccessChecker;
@@ -145,20 +144,7 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
       Check check,
       Supplier<String> errorMessageSupplier,
       Map<Check, String> failed) {
-    boolean allowed =
-        compiledRules.getRules().entrySet().stream()
-            .anyMatch(
-                entry -> {
-                  try {
-                    return entry.getValue().execute(Boolean.class, arguments);
-                  } catch (ScriptException e) {
-                    throw new RuntimeException(
-                        String.format(
-                            "Failed to execute authorization rule with id '%s' due to: %s",
-                            entry.getKey(), e.getMessage()),
-                        e);
-                  }
-                });
+    boolean allowed = compiledRules.isAllowed(arguments);
     if (!allowed) {
       failed.put(check, errorMessageSupplier.get());
     }
@@ -16,13 +16,24 @@
 package org.projectnessie.server.authz;
 
 import static org.projectnessie.services.authz.Check.CheckType.VIEW_REFERENCE;
+import static org.projectnessie.services.cel.CELUtil.VAR_OP;
+import static org.projectnessie.services.cel.CELUtil.VAR_PATH;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import io.quarkus.runtime.Startup;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.server.config.QuarkusNessieAuthorizationConfig;
@@ -31,12 +42,29 @@ import org.projectnessie.services.cel.CELUtil;
 /**
  * Compiles the authorization rules from {@link QuarkusNessieAuthorizationConfig} at startup and
  * provides access to them via {@link CompiledAuthorizationRules#getRules()}.
+ *
+ * <p>{@link #isAllowed(Map)} evaluates the rules against the arguments of a check. Rules that do
+ * not refer to the {@code path} variable are evaluated once per role, operation, reference and
+ * content type, instead of once per content key. Decisions are kept in bounded caches, keyed by
+ * the arguments that the rules may refer to: arguments whose names do not appear in any rule
+ * expression cannot change a decision, so they are not part of the cache key.
+ *
+ * <p>Rules of common shapes, like {@code op == 'READ_ENTITY_VALUE' && path.startsWith('db1.')},
+ * are recognized by {@link SimpleAuthorizationRule}, indexed by operation and evaluated without
+ * the CEL interpreter. All other rules are evaluated by CEL.
  */
 @Singleton
 @Startup
 public class CompiledAuthorizationRules {
   private final QuarkusNessieAuthorizationConfig config;
   private final Map<String, Script> compiledRules;
+  private final RuleSet pathIndependentRules;
+  private final RuleSet pathDependentRules;
+  private final Set<String> identifiers;
+  private final Cache<Map<String, Object>, Boolean> pathIndependentDecisions;
+  private final Cache<Map<String, Object>, Boolean> decisions;
+  private static final Pattern PATH_VARIABLE = Pattern.compile("\\b" + VAR_PATH + "\\b");
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
   private static final String ALLOW_VIEWING_ALL_REFS_ID = "__ALLOW_VIEWING_REF_ID";
   private static final String ALLOW_VIEWING_ALL_REFS =
       String.format("op=='%s' && ref.matches('.*')", VIEW_REFERENCE);
@@ -45,6 +73,60 @@ public class CompiledAuthorizationRules {
   public CompiledAuthorizationRules(QuarkusNessieAuthorizationConfig config) {
     this.config = config;
     this.compiledRules = compileAuthorizationRules();
+    RuleSet pathIndependent = new RuleSet();
+    RuleSet pathDependent = new RuleSet();
+    compiledRules.forEach(
+        (expression, script) ->
+            (dependsOnPath(expression) ? pathDependent : pathIndependent).add(expression, script));
+    this.pathIndependentRules = pathIndependent;
+    this.pathDependentRules = pathDependent;
+    Set<String> identifiers = new HashSet<>(pathIndependent.identifiers);
+    identifiers.addAll(pathDependent.identifiers);
+    this.identifiers = identifiers;
+    this.pathIndependentDecisions =
+        CacheBuilder.newBuilder().maximumSize(config.decisionCacheSize()).build();
+    this.decisions = CacheBuilder.newBuilder().maximumSize(config.decisionCacheSize()).build();
+  }
+
+  /**
+   * Whether the given rule expression may refer to the {@code path} variable. This is a
+   * conservative, lexical check: a rule that mentions {@code path} anywhere, even in a string
+   * literal, is considered to depend on it.
+   */
+  static boolean dependsOnPath(String expression) {
+    return PATH_VARIABLE.matcher(expression).find();
+  }
+
+  /**
+   * Returns all identifiers in the given rule expression, which include all variables the
+   * expression refers to. Like {@link #dependsOnPath(String)}, this is a conservative, lexical
+   * check that also returns function names and words in string literals.
+   */
+  static Set<String> identifiers(String expression) {
+    Set<String> identifiers = new HashSet<>();
+    Matcher matcher = IDENTIFIER.matcher(expression);
+    while (matcher.find()) {
+      identifiers.add(matcher.group());
+    }
+    return identifiers;
+  }
+
+  /**
+   * Returns the arguments the given rules may refer to, used as the key of cached decisions.
+   * Returns the given map itself if all arguments are referenced.
+   */
+  static Map<String, Object> decisionKey(Map<String, Object> arguments, Set<String> identifiers) {
+    if (identifiers.containsAll(arguments.keySet())) {
+      return arguments;
+    }
+    ImmutableMap.Builder<String, Object> key = ImmutableMap.builder();
+    arguments.forEach(
+        (name, value) -> {
+          if (identifiers.contains(name)) {
+            key.put(name, value);
+          }
+        });
+    return key.build();
   }
 
   /**
@@ -89,4 +171,122 @@ public class CompiledAuthorizationRules {
   public Map<String, Script> getRules() {
     return compiledRules;
   }
+
+  /**
+   * Returns whether any of the authorization rules allows the check described by the given
+   * arguments.
+   *
+   * @param arguments The arguments passed to the rule expressions
+   * @return {@code true} if any rule allows the check
+   */
+  public boolean isAllowed(Map<String, Object> arguments) {
+    if (!pathDependentRules.hasScripts()) {
+      // No CEL evaluation per content key, caching the decision would not be cheaper.
+      return isAllowedIgnoringPath(arguments) || pathDependentRules.allows(arguments);
+    }
+    Map<String, Object> key = decisionKey(arguments, identifiers);
+    Boolean allowed = decisions.getIfPresent(key);
+    if (allowed == null) {
+      allowed = isAllowedIgnoringPath(arguments) || pathDependentRules.allows(arguments);
+      decisions.put(key, allowed);
+    }
+    return allowed;
+  }
+
+  private boolean isAllowedIgnoringPath(Map<String, Object> arguments) {
+    if (pathIndependentRules.isEmpty()) {
+      return false;
+    }
+    if (!pathIndependentRules.hasScripts()) {
+      return pathIndependentRules.allows(arguments);
+    }
+    Map<String, Object> withoutPath = arguments;
+    if (!"".equals(arguments.getOrDefault(VAR_PATH, ""))) {
+      withoutPath = new HashMap<>(arguments);
+      withoutPath.put(VAR_PATH, "");
+    }
+    Map<String, Object> key = decisionKey(withoutPath, pathIndependentRules.identifiers);
+    Boolean allowed = pathIndependentDecisions.getIfPresent(key);
+    if (allowed == null) {
+      allowed = pathIndependentRules.allows(withoutPath);
+      pathIndependentDecisions.put(key, allowed);
+    }
+    return allowed;
+  }
+
+  /**
+   * A set of rules: rules recognized by {@link SimpleAuthorizationRule} are indexed by the
+   * operations they allow and evaluated without CEL, all other rules are evaluated by CEL.
+   */
+  private static final class RuleSet {
+    private final Map<String, List<SimpleAuthorizationRule>> simpleRulesByOp = new HashMap<>();
+    private final List<SimpleAuthorizationRule> simpleRulesForAnyOp = new ArrayList<>();
+    private final Map<String, SimpleAuthorizationRule> simpleRules = new HashMap<>();
+    private final Map<String, Script> scripts = new HashMap<>();
+    private final Set<String> identifiers = new HashSet<>();
+
+    void add(String expression, Script script) {
+      scripts.put(expression, script);
+      identifiers.addAll(identifiers(expression));
+      SimpleAuthorizationRule rule = SimpleAuthorizationRule.parse(expression);
+      if (rule == null) {
+        return;
+      }
+      simpleRules.put(expression, rule);
+      Set<String> operations = rule.operations();
+      if (operations == null) {
+        simpleRulesForAnyOp.add(rule);
+      } else {
+        operations.forEach(
+            op -> simpleRulesByOp.computeIfAbsent(op, x -> new ArrayList<>()).add(rule));
+      }
+    }
+
+    boolean isEmpty() {
+      return scripts.isEmpty();
+    }
+
+    /** Whether any rule of this set must be evaluated by CEL. */
+    boolean hasScripts() {
+      return scripts.size() > simpleRules.size();
+    }
+
+    boolean allows(Map<String, Object> arguments) {
+      List<SimpleAuthorizationRule> forOp =
+          simpleRulesByOp.getOrDefault(arguments.get(VAR_OP), Collections.emptyList());
+      if (anySimpleRuleAllows(forOp, arguments)
+          || anySimpleRuleAllows(simpleRulesForAnyOp, arguments)) {
+        return true;
+      }
+      for (Map.Entry<String, Script> entry : scripts.entrySet()) {
+        SimpleAuthorizationRule simple = simpleRules.get(entry.getKey());
+        if (simple != null && simple.canEvaluate(arguments)) {
+          // already evaluated above
+          continue;
+        }
+        try {
+          if (entry.getValue().execute(Boolean.class, arguments)) {
+            return true;
+          }
+        } catch (ScriptException e) {
+          throw new RuntimeException(
+              String.format(
+                  "Failed to execute authorization rule with id '%s' due to: %s",
+                  entry.getKey(), e.getMessage()),
+              e);
+        }
+      }
+      return false;
+    }
+
+    private static boolean anySimpleRuleAllows(
+        List<SimpleAuthorizationRule> rules, Map<String, Object> arguments) {
+      for (SimpleAuthorizationRule rule : rules) {
+        if (rule.canEvaluate(arguments) && rule.test(arguments)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
 }
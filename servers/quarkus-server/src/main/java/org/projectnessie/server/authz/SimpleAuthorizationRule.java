@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.authz;
+
+import static org.projectnessie.services.cel.CELUtil.VAR_OP;
+import static org.projectnessie.services.cel.CELUtil.VAR_PATH;
+import static org.projectnessie.services.cel.CELUtil.VAR_REF;
+import static org.projectnessie.services.cel.CELUtil.VAR_ROLE;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An authorization rule that is a conjunction of simple conditions on the {@code ref}, {@code
+ * path}, {@code role} and {@code op} variables, evaluated without the CEL interpreter.
+ *
+ * <p>The recognized conditions are {@code var == 'literal'} (or {@code 'literal' == var}), {@code
+ * var in ['a', 'b']}, {@code var.startsWith('literal')} and {@code var.matches('.*')}, combined
+ * with {@code &&}. String literals must not contain escape sequences. Rules of any other shape are
+ * not recognized by {@link #parse(String)} and must be evaluated by CEL.
+ */
+final class SimpleAuthorizationRule {
+
+  private static final Set<String> VARIABLES = ImmutableSet.of(VAR_REF, VAR_PATH, VAR_ROLE, VAR_OP);
+
+  private final List<Condition> conditions;
+
+  private SimpleAuthorizationRule(List<Condition> conditions) {
+    this.conditions = conditions;
+  }
+
+  /**
+   * Parses the given rule expression.
+   *
+   * @return the parsed rule or {@code null}, if the expression is not of a recognized shape
+   */
+  static SimpleAuthorizationRule parse(String expression) {
+    List<String> tokens = tokenize(expression);
+    if (tokens == null || tokens.isEmpty()) {
+      return null;
+    }
+    List<Condition> conditions = new ArrayList<>();
+    int pos = 0;
+    while (true) {
+      int next = parseCondition(tokens, pos, conditions);
+      if (next < 0) {
+        return null;
+      }
+      if (next == tokens.size()) {
+        return new SimpleAuthorizationRule(ImmutableList.copyOf(conditions));
+      }
+      if (!tokens.get(next).equals("&&")) {
+        return null;
+      }
+      pos = next + 1;
+    }
+  }
+
+  /**
+   * Returns the values the {@code op} variable must be equal to, or {@code null}, if the rule does
+   * not restrict the operation to a fixed set of values.
+   */
+  Set<String> operations() {
+    Set<String> operations = null;
+    for (Condition condition : conditions) {
+      if (condition.variable.equals(VAR_OP) && condition.values != null) {
+        operations =
+            operations == null
+                ? condition.values
+                : ImmutableSet.copyOf(
+                    operations.stream().filter(condition.values::contains).iterator());
+      }
+    }
+    return operations;
+  }
+
+  /**
+   * Whether the rule can be evaluated against the given arguments, which is the case if all
+   * variables that the rule refers to are present. CEL fails to evaluate a rule that refers to a
+   * missing variable.
+   */
+  boolean canEvaluate(Map<String, Object> arguments) {
+    for (Condition condition : conditions) {
+      if (!(arguments.get(condition.variable) instanceof String)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Evaluates the rule, {@link #canEvaluate(Map)} must return {@code true}. */
+  boolean test(Map<String, Object> arguments) {
+    for (Condition condition : conditions) {
+      if (!condition.test((String) arguments.get(condition.variable))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses a single condition starting at {@code pos}, returns the position after the condition or
+   * {@code -1}, if the tokens at {@code pos} do not form a recognized condition.
+   */
+  private static int parseCondition(List<String> tokens, int pos, List<Condition> conditions) {
+    String first = token(tokens, pos);
+    String second = token(tokens, pos + 1);
+    if (first == null || second == null) {
+      return -1;
+    }
+
+    if (isLiteral(first) && second.equals("==") && isVariable(token(tokens, pos + 2))) {
+      conditions.add(Condition.equalsAny(tokens.get(pos + 2), ImmutableSet.of(literal(first))));
+      return pos + 3;
+    }
+
+    if (!isVariable(first)) {
+      return -1;
+    }
+    switch (second) {
+      case "==":
+        String value = token(tokens, pos + 2);
+        if (!isLiteral(value)) {
+          return -1;
+        }
+        conditions.add(Condition.equalsAny(first, ImmutableSet.of(literal(value))));
+        return pos + 3;
+      case "in":
+        if (!"[".equals(token(tokens, pos + 2))) {
+          return -1;
+        }
+        ImmutableSet.Builder<String> values = ImmutableSet.builder();
+        int i = pos + 3;
+        while (true) {
+          String item = token(tokens, i);
+          if (!isLiteral(item)) {
+            return -1;
+          }
+          values.add(literal(item));
+          String separator = token(tokens, i + 1);
+          if ("]".equals(separator)) {
+            conditions.add(Condition.equalsAny(first, values.build()));
+            return i + 2;
+          }
+          if (!",".equals(separator)) {
+            return -1;
+          }
+          i += 2;
+        }
+      case ".":
+        String function = token(tokens, pos + 2);
+        String argument = token(tokens, pos + 4);
+        if (!"(".equals(token(tokens, pos + 3))
+            || !isLiteral(argument)
+            || !")".equals(token(tokens, pos + 5))) {
+          return -1;
+        }
+        if ("startsWith".equals(function)) {
+          conditions.add(Condition.startsWith(first, literal(argument)));
+          return pos + 6;
+        }
+        if ("matches".equals(function) && literal(argument).equals(".*")) {
+          // Matches any string, but the variable must still be present.
+          conditions.add(Condition.startsWith(first, ""));
+          return pos + 6;
+        }
+        return -1;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Splits the expression into identifiers, string literals including their quotes, and the
+   * operators/punctuation used by the recognized conditions. Returns {@code null} if the expression
+   * contains anything else.
+   */
+  private static List<String> tokenize(String expression) {
+    List<String> tokens = new ArrayList<>();
+    int len = expression.length();
+    int i = 0;
+    while (i < len) {
+      char c = expression.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '\'' || c == '"') {
+        int end = expression.indexOf(c, i + 1);
+        if (end < 0) {
+          return null;
+        }
+        String literal = expression.substring(i, end + 1);
+        if (literal.indexOf('\\') >= 0 || literal.indexOf('\n') >= 0) {
+          return null;
+        }
+        tokens.add(literal);
+        i = end + 1;
+      } else if (Character.isJavaIdentifierStart(c)) {
+        int end = i + 1;
+        while (end < len && Character.isJavaIdentifierPart(expression.charAt(end))) {
+          end++;
+        }
+        tokens.add(expression.substring(i, end));
+        i = end;
+      } else if (expression.startsWith("&&", i) || expression.startsWith("==", i)) {
+        tokens.add(expression.substring(i, i + 2));
+        i += 2;
+      } else if (".()[],".indexOf(c) >= 0) {
+        tokens.add(String.valueOf(c));
+        i++;
+      } else {
+        return null;
+      }
+    }
+    return tokens;
+  }
+
+  private static String token(List<String> tokens, int pos) {
+    return pos < tokens.size() ? tokens.get(pos) : null;
+  }
+
+  private static boolean isVariable(String token) {
+    return token != null && VARIABLES.contains(token);
+  }
+
+  private static boolean isLiteral(String token) {
+    return token != null
+        && token.length() >= 2
+        && (token.charAt(0) == '\'' || token.charAt(0) == '"');
+  }
+
+  private static String literal(String token) {
+    return token.substring(1, token.length() - 1);
+  }
+
+  private static final class Condition {
+    final String variable;
+    final Set<String> values;
+    final String prefix;
+
+    private Condition(String variable, Set<String> values, String prefix) {
+      this.variable = variable;
+      this.values = values;
+      this.prefix = prefix;
+    }
+
+    static Condition equalsAny(String variable, Set<String> values) {
+      return new Condition(variable, values, null);
+    }
+
+    static Condition startsWith(String variable, String prefix) {
+      return new Condition(variable, null, prefix);
+    }
+
+    boolean test(String value) {
+      return values != null ? values.contains(value) : value.startsWith(prefix);
+    }
+  }
+}
@@ -42,4 +42,15 @@ public interface QuarkusNessieAuthorizationConfig {
    *     expression.
    */
   Map<String, String> rules();
+
+  /**
+   * The maximum number of cached authorization decisions. Decisions only depend on the role, the
+   * operation, the reference and the content key and type of a check, so they can be reused across
+   * requests. Zero disables the cache.
+   *
+   * @return The maximum number of cached authorization decisions.
+   */
+  @WithName("decision-cache-size")
+  @WithDefault("10000")
+  int decisionCacheSize();
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.authz;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.server.config.QuarkusNessieAuthorizationConfig;
+
+class TestCompiledAuthorizationRules {
+
+  static final List<String> OPS =
+      List.of("VIEW_REFERENCE", "CREATE_REFERENCE", "READ_ENTITY_VALUE", "UPDATE_ENTITY");
+  static final List<String> REFS = List.of("main", "dev", "dev-1", "");
+  static final List<String> PATHS = List.of("", "db1", "db1.tbl", "db2.tbl", "db1.sub.tbl");
+  static final List<String> ROLES = List.of("admin", "user", "");
+
+  static QuarkusNessieAuthorizationConfig config(Map<String, String> rules, int cacheSize) {
+    return new QuarkusNessieAuthorizationConfig() {
+      @Override
+      public boolean enabled() {
+        return true;
+      }
+
+      @Override
+      public Map<String, String> rules() {
+        return rules;
+      }
+
+      @Override
+      public int decisionCacheSize() {
+        return cacheSize;
+      }
+    };
+  }
+
+  static Map<String, String> rules(String... expressions) {
+    Map<String, String> rules = new HashMap<>();
+    for (int i = 0; i < expressions.length; i++) {
+      rules.put("rule" + i, expressions[i]);
+    }
+    return rules;
+  }
+
+  static List<Map<String, Object>> allArguments() {
+    List<Map<String, Object>> arguments = new ArrayList<>();
+    for (String op : OPS) {
+      for (String ref : REFS) {
+        for (String path : PATHS) {
+          for (String role : ROLES) {
+            arguments.add(
+                ImmutableMap.of(
+                    "op", op,
+                    "ref", ref,
+                    "path", path,
+                    "role", role,
+                    "contentType", "ICEBERG_TABLE"));
+          }
+        }
+      }
+    }
+    return arguments;
+  }
+
+  /** Evaluates all compiled rules with CEL, without the fast paths and caches. */
+  static boolean allowedByCel(CompiledAuthorizationRules rules, Map<String, Object> arguments)
+      throws ScriptException {
+    for (Script script : rules.getRules().values()) {
+      if (script.execute(Boolean.class, arguments)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static Stream<Arguments> ruleSets() {
+    return Stream.of(
+        // simple rules only
+        Arguments.of(
+            rules(
+                "op == 'VIEW_REFERENCE' && role == 'user'",
+                "op in ['READ_ENTITY_VALUE', 'UPDATE_ENTITY'] && path.startsWith('db1.')",
+                "role == 'admin'")),
+        // CEL-only rules, path-independent and path-dependent
+        Arguments.of(
+            rules(
+                "op == 'VIEW_REFERENCE' || ref == 'main'",
+                "ref.matches('dev.*') && role != ''",
+                "op == 'READ_ENTITY_VALUE' && path.matches('^db1\\\\..*$')")),
+        // mixed
+        Arguments.of(
+            rules(
+                "op == 'CREATE_REFERENCE' && role == 'admin'",
+                "op == 'UPDATE_ENTITY' && ref.startsWith('dev') && path.startsWith('db2')",
+                "size(path) > 7 && role == 'user'",
+                "op != 'VIEW_REFERENCE' && ref == ''")),
+        // no rules: only the default rule allowing to view all references
+        Arguments.of(rules()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("ruleSets")
+  void decisionsMatchCel(Map<String, String> ruleExpressions) throws Exception {
+    for (int cacheSize : new int[] {0, 10000}) {
+      CompiledAuthorizationRules rules =
+          new CompiledAuthorizationRules(config(ruleExpressions, cacheSize));
+      // twice, so that the second round uses cached decisions
+      for (int round = 0; round < 2; round++) {
+        for (Map<String, Object> arguments : allArguments()) {
+          assertThat(rules.isAllowed(arguments))
+              .describedAs("rules %s, arguments %s", ruleExpressions, arguments)
+              .isEqualTo(allowedByCel(rules, arguments));
+        }
+      }
+    }
+  }
+
+  @Test
+  void decisionKey() {
+    Map<String, Object> arguments =
+        ImmutableMap.of(
+            "op", "READ_ENTITY_VALUE",
+            "ref", "main",
+            "path", "db1.tbl",
+            "role", "admin",
+            "contentType", "ICEBERG_TABLE");
+
+    assertThat(
+            CompiledAuthorizationRules.decisionKey(
+                arguments,
+                CompiledAuthorizationRules.identifiers("op == 'READ_ENTITY_VALUE' && role == 'x'")))
+        .isEqualTo(ImmutableMap.of("op", "READ_ENTITY_VALUE", "role", "admin"));
+    assertThat(
+            CompiledAuthorizationRules.decisionKey(
+                arguments, CompiledAuthorizationRules.identifiers("path.startsWith('db1.')")))
+        .isEqualTo(ImmutableMap.of("path", "db1.tbl"));
+    assertThat(
+            CompiledAuthorizationRules.decisionKey(
+                arguments,
+                CompiledAuthorizationRules.identifiers(
+                    "op == 'x' && ref == 'y' && path == 'z' && role == 'r' && contentType")))
+        .isSameAs(arguments);
+  }
+
+  @Test
+  void identifiers() {
+    assertThat(CompiledAuthorizationRules.identifiers("path.startsWith('db1.') && role == 'x'"))
+        .containsExactlyInAnyOrder("path", "startsWith", "db1", "role", "x");
+  }
+
+  @Test
+  void cachedDecisionIgnoresUnreferencedArguments() {
+    CompiledAuthorizationRules rules =
+        new CompiledAuthorizationRules(
+            config(rules("op == 'READ_ENTITY_VALUE' && path.matches('db1\\\\..*')"), 100));
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("op", "READ_ENTITY_VALUE");
+    arguments.put("ref", "main");
+    arguments.put("path", "db1.tbl");
+    arguments.put("role", "admin");
+    assertThat(rules.isAllowed(arguments)).isTrue();
+    // a different role and reference reuse the same decision
+    arguments.put("role", "user");
+    arguments.put("ref", "dev");
+    assertThat(rules.isAllowed(arguments)).isTrue();
+    arguments.put("path", "db2.tbl");
+    assertThat(rules.isAllowed(arguments)).isFalse();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.authz;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.cel.tools.Script;
+
+class TestSimpleAuthorizationRule {
+
+  static Map<String, Object> args(String op, String ref, String path, String role) {
+    return ImmutableMap.of(
+        "op", op, "ref", ref, "path", path, "role", role, "contentType", "ICEBERG_TABLE");
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "op == 'VIEW_REFERENCE' || ref == 'main'",
+        "!(op == 'VIEW_REFERENCE')",
+        "op != 'VIEW_REFERENCE'",
+        "path.startsWith('a\\\\.b')",
+        "ref.matches('ma.*')",
+        "size(path) > 3",
+        "(op == 'VIEW_REFERENCE')",
+        "op == 'VIEW_REFERENCE' &&",
+        "operations.exists(o, o.type == 'PUT')",
+        "op in ['A', 'B'",
+        "'a' == 'a'",
+        "true",
+        ""
+      })
+  void notRecognized(String expression) {
+    assertThat(SimpleAuthorizationRule.parse(expression)).isNull();
+  }
+
+  @Test
+  void equality() {
+    SimpleAuthorizationRule rule =
+        SimpleAuthorizationRule.parse("op=='CREATE_REFERENCE' && 'admin' == role");
+    assertThat(rule).isNotNull();
+    assertThat(rule.operations()).containsExactly("CREATE_REFERENCE");
+    assertThat(rule.test(args("CREATE_REFERENCE", "main", "", "admin"))).isTrue();
+    assertThat(rule.test(args("CREATE_REFERENCE", "main", "", "user"))).isFalse();
+    assertThat(rule.test(args("DELETE_REFERENCE", "main", "", "admin"))).isFalse();
+  }
+
+  @Test
+  void startsWithAndIn() {
+    SimpleAuthorizationRule rule =
+        SimpleAuthorizationRule.parse(
+            "op in ['READ_ENTITY_VALUE', \"UPDATE_ENTITY\"] && path.startsWith('db1.')"
+                + " && ref.startsWith('dev')");
+    assertThat(rule).isNotNull();
+    assertThat(rule.operations()).containsExactlyInAnyOrder("READ_ENTITY_VALUE", "UPDATE_ENTITY");
+    assertThat(rule.test(args("READ_ENTITY_VALUE", "dev-1", "db1.tbl", "x"))).isTrue();
+    assertThat(rule.test(args("UPDATE_ENTITY", "dev", "db1.", "x"))).isTrue();
+    assertThat(rule.test(args("UPDATE_ENTITY", "main", "db1.tbl", "x"))).isFalse();
+    assertThat(rule.test(args("READ_ENTITY_VALUE", "dev", "db2.tbl", "x"))).isFalse();
+    assertThat(rule.test(args("DELETE_ENTITY", "dev", "db1.tbl", "x"))).isFalse();
+  }
+
+  @Test
+  void operations() {
+    assertThat(SimpleAuthorizationRule.parse("path.startsWith('db1.')").operations()).isNull();
+    assertThat(
+            SimpleAuthorizationRule.parse("op in ['A', 'B'] && op in ['B', 'C']").operations())
+        .containsExactly("B");
+  }
+
+  @Test
+  void matchesAnything() {
+    SimpleAuthorizationRule rule =
+        SimpleAuthorizationRule.parse("op=='VIEW_REFERENCE' && ref.matches('.*')");
+    assertThat(rule).isNotNull();
+    assertThat(rule.test(args("VIEW_REFERENCE", "anything", "", ""))).isTrue();
+    assertThat(rule.test(args("VIEW_REFERENCE", "", "", ""))).isTrue();
+  }
+
+  @Test
+  void canEvaluate() {
+    SimpleAuthorizationRule rule = SimpleAuthorizationRule.parse("role == 'admin'");
+    assertThat(rule).isNotNull();
+    assertThat(rule.canEvaluate(args("VIEW_REFERENCE", "main", "", "admin"))).isTrue();
+    assertThat(rule.canEvaluate(ImmutableMap.of("type", "GARBAGE_COLLECTOR"))).isFalse();
+  }
+
+  /** Compiles the expression as the authorization rules do. */
+  static Script celScript(String expression) {
+    return new CompiledAuthorizationRules(
+            TestCompiledAuthorizationRules.config(
+                TestCompiledAuthorizationRules.rules(expression), 0))
+        .getRules()
+        .get(expression);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "op == 'VIEW_REFERENCE'",
+        "'VIEW_REFERENCE' == op",
+        "op == \"CREATE_REFERENCE\"",
+        "role == ''",
+        "ref == 'main' && role == 'admin'",
+        "op in ['READ_ENTITY_VALUE', 'UPDATE_ENTITY']",
+        "op in ['READ_ENTITY_VALUE'] && path.startsWith('db1.')",
+        "path.startsWith('db1')",
+        "path.startsWith('')",
+        "ref.startsWith('dev') && role in ['admin', 'user']",
+        "ref.matches('.*')",
+        "op=='VIEW_REFERENCE'&&ref.matches('.*')",
+        "op == 'VIEW_REFERENCE' && op == 'CREATE_REFERENCE'",
+      })
+  void sameResultAsCel(String expression) throws Exception {
+    SimpleAuthorizationRule rule = SimpleAuthorizationRule.parse(expression);
+    assertThat(rule).describedAs(expression).isNotNull();
+    Script script = celScript(expression);
+    for (Map<String, Object> arguments : TestCompiledAuthorizationRules.allArguments()) {
+      assertThat(rule.canEvaluate(arguments)).isTrue();
+      assertThat(rule.test(arguments))
+          .describedAs("%s with %s", expression, arguments)
+          .isEqualTo(script.execute(Boolean.class, arguments));
+    }
+  }
+
+  /**
+   * Rules of shapes that look simple, but are not recognized, since the fast path would evaluate
+   * them differently than CEL. They must still be evaluated correctly via the compiled rules.
+   */
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "ref.matches('^main$')",
+        "ref.matches('^dev')",
+        "ref.matches('main')",
+        "path.matches('.*\\\\.tbl$')",
+        "path.startsWith(\"db1\\\\.\")",
+        "path.startsWith('') == false",
+        "op == 'VIEW_REFERENCE' || path.startsWith('')",
+      })
+  void notRecognizedButSameResultViaCompiledRules(String expression) throws Exception {
+    assertThat(SimpleAuthorizationRule.parse(expression)).describedAs(expression).isNull();
+    CompiledAuthorizationRules rules =
+        new CompiledAuthorizationRules(
+            TestCompiledAuthorizationRules.config(
+                TestCompiledAuthorizationRules.rules(expression), 100));
+    for (Map<String, Object> arguments : TestCompiledAuthorizationRules.allArguments()) {
+      assertThat(rules.isAllowed(arguments))
+          .describedAs("%s with %s", expression, arguments)
+          .isEqualTo(TestCompiledAuthorizationRules.allowedByCel(rules, arguments));
+    }
+  }
+
+  @Test
+  void startsWithOnEmptyPath() throws Exception {
+    Map<String, Object> emptyPath = args("READ_ENTITY_VALUE", "main", "", "admin");
+    for (String expression : new String[] {"path.startsWith('db1')", "path.startsWith('')"}) {
+      SimpleAuthorizationRule rule = SimpleAuthorizationRule.parse(expression);
+      assertThat(rule).isNotNull();
+      assertThat(rule.test(emptyPath))
+          .describedAs(expression)
+          .isEqualTo(celScript(expression).execute(Boolean.class, emptyPath));
+    }
+    assertThat(SimpleAuthorizationRule.parse("path.startsWith('db1')").test(emptyPath)).isFalse();
+    assertThat(SimpleAuthorizationRule.parse("path.startsWith('')").test(emptyPath)).isTrue();
+  }
+
+  @Test
+  void viaCompiledRules() {
+    CompiledAuthorizationRules rules =
+        new CompiledAuthorizationRules(
+            TestCompiledAuthorizationRules.config(
+                TestCompiledAuthorizationRules.rules(
+                    "op == 'VIEW_REFERENCE' && ref.matches('.*')",
+                    "op in ['READ_ENTITY_VALUE', 'UPDATE_ENTITY'] && path.startsWith('db1.')",
+                    "op == 'CREATE_REFERENCE' && role == 'admin'"),
+                100));
+    assertThat(rules.isAllowed(args("VIEW_REFERENCE", "", "", "user"))).isTrue();
+    assertThat(rules.isAllowed(args("READ_ENTITY_VALUE", "main", "db1.tbl", "user"))).isTrue();
+    assertThat(rules.isAllowed(args("READ_ENTITY_VALUE", "main", "db1", "user"))).isFalse();
+    assertThat(rules.isAllowed(args("UPDATE_ENTITY", "main", "", "user"))).isFalse();
+    assertThat(rules.isAllowed(args("CREATE_REFERENCE", "main", "", "admin"))).isTrue();
+    assertThat(rules.isAllowed(args("CREATE_REFERENCE", "main", "", "user"))).isFalse();
+    assertThat(rules.isAllowed(args("DELETE_REFERENCE", "main", "", "admin"))).isFalse();
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import static org.projectnessie.model.Validation.HASH_OR_RELATIVE_COMMIT_SPEC_PATTERN;
+
+import com.google.common.hash.Hashing;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import org.projectnessie.model.Detached;
+
+/**
+ * Identifies requests to the v2 tree API whose responses only depend on the request URI, because
+ * every reference in the request is pinned to a commit hash, for example {@code GET
+ * v2/trees/main@1122334455667788/contents/my.table}.
+ *
+ * <p>The responses to those requests get a (weak) {@code ETag} derived from the request URI.
+ * Responses for detached commits, like {@code v2/trees/@1122334455667788/contents/my.table}, can
+ * never change and get a {@code Cache-Control} header with the {@code immutable} directive. A
+ * request that names a reference fails once the reference has been deleted or reassigned so that
+ * the commit is no longer reachable from it, so those responses must be revalidated by the client
+ * and get the {@code no-cache} directive. Responses are {@code private}, because access checks
+ * apply to every request and shared caches must not serve them to other users.
+ */
+public final class ImmutableResponses {
+
+  /** {@code Cache-Control} header value for responses that only refer to detached commits. */
+  public static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+  /**
+   * {@code Cache-Control} header value for responses that refer to commits via named references,
+   * which can be stored, but must be revalidated using the {@code ETag}.
+   */
+  public static final String CACHE_CONTROL_REVALIDATE = "private, no-cache";
+
+  private ImmutableResponses() {}
+
+  /**
+   * Checks whether the response to a successful request with the given method, path (relative to
+   * the application root) and path parameters can never change.
+   */
+  public static boolean isImmutable(
+      String method, String path, Map<String, List<String>> pathParameters) {
+    return CACHE_CONTROL.equals(cacheControl(method, path, pathParameters));
+  }
+
+  /**
+   * Returns the {@code Cache-Control} header value for the response to a successful request with
+   * the given method, path (relative to the application root) and path parameters, either {@link
+   * #CACHE_CONTROL}, {@link #CACHE_CONTROL_REVALIDATE} or {@code null}, if the response must not
+   * get an {@code ETag} and {@code Cache-Control} header.
+   */
+  public static String cacheControl(
+      String method, String path, Map<String, List<String>> pathParameters) {
+    if (!"GET".equals(method)) {
+      return null;
+    }
+    if (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    if (!path.startsWith("v2/trees/")) {
+      return null;
+    }
+
+    List<String> refs;
+    if (pathParameters.containsKey("from-ref") && pathParameters.containsKey("to-ref")) {
+      refs = new ArrayList<>(pathParameters.get("from-ref"));
+      refs.addAll(pathParameters.get("to-ref"));
+      if (refs.size() != 2) {
+        return null;
+      }
+    } else if (pathParameters.containsKey("key")
+        || path.endsWith("/contents")
+        || path.endsWith("/entries")
+        || path.endsWith("/history")) {
+      refs = pathParameters.get("ref");
+      if (refs == null || refs.size() != 1) {
+        return null;
+      }
+    } else {
+      return null;
+    }
+
+    boolean detached = true;
+    for (String ref : refs) {
+      if (!isPinnedToCommit(ref)) {
+        return null;
+      }
+      detached &= isDetached(ref);
+    }
+    return detached ? CACHE_CONTROL : CACHE_CONTROL_REVALIDATE;
+  }
+
+  /**
+   * Checks whether the given reference path element, like {@code main@1122334455667788~2}, refers
+   * to a fixed commit. This is the case, if it contains an absolute commit hash. Relative commit
+   * specs are always resolved starting at the absolute hash, if present, so they do not change the
+   * result.
+   */
+  static boolean isPinnedToCommit(String refPathElement) {
+    int at = refPathElement.indexOf('@');
+    if (at < 0) {
+      return false;
+    }
+    Matcher matcher =
+        HASH_OR_RELATIVE_COMMIT_SPEC_PATTERN.matcher(refPathElement.substring(at + 1));
+    return matcher.matches() && matcher.group(1) != null;
+  }
+
+  /**
+   * Checks whether the given reference path element, which must be {@linkplain
+   * #isPinnedToCommit(String) pinned to a commit}, does not name a reference. This is the case for
+   * an empty name, like in {@code @1122334455667788}, and for {@code DETACHED@1122334455667788}.
+   * Note that {@code -@1122334455667788} names the default branch.
+   */
+  static boolean isDetached(String refPathElement) {
+    String name = refPathElement.substring(0, refPathElement.indexOf('@'));
+    return name.isEmpty() || Detached.REF_NAME.equals(name);
+  }
+
+  /** Computes the entity tag for an immutable response to a request for the given URI. */
+  public static String etag(URI requestUri) {
+    String pathAndQuery =
+        requestUri.getRawQuery() != null
+            ? requestUri.getRawPath() + '?' + requestUri.getRawQuery()
+            : requestUri.getRawPath();
+    return "W/\"" + Hashing.sha256().hashString(pathAndQuery, StandardCharsets.UTF_8) + '"';
+  }
+
+  /**
+   * Checks whether the value of an {@code If-None-Match} request header matches the given entity
+   * tag, using the weak comparison function.
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    String opaqueTag = stripWeak(etag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.equals("*") || stripWeak(candidate).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeak(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+}
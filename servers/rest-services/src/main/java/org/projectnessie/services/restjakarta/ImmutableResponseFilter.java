@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.restjakarta;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Provider;
+import org.projectnessie.services.rest.ImmutableResponses;
+
+/**
+ * Adds {@code ETag} and {@code Cache-Control} headers to successful responses for requests that are
+ * pinned to commit hashes, see {@link ImmutableResponses}, and turns those responses into {@code
+ * 304 Not Modified}, if the client already has the current representation.
+ */
+@Provider
+public class ImmutableResponseFilter implements ContainerResponseFilter {
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    if (response.getStatus() != Status.OK.getStatusCode()) {
+      return;
+    }
+    UriInfo uriInfo = request.getUriInfo();
+    String cacheControl =
+        ImmutableResponses.cacheControl(
+            request.getMethod(), uriInfo.getPath(), uriInfo.getPathParameters());
+    if (cacheControl == null) {
+      return;
+    }
+
+    String etag = ImmutableResponses.etag(uriInfo.getRequestUri());
+    MultivaluedMap<String, Object> headers = response.getHeaders();
+    headers.putSingle(HttpHeaders.ETAG, etag);
+    headers.putSingle(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+    if (ImmutableResponses.matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+      response.setStatus(Status.NOT_MODIFIED.getStatusCode());
+      response.setEntity(null);
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestImmutableResponses {
+
+  @ParameterizedTest
+  @CsvSource({
+    "GET,v2/trees/@11223344/contents/a.b,@11223344,IMMUTABLE",
+    "GET,v2/trees/DETACHED@11223344/contents/a.b,DETACHED@11223344,IMMUTABLE",
+    "GET,/v2/trees/@11223344/contents,@11223344,IMMUTABLE",
+    "GET,v2/trees/@11223344/entries,@11223344,IMMUTABLE",
+    "GET,v2/trees/@11223344~2/history,@11223344~2,IMMUTABLE",
+    "GET,v2/trees/main@11223344/contents/a.b,main@11223344,REVALIDATE",
+    "GET,/v2/trees/main@11223344/contents,main@11223344,REVALIDATE",
+    "GET,v2/trees/main@11223344/entries,main@11223344,REVALIDATE",
+    "GET,v2/trees/main@11223344~2/history,main@11223344~2,REVALIDATE",
+    "GET,v2/trees/-@11223344/entries,-@11223344,REVALIDATE",
+    "GET,v2/trees/@11223344*2023-01-01T00:00:00.000Z/entries,"
+        + "@11223344*2023-01-01T00:00:00.000Z,IMMUTABLE",
+    "GET,v2/trees/main@11223344*2023-01-01T00:00:00.000Z/entries,"
+        + "main@11223344*2023-01-01T00:00:00.000Z,REVALIDATE",
+    "GET,v2/trees/main/entries,main,NONE",
+    "GET,v2/trees/main@/entries,main@,NONE",
+    "GET,v2/trees/main@~2/entries,main@~2,NONE",
+    "GET,v2/trees/main@11223344,main@11223344,NONE",
+    "GET,v2/trees/@11223344,@11223344,NONE",
+    "GET,v2/trees/main@11223344/recent-changes,main@11223344,NONE",
+    "POST,v2/trees/main@11223344/contents,main@11223344,NONE",
+    "POST,v2/trees/@11223344/contents,@11223344,NONE",
+    "GET,trees/tree/main@11223344/entries,main@11223344,NONE",
+  })
+  void singleRef(String method, String path, String ref, Expected expected) {
+    Map<String, List<String>> pathParams = new HashMap<>();
+    pathParams.put("ref", singletonList(ref));
+    if (path.contains("/contents/")) {
+      pathParams.put("key", singletonList(path.substring(path.lastIndexOf('/') + 1)));
+    }
+    assertThat(ImmutableResponses.cacheControl(method, path, pathParams))
+        .isEqualTo(expected.cacheControl);
+    assertThat(ImmutableResponses.isImmutable(method, path, pathParams))
+        .isEqualTo(expected == Expected.IMMUTABLE);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "@11223344,@55667788,IMMUTABLE",
+    "@11223344,DETACHED@55667788,IMMUTABLE",
+    "main@11223344,dev@55667788,REVALIDATE",
+    "@11223344,dev@55667788,REVALIDATE",
+    "main@11223344,@55667788,REVALIDATE",
+    "main@11223344,dev,NONE",
+    "main,dev@55667788,NONE",
+    "@11223344,dev,NONE",
+  })
+  void diff(String fromRef, String toRef, Expected expected) {
+    Map<String, List<String>> pathParams = new HashMap<>();
+    pathParams.put("from-ref", singletonList(fromRef));
+    pathParams.put("to-ref", singletonList(toRef));
+    String path = "v2/trees/" + fromRef + "/diff/" + toRef;
+    assertThat(ImmutableResponses.cacheControl("GET", path, pathParams))
+        .isEqualTo(expected.cacheControl);
+    assertThat(ImmutableResponses.isImmutable("GET", path, pathParams))
+        .isEqualTo(expected == Expected.IMMUTABLE);
+  }
+
+  enum Expected {
+    IMMUTABLE(ImmutableResponses.CACHE_CONTROL),
+    REVALIDATE(ImmutableResponses.CACHE_CONTROL_REVALIDATE),
+    NONE(null);
+
+    final String cacheControl;
+
+    Expected(String cacheControl) {
+      this.cacheControl = cacheControl;
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "http://localhost/api/v2/trees/main@11223344/entries",
+        "http://localhost/api/v2/trees/main@11223344/entries?max-records=10",
+      })
+  void etag(String uri) {
+    String etag = ImmutableResponses.etag(URI.create(uri));
+    assertThat(etag).startsWith("W/\"").endsWith("\"");
+    assertThat(ImmutableResponses.etag(URI.create(uri))).isEqualTo(etag);
+    assertThat(ImmutableResponses.etag(URI.create(uri + "&x=y"))).isNotEqualTo(etag);
+
+    assertThat(ImmutableResponses.matches(null, etag)).isFalse();
+    assertThat(ImmutableResponses.matches("\"foo\"", etag)).isFalse();
+    assertThat(ImmutableResponses.matches(etag, etag)).isTrue();
+    assertThat(ImmutableResponses.matches(etag.substring(2), etag)).isTrue();
+    assertThat(ImmutableResponses.matches("\"foo\", " + etag, etag)).isTrue();
+    assertThat(ImmutableResponses.matches("*", etag)).isTrue();
+  }
+}
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.nessie.combined;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.ConfigApi;
 import org.projectnessie.api.v2.TreeApi;
 import org.projectnessie.api.v2.params.GetReferenceParams;
@@ -48,6 +49,12 @@ import org.projectnessie.model.Reference;
 
 final class CombinedClientImpl implements NessieApiV2 {
 
+  /**
+   * Runs the blocking calls of asynchronous requests on the calling thread. Requests are served
+   * in-process, there is no network I/O to overlap with.
+   */
+  static final Executor CALLING_THREAD = Runnable::run;
+
   private final ConfigApi configApi;
   private final TreeApi treeApi;
 
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.nessie.combined;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.TreeApi;
 import org.projectnessie.client.builder.BaseCommitMultipleOperationsBuilder;
 import org.projectnessie.error.NessieConflictException;
@@ -45,4 +46,9 @@ final class CombinedCommitMultipleOperations extends BaseCommitMultipleOperation
       throw CombinedClientImpl.maybeWrapException(e);
     }
   }
+
+  @Override
+  protected Executor executor() {
+    return CombinedClientImpl.CALLING_THREAD;
+  }
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.nessie.combined;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.TreeApi;
 import org.projectnessie.api.v2.params.ReferencesParams;
 import org.projectnessie.client.builder.BaseGetAllReferencesBuilder;
@@ -46,4 +47,9 @@ final class CombinedGetAllReferences extends BaseGetAllReferencesBuilder<Referen
       throw CombinedClientImpl.maybeWrapException(e);
     }
   }
+
+  @Override
+  protected Executor executor() {
+    return CombinedClientImpl.CALLING_THREAD;
+  }
 }
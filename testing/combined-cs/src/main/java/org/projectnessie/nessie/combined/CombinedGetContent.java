@@ -16,6 +16,7 @@
 package org.projectnessie.nessie.combined;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.TreeApi;
 import org.projectnessie.client.builder.BaseGetContentBuilder;
 import org.projectnessie.error.NessieNotFoundException;
@@ -69,4 +70,9 @@ final class CombinedGetContent extends BaseGetContentBuilder {
       throw CombinedClientImpl.maybeWrapException(e);
     }
   }
+
+  @Override
+  protected Executor executor() {
+    return CombinedClientImpl.CALLING_THREAD;
+  }
 }
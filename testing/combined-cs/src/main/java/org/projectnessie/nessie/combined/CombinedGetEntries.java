@@ -15,6 +15,7 @@
  */
 package org.projectnessie.nessie.combined;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.TreeApi;
 import org.projectnessie.api.v2.params.EntriesParams;
 import org.projectnessie.client.builder.BaseGetEntriesBuilder;
@@ -52,4 +53,9 @@ final class CombinedGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
       throw CombinedClientImpl.maybeWrapException(e);
     }
   }
+
+  @Override
+  protected Executor executor() {
+    return CombinedClientImpl.CALLING_THREAD;
+  }
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.nessie.combined;
 
+import java.util.concurrent.Executor;
 import org.projectnessie.api.v2.TreeApi;
 import org.projectnessie.api.v2.params.GetReferenceParams;
 import org.projectnessie.client.builder.BaseGetReferenceBuilder;
@@ -40,4 +41,9 @@ final class CombinedGetReference extends BaseGetReferenceBuilder {
       throw CombinedClientImpl.maybeWrapException(e);
     }
   }
+
+  @Override
+  protected Executor executor() {
+    return CombinedClientImpl.CALLING_THREAD;
+  }
 }
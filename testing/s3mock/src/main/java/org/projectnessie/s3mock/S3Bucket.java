@@ -42,6 +42,11 @@ public abstract class S3Bucket {
     return x -> false;
   }
 
+  @Value.Default
+  public Putter putter() {
+    return (key, contentType, data) -> false;
+  }
+
   @Value.Default
   public Lister lister() {
     return (String prefix) -> Stream.empty();
@@ -52,6 +57,15 @@ public abstract class S3Bucket {
     boolean delete(S3ObjectIdentifier objectIdentifier);
   }
 
+  @FunctionalInterface
+  public interface Putter {
+    /**
+     * Stores the given object data, returns {@code false} if the bucket does not support storing
+     * objects.
+     */
+    boolean put(String key, String contentType, byte[] data);
+  }
+
   @FunctionalInterface
   public interface Lister {
     Stream<ListElement> list(String prefix);
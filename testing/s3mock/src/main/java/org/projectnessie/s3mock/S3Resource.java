@@ -20,17 +20,22 @@ import static javax.ws.rs.core.HttpHeaders.IF_MATCH;
 import static javax.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
 import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
 import static javax.ws.rs.core.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static org.projectnessie.s3mock.util.S3Constants.CONTENT_ENCODING;
+import static org.projectnessie.s3mock.util.S3Constants.CONTENT_TYPE;
 import static org.projectnessie.s3mock.util.S3Constants.CONTINUATION_TOKEN;
 import static org.projectnessie.s3mock.util.S3Constants.ENCODING_TYPE;
 import static org.projectnessie.s3mock.util.S3Constants.LIST_TYPE;
 import static org.projectnessie.s3mock.util.S3Constants.MAX_KEYS;
 import static org.projectnessie.s3mock.util.S3Constants.RANGE;
 import static org.projectnessie.s3mock.util.S3Constants.START_AFTER;
+import static org.projectnessie.s3mock.util.S3Constants.X_AMZ_CONTENT_SHA256;
 import static org.projectnessie.s3mock.util.S3Constants.X_AMZ_REQUEST_ID;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -344,6 +349,66 @@ public class S3Resource {
                 .build());
   }
 
+  @PUT
+  @jakarta.ws.rs.PUT
+  @Path("/{bucketName:[a-z0-9.-]+}/{object:.+}")
+  @jakarta.ws.rs.Path("/{bucketName:[a-z0-9.-]+}/{object:.+}")
+  @Consumes(MediaType.WILDCARD)
+  @jakarta.ws.rs.Consumes(jakarta.ws.rs.core.MediaType.WILDCARD)
+  public Response putObject(
+      @PathParam("bucketName") @jakarta.ws.rs.PathParam("bucketName") String bucketName,
+      @PathParam("object") @jakarta.ws.rs.PathParam("object") String objectName,
+      @HeaderParam(CONTENT_TYPE) @jakarta.ws.rs.HeaderParam(CONTENT_TYPE) String contentType,
+      @HeaderParam(CONTENT_ENCODING) @jakarta.ws.rs.HeaderParam(CONTENT_ENCODING)
+          String contentEncoding,
+      @HeaderParam(X_AMZ_CONTENT_SHA256) @jakarta.ws.rs.HeaderParam(X_AMZ_CONTENT_SHA256)
+          String contentSha256,
+      byte[] body) {
+    return withBucket(
+        bucketName,
+        b -> {
+          boolean awsChunked =
+              (contentEncoding != null && contentEncoding.contains("aws-chunked"))
+                  || (contentSha256 != null && contentSha256.startsWith("STREAMING-"));
+          byte[] data = awsChunked ? decodeAwsChunked(body) : body;
+          if (!b.putter()
+              .put(
+                  objectName,
+                  contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM,
+                  data)) {
+            return notImplemented();
+          }
+          return Response.ok().tag(Integer.toHexString(Arrays.hashCode(data))).build();
+        });
+  }
+
+  /**
+   * Decodes the {@code aws-chunked} content encoding, in which each chunk is prefixed by a line
+   * containing the hex encoded chunk size and optional chunk extensions like the chunk signature.
+   * The last chunk has a size of zero and may be followed by trailing headers, which are ignored.
+   */
+  private static byte[] decodeAwsChunked(byte[] body) {
+    ByteArrayOutputStream decoded = new ByteArrayOutputStream(body.length);
+    int pos = 0;
+    while (pos < body.length) {
+      int lineEnd = pos;
+      while (lineEnd < body.length - 1 && !(body[lineEnd] == '\r' && body[lineEnd + 1] == '\n')) {
+        lineEnd++;
+      }
+      String header = new String(body, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+      int ext = header.indexOf(';');
+      int chunkSize = Integer.parseInt((ext >= 0 ? header.substring(0, ext) : header).trim(), 16);
+      if (chunkSize == 0) {
+        break;
+      }
+      pos = lineEnd + 2;
+      decoded.write(body, pos, chunkSize);
+      // skip the chunk data and the trailing CRLF
+      pos += chunkSize + 2;
+    }
+    return decoded.toByteArray();
+  }
+
   @DELETE
   @jakarta.ws.rs.DELETE
   @Path("/{bucketName:[a-z0-9.-]+}/{object:.+}")
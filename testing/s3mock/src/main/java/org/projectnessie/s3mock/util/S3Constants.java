@@ -19,6 +19,9 @@ public final class S3Constants {
 
   public static final String RANGE = "Range";
   public static final String X_AMZ_REQUEST_ID = "x-amz-request-id";
+  public static final String X_AMZ_CONTENT_SHA256 = "x-amz-content-sha256";
+  public static final String CONTENT_ENCODING = "Content-Encoding";
+  public static final String CONTENT_TYPE = "Content-Type";
 
   private S3Constants() {}
 
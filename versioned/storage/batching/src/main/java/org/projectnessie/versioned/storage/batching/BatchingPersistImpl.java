@@ -24,6 +24,10 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -43,14 +47,35 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   private final WriteBatching batching;
 
   private final Map<ObjId, Obj> pendingUpserts = new HashMap<>();
-  private final Map<ObjId, Obj> pendingStores = new HashMap<>();
+  private Map<ObjId, Obj> pendingStores = new HashMap<>();
 
   private final ReentrantReadWriteLock lock;
 
+  /** Executor for asynchronous batch writes, {@code null} if batches are written synchronously. */
+  private final Executor flushExecutor;
+
+  private final Semaphore inFlightPermits;
+  private final Set<InFlightBatch> inFlightBatches = ConcurrentHashMap.newKeySet();
+  private final AtomicReference<Throwable> asyncFailure = new AtomicReference<>();
+
   BatchingPersistImpl(WriteBatching batching) {
     checkArgument(batching.optimistic(), "Non-optimistic mode is not supported");
     this.batching = batching;
     this.lock = new ReentrantReadWriteLock();
+    this.flushExecutor = batching.flushExecutor();
+    this.inFlightPermits = new Semaphore(batching.maxInFlightFlushes());
+  }
+
+  /**
+   * A batch of stored objects that is being written asynchronously, compared by identity. The map
+   * is not modified after the batch has been submitted.
+   */
+  private static final class InFlightBatch {
+    final Map<ObjId, Obj> objs;
+
+    InFlightBatch(Map<ObjId, Obj> objs) {
+      this.objs = objs;
+    }
   }
 
   @VisibleForTesting
@@ -63,24 +88,111 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     return pendingStores;
   }
 
+  @VisibleForTesting
+  int inFlightBatches() {
+    return inFlightBatches.size();
+  }
+
   @Override
   public void flush() {
     if (batching.batchSize() > 0) {
       writeLock();
       try {
-        if (!pendingStores.isEmpty()) {
-          delegate().storeObjs(pendingStores.values().toArray(new Obj[0]));
-          pendingStores.clear();
-        }
-        if (!pendingUpserts.isEmpty()) {
-          delegate().upsertObjs(pendingUpserts.values().toArray(new Obj[0]));
-          pendingUpserts.clear();
-        }
-      } catch (ObjTooLargeException e) {
-        throw new RuntimeException(e);
+        writePendingStores();
+        writePendingUpserts();
       } finally {
         writeUnlock();
       }
+      awaitInFlightBatches();
+      checkAsyncFailure();
+    }
+  }
+
+  private void writePendingStores() {
+    if (!pendingStores.isEmpty()) {
+      try {
+        delegate().storeObjs(pendingStores.values().toArray(new Obj[0]));
+      } catch (ObjTooLargeException e) {
+        throw new RuntimeException(e);
+      }
+      pendingStores.clear();
+    }
+  }
+
+  private void writePendingUpserts() {
+    if (!pendingUpserts.isEmpty()) {
+      try {
+        delegate().upsertObjs(pendingUpserts.values().toArray(new Obj[0]));
+      } catch (ObjTooLargeException e) {
+        throw new RuntimeException(e);
+      }
+      pendingUpserts.clear();
+    }
+  }
+
+  /**
+   * Hands the pending stores over to the {@link #flushExecutor}, blocks until an in-flight permit
+   * is available. Must be called while holding the write lock.
+   */
+  private void writePendingStoresAsync() {
+    try {
+      inFlightPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+
+    InFlightBatch batch = new InFlightBatch(pendingStores);
+    inFlightBatches.add(batch);
+    pendingStores = new HashMap<>();
+    try {
+      flushExecutor.execute(
+          () -> {
+            try {
+              delegate().storeObjs(batch.objs.values().toArray(new Obj[0]));
+            } catch (Throwable t) {
+              if (!asyncFailure.compareAndSet(null, t)) {
+                asyncFailure.get().addSuppressed(t);
+              }
+            } finally {
+              // Remove the batch only after the write has finished, so the objects are either
+              // found in the batch or in the delegate.
+              inFlightBatches.remove(batch);
+              inFlightPermits.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      pendingStores = batch.objs;
+      inFlightBatches.remove(batch);
+      inFlightPermits.release();
+      throw e;
+    }
+  }
+
+  /** Waits until all asynchronous batch writes have finished. */
+  private void awaitInFlightBatches() {
+    if (flushExecutor != null) {
+      int permits = batching.maxInFlightFlushes();
+      try {
+        inFlightPermits.acquire(permits);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      inFlightPermits.release(permits);
+    }
+  }
+
+  private void checkAsyncFailure() {
+    Throwable failure = asyncFailure.get();
+    if (failure != null) {
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw new RuntimeException(failure);
     }
   }
 
@@ -106,9 +218,18 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
 
   private void maybeFlush() {
     if (batching.batchSize() > 0) {
-      if (pendingStores.size() > batching.batchSize()
-          || pendingUpserts.size() > batching.batchSize()) {
-        flush();
+      if (flushExecutor == null) {
+        if (pendingStores.size() > batching.batchSize()
+            || pendingUpserts.size() > batching.batchSize()) {
+          flush();
+        }
+        return;
+      }
+      if (pendingStores.size() > batching.batchSize()) {
+        writePendingStoresAsync();
+      }
+      if (pendingUpserts.size() > batching.batchSize()) {
+        writePendingUpserts();
       }
     }
   }
@@ -120,6 +241,7 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     if (!ignoreSoftSizeRestrictions) {
       verifySoftRestrictions(obj);
     }
+    checkAsyncFailure();
     writeLock();
     try {
       pendingStores.putIfAbsent(obj.id(), obj);
@@ -133,6 +255,7 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @Override
   public void upsertObj(@Nonnull @javax.annotation.Nonnull Obj obj) throws ObjTooLargeException {
     verifySoftRestrictions(obj);
+    checkAsyncFailure();
     writeLock();
     try {
       pendingUpserts.put(obj.id(), obj);
@@ -199,6 +322,14 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     if (r == null) {
       r = pendingStores.get(id);
     }
+    if (r == null && !inFlightBatches.isEmpty()) {
+      for (InFlightBatch batch : inFlightBatches) {
+        r = batch.objs.get(id);
+        if (r != null) {
+          break;
+        }
+      }
+    }
     return r;
   }
 
@@ -288,6 +419,7 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
 
   @Override
   public void deleteObj(@Nonnull @javax.annotation.Nonnull ObjId id) {
+    awaitInFlightBatches();
     writeLock();
     try {
       delegate().deleteObj(id);
@@ -314,6 +446,7 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
 
   @Override
   public void erase() {
+    awaitInFlightBatches();
     writeLock();
     try {
       pendingStores.clear();
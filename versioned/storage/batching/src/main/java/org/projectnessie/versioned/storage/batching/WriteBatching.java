@@ -15,13 +15,19 @@
  */
 package org.projectnessie.versioned.storage.batching;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import jakarta.annotation.Nullable;
+import java.util.concurrent.Executor;
 import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 
 @Value.Immutable
 public interface WriteBatching {
   int DEFAULT_BATCH_SIZE = 100;
   boolean DEFAULT_OPTIMISTIC = true;
+  int DEFAULT_MAX_IN_FLIGHT_FLUSHES = 4;
 
   static ImmutableWriteBatching.Builder builder() {
     return ImmutableWriteBatching.builder();
@@ -55,6 +61,36 @@ public interface WriteBatching {
     return DEFAULT_OPTIMISTIC;
   }
 
+  /**
+   * Optional executor used to write full batches of {@link Persist#storeObj(Obj) stored} objects
+   * asynchronously. If not set, a full batch is written synchronously by the thread that adds the
+   * object exceeding the {@link #batchSize() batch size}.
+   *
+   * <p>Objects of a batch that is being written remain visible via the fetch functions until the
+   * write has finished. Upserts are always written synchronously, because the order of upserts of
+   * the same object must be retained. {@link BatchingPersist#flush()} waits for all asynchronous
+   * writes and rethrows the first failure of an asynchronous write, later calls to store objects
+   * fail as well after a failure has been observed.
+   */
+  @Nullable
+  @javax.annotation.Nullable
+  Executor flushExecutor();
+
+  /**
+   * The maximum number of concurrently running asynchronous batch writes, only effective if a
+   * {@link #flushExecutor()} is configured. Storing objects blocks when a batch is full and this
+   * number of batch writes is in flight.
+   */
+  @Value.Default
+  default int maxInFlightFlushes() {
+    return DEFAULT_MAX_IN_FLIGHT_FLUSHES;
+  }
+
+  @Value.Check
+  default void check() {
+    checkArgument(maxInFlightFlushes() > 0, "maxInFlightFlushes must be greater than 0");
+  }
+
   default BatchingPersist create() {
     return new BatchingPersistImpl(this);
   }
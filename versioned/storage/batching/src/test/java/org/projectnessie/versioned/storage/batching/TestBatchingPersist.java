@@ -19,10 +19,16 @@ import static java.util.Arrays.stream;
 import static org.assertj.core.api.AssertionsForClassTypes.entry;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 import static org.projectnessie.versioned.storage.commontests.AbstractBasePersistTests.updateObjChange;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.assertj.core.api.SoftAssertions;
@@ -217,6 +223,77 @@ public class TestBatchingPersist {
     soft.assertThat(persist.pendingUpserts()).containsExactly(entry(obj.id(), updated));
   }
 
+  @Test
+  void asyncFlushes() throws Exception {
+    Obj[] objs = allObjectTypeSamples().toArray(Obj[]::new);
+    ObjId[] ids = stream(objs).map(Obj::id).toArray(ObjId[]::new);
+
+    CountDownLatch writesMayStart = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      BatchingPersistImpl persist =
+          (BatchingPersistImpl)
+              WriteBatching.builder()
+                  .persist(base)
+                  .batchSize(2)
+                  .maxInFlightFlushes(objs.length)
+                  .flushExecutor(
+                      r ->
+                          executor.execute(
+                              () -> {
+                                try {
+                                  writesMayStart.await();
+                                } catch (InterruptedException e) {
+                                  throw new RuntimeException(e);
+                                }
+                                r.run();
+                              }))
+                  .build()
+                  .create();
+
+      persist.storeObjs(objs);
+      soft.assertThat(persist.inFlightBatches()).isGreaterThan(0);
+      soft.assertThat(persist.pendingStores()).hasSizeLessThanOrEqualTo(2);
+      // Objects of in-flight batches are visible
+      soft.assertThat(persist.fetchObjs(ids)).containsExactly(objs);
+
+      writesMayStart.countDown();
+      persist.flush();
+      soft.assertThat(persist.inFlightBatches()).isEqualTo(0);
+      soft.assertThat(persist.pendingStores()).isEmpty();
+      soft.assertThat(base.fetchObjs(ids)).containsExactly(objs);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void asyncFlushFailure() throws Exception {
+    Obj[] objs = allObjectTypeSamples().toArray(Obj[]::new);
+
+    Persist failing = spy(base);
+    doThrow(new IllegalStateException("write failed")).when(failing).storeObjs(any());
+
+    BatchingPersistImpl persist =
+        (BatchingPersistImpl)
+            WriteBatching.builder()
+                .persist(failing)
+                .batchSize(2)
+                .flushExecutor(Runnable::run)
+                .build()
+                .create();
+
+    // The failure of the asynchronous write is reported by the next store attempt ...
+    soft.assertThatThrownBy(() -> persist.storeObjs(objs))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("write failed");
+    soft.assertThat(persist.inFlightBatches()).isEqualTo(0);
+    // ... and by flush()
+    soft.assertThatThrownBy(persist::flush)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("write failed");
+  }
+
   private Persist base() {
     InmemoryBackendFactory factory = new InmemoryBackendFactory();
     @SuppressWarnings("resource")
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.datastax.oss.driver.api.core.servererrors.OverloadedException;
+import com.datastax.oss.driver.api.core.servererrors.ReadTimeoutException;
+import com.datastax.oss.driver.api.core.servererrors.WriteTimeoutException;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD (additive increase, multiplicative decrease) limit for the number of concurrently running
+ * asynchronous requests of one kind, reads, writes or deletes, issued via a {@link
+ * CassandraBackend}. A permit must be acquired before a request is sent.
+ *
+ * <p>The limit grows by one after {@code limit} consecutive requests that completed successfully
+ * within the latency threshold. It is halved when a request times out, when a coordinator reports
+ * that it is overloaded or when the latency threshold is exceeded. At most one decrease happens per
+ * latency-threshold interval, so a burst of slow requests that were all in flight at the same time
+ * does not collapse the limit to its minimum. The limit always stays within {@code [min, max]}.
+ */
+final class AdaptiveConcurrencyLimit {
+
+  private final int min;
+  private final int max;
+  private final long latencyThresholdNanos;
+  private final LongSupplier nanoClock;
+
+  private int limit;
+  private int inFlight;
+  private int successesSinceIncrease;
+  private long lastDecreaseAt;
+
+  AdaptiveConcurrencyLimit(int initial, int min, int max, long latencyThresholdNanos) {
+    this(initial, min, max, latencyThresholdNanos, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  AdaptiveConcurrencyLimit(
+      int initial, int min, int max, long latencyThresholdNanos, LongSupplier nanoClock) {
+    checkArgument(
+        min > 0 && min <= initial && initial <= max,
+        "Illegal concurrency limits: must satisfy 0 < min (%s) <= initial (%s) <= max (%s)",
+        min,
+        initial,
+        max);
+    this.min = min;
+    this.max = max;
+    this.limit = initial;
+    this.latencyThresholdNanos = latencyThresholdNanos;
+    this.nanoClock = nanoClock;
+    this.lastDecreaseAt = nanoClock.getAsLong() - latencyThresholdNanos;
+  }
+
+  /**
+   * Blocks until the number of in-flight requests is below the current limit, registers a new
+   * in-flight request and returns the "start timestamp" to be passed to {@link #release(long,
+   * Throwable)}.
+   */
+  long acquire() {
+    synchronized (this) {
+      while (inFlight >= limit) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        }
+      }
+      inFlight++;
+    }
+    return nanoClock.getAsLong();
+  }
+
+  /**
+   * Unregisters an in-flight request and adjusts the limit.
+   *
+   * @param startedAt the value returned by {@link #acquire()}
+   * @param failure the failure of the request or {@code null}, if the request succeeded
+   */
+  void release(long startedAt, Throwable failure) {
+    long now = nanoClock.getAsLong();
+    long latency = now - startedAt;
+    synchronized (this) {
+      inFlight--;
+      if (isOverload(failure) || latency > latencyThresholdNanos) {
+        successesSinceIncrease = 0;
+        if (now - lastDecreaseAt >= latencyThresholdNanos) {
+          lastDecreaseAt = now;
+          limit = Math.max(min, limit / 2);
+        }
+      } else if (failure == null) {
+        if (++successesSinceIncrease >= limit) {
+          successesSinceIncrease = 0;
+          limit = Math.min(max, limit + 1);
+        }
+      }
+      notifyAll();
+    }
+  }
+
+  synchronized int limit() {
+    return limit;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  static boolean isOverload(Throwable failure) {
+    while (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+    return failure instanceof DriverTimeoutException
+        || failure instanceof ReadTimeoutException
+        || failure instanceof WriteTimeoutException
+        || failure instanceof OverloadedException;
+  }
+}
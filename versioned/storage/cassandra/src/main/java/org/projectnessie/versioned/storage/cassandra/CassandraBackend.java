@@ -36,8 +36,6 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.E
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_OBJS_SCAN;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_REF;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_REFS_SCAN;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_BATCH_READS;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_DELETES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SELECT_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TABLE_REFS;
@@ -47,6 +45,7 @@ import static org.projectnessie.versioned.storage.cassandra.CqlColumnType.OBJ_ID
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
@@ -54,22 +53,27 @@ import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.servererrors.CASWriteUnknownException;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import java.lang.reflect.Array;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
@@ -78,6 +82,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.agrona.collections.Hashing;
 import org.agrona.collections.Object2IntHashMap;
 import org.projectnessie.versioned.storage.common.persist.Backend;
@@ -94,20 +99,91 @@ final class CassandraBackend implements Backend {
 
   private final Map<String, PreparedStatement> statements = new ConcurrentHashMap<>();
   private final CqlSession session;
+  private final AdaptiveConcurrencyLimit readLimit;
+  private final AdaptiveConcurrencyLimit writeLimit;
+  private final AdaptiveConcurrencyLimit deleteLimit;
+  private volatile TokenRing tokenRing;
 
   CassandraBackend(CassandraBackendConfig config, boolean closeClient) {
     this.config = config;
     this.session = requireNonNull(config.client());
     this.closeClient = closeClient;
+    // Reads, writes and deletes have different latencies, each kind adapts its own limit.
+    this.readLimit = newConcurrencyLimit(config);
+    this.writeLimit = newConcurrencyLimit(config);
+    this.deleteLimit = newConcurrencyLimit(config);
   }
 
+  private static AdaptiveConcurrencyLimit newConcurrencyLimit(CassandraBackendConfig config) {
+    return new AdaptiveConcurrencyLimit(
+        config.initialConcurrentRequests(),
+        config.minConcurrentRequests(),
+        config.maxConcurrentRequests(),
+        config.concurrencyLatencyThreshold().toNanos());
+  }
+
+  /** Limits the concurrent asynchronous reads. */
+  AdaptiveConcurrencyLimit readConcurrencyLimit() {
+    return readLimit;
+  }
+
+  /** Limits the concurrent asynchronous inserts and updates. */
+  AdaptiveConcurrencyLimit writeConcurrencyLimit() {
+    return writeLimit;
+  }
+
+  /** Limits the concurrent asynchronous deletes. */
+  AdaptiveConcurrencyLimit deleteConcurrencyLimit() {
+    return deleteLimit;
+  }
+
+  private TokenRing tokenRing(TokenMap tokenMap) {
+    TokenRing ring = tokenRing;
+    if (ring == null || !ring.isFor(tokenMap)) {
+      // The driver replaces the token map when the topology changes.
+      ring = TokenRing.of(session.getMetadata(), tokenMap);
+      tokenRing = ring;
+    }
+    return ring;
+  }
+
+  /**
+   * Creates a batched query that groups the keys by their primary replica, so that each batch can
+   * be routed to a node that owns all the partitions in the batch. Falls back to a single group, if
+   * the driver does not provide token metadata.
+   *
+   * @param queryBuilder builds the query for a batch of keys, the {@link Token} is the routing
+   *     token to use, {@code null} if no token metadata is available
+   * @param partitionKey extracts the value of the second partition key column (after the
+   *     repository ID) from a key
+   */
   <K, R> BatchedQuery<K, R> newBatchedQuery(
-      Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder,
+      String repositoryId,
+      BiFunction<List<K>, Token, CompletionStage<AsyncResultSet>> queryBuilder,
       Function<Row, R> rowToResult,
       Function<R, K> idExtractor,
+      Function<K, String> partitionKey,
       int results,
       Class<? extends R> elementType) {
-    return new BatchedQueryImpl<>(queryBuilder, rowToResult, idExtractor, results, elementType);
+    TokenMap tokenMap = session.getMetadata().getTokenMap().orElse(null);
+    Function<K, Token> tokenFunction =
+        tokenMap != null
+            ? key ->
+                tokenMap.newToken(
+                    TypeCodecs.TEXT.encode(repositoryId, ProtocolVersion.DEFAULT),
+                    TypeCodecs.TEXT.encode(partitionKey.apply(key), ProtocolVersion.DEFAULT))
+            : key -> null;
+    Function<Token, Node> replicaFunction =
+        tokenMap != null ? tokenRing(tokenMap)::primaryOwner : token -> null;
+    return new BatchedQueryImpl<>(
+        queryBuilder,
+        rowToResult,
+        idExtractor,
+        tokenFunction,
+        replicaFunction,
+        readLimit,
+        results,
+        elementType);
   }
 
   interface BatchedQuery<K, R> extends AutoCloseable {
@@ -119,16 +195,32 @@ final class CassandraBackend implements Backend {
     void close();
   }
 
-  private static final class BatchedQueryImpl<K, R> implements BatchedQuery<K, R> {
+  /**
+   * Keys that share the same primary replica. The batch is routed using the token of its first key,
+   * which is a best-effort hint to the driver's token-aware load balancing policy.
+   */
+  private static final class ReplicaBatch<K> {
+    final Token routingToken;
+    final List<K> keys = new ArrayList<>();
+
+    ReplicaBatch(Token routingToken) {
+      this.routingToken = routingToken;
+    }
+  }
+
+  @VisibleForTesting
+  static final class BatchedQueryImpl<K, R> implements BatchedQuery<K, R> {
 
     private static final AtomicLong ID_GEN = new AtomicLong();
     private static final long BATCH_TIMEOUT_MILLIS = SECONDS.toMillis(30);
     private final long id;
-    private final Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder;
-    private final List<K> keys = new ArrayList<>();
-    private final Semaphore permits = new Semaphore(MAX_CONCURRENT_BATCH_READS);
+    private final BiFunction<List<K>, Token, CompletionStage<AsyncResultSet>> queryBuilder;
+    private final Map<Node, ReplicaBatch<K>> batchesByReplica = new HashMap<>();
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
     private final Function<Row, R> rowToResult;
     private final Function<R, K> idExtractor;
+    private final Function<K, Token> tokenFunction;
+    private final Function<Token, Node> replicaFunction;
     private final Object2IntHashMap<K> idToIndex;
     private final AtomicReferenceArray<R> result;
     private final Class<? extends R> elementType;
@@ -139,9 +231,12 @@ final class CassandraBackend implements Backend {
     private volatile long timeoutAt;
 
     BatchedQueryImpl(
-        Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder,
+        BiFunction<List<K>, Token, CompletionStage<AsyncResultSet>> queryBuilder,
         Function<Row, R> rowToResult,
         Function<R, K> idExtractor,
+        Function<K, Token> tokenFunction,
+        Function<Token, Node> replicaFunction,
+        AdaptiveConcurrencyLimit concurrencyLimit,
         int results,
         Class<? extends R> elementType) {
       this.idToIndex = new Object2IntHashMap<>(results * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
@@ -149,6 +244,9 @@ final class CassandraBackend implements Backend {
       this.elementType = elementType;
       this.rowToResult = rowToResult;
       this.idExtractor = idExtractor;
+      this.tokenFunction = tokenFunction;
+      this.replicaFunction = replicaFunction;
+      this.concurrencyLimit = concurrencyLimit;
       this.queryBuilder = queryBuilder;
       this.id = ID_GEN.incrementAndGet();
       setNewTimeout();
@@ -161,9 +259,14 @@ final class CassandraBackend implements Backend {
     @Override
     public void add(K key, int index) {
       idToIndex.put(key, index);
-      keys.add(key);
-      if (keys.size() == SELECT_BATCH_SIZE) {
-        flush();
+      Token token = tokenFunction.apply(key);
+      Node replica = token != null ? replicaFunction.apply(token) : null;
+      ReplicaBatch<K> batch =
+          batchesByReplica.computeIfAbsent(replica, r -> new ReplicaBatch<>(token));
+      batch.keys.add(key);
+      if (batch.keys.size() == SELECT_BATCH_SIZE) {
+        batchesByReplica.remove(replica);
+        flush(batch);
       }
     }
 
@@ -178,22 +281,22 @@ final class CassandraBackend implements Backend {
       }
     }
 
-    private void flush() {
-      if (keys.isEmpty()) {
-        return;
-      }
-
-      List<K> batchKeys = new ArrayList<>(keys);
-      keys.clear();
+    private void flush(ReplicaBatch<K> batch) {
+      List<K> batchKeys = batch.keys;
 
       synchronized (this) {
         queryCount++;
       }
 
-      Consumer<CompletionStage<AsyncResultSet>> terminate =
-          query -> {
+      // Wait for a permit before the query is sent, so the limit applies to in-flight queries and
+      // the measured latency only covers the query itself.
+      long startedAt = concurrencyLimit.acquire();
+      setNewTimeout();
+
+      Consumer<Throwable> terminate =
+          ex -> {
             // Remove the completed query from the queue, so another query can be submitted
-            permits.release();
+            concurrencyLimit.release(startedAt, ex);
             // Increment the number of completed queries and notify the "driver"
             synchronized (this) {
               queriesCompleted++;
@@ -201,15 +304,13 @@ final class CassandraBackend implements Backend {
             }
           };
 
-      CompletionStage<AsyncResultSet> query = queryBuilder.apply(batchKeys);
-
       BiFunction<AsyncResultSet, Throwable, ?> pageHandler =
           new BiFunction<>() {
             @Override
             public Object apply(AsyncResultSet rs, Throwable ex) {
               if (ex != null) {
                 noteException(ex);
-                terminate.accept(query);
+                terminate.accept(ex);
               } else {
                 try {
                   for (Row row : rs.currentPage()) {
@@ -224,25 +325,26 @@ final class CassandraBackend implements Backend {
                   if (rs.hasMorePages()) {
                     rs.fetchNextPage().handleAsync(this);
                   } else {
-                    terminate.accept(query);
+                    terminate.accept(null);
                   }
 
                 } catch (Throwable t) {
                   noteException(t);
-                  terminate.accept(query);
+                  terminate.accept(t);
                 }
               }
               return null;
             }
           };
 
+      CompletionStage<AsyncResultSet> query;
       try {
-        permits.acquire();
-        setNewTimeout();
-      } catch (InterruptedException e) {
-        throw new RuntimeException(e);
+        query = queryBuilder.apply(batchKeys, batch.routingToken);
+      } catch (RuntimeException e) {
+        noteException(e);
+        terminate.accept(e);
+        return;
       }
-
       query.handleAsync(pageHandler);
     }
 
@@ -253,7 +355,8 @@ final class CassandraBackend implements Backend {
 
     @Override
     public R[] finish() {
-      flush();
+      batchesByReplica.values().forEach(this::flush);
+      batchesByReplica.clear();
 
       while (true) {
         synchronized (this) {
@@ -327,6 +430,18 @@ final class CassandraBackend implements Backend {
     return session.executeAsync(buildStatement(cql, values));
   }
 
+  /**
+   * Executes the statement asynchronously, routing it using the given token, if not {@code null}.
+   */
+  CompletionStage<AsyncResultSet> executeAsync(
+      @Nullable @jakarta.annotation.Nullable Token routingToken, String cql, Object... values) {
+    BoundStatement statement = buildStatement(cql, values);
+    if (routingToken != null) {
+      statement = statement.setRoutingToken(routingToken);
+    }
+    return session.executeAsync(statement);
+  }
+
   void handleDriverException(DriverException e) {
     if (e instanceof CASWriteUnknownException) {
       logCASWriteUnknown((CASWriteUnknownException) e);
@@ -462,18 +577,17 @@ final class CassandraBackend implements Backend {
 
     ArrayList<String> repoIdList = new ArrayList<>(repositoryIds);
 
-    try (LimitedConcurrentRequests requests =
-        new LimitedConcurrentRequests(MAX_CONCURRENT_DELETES)) {
+    try (LimitedConcurrentRequests requests = new LimitedConcurrentRequests(deleteLimit)) {
       for (Row row : execute(ERASE_REFS_SCAN, repoIdList)) {
         String repoId = row.getString(0);
         String ref = row.getString(1);
-        requests.submitted(executeAsync(ERASE_REF, repoId, ref));
+        requests.submit(() -> executeAsync(ERASE_REF, repoId, ref));
       }
 
       for (Row row : execute(ERASE_OBJS_SCAN, repoIdList)) {
         String repoId = row.getString(0);
         String objId = row.getString(1);
-        requests.submitted(executeAsync(ERASE_OBJ, repoId, objId));
+        requests.submit(() -> executeAsync(ERASE_OBJ, repoId, objId));
       }
     }
     // We must ensure that the system clock advances a little, so that C*'s next write-timestamp
@@ -40,10 +40,49 @@ public interface CassandraBackendConfig {
     return Duration.parse(DEFAULT_DML_TIMEOUT);
   }
 
+  /**
+   * Initial limit of concurrently running asynchronous requests. Reads, writes and deletes each
+   * have their own limit, which adapts to the observed request latencies and timeouts, staying
+   * between {@link #minConcurrentRequests()} and {@link #maxConcurrentRequests()}.
+   */
+  @Value.Default
+  default int initialConcurrentRequests() {
+    return Integer.parseInt(DEFAULT_INITIAL_CONCURRENT_REQUESTS);
+  }
+
+  /** Lower bound of the adaptive concurrent requests limit. */
+  @Value.Default
+  default int minConcurrentRequests() {
+    return Integer.parseInt(DEFAULT_MIN_CONCURRENT_REQUESTS);
+  }
+
+  /** Upper bound of the adaptive concurrent requests limit. */
+  @Value.Default
+  default int maxConcurrentRequests() {
+    return Integer.parseInt(DEFAULT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  /**
+   * Requests taking longer than this threshold reduce the adaptive concurrent requests limit, the
+   * same way as timeouts do.
+   */
+  @Value.Default
+  default Duration concurrencyLatencyThreshold() {
+    return Duration.parse(DEFAULT_CONCURRENCY_LATENCY_THRESHOLD);
+  }
+
   String DEFAULT_DDL_TIMEOUT = "PT5S";
 
   String DEFAULT_DML_TIMEOUT = "PT3S";
 
+  String DEFAULT_INITIAL_CONCURRENT_REQUESTS = "20";
+
+  String DEFAULT_MIN_CONCURRENT_REQUESTS = "2";
+
+  String DEFAULT_MAX_CONCURRENT_REQUESTS = "200";
+
+  String DEFAULT_CONCURRENCY_LATENCY_THRESHOLD = "PT0.5S";
+
   static ImmutableCassandraBackendConfig.Builder builder() {
     return ImmutableCassandraBackendConfig.builder();
   }
@@ -18,9 +18,6 @@ package org.projectnessie.versioned.storage.cassandra;
 final class CassandraConstants {
 
   static final int SELECT_BATCH_SIZE = 20;
-  static final int MAX_CONCURRENT_BATCH_READS = 20;
-  static final int MAX_CONCURRENT_DELETES = 20;
-  static final int MAX_CONCURRENT_STORES = 20;
 
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
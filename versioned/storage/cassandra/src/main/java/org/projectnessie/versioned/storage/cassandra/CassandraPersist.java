@@ -61,7 +61,6 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.I
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_TAG;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_VALUE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MARK_REFERENCE_AS_DELETED;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_STORES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.STORE_OBJ_SUFFIX;
@@ -82,6 +81,7 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import com.datastax.oss.driver.api.core.DriverException;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.google.common.collect.AbstractIterator;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -93,6 +93,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -163,9 +164,12 @@ public class CassandraPersist implements Persist {
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
     try (BatchedQuery<String, Reference> batchedQuery =
         backend.newBatchedQuery(
-            keys -> backend.executeAsync(FIND_REFERENCES, config.repositoryId(), keys),
+            config.repositoryId(),
+            (keys, token) ->
+                backend.executeAsync(token, FIND_REFERENCES, config.repositoryId(), keys),
             CassandraPersist::deserializeReference,
             Reference::name,
+            name -> name,
             names.length,
             Reference.class)) {
 
@@ -332,8 +336,10 @@ public class CassandraPersist implements Persist {
     Function<List<ObjId>, List<String>> idsToStrings =
         queryIds -> queryIds.stream().map(ObjId::toString).collect(Collectors.toList());
 
-    Function<List<ObjId>, CompletionStage<AsyncResultSet>> queryFunc =
-        keys -> backend.executeAsync(FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys));
+    BiFunction<List<ObjId>, Token, CompletionStage<AsyncResultSet>> queryFunc =
+        (keys, token) ->
+            backend.executeAsync(
+                token, FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys));
 
     Function<Row, Obj> rowMapper =
         row -> {
@@ -343,7 +349,14 @@ public class CassandraPersist implements Persist {
 
     Obj[] r;
     try (BatchedQuery<ObjId, Obj> batchedQuery =
-        backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, Obj.class)) {
+        backend.newBatchedQuery(
+            config.repositoryId(),
+            queryFunc,
+            rowMapper,
+            Obj::id,
+            CassandraPersist::serializeObjId,
+            ids.length,
+            Obj.class)) {
 
       for (int i = 0; i < ids.length; i++) {
         ObjId id = ids[i];
@@ -417,7 +430,7 @@ public class CassandraPersist implements Persist {
     AtomicIntegerArray results = new AtomicIntegerArray(objs.length);
 
     try (LimitedConcurrentRequests requests =
-        new LimitedConcurrentRequests(MAX_CONCURRENT_STORES)) {
+        new LimitedConcurrentRequests(backend.writeConcurrencyLimit())) {
       for (int i = 0; i < objs.length; i++) {
         Obj o = objs[i];
         if (o != null) {
@@ -426,28 +439,27 @@ public class CassandraPersist implements Persist {
               o,
               false,
               (storeObj, values) -> {
-                CompletionStage<?> cs =
-                    backend
-                        .executeAsync(storeObj.cql(insert), values)
-                        .handle(
-                            (resultSet, e) -> {
-                              if (e != null) {
-                                if (e instanceof DriverException) {
-                                  backend.handleDriverException((DriverException) e);
-                                }
-                                if (e instanceof RuntimeException) {
-                                  throw (RuntimeException) e;
-                                }
-                                throw new RuntimeException(e);
-                              }
-
-                              if (resultSet.wasApplied()) {
-                                results.set(idx, 1);
-                              }
-                              return null;
-                            })
-                        .thenAccept(x -> {});
-                requests.submitted(cs);
+                requests.submit(
+                    () ->
+                        backend
+                            .executeAsync(storeObj.cql(insert), values)
+                            .handle(
+                                (resultSet, e) -> {
+                                  if (e != null) {
+                                    if (e instanceof DriverException) {
+                                      backend.handleDriverException((DriverException) e);
+                                    }
+                                    if (e instanceof RuntimeException) {
+                                      throw (RuntimeException) e;
+                                    }
+                                    throw new RuntimeException(e);
+                                  }
+
+                                  if (resultSet.wasApplied()) {
+                                    results.set(idx, 1);
+                                  }
+                                  return null;
+                                }));
                 return null;
               });
         }
@@ -506,11 +518,11 @@ public class CassandraPersist implements Persist {
   @Override
   public void deleteObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
     try (LimitedConcurrentRequests requests =
-        new LimitedConcurrentRequests(MAX_CONCURRENT_STORES)) {
+        new LimitedConcurrentRequests(backend.deleteConcurrencyLimit())) {
       String repoId = config.repositoryId();
       for (ObjId id : ids) {
         if (id != null) {
-          requests.submitted(backend.executeAsync(DELETE_OBJ, repoId, serializeObjId(id)));
+          requests.submit(() -> backend.executeAsync(DELETE_OBJ, repoId, serializeObjId(id)));
         }
       }
     }
@@ -15,8 +15,9 @@
  */
 package org.projectnessie.versioned.storage.cassandra;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 
@@ -24,13 +25,14 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  * Synchronization helper for asynchronous "child" queries for {@link CassandraPersist#erase()},
  * {@link CassandraPersist#deleteObjs(ObjId[])}, {@link CassandraPersist#storeObjs(Obj[])}.
  *
- * <p>Note: this implementation does not actively prevent submitting a new query, but it prevents
- * making further progress by blocking inside {@link #submitted(CompletionStage)}.
+ * <p>{@link #submit(Supplier)} blocks until the {@link AdaptiveConcurrencyLimit} grants a permit,
+ * and only then issues the query. The limit is one of the backend's limits for reads, writes or
+ * deletes, shared with all other requests of the same kind against the same backend.
  */
 final class LimitedConcurrentRequests implements AutoCloseable {
 
-  /** Currently available "permits" for child queries. */
-  final Semaphore permits;
+  /** Limits the number of concurrently running child queries. */
+  final AdaptiveConcurrencyLimit concurrencyLimit;
 
   /** Holds the potential failure. */
   final Throwable[] failureHolder = new Throwable[1];
@@ -41,29 +43,32 @@ final class LimitedConcurrentRequests implements AutoCloseable {
   /** Number of finished queries. */
   volatile int finished;
 
-  LimitedConcurrentRequests(int maxChildQueries) {
-    permits = new Semaphore(maxChildQueries);
+  LimitedConcurrentRequests(AdaptiveConcurrencyLimit concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
   }
 
-  void submitted(CompletionStage<?> cs) {
+  /** Issues the query returned by the given supplier, once the concurrency limit permits it. */
+  void submit(Supplier<CompletionStage<?>> query) {
     synchronized (this) {
       // Increment the number of started queries.
       started++;
     }
 
-    // Acquire a permit for the started query.
+    // Acquire a permit before the query is issued.
+    long startedAt = concurrencyLimit.acquire();
+
+    CompletionStage<?> cs;
     try {
-      permits.acquire();
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
+      cs = query.get();
+    } catch (RuntimeException e) {
+      cs = failedStage(e);
     }
 
     cs.whenComplete(
         (resultSet, throable) -> {
           try {
-            // Release the acquired permit
-            permits.release();
+            // Release the acquired permit, feeding the outcome into the adaptive limit
+            concurrencyLimit.release(startedAt, throable);
 
             // Record the failure (if the query failed)
             if (throable != null) {
@@ -88,6 +93,12 @@ final class LimitedConcurrentRequests implements AutoCloseable {
         });
   }
 
+  private static CompletionStage<?> failedStage(Throwable failure) {
+    CompletableFuture<?> failed = new CompletableFuture<>();
+    failed.completeExceptionally(failure);
+    return failed;
+  }
+
   @Override
   public void close() {
     try {
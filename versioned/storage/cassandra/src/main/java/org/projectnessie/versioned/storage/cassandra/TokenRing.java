@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The primary owners of the tokens of a Cassandra ring, derived from the driver's {@link TokenMap}.
+ *
+ * <p>Each node owns the ranges that end with one of its tokens. The primary owner of a token is
+ * therefore the node of the smallest ring token that is greater than or equal to it, wrapping
+ * around to the first ring token. The other replicas depend on the replication strategy of the
+ * keyspace, but always include the primary owner.
+ */
+final class TokenRing {
+
+  private final TokenMap tokenMap;
+  private final NavigableMap<Token, Node> owners = new TreeMap<>();
+
+  TokenRing(TokenMap tokenMap, Collection<Node> nodes, Function<Node, Set<Token>> tokens) {
+    this.tokenMap = tokenMap;
+    for (Node node : nodes) {
+      for (Token token : tokens.apply(node)) {
+        owners.put(token, node);
+      }
+    }
+  }
+
+  static TokenRing of(Metadata metadata, TokenMap tokenMap) {
+    return new TokenRing(tokenMap, metadata.getNodes().values(), tokenMap::getTokens);
+  }
+
+  /** Whether this ring has been built from the given token map. */
+  boolean isFor(TokenMap tokenMap) {
+    return this.tokenMap == tokenMap;
+  }
+
+  /** Returns the primary owner of the given token, {@code null} if the ring is empty. */
+  Node primaryOwner(Token token) {
+    Map.Entry<Token, Node> owner = owners.ceilingEntry(token);
+    if (owner == null) {
+      owner = owners.firstEntry();
+    }
+    return owner != null ? owner.getValue() : null;
+  }
+}
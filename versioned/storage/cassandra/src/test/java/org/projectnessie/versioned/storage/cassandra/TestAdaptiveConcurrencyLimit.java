@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestAdaptiveConcurrencyLimit {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static final long THRESHOLD = MILLISECONDS.toNanos(100);
+
+  final AtomicLong clock = new AtomicLong();
+
+  @Test
+  void additiveIncrease() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 5, THRESHOLD, clock::get);
+
+    for (int i = 0; i < 3; i++) {
+      limit.release(limit.acquire(), null);
+    }
+    soft.assertThat(limit.limit()).isEqualTo(4);
+    limit.release(limit.acquire(), null);
+    soft.assertThat(limit.limit()).isEqualTo(5);
+
+    // capped at max
+    for (int i = 0; i < 20; i++) {
+      limit.release(limit.acquire(), null);
+    }
+    soft.assertThat(limit.limit()).isEqualTo(5);
+    soft.assertThat(limit.inFlight()).isEqualTo(0);
+  }
+
+  @Test
+  void multiplicativeDecreaseOnTimeout() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16, 3, 32, THRESHOLD, clock::get);
+
+    limit.release(limit.acquire(), new DriverTimeoutException("timeout"));
+    soft.assertThat(limit.limit()).isEqualTo(8);
+
+    // Only one decrease per threshold interval
+    limit.release(limit.acquire(), new CompletionException(new DriverTimeoutException("timeout")));
+    soft.assertThat(limit.limit()).isEqualTo(8);
+
+    clock.addAndGet(THRESHOLD);
+    limit.release(limit.acquire(), new CompletionException(new DriverTimeoutException("timeout")));
+    soft.assertThat(limit.limit()).isEqualTo(4);
+
+    // floored at min
+    clock.addAndGet(THRESHOLD);
+    limit.release(limit.acquire(), new DriverTimeoutException("timeout"));
+    soft.assertThat(limit.limit()).isEqualTo(3);
+  }
+
+  @Test
+  void multiplicativeDecreaseOnLatency() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 32, THRESHOLD, clock::get);
+
+    long startedAt = limit.acquire();
+    clock.addAndGet(THRESHOLD + 1);
+    limit.release(startedAt, null);
+    soft.assertThat(limit.limit()).isEqualTo(5);
+  }
+
+  @Test
+  void otherFailuresDoNotChangeLimit() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 32, THRESHOLD, clock::get);
+
+    for (int i = 0; i < 10; i++) {
+      limit.release(limit.acquire(), new IllegalStateException("other"));
+    }
+    soft.assertThat(limit.limit()).isEqualTo(2);
+  }
+
+  @Test
+  void acquireBlocksAtLimit() throws Exception {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, THRESHOLD, clock::get);
+
+    long first = limit.acquire();
+    Thread waiter = new Thread(() -> limit.release(limit.acquire(), null));
+    waiter.start();
+    waiter.join(50);
+    soft.assertThat(waiter.isAlive()).isTrue();
+
+    limit.release(first, null);
+    waiter.join();
+    soft.assertThat(limit.inFlight()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SELECT_BATCH_SIZE;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestBatchedQuery {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  /** Keys are of the form {@code <token>:<name>}, the token decides the primary owner. */
+  static Token token(String key) {
+    return new Murmur3Token(Long.parseLong(key.substring(0, key.indexOf(':'))));
+  }
+
+  @Test
+  void keysGroupedByPrimaryOwner() {
+    Node node1 = mock(Node.class);
+    Node node2 = mock(Node.class);
+    Map<Node, Set<Token>> tokens = new HashMap<>();
+    tokens.put(node1, Collections.singleton(new Murmur3Token(0L)));
+    tokens.put(node2, Collections.singleton(new Murmur3Token(100L)));
+    TokenRing ring = new TokenRing(mock(TokenMap.class), tokens.keySet(), tokens::get);
+
+    List<List<String>> queriedKeys = new ArrayList<>();
+    List<Token> routingTokens = new ArrayList<>();
+    BiFunction<List<String>, Token, CompletionStage<AsyncResultSet>> queryBuilder =
+        (keys, token) -> {
+          synchronized (queriedKeys) {
+            queriedKeys.add(new ArrayList<>(keys));
+            routingTokens.add(token);
+          }
+          return emptyResult();
+        };
+
+    String[] result;
+    try (CassandraBackend.BatchedQueryImpl<String, String> query =
+        new CassandraBackend.BatchedQueryImpl<>(
+            queryBuilder,
+            row -> null,
+            r -> r,
+            TestBatchedQuery::token,
+            ring::primaryOwner,
+            new AdaptiveConcurrencyLimit(4, 1, 4, SECONDS.toNanos(10)),
+            5,
+            String.class)) {
+      // node1 owns (100, 0], node2 owns (0, 100]
+      query.add("-5:a", 0);
+      query.add("50:b", 1);
+      query.add("0:c", 2);
+      query.add("100:d", 3);
+      query.add("150:e", 4);
+      result = query.finish();
+    }
+
+    soft.assertThat(result).hasSize(5);
+    soft.assertThat(queriedKeys)
+        .containsExactlyInAnyOrder(List.of("-5:a", "0:c", "150:e"), List.of("50:b", "100:d"));
+    // Each batch is routed via the token of its first key.
+    soft.assertThat(routingTokens)
+        .containsExactlyInAnyOrder(new Murmur3Token(-5L), new Murmur3Token(50L));
+  }
+
+  @Test
+  void fullBatchesAreSentEarly() {
+    List<List<String>> queriedKeys = new ArrayList<>();
+    try (CassandraBackend.BatchedQueryImpl<String, String> query =
+        new CassandraBackend.BatchedQueryImpl<>(
+            (keys, token) -> {
+              synchronized (queriedKeys) {
+                queriedKeys.add(new ArrayList<>(keys));
+              }
+              return emptyResult();
+            },
+            row -> null,
+            r -> r,
+            key -> null,
+            token -> null,
+            new AdaptiveConcurrencyLimit(4, 1, 4, SECONDS.toNanos(10)),
+            SELECT_BATCH_SIZE + 1,
+            String.class)) {
+      for (int i = 0; i < SELECT_BATCH_SIZE; i++) {
+        query.add("0:" + i, i);
+      }
+      // Without token metadata, all keys share one batch, which is sent once it is full.
+      soft.assertThat(queriedKeys).hasSize(1);
+      query.add("0:last", SELECT_BATCH_SIZE);
+      query.finish();
+    }
+    soft.assertThat(queriedKeys).hasSize(2);
+    soft.assertThat(queriedKeys.get(0)).hasSize(SELECT_BATCH_SIZE);
+    soft.assertThat(queriedKeys.get(1)).containsExactly("0:last");
+  }
+
+  @Test
+  void permitAcquiredBeforeQueryIsSent() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, SECONDS.toNanos(10));
+    List<Integer> inFlightWhenSent = new ArrayList<>();
+    try (CassandraBackend.BatchedQueryImpl<String, String> query =
+        new CassandraBackend.BatchedQueryImpl<>(
+            (keys, token) -> {
+              inFlightWhenSent.add(limit.inFlight());
+              return emptyResult();
+            },
+            row -> null,
+            r -> r,
+            key -> null,
+            token -> null,
+            limit,
+            2,
+            String.class)) {
+      query.add("0:a", 0);
+      query.add("0:b", 1);
+      soft.assertThat(query.finish()).hasSize(2);
+    }
+    // The permit is held while the query is issued, and released once it completed.
+    soft.assertThat(inFlightWhenSent).containsExactly(1);
+    soft.assertThat(limit.inFlight()).isEqualTo(0);
+  }
+
+  static CompletionStage<AsyncResultSet> emptyResult() {
+    return CompletableFuture.completedFuture(emptyResultSet());
+  }
+
+  static AsyncResultSet emptyResultSet() {
+    AsyncResultSet rs = mock(AsyncResultSet.class);
+    when(rs.currentPage()).thenReturn(Collections.<Row>emptyList());
+    when(rs.hasMorePages()).thenReturn(false);
+    return rs;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static org.mockito.Mockito.mock;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestTokenRing {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @Test
+  void primaryOwner() {
+    Node node1 = mock(Node.class);
+    Node node2 = mock(Node.class);
+    Node node3 = mock(Node.class);
+    Map<Node, Set<Token>> tokens = new HashMap<>();
+    tokens.put(node1, tokens(-100L, 200L));
+    tokens.put(node2, tokens(0L));
+    tokens.put(node3, tokens(100L));
+    TokenMap tokenMap = mock(TokenMap.class);
+    TokenRing ring = new TokenRing(tokenMap, tokens.keySet(), tokens::get);
+
+    // A node owns the range that ends with its token.
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(-100L))).isSameAs(node1);
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(-99L))).isSameAs(node2);
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(0L))).isSameAs(node2);
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(1L))).isSameAs(node3);
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(150L))).isSameAs(node1);
+    // Wraps around after the last ring token.
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(201L))).isSameAs(node1);
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(Long.MIN_VALUE))).isSameAs(node1);
+
+    soft.assertThat(ring.isFor(tokenMap)).isTrue();
+    soft.assertThat(ring.isFor(mock(TokenMap.class))).isFalse();
+  }
+
+  @Test
+  void emptyRing() {
+    TokenRing ring = new TokenRing(mock(TokenMap.class), new HashSet<>(), n -> new HashSet<>());
+    soft.assertThat(ring.primaryOwner(new Murmur3Token(0L))).isNull();
+  }
+
+  private static Set<Token> tokens(Long... values) {
+    Set<Token> tokens = new HashSet<>();
+    Arrays.stream(values).map(Murmur3Token::new).forEach(tokens::add);
+    return tokens;
+  }
+}
@@ -98,6 +98,44 @@ public class IdentifyHeadsAndForkPoints {
     return true;
   }
 
+  /**
+   * Registers a commit that has been handled by a previous scan, whose result is extended by this
+   * scan. The commit is not new anymore, so {@link #handleCommit(ObjId, ObjId)} returns {@code
+   * false} for it, and its ancestors are not registered.
+   *
+   * @param commitId ID of the previously handled commit
+   * @param previousHead whether the commit was a HEAD in the previous scan, it remains a HEAD
+   *     unless a commit handled by this scan has it as its parent. Otherwise the commit had a child
+   *     in the previous scan and becomes a fork point, if a commit handled by this scan has it as
+   *     its parent as well.
+   */
+  public void addPreviousCommit(ObjId commitId, boolean previousHead) {
+    int cv = commits.getValue(commitId);
+    if ((cv & MASK_COMMIT_SEEN) != 0) {
+      return;
+    }
+    boolean seenAsParent = (cv & MASK_PARENT_SEEN) != 0;
+    if (previousHead) {
+      if (!seenAsParent) {
+        heads.add(commitId);
+      }
+      commits.put(commitId, cv | MASK_COMMIT_SEEN);
+    } else {
+      if (seenAsParent) {
+        forkPoints.add(commitId);
+      }
+      commits.put(commitId, cv | MASK_COMMIT_SEEN | MASK_PARENT_SEEN);
+    }
+  }
+
+  /** Registers a fork point of a previous scan, whose result is extended by this scan. */
+  public void addPreviousForkPoint(ObjId commitId) {
+    int cv = commits.getValue(commitId);
+    commits.put(commitId, cv | MASK_COMMIT_SEEN | MASK_PARENT_SEEN);
+    forkPoints.add(commitId);
+    heads.remove(commitId);
+  }
+
   public HeadsAndForkPoints finish() {
     return headsAndForkPoints(heads, forkPoints, scanStartedAtInMicros);
   }
@@ -32,6 +32,7 @@ import java.util.Set;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -196,4 +197,34 @@ public class TestIdentifyHeadsAndForkPoints {
     HeadsAndForkPoints headsAndForkPoints = identify.finish();
     soft.assertThat(headsAndForkPoints).isEqualTo(expected);
   }
+
+  @Test
+  public void extendPreviousScan() {
+    // Previous scan: main 1..10, branch 11..12 forked at 5
+    IdentifyHeadsAndForkPoints identify = new IdentifyHeadsAndForkPoints(1000, 0L);
+    identify.addPreviousCommit(commitId(10), true);
+    identify.addPreviousCommit(commitId(12), true);
+    identify.addPreviousForkPoint(commitId(5));
+
+    // new commit on main
+    soft.assertThat(identify.handleCommit(commitId(13), commitId(10))).isTrue();
+    soft.assertThat(identify.handleCommit(commitId(10), commitId(9))).isFalse();
+    // new branch forked at 7, which is neither a previous head nor fork point
+    soft.assertThat(identify.handleCommit(commitId(14), commitId(7))).isTrue();
+    identify.addPreviousCommit(commitId(7), false);
+    soft.assertThat(identify.isCommitNew(commitId(7))).isFalse();
+    // new commit on the branch
+    soft.assertThat(identify.handleCommit(commitId(15), commitId(12))).isTrue();
+    // new reference pointing to a previously handled commit
+    identify.addPreviousCommit(commitId(3), false);
+    // another new branch forked at 3
+    soft.assertThat(identify.handleCommit(commitId(16), commitId(3))).isTrue();
+
+    soft.assertThat(identify.finish())
+        .isEqualTo(
+            headsAndForkPoints(
+                Set.of(commitId(13), commitId(14), commitId(15), commitId(16)),
+                Set.of(commitId(3), commitId(5), commitId(7)),
+                0L));
+  }
 }
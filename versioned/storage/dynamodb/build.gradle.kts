@@ -64,6 +64,7 @@ dependencies {
   intTestImplementation(platform(libs.junit.bom))
   intTestImplementation(libs.bundles.junit.testing)
   intTestRuntimeOnly(libs.logback.classic)
+  intTestRuntimeOnly("software.amazon.awssdk:netty-nio-client")
 }
 
 // Testcontainers is not supported on Windows :(
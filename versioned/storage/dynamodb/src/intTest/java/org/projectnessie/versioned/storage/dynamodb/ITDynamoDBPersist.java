@@ -18,9 +18,13 @@ package org.projectnessie.versioned.storage.dynamodb;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -29,11 +33,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
 import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
 import org.projectnessie.versioned.storage.testextension.NessieBackend;
@@ -159,4 +165,54 @@ public class ITDynamoDBPersist extends AbstractPersistTests {
       }
     }
   }
+
+  @Nested
+  @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+  public class AsyncBatchReads {
+    @InjectSoftAssertions protected SoftAssertions soft;
+
+    @NessiePersist(initializeRepo = false)
+    protected BackendTestFactory factory;
+
+    @Test
+    void fetchManyConcurrently() throws Exception {
+      DynamoDBBackendTestFactory dynamoDBBackendTestFactory = (DynamoDBBackendTestFactory) factory;
+      try (DynamoDBBackend backend =
+          dynamoDBBackendTestFactory.createNewBackend(
+              dynamoDBBackendTestFactory
+                  .dynamoDBConfigBuilder()
+                  .tablePrefix(Optional.of("async"))
+                  .asyncClient(dynamoDBBackendTestFactory.buildNewAsyncClient())
+                  .maxConcurrentBatchReads(2)
+                  .build(),
+              true)) {
+        backend.setupSchema();
+        Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+        Obj[] objs =
+            IntStream.range(0, 350)
+                .mapToObj(
+                    i ->
+                        contentValue(
+                            ObjId.randomObjId(), "cid-" + i, 42, ByteString.copyFromUtf8("" + i)))
+                .toArray(Obj[]::new);
+        persist.storeObjs(objs);
+
+        ObjId[] ids = Arrays.stream(objs).map(Obj::id).toArray(ObjId[]::new);
+        soft.assertThat(persist.fetchObjs(ids)).containsExactly(objs);
+
+        ObjId[] withMissing = Arrays.copyOf(ids, ids.length + 1);
+        withMissing[ids.length] = ObjId.randomObjId();
+        soft.assertThatThrownBy(() -> persist.fetchObjs(withMissing))
+            .isInstanceOf(ObjNotFoundException.class);
+
+        List<Reference> refs = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+          refs.add(persist.addReference(reference("refs/heads/b" + i, ids[i], false, 0L, null)));
+        }
+        String[] names = refs.stream().map(Reference::name).toArray(String[]::new);
+        soft.assertThat(persist.fetchReferences(names)).containsExactlyElementsOf(refs);
+      }
+    }
+  }
 }
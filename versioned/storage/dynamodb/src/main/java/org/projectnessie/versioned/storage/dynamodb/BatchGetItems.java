@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_UNPROCESSED_BACKOFF_MILLIS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_UNPROCESSED_MAX_BACKOFF_MILLIS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_UNPROCESSED_MAX_RETRIES;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+/**
+ * Fetches items via {@code BatchGetItem} in chunks of {@link DynamoDBConstants#BATCH_GET_LIMIT}
+ * keys and passes every returned item to the given consumer.
+ *
+ * <p>If the backend has an {@link DynamoDBBackend#asyncClient() async client}, all chunks are
+ * dispatched concurrently, limited to {@link DynamoDBBackendConfig#maxConcurrentBatchReads()}
+ * in-flight requests. {@code UnprocessedKeys} of a chunk are re-requested as soon as the response
+ * for that chunk arrives, without waiting for the other chunks. Without an async client, the chunks
+ * are fetched one after another using the synchronous client.
+ *
+ * <p>The item consumer may be called concurrently from multiple threads when the async client is
+ * used.
+ */
+final class BatchGetItems {
+  private final DynamoDBBackend backend;
+  private final String tableName;
+  private final Consumer<Map<String, AttributeValue>> itemConsumer;
+
+  BatchGetItems(
+      DynamoDBBackend backend,
+      String tableName,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
+    this.backend = backend;
+    this.tableName = tableName;
+    this.itemConsumer = itemConsumer;
+  }
+
+  void fetch(List<Map<String, AttributeValue>> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    DynamoDbAsyncClient asyncClient = backend.asyncClient();
+    if (asyncClient == null || keys.size() <= BATCH_GET_LIMIT) {
+      // A single chunk does not benefit from the async client.
+      fetchSync(keys);
+    } else {
+      fetchAsync(asyncClient, keys);
+    }
+  }
+
+  private void fetchSync(List<Map<String, AttributeValue>> keys) {
+    for (int offset = 0; offset < keys.size(); offset += BATCH_GET_LIMIT) {
+      List<Map<String, AttributeValue>> chunk =
+          keys.subList(offset, Math.min(keys.size(), offset + BATCH_GET_LIMIT));
+      for (int attempt = 0; !chunk.isEmpty(); attempt++) {
+        if (attempt > 0) {
+          sleepBackoff(attempt, chunk.size());
+        }
+        Map<String, KeysAndAttributes> requestItems = requestItems(chunk);
+        BatchGetItemResponse response =
+            backend.client().batchGetItem(b -> b.requestItems(requestItems));
+        chunk = handleResponse(response);
+      }
+    }
+  }
+
+  private void fetchAsync(DynamoDbAsyncClient client, List<Map<String, AttributeValue>> keys) {
+    Semaphore permits = new Semaphore(Math.max(1, backend.maxConcurrentBatchReads()));
+    List<CompletableFuture<Void>> chunkFutures = new ArrayList<>();
+    try {
+      for (int offset = 0; offset < keys.size(); offset += BATCH_GET_LIMIT) {
+        List<Map<String, AttributeValue>> chunk =
+            keys.subList(offset, Math.min(keys.size(), offset + BATCH_GET_LIMIT));
+
+        // Blocks until one of the in-flight requests has finished, if the limit has been reached.
+        permits.acquire();
+
+        chunkFutures.add(
+            fetchChunkAsync(client, chunk, 0).whenComplete((r, t) -> permits.release()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      chunkFutures.forEach(f -> f.cancel(true));
+      throw new RuntimeException(e);
+    }
+
+    try {
+      CompletableFuture.allOf(chunkFutures.toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+  }
+
+  private CompletableFuture<Void> fetchChunkAsync(
+      DynamoDbAsyncClient client, List<Map<String, AttributeValue>> chunk, int attempt) {
+    Map<String, KeysAndAttributes> requestItems = requestItems(chunk);
+    return client
+        .batchGetItem(b -> b.requestItems(requestItems))
+        .thenCompose(
+            response -> {
+              List<Map<String, AttributeValue>> unprocessed = handleResponse(response);
+              if (unprocessed.isEmpty()) {
+                return completedFuture(null);
+              }
+              int nextAttempt = attempt + 1;
+              checkRetries(nextAttempt, unprocessed.size());
+              Executor delayed =
+                  CompletableFuture.delayedExecutor(backoffMillis(nextAttempt), MILLISECONDS);
+              return CompletableFuture.runAsync(() -> {}, delayed)
+                  .thenCompose(x -> fetchChunkAsync(client, unprocessed, nextAttempt));
+            });
+  }
+
+  private Map<String, KeysAndAttributes> requestItems(List<Map<String, AttributeValue>> keys) {
+    return singletonMap(tableName, KeysAndAttributes.builder().keys(keys).build());
+  }
+
+  /** Passes the returned items to the consumer and returns the unprocessed keys, if any. */
+  private List<Map<String, AttributeValue>> handleResponse(BatchGetItemResponse response) {
+    List<Map<String, AttributeValue>> items = response.responses().get(tableName);
+    if (items != null) {
+      items.forEach(itemConsumer);
+    }
+    KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+    return unprocessed != null && unprocessed.hasKeys() ? unprocessed.keys() : emptyList();
+  }
+
+  private static void sleepBackoff(int attempt, int unprocessedKeys) {
+    checkRetries(attempt, unprocessedKeys);
+    try {
+      Thread.sleep(backoffMillis(attempt));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void checkRetries(int attempt, int unprocessedKeys) {
+    if (attempt > BATCH_GET_UNPROCESSED_MAX_RETRIES) {
+      throw new IllegalStateException(
+          String.format(
+              "DynamoDB did not process %d keys of a BatchGetItem request after %d retries",
+              unprocessedKeys, BATCH_GET_UNPROCESSED_MAX_RETRIES));
+    }
+  }
+
+  private static long backoffMillis(int attempt) {
+    return Math.min(
+        BATCH_GET_UNPROCESSED_MAX_BACKOFF_MILLIS,
+        (long) BATCH_GET_UNPROCESSED_BACKOFF_MILLIS << Math.min(attempt - 1, 16));
+  }
+}
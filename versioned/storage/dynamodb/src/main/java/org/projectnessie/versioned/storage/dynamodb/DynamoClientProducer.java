@@ -20,6 +20,8 @@ import org.immutables.value.Value;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 
@@ -53,4 +55,24 @@ public abstract class DynamoClientProducer {
 
     return clientBuilder.build();
   }
+
+  /**
+   * Creates an async client using the SDK's default async HTTP client implementation, which must be
+   * available on the class path.
+   */
+  public DynamoDbAsyncClient createAsyncClient() {
+    DynamoDbAsyncClientBuilder clientBuilder =
+        DynamoDbAsyncClient.builder().region(Region.of(region()));
+
+    AwsCredentialsProvider credentialsProvider = credentialsProvider();
+    if (credentialsProvider != null) {
+      clientBuilder = clientBuilder.credentialsProvider(credentialsProvider);
+    }
+    String endpointURI = endpointURI();
+    if (endpointURI != null) {
+      clientBuilder = clientBuilder.endpointOverride(URI.create(endpointURI));
+    }
+
+    return clientBuilder.build();
+  }
 }
@@ -24,10 +24,12 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
@@ -46,7 +48,9 @@ final class DynamoDBBackend implements Backend {
   private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBBackend.class);
 
   private final DynamoDbClient client;
+  private final DynamoDbAsyncClient asyncClient;
   private final boolean closeClient;
+  private final int maxConcurrentBatchReads;
 
   final String tableRefs;
   final String tableObjs;
@@ -54,6 +58,8 @@ final class DynamoDBBackend implements Backend {
   DynamoDBBackend(
       @Nonnull @jakarta.annotation.Nonnull DynamoDBBackendConfig config, boolean closeClient) {
     this.client = config.client();
+    this.asyncClient = config.asyncClient().orElse(null);
+    this.maxConcurrentBatchReads = config.maxConcurrentBatchReads();
     this.tableRefs =
         config.tablePrefix().map(prefix -> prefix + '_' + TABLE_REFS).orElse(TABLE_REFS);
     this.tableObjs =
@@ -67,6 +73,16 @@ final class DynamoDBBackend implements Backend {
     return client;
   }
 
+  @Nullable
+  @jakarta.annotation.Nullable
+  DynamoDbAsyncClient asyncClient() {
+    return asyncClient;
+  }
+
+  int maxConcurrentBatchReads() {
+    return maxConcurrentBatchReads;
+  }
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
@@ -78,6 +94,9 @@ final class DynamoDBBackend implements Backend {
   public void close() {
     if (closeClient) {
       client.close();
+      if (asyncClient != null) {
+        asyncClient.close();
+      }
     }
   }
 
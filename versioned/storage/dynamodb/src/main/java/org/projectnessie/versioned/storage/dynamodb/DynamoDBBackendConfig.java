@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.dynamodb;
 
 import java.util.Optional;
 import org.immutables.value.Value;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Value.Immutable
@@ -25,6 +26,23 @@ public interface DynamoDBBackendConfig {
 
   Optional<String> tablePrefix();
 
+  /**
+   * Optional asynchronous client. If present, the chunks of a multi-object fetch are dispatched
+   * concurrently via this client, otherwise one after another via {@link #client()}.
+   */
+  Optional<DynamoDbAsyncClient> asyncClient();
+
+  /**
+   * Maximum number of concurrent {@code BatchGetItem} requests for a single multi-object fetch,
+   * only effective if an {@link #asyncClient()} is configured.
+   */
+  @Value.Default
+  default int maxConcurrentBatchReads() {
+    return DEFAULT_MAX_CONCURRENT_BATCH_READS;
+  }
+
+  int DEFAULT_MAX_CONCURRENT_BATCH_READS = 8;
+
   static ImmutableDynamoDBBackendConfig.Builder builder() {
     return ImmutableDynamoDBBackendConfig.builder();
   }
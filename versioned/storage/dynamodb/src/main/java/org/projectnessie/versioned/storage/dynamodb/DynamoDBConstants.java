@@ -20,6 +20,9 @@ final class DynamoDBConstants {
   // This is the hard item size limit in DynamoDB
   static final int ITEM_SIZE_LIMIT = 400 * 1024;
   static final int BATCH_GET_LIMIT = 100;
+  static final int BATCH_GET_UNPROCESSED_MAX_RETRIES = 10;
+  static final int BATCH_GET_UNPROCESSED_BACKOFF_MILLIS = 10;
+  static final int BATCH_GET_UNPROCESSED_MAX_BACKOFF_MILLIS = 1000;
   static final int BATCH_WRITE_MAX_REQUESTS = 25;
 
   static final String TABLE_REFS = "refs";
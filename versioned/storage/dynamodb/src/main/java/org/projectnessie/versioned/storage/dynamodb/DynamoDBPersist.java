@@ -37,7 +37,6 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFrom
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.condition;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.keyPrefix;
-import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT_CREATED;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT_HEADERS;
@@ -141,12 +140,10 @@ import org.projectnessie.versioned.storage.common.persist.Reference;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 
 public class DynamoDBPersist implements Persist {
@@ -296,46 +293,21 @@ public class DynamoDBPersist implements Persist {
   @jakarta.annotation.Nonnull
   @Override
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
-    List<Map<String, AttributeValue>> keys =
-        new ArrayList<>(Math.min(names.length, BATCH_GET_LIMIT));
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(names.length);
     Object2IntHashMap<String> nameToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        new Object2IntHashMap<>(names.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
     Reference[] r = new Reference[names.length];
     for (int i = 0; i < names.length; i++) {
       String name = names[i];
       if (name != null) {
         keys.add(referenceKeyMap(name));
         nameToIndex.put(name, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          findReferencesPage(r, keys, nameToIndex);
-          keys.clear();
-          nameToIndex.clear();
-        }
       }
     }
 
-    if (!keys.isEmpty()) {
-      findReferencesPage(r, keys, nameToIndex);
-    }
-
-    return r;
-  }
-
-  private void findReferencesPage(
-      Reference[] r,
-      List<Map<String, AttributeValue>> keys,
-      Object2IntHashMap<String> nameToIndex) {
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(backend.tableRefs, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(backend.tableRefs)
-        .forEach(
+    new BatchGetItems(
+            backend,
+            backend.tableRefs,
             item -> {
               String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
               String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
@@ -352,7 +324,10 @@ public class DynamoDBPersist implements Persist {
               if (idx >= 0) {
                 r[idx] = reference;
               }
-            });
+            })
+        .fetch(keys);
+
+    return r;
   }
 
   private List<Reference.PreviousPointer> attributeToPreviousPointers(
@@ -424,27 +399,31 @@ public class DynamoDBPersist implements Persist {
   @Override
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    List<Map<String, AttributeValue>> keys = new ArrayList<>(Math.min(ids.length, BATCH_GET_LIMIT));
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(ids.length);
     Object2IntHashMap<ObjId> idToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        new Object2IntHashMap<>(ids.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
     Obj[] r = new Obj[ids.length];
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
       if (id != null) {
         keys.add(objKeyMap(id));
         idToIndex.put(id, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          fetchObjsPage(r, keys, idToIndex);
-          keys.clear();
-          idToIndex.clear();
-        }
       }
     }
 
-    if (!keys.isEmpty()) {
-      fetchObjsPage(r, keys, idToIndex);
-    }
+    // Items may be delivered concurrently, but each item is written to a distinct array index and
+    // 'idToIndex' is only read.
+    new BatchGetItems(
+            backend,
+            backend.tableObjs,
+            item -> {
+              Obj obj = decomposeObj(item);
+              int idx = idToIndex.getValue(obj.id());
+              if (idx != -1) {
+                r[idx] = obj;
+              }
+            })
+        .fetch(keys);
 
     List<ObjId> notFound = null;
     for (int i = 0; i < ids.length; i++) {
@@ -463,28 +442,6 @@ public class DynamoDBPersist implements Persist {
     return r;
   }
 
-  private void fetchObjsPage(
-      Obj[] r, List<Map<String, AttributeValue>> keys, Object2IntHashMap<ObjId> idToIndex) {
-
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(backend.tableObjs, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(backend.tableObjs)
-        .forEach(
-            item -> {
-              Obj obj = decomposeObj(item);
-              int idx = idToIndex.getValue(obj.id());
-              if (idx != -1) {
-                r[idx] = obj;
-              }
-            });
-  }
-
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
@@ -15,8 +15,80 @@
  */
 package org.projectnessie.versioned.storage.mongodb;
 
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.commontests.AbstractPersistTests;
+import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
 import org.projectnessie.versioned.storage.testextension.NessieBackend;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
 
 @NessieBackend(MongoDBBackendTestFactory.class)
-public class ITMongoDBPersist extends AbstractPersistTests {}
+public class ITMongoDBPersist extends AbstractPersistTests {
+
+  @Nested
+  @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+  public class SplitFetches {
+    @InjectSoftAssertions protected SoftAssertions soft;
+
+    @NessiePersist(initializeRepo = false)
+    protected BackendTestFactory factory;
+
+    @Test
+    void splitAndProjectedFetches() throws Exception {
+      MongoDBBackendTestFactory mongoDBBackendTestFactory = (MongoDBBackendTestFactory) factory;
+      try (MongoDBBackend backend =
+          new MongoDBBackend(
+              MongoDBBackendConfig.builder()
+                  .databaseName("split_fetches")
+                  .client(mongoDBBackendTestFactory.buildNewClient())
+                  .fetchObjsBatchSize(7)
+                  .fetchObjsParallelism(3)
+                  .secondaryObjReads(true)
+                  .build(),
+              true)) {
+        backend.setupSchema();
+        Persist persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+        Obj[] objs =
+            IntStream.range(0, 50)
+                .mapToObj(
+                    i ->
+                        contentValue(
+                            ObjId.randomObjId(), "cid-" + i, 42, ByteString.copyFromUtf8("" + i)))
+                .toArray(Obj[]::new);
+        persist.storeObjs(objs);
+
+        ObjId[] ids = Arrays.stream(objs).map(Obj::id).toArray(ObjId[]::new);
+        soft.assertThat(persist.fetchObjs(ids)).containsExactly(objs);
+
+        ObjId[] withMissing = Arrays.copyOf(ids, ids.length + 1);
+        withMissing[ids.length] = ObjId.randomObjId();
+        soft.assertThatThrownBy(() -> persist.fetchObjs(withMissing))
+            .isInstanceOf(ObjNotFoundException.class);
+
+        soft.assertThat(persist.fetchObjType(ids[3])).isEqualTo(ObjType.VALUE);
+        soft.assertThat(persist.fetchTypedObj(ids[3], ObjType.VALUE, ContentValueObj.class))
+            .isEqualTo(objs[3]);
+        soft.assertThatThrownBy(() -> persist.fetchTypedObj(ids[3], ObjType.COMMIT, Obj.class))
+            .isInstanceOf(ObjNotFoundException.class);
+      }
+    }
+  }
+}
@@ -20,13 +20,18 @@ import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.ID_RE
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.TABLE_REFS;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.projectnessie.versioned.storage.common.persist.Backend;
@@ -38,6 +43,8 @@ class MongoDBBackend implements Backend {
   private final boolean closeClient;
   private MongoCollection<Document> refs;
   private MongoCollection<Document> objs;
+  private MongoCollection<Document> objsForReads;
+  private ExecutorService fetchExecutor;
 
   MongoDBBackend(
       @Nonnull @jakarta.annotation.Nonnull MongoDBBackendConfig config, boolean closeClient) {
@@ -58,6 +65,40 @@ class MongoDBBackend implements Backend {
     return objs;
   }
 
+  /**
+   * The objects collection to use for reads, which is {@link #objs()} with the {@code
+   * secondaryPreferred} read preference, if {@link MongoDBBackendConfig#secondaryObjReads()} is
+   * enabled, otherwise the same as {@link #objs()}.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  MongoCollection<Document> objsForReads() {
+    return objsForReads;
+  }
+
+  int fetchObjsBatchSize() {
+    return Math.max(1, config.fetchObjsBatchSize());
+  }
+
+  /**
+   * Executor for concurrent {@code $in} queries, {@code null} if {@link
+   * MongoDBBackendConfig#fetchObjsParallelism()} does not allow concurrent queries.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  synchronized ExecutorService fetchExecutor() {
+    if (fetchExecutor == null && config.fetchObjsParallelism() > 1) {
+      fetchExecutor =
+          Executors.newFixedThreadPool(
+              config.fetchObjsParallelism(),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("nessie-mongodb-fetch-%d")
+                  .build());
+    }
+    return fetchExecutor;
+  }
+
   private synchronized void initialize() {
     if (refs == null) {
       String databaseName = config.databaseName();
@@ -66,6 +107,10 @@ class MongoDBBackend implements Backend {
 
       refs = database.getCollection(TABLE_REFS);
       objs = database.getCollection(TABLE_OBJS);
+      objsForReads =
+          config.secondaryObjReads()
+              ? objs.withReadPreference(ReadPreference.secondaryPreferred())
+              : objs;
     }
   }
 
@@ -79,6 +124,10 @@ class MongoDBBackend implements Backend {
 
   @Override
   public synchronized void close() {
+    if (fetchExecutor != null) {
+      fetchExecutor.shutdown();
+      fetchExecutor = null;
+    }
     if (closeClient) {
       client.close();
     }
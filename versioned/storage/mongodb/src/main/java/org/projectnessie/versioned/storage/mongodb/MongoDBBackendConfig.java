@@ -23,6 +23,39 @@ public interface MongoDBBackendConfig extends MongoDBBackendBaseConfig {
 
   MongoClient client();
 
+  /**
+   * Maximum number of object IDs per {@code $in} query. Larger multi-object fetches are split into
+   * multiple queries that run concurrently, see {@link #fetchObjsParallelism()}.
+   */
+  @Value.Default
+  default int fetchObjsBatchSize() {
+    return DEFAULT_FETCH_OBJS_BATCH_SIZE;
+  }
+
+  /**
+   * Maximum number of concurrently running {@code $in} queries for multi-object fetches, shared by
+   * all fetches against the backend. A value of {@code 1} runs the queries sequentially.
+   */
+  @Value.Default
+  default int fetchObjsParallelism() {
+    return DEFAULT_FETCH_OBJS_PARALLELISM;
+  }
+
+  /**
+   * Whether objects are read with the {@code secondaryPreferred} read preference. Objects are
+   * content-addressed, so a secondary can only return a current version of an object or none at
+   * all. Objects that are not (yet) replicated to the secondary are re-read from the primary.
+   * References are always read from the primary.
+   */
+  @Value.Default
+  default boolean secondaryObjReads() {
+    return false;
+  }
+
+  int DEFAULT_FETCH_OBJS_BATCH_SIZE = 100;
+
+  int DEFAULT_FETCH_OBJS_PARALLELISM = 4;
+
   static ImmutableMongoDBBackendConfig.Builder builder() {
     return ImmutableMongoDBBackendConfig.builder();
   }
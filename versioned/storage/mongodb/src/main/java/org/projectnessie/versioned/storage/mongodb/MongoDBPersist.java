@@ -23,6 +23,7 @@ import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.exists;
 import static com.mongodb.client.model.Filters.in;
 import static com.mongodb.client.model.Filters.not;
+import static com.mongodb.client.model.Projections.include;
 import static com.mongodb.client.model.Updates.set;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
@@ -98,6 +99,7 @@ import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.bulk.BulkWriteInsert;
 import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.InsertOneModel;
 import com.mongodb.client.model.ReplaceOneModel;
@@ -112,6 +114,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -415,9 +420,7 @@ public class MongoDBPersist implements Persist {
   @Nonnull
   @jakarta.annotation.Nonnull
   public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) throws ObjNotFoundException {
-    FindIterable<Document> result = backend.objs().find(eq(ID_PROPERTY_NAME, idObjDoc(id)));
-
-    Document doc = result.first();
+    Document doc = findOneObj(eq(ID_PROPERTY_NAME, idObjDoc(id)), null);
     if (doc == null) {
       throw new ObjNotFoundException(id);
     }
@@ -431,12 +434,14 @@ public class MongoDBPersist implements Persist {
   public <T extends Obj> T fetchTypedObj(
       @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
-    FindIterable<Document> result =
-        backend
-            .objs()
-            .find(and(eq(ID_PROPERTY_NAME, idObjDoc(id)), eq(COL_OBJ_TYPE, type.shortName())));
+    StoreObjDesc<?> storeObj = STORE_OBJ_TYPE.get(type);
+    checkArgument(storeObj != null, "Cannot deserialize object type %s", type);
 
-    Document doc = result.first();
+    // Only read the object type and the sub-document for the requested type.
+    Document doc =
+        findOneObj(
+            and(eq(ID_PROPERTY_NAME, idObjDoc(id)), eq(COL_OBJ_TYPE, type.shortName())),
+            include(COL_OBJ_TYPE, storeObj.typeName));
     if (doc == null) {
       throw new ObjNotFoundException(id);
     }
@@ -453,9 +458,7 @@ public class MongoDBPersist implements Persist {
   @jakarta.annotation.Nonnull
   public ObjType fetchObjType(@Nonnull @jakarta.annotation.Nonnull ObjId id)
       throws ObjNotFoundException {
-    FindIterable<Document> result = backend.objs().find(eq(ID_PROPERTY_NAME, idObjDoc(id)));
-
-    Document doc = result.first();
+    Document doc = findOneObj(eq(ID_PROPERTY_NAME, idObjDoc(id)), include(COL_OBJ_TYPE));
     if (doc == null) {
       throw new ObjNotFoundException(id);
     }
@@ -463,6 +466,24 @@ public class MongoDBPersist implements Persist {
     return objTypeFromItem(doc);
   }
 
+  /**
+   * Returns the first object document matching the filter, falling back to the primary if {@link
+   * MongoDBBackend#objsForReads()} is not the primary and did not return a result.
+   */
+  private Document findOneObj(Bson filter, Bson projection) {
+    Document doc = findObjs(backend.objsForReads(), filter, projection).first();
+    if (doc == null && backend.objsForReads() != backend.objs()) {
+      doc = findObjs(backend.objs(), filter, projection).first();
+    }
+    return doc;
+  }
+
+  private static FindIterable<Document> findObjs(
+      MongoCollection<Document> collection, Bson filter, Bson projection) {
+    FindIterable<Document> result = collection.find(filter);
+    return projection != null ? result.projection(projection) : result;
+  }
+
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
@@ -481,7 +502,21 @@ public class MongoDBPersist implements Persist {
     }
 
     if (!list.isEmpty()) {
-      fetchObjsPage(r, list, idToIndex);
+      fetchObjsPages(backend.objsForReads(), r, list, idToIndex);
+
+      if (backend.objsForReads() != backend.objs()) {
+        // Objects that have not been replicated to the secondary yet must be read from the primary.
+        List<Document> missing = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+          ObjId id = ids[i];
+          if (r[i] == null && id != null) {
+            missing.add(idObjDoc(id));
+          }
+        }
+        if (!missing.isEmpty()) {
+          fetchObjsPages(backend.objs(), r, missing, idToIndex);
+        }
+      }
     }
 
     List<ObjId> notFound = null;
@@ -501,8 +536,50 @@ public class MongoDBPersist implements Persist {
     return r;
   }
 
-  private void fetchObjsPage(Obj[] r, List<Document> list, Object2IntHashMap<ObjId> idToIndex) {
-    FindIterable<Document> result = backend.objs().find(in(ID_PROPERTY_NAME, list));
+  /**
+   * Splits the {@code $in} query into pages of {@link MongoDBBackend#fetchObjsBatchSize()} IDs. All
+   * pages but the first are executed via {@link MongoDBBackend#fetchExecutor()}, if available, the
+   * first page is executed on the calling thread.
+   */
+  private void fetchObjsPages(
+      MongoCollection<Document> collection,
+      Obj[] r,
+      List<Document> list,
+      Object2IntHashMap<ObjId> idToIndex) {
+    int batchSize = backend.fetchObjsBatchSize();
+    ExecutorService executor = list.size() > batchSize ? backend.fetchExecutor() : null;
+
+    // Each result is written to a distinct array index, 'idToIndex' is only read.
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int offset = batchSize; offset < list.size(); offset += batchSize) {
+      List<Document> page = list.subList(offset, Math.min(list.size(), offset + batchSize));
+      if (executor != null) {
+        futures.add(
+            CompletableFuture.runAsync(
+                () -> fetchObjsPage(collection, r, page, idToIndex), executor));
+      } else {
+        fetchObjsPage(collection, r, page, idToIndex);
+      }
+    }
+    fetchObjsPage(collection, r, list.subList(0, Math.min(list.size(), batchSize)), idToIndex);
+
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+  }
+
+  private void fetchObjsPage(
+      MongoCollection<Document> collection,
+      Obj[] r,
+      List<Document> list,
+      Object2IntHashMap<ObjId> idToIndex) {
+    FindIterable<Document> result = collection.find(in(ID_PROPERTY_NAME, list));
     for (Document doc : result) {
       Obj obj = docToObj(doc);
       int idx = idToIndex.getValue(obj.id());
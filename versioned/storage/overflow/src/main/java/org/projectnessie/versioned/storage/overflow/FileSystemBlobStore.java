@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link OverflowBlobStore} using a local (or locally mounted) file system, each blob is stored in
+ * its own file below the given root directory.
+ */
+public final class FileSystemBlobStore implements OverflowBlobStore {
+
+  private final Path root;
+
+  public FileSystemBlobStore(@Nonnull @jakarta.annotation.Nonnull Path root) {
+    this.root = root;
+  }
+
+  @Override
+  public void put(
+      @Nonnull @jakarta.annotation.Nonnull String key,
+      @Nonnull @jakarta.annotation.Nonnull byte[] data) {
+    Path file = root.resolve(key);
+    if (Files.isRegularFile(file)) {
+      // Content-addressed, an existing file has the same content.
+      return;
+    }
+    try {
+      Path dir = file.getParent();
+      Files.createDirectories(dir);
+      Path temp = Files.createTempFile(dir, ".blob-", ".tmp");
+      try {
+        Files.write(temp, data);
+        Files.move(temp, file, ATOMIC_MOVE);
+      } catch (FileAlreadyExistsException e) {
+        // concurrently written by someone else, which is fine
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write overflow blob " + key, e);
+    }
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public byte[] get(@Nonnull @jakarta.annotation.Nonnull String key) {
+    try {
+      return Files.readAllBytes(root.resolve(key));
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read overflow blob " + key, e);
+    }
+  }
+
+  @Override
+  public void delete(@Nonnull @jakarta.annotation.Nonnull String key) {
+    try {
+      Files.deleteIfExists(root.resolve(key));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to delete overflow blob " + key, e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "file system blob store at " + root;
+  }
+}
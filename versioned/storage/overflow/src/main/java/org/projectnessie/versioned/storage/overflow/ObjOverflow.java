@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Configures a {@link Persist} facade that stores objects, whose serialized representation exceeds
+ * {@link #thresholdBytes()}, in an {@link OverflowBlobStore} and only a small pointer object in the
+ * wrapped {@link #persist() backend}.
+ *
+ * <p>Since the facade reports no {@link Persist#hardObjectSizeLimit() hard object size limit}, the
+ * configured {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#maxSerializedIndexSize() index
+ * segment} and {@link
+ * org.projectnessie.versioned.storage.common.config.StoreConfig#maxIncrementalIndexSize()
+ * incremental index} sizes are used as is and are no longer capped by the item size limit of the
+ * backend. This allows using larger index segments on backends like DynamoDB or BigTable, resulting
+ * in fewer index stripes and fewer round trips.
+ *
+ * <p>The facade must be placed <em>below</em> a caching facade, so that the cache holds the
+ * resolved objects.
+ *
+ * <p>The Nessie server does not apply this facade, it is meant for tools and applications that
+ * create their own {@link Persist} instances.
+ */
+@Value.Immutable
+public interface ObjOverflow {
+
+  static ImmutableObjOverflow.Builder builder() {
+    return ImmutableObjOverflow.builder();
+  }
+
+  Persist persist();
+
+  OverflowBlobStore blobStore();
+
+  /**
+   * Objects with a serialized size greater than this value are stored in the {@link #blobStore()}.
+   * Defaults to half of the {@link Persist#hardObjectSizeLimit() hard object size limit} of the
+   * wrapped {@link #persist()}, which leaves room for the backend specific attributes/columns.
+   */
+  @Value.Default
+  default int thresholdBytes() {
+    return persist().hardObjectSizeLimit() / 2;
+  }
+
+  default Persist create() {
+    return new OverflowPersistImpl(this);
+  }
+}
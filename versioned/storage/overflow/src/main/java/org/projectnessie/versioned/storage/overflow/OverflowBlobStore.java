@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Content-addressed blob store that holds the serialized representation of objects that are too
+ * large for the primary {@link org.projectnessie.versioned.storage.common.persist.Persist Persist}
+ * backend.
+ *
+ * <p>Keys are derived from the content of the blob and consist only of lower-case hex characters
+ * and {@code /}. Since a key always refers to the same content, {@link #put(String, byte[])} does
+ * not need to replace an existing blob.
+ */
+public interface OverflowBlobStore {
+
+  void put(
+      @Nonnull @jakarta.annotation.Nonnull String key,
+      @Nonnull @jakarta.annotation.Nonnull byte[] data);
+
+  /** Returns the blob for the given key or {@code null}, if no such blob exists. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  byte[] get(@Nonnull @jakarta.annotation.Nonnull String key);
+
+  /** Deletes the blob with the given key, if it exists. */
+  void delete(@Nonnull @jakarta.annotation.Nonnull String key);
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import static org.projectnessie.versioned.storage.overflow.OverflowPointers.blobKey;
+import static org.projectnessie.versioned.storage.overflow.OverflowPointers.isPointer;
+import static org.projectnessie.versioned.storage.overflow.OverflowPointers.pointedBlobKey;
+import static org.projectnessie.versioned.storage.overflow.OverflowPointers.pointedType;
+import static org.projectnessie.versioned.storage.overflow.OverflowPointers.pointer;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Stores objects that are too large for the wrapped {@link Persist} in an {@link
+ * OverflowBlobStore}, see {@link ObjOverflow}.
+ *
+ * <p>An object is overflowed, if its serialized size exceeds the configured threshold or if it
+ * exceeds the (soft) index size limits of the wrapped {@link Persist}, which are derived from the
+ * backend's hard item size limit. Soft size restrictions are validated against the limits of this
+ * facade, which are not capped by the backend's item size limit.
+ *
+ * <p>Blob keys are derived from the repository ID, the object ID and the serialized object, so
+ * every blob belongs to exactly one pointer object and can be deleted with it. A blob is written
+ * before its pointer, if the pointer is not stored, because an object with the same ID already
+ * exists, the blob is deleted again, unless the existing pointer refers to it. If storing the
+ * pointer fails, the blob is left in place: a concurrent store of the same object may use it, and
+ * retrying the store reuses it, because the key is the same.
+ *
+ * <p>Blob keys of pointers that are about to be replaced or deleted are looked up with a single
+ * bulk fetch for {@link #upsertObjs(Obj[])} and {@link #deleteObjs(ObjId[])}.
+ */
+final class OverflowPersistImpl implements Persist {
+
+  private final Persist persist;
+  private final OverflowBlobStore blobStore;
+  private final int thresholdBytes;
+
+  OverflowPersistImpl(ObjOverflow overflow) {
+    this.persist = overflow.persist();
+    this.blobStore = overflow.blobStore();
+    this.thresholdBytes = overflow.thresholdBytes();
+  }
+
+  @Override
+  public int hardObjectSizeLimit() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) throws ObjNotFoundException {
+    return resolve(persist.fetchObj(id));
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public <T extends Obj> T fetchTypedObj(
+      @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
+      throws ObjNotFoundException {
+    Obj o;
+    try {
+      o = persist.fetchTypedObj(id, type, typeClass);
+      if (type != ObjType.STRING) {
+        return typeClass.cast(o);
+      }
+    } catch (ObjNotFoundException e) {
+      if (type == ObjType.STRING) {
+        throw e;
+      }
+      // The object might have been overflowed, in which case the backend holds a pointer.
+      o = persist.fetchTypedObj(id, ObjType.STRING, StringObj.class);
+    }
+    o = resolve(o);
+    if (o.type() != type) {
+      throw new ObjNotFoundException(id);
+    }
+    return typeClass.cast(o);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public ObjType fetchObjType(@Nonnull @jakarta.annotation.Nonnull ObjId id)
+      throws ObjNotFoundException {
+    ObjType type = persist.fetchObjType(id);
+    if (type != ObjType.STRING) {
+      return type;
+    }
+    StringObj o = persist.fetchTypedObj(id, ObjType.STRING, StringObj.class);
+    return isPointer(o) ? pointedType(o) : type;
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+      throws ObjNotFoundException {
+    Obj[] r = persist.fetchObjs(ids);
+    for (int i = 0; i < r.length; i++) {
+      Obj o = r[i];
+      if (o != null) {
+        r[i] = resolve(o);
+      }
+    }
+    return r;
+  }
+
+  @Override
+  public boolean storeObj(
+      @Nonnull @jakarta.annotation.Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
+      throws ObjTooLargeException {
+    Obj toStore = overflowIfNecessary(obj, ignoreSoftSizeRestrictions);
+    boolean stored = persist.storeObj(toStore, true);
+    if (!stored && isPointer(toStore)) {
+      deleteUnusedBlob(toStore, blobKeyOf(obj.id()));
+    }
+    return stored;
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public boolean[] storeObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
+      throws ObjTooLargeException {
+    Obj[] toStore = overflowIfNecessary(objs);
+    boolean[] stored = persist.storeObjs(toStore);
+    ObjId[] notStoredPointers = new ObjId[toStore.length];
+    boolean anyNotStoredPointer = false;
+    for (int i = 0; i < toStore.length; i++) {
+      if (!stored[i] && isPointer(toStore[i])) {
+        notStoredPointers[i] = toStore[i].id();
+        anyNotStoredPointer = true;
+      }
+    }
+    if (anyNotStoredPointer) {
+      String[] existingBlobs = blobKeysOf(notStoredPointers);
+      for (int i = 0; i < toStore.length; i++) {
+        if (notStoredPointers[i] != null) {
+          deleteUnusedBlob(toStore[i], existingBlobs[i]);
+        }
+      }
+    }
+    return stored;
+  }
+
+  @Override
+  public void upsertObj(@Nonnull @jakarta.annotation.Nonnull Obj obj) throws ObjTooLargeException {
+    String previousBlob = blobKeyOf(obj.id());
+    Obj toStore = overflowIfNecessary(obj, false);
+    persist.upsertObj(toStore);
+    deleteReplacedBlob(previousBlob, toStore);
+  }
+
+  @Override
+  public void upsertObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
+      throws ObjTooLargeException {
+    ObjId[] ids = new ObjId[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      if (objs[i] != null) {
+        ids[i] = objs[i].id();
+      }
+    }
+    String[] previousBlobs = blobKeysOf(ids);
+    Obj[] toStore = overflowIfNecessary(objs);
+    persist.upsertObjs(toStore);
+    for (int i = 0; i < objs.length; i++) {
+      deleteReplacedBlob(previousBlobs[i], toStore[i]);
+    }
+  }
+
+  @Override
+  public void deleteObj(@Nonnull @jakarta.annotation.Nonnull ObjId id) {
+    String blob = blobKeyOf(id);
+    persist.deleteObj(id);
+    if (blob != null) {
+      blobStore.delete(blob);
+    }
+  }
+
+  @Override
+  public void deleteObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    String[] blobs = blobKeysOf(ids);
+    persist.deleteObjs(ids);
+    for (String blob : blobs) {
+      if (blob != null) {
+        blobStore.delete(blob);
+      }
+    }
+  }
+
+  @Override
+  public void erase() {
+    try (CloseableIterator<Obj> pointers =
+        persist.scanAllObjects(Collections.singleton(ObjType.STRING))) {
+      while (pointers.hasNext()) {
+        Obj o = pointers.next();
+        if (isPointer(o)) {
+          blobStore.delete(pointedBlobKey((StringObj) o));
+        }
+      }
+    }
+    persist.erase();
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public CloseableIterator<Obj> scanAllObjects(
+      @Nonnull @jakarta.annotation.Nonnull Set<ObjType> returnedObjTypes) {
+    Set<ObjType> scanTypes = EnumSet.noneOf(ObjType.class);
+    scanTypes.addAll(returnedObjTypes);
+    // Pointers to overflowed objects are STRING objects.
+    scanTypes.add(ObjType.STRING);
+    return new ResolvingIterator(persist.scanAllObjects(scanTypes), returnedObjTypes);
+  }
+
+  private Obj[] overflowIfNecessary(Obj[] objs) throws ObjTooLargeException {
+    Obj[] r = new Obj[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      r[i] = overflowIfNecessary(objs[i], false);
+    }
+    return r;
+  }
+
+  /**
+   * Returns either the given object, if it can be stored in the wrapped {@link Persist}, or a
+   * pointer object after the serialized object has been written to the blob store.
+   */
+  private Obj overflowIfNecessary(Obj obj, boolean ignoreSoftSizeRestrictions)
+      throws ObjTooLargeException {
+    if (obj == null) {
+      return null;
+    }
+    byte[] serialized;
+    try {
+      serialized =
+          serializeObj(
+              obj,
+              persist.effectiveIncrementalIndexSizeLimit(),
+              persist.effectiveIndexSegmentSizeLimit());
+    } catch (ObjTooLargeException e) {
+      // Too large for the wrapped Persist, validate against the limits of this facade.
+      serialized =
+          ignoreSoftSizeRestrictions
+              ? serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE)
+              : serializeObj(
+                  obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit());
+      return overflow(obj, serialized);
+    }
+    return serialized.length > thresholdBytes ? overflow(obj, serialized) : obj;
+  }
+
+  private Obj overflow(Obj obj, byte[] serialized) {
+    ObjId id = obj.id();
+    String key = blobKey(config().repositoryId(), id, serialized);
+    blobStore.put(key, serialized);
+    return pointer(id, obj.type(), serialized.length, key);
+  }
+
+  private Obj resolve(Obj obj) {
+    if (!isPointer(obj)) {
+      return obj;
+    }
+    String key = pointedBlobKey((StringObj) obj);
+    byte[] serialized = blobStore.get(key);
+    if (serialized == null) {
+      throw new IllegalStateException(
+          "Overflow blob " + key + " for object " + obj.id() + " does not exist in " + blobStore);
+    }
+    return deserializeObj(obj.id(), serialized);
+  }
+
+  /** Returns the blob key, if the backend holds a pointer for the given ID. */
+  private String blobKeyOf(ObjId id) {
+    try {
+      StringObj o = persist.fetchTypedObj(id, ObjType.STRING, StringObj.class);
+      return isPointer(o) ? pointedBlobKey(o) : null;
+    } catch (ObjNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the blob keys for the given IDs, an element is {@code null}, if the backend holds no
+   * pointer for the corresponding ID. Uses a single bulk fetch, unless objects are concurrently
+   * deleted.
+   */
+  private String[] blobKeysOf(ObjId[] ids) {
+    String[] keys = new String[ids.length];
+    ObjId[] fetch = ids.clone();
+    while (true) {
+      Obj[] objs;
+      try {
+        objs = persist.fetchObjs(fetch);
+      } catch (ObjNotFoundException e) {
+        // Do not fetch the objects that do not exist, they have no blob
+        Set<ObjId> notFound = new HashSet<>(e.objIds());
+        boolean removed = false;
+        for (int i = 0; i < fetch.length; i++) {
+          if (fetch[i] != null && notFound.contains(fetch[i])) {
+            fetch[i] = null;
+            removed = true;
+          }
+        }
+        if (!removed) {
+          throw new IllegalStateException(e);
+        }
+        continue;
+      }
+      for (int i = 0; i < objs.length; i++) {
+        if (isPointer(objs[i])) {
+          keys[i] = pointedBlobKey((StringObj) objs[i]);
+        }
+      }
+      return keys;
+    }
+  }
+
+  /**
+   * Deletes the blob referenced by the given pointer, which has not been stored, unless the
+   * existing pointer for the same ID refers to the same blob.
+   */
+  private void deleteUnusedBlob(Obj notStored, String existingBlob) {
+    String blob = pointedBlobKey((StringObj) notStored);
+    if (!blob.equals(existingBlob)) {
+      blobStore.delete(blob);
+    }
+  }
+
+  private void deleteReplacedBlob(String previousBlob, Obj stored) {
+    if (previousBlob == null) {
+      return;
+    }
+    if (!isPointer(stored) || !previousBlob.equals(pointedBlobKey((StringObj) stored))) {
+      blobStore.delete(previousBlob);
+    }
+  }
+
+  private final class ResolvingIterator extends AbstractIterator<Obj>
+      implements CloseableIterator<Obj> {
+    private final CloseableIterator<Obj> base;
+    private final Set<ObjType> returnedObjTypes;
+
+    ResolvingIterator(CloseableIterator<Obj> base, Set<ObjType> returnedObjTypes) {
+      this.base = base;
+      this.returnedObjTypes = returnedObjTypes;
+    }
+
+    @Override
+    protected Obj computeNext() {
+      while (base.hasNext()) {
+        Obj o = base.next();
+        if (isPointer(o)) {
+          if (returnedObjTypes.contains(pointedType((StringObj) o))) {
+            return resolve(o);
+          }
+        } else if (returnedObjTypes.contains(o.type())) {
+          return o;
+        }
+      }
+      return endOfData();
+    }
+
+    @Override
+    public void close() {
+      base.close();
+    }
+  }
+
+  // plain delegates...
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public StoreConfig config() {
+    return persist.config();
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public String name() {
+    return persist.name();
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference addReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
+      throws RefAlreadyExistsException {
+    return persist.addReference(reference);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference markReferenceAsDeleted(@Nonnull @jakarta.annotation.Nonnull Reference reference)
+      throws RefNotFoundException, RefConditionFailedException {
+    return persist.markReferenceAsDeleted(reference);
+  }
+
+  @Override
+  public void purgeReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
+      throws RefNotFoundException, RefConditionFailedException {
+    persist.purgeReference(reference);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference updateReferencePointer(
+      @Nonnull @jakarta.annotation.Nonnull Reference reference,
+      @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+      throws RefNotFoundException, RefConditionFailedException {
+    return persist.updateReferencePointer(reference, newPointer);
+  }
+
+  @Override
+  public Reference fetchReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    return persist.fetchReference(name);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
+    return persist.fetchReferences(names);
+  }
+}
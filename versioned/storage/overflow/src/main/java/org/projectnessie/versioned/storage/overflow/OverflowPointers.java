@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stringData;
+
+import com.google.common.hash.Hashing;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Pointer objects are stored in the backend instead of the overflowed objects.
+ *
+ * <p>A pointer is a {@link StringObj} with the ID of the original object and the special {@link
+ * #POINTER_CONTENT_TYPE content type}. Its text contains the original {@link ObjType}, the
+ * serialized size and the blob key, so that {@link
+ * org.projectnessie.versioned.storage.common.persist.Persist#fetchObjType(ObjId)} can be answered
+ * without reading the blob. Reusing the existing {@link ObjType#STRING} object type means that
+ * none of the database specific {@code Persist} implementations need to know about overflowed
+ * objects.
+ */
+final class OverflowPointers {
+  static final String POINTER_CONTENT_TYPE = "application/x-nessie-overflow-pointer";
+
+  private OverflowPointers() {}
+
+  static String blobKey(String repositoryId, ObjId id, byte[] serialized) {
+    String hash =
+        Hashing.sha256()
+            .newHasher()
+            .putString(repositoryId, UTF_8)
+            .putByte((byte) 0)
+            .putBytes(id.asByteArray())
+            .putBytes(serialized)
+            .hash()
+            .toString();
+    return hash.substring(0, 2) + '/' + hash;
+  }
+
+  static StringObj pointer(ObjId id, ObjType type, int size, String blobKey) {
+    String text = type.shortName() + ':' + size + ':' + blobKey;
+    return stringData(
+        id,
+        POINTER_CONTENT_TYPE,
+        Compression.NONE,
+        null,
+        emptyList(),
+        ByteString.copyFromUtf8(text));
+  }
+
+  static boolean isPointer(Obj obj) {
+    return obj instanceof StringObj
+        && POINTER_CONTENT_TYPE.equals(((StringObj) obj).contentType());
+  }
+
+  static ObjType pointedType(StringObj pointer) {
+    String text = pointer.text().toStringUtf8();
+    return ObjType.fromShortName(text.substring(0, text.indexOf(':')));
+  }
+
+  static String pointedBlobKey(StringObj pointer) {
+    String text = pointer.text().toStringUtf8();
+    return text.substring(text.indexOf(':', text.indexOf(':') + 1) + 1);
+  }
+}
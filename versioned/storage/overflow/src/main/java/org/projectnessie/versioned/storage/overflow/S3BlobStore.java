@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+/**
+ * {@link OverflowBlobStore} using an S3 compatible object store. The {@link S3Client} is owned by
+ * the caller and not closed by this class.
+ */
+public final class S3BlobStore implements OverflowBlobStore {
+
+  private final S3Client client;
+  private final String bucket;
+  private final String prefix;
+
+  /**
+   * @param client the S3 client to use
+   * @param bucket the bucket to store the blobs in
+   * @param prefix the prefix for all object keys, for example {@code "nessie/overflow/"}, can be
+   *     empty
+   */
+  public S3BlobStore(
+      @Nonnull @jakarta.annotation.Nonnull S3Client client,
+      @Nonnull @jakarta.annotation.Nonnull String bucket,
+      @Nonnull @jakarta.annotation.Nonnull String prefix) {
+    this.client = client;
+    this.bucket = bucket;
+    this.prefix = prefix;
+  }
+
+  @Override
+  public void put(
+      @Nonnull @jakarta.annotation.Nonnull String key,
+      @Nonnull @jakarta.annotation.Nonnull byte[] data) {
+    client.putObject(
+        b -> b.bucket(bucket).key(prefix + key).contentType("application/octet-stream"),
+        RequestBody.fromBytes(data));
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public byte[] get(@Nonnull @jakarta.annotation.Nonnull String key) {
+    try {
+      return client.getObjectAsBytes(b -> b.bucket(bucket).key(prefix + key)).asByteArray();
+    } catch (NoSuchKeyException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public void delete(@Nonnull @jakarta.annotation.Nonnull String key) {
+    client.deleteObject(b -> b.bucket(bucket).key(prefix + key));
+  }
+
+  @Override
+  public String toString() {
+    return "S3 blob store at s3://" + bucket + "/" + prefix;
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjType.STRING;
+import static org.projectnessie.versioned.storage.commontests.AbstractBasePersistTests.updateObjChange;
+import static org.projectnessie.versioned.storage.overflow.OverflowPointers.pointedType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.commontests.AbstractBasePersistTests;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackend;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendFactory;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestOverflowPersist {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @TempDir Path blobDir;
+
+  private Persist base;
+  private FileSystemBlobStore blobStore;
+
+  @BeforeEach
+  void setup() {
+    InmemoryBackendFactory factory = new InmemoryBackendFactory();
+    @SuppressWarnings("resource")
+    InmemoryBackend backend = factory.buildBackend(factory.newConfigInstance());
+    base = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+    blobStore = new FileSystemBlobStore(blobDir);
+  }
+
+  private Persist overflow(int thresholdBytes) {
+    return ObjOverflow.builder()
+        .persist(base)
+        .blobStore(blobStore)
+        .thresholdBytes(thresholdBytes)
+        .build()
+        .create();
+  }
+
+  @Test
+  void limits() {
+    Persist persist = overflow(100);
+    soft.assertThat(persist.hardObjectSizeLimit()).isEqualTo(Integer.MAX_VALUE);
+    soft.assertThat(persist.effectiveIndexSegmentSizeLimit())
+        .isEqualTo(persist.config().maxSerializedIndexSize());
+    soft.assertThat(persist.effectiveIncrementalIndexSizeLimit())
+        .isEqualTo(persist.config().maxIncrementalIndexSize());
+  }
+
+  @ParameterizedTest
+  @MethodSource("allObjectTypeSamples")
+  void overflowed(Obj obj) throws Exception {
+    Persist persist = overflow(0);
+
+    soft.assertThat(persist.storeObj(obj)).isTrue();
+    soft.assertThat(persist.storeObj(obj)).isFalse();
+
+    Obj pointer = base.fetchObj(obj.id());
+    soft.assertThat(pointer).matches(OverflowPointers::isPointer);
+    soft.assertThat(pointedType((StringObj) pointer)).isSameAs(obj.type());
+    soft.assertThat(blobFiles()).hasSize(1);
+
+    soft.assertThat(persist.fetchObj(obj.id())).isEqualTo(obj);
+    soft.assertThat(persist.fetchObjType(obj.id())).isSameAs(obj.type());
+    soft.assertThat(persist.fetchTypedObj(obj.id(), obj.type(), obj.getClass())).isEqualTo(obj);
+    soft.assertThat(persist.fetchObjs(new ObjId[] {obj.id(), null})).containsExactly(obj, null);
+    for (ObjType other : EnumSet.complementOf(EnumSet.of(obj.type()))) {
+      soft.assertThatThrownBy(() -> persist.fetchTypedObj(obj.id(), other, Obj.class))
+          .isInstanceOf(ObjNotFoundException.class);
+    }
+
+    soft.assertThat(scan(persist, EnumSet.of(obj.type()))).containsExactly(obj);
+    soft.assertThat(scan(persist, EnumSet.complementOf(EnumSet.of(obj.type())))).isEmpty();
+
+    persist.deleteObj(obj.id());
+    soft.assertThatThrownBy(() -> persist.fetchObj(obj.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+    soft.assertThat(blobFiles()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @MethodSource("allObjectTypeSamples")
+  void notOverflowed(Obj obj) throws Exception {
+    Persist persist = overflow(Integer.MAX_VALUE);
+
+    soft.assertThat(persist.storeObj(obj)).isTrue();
+
+    soft.assertThat(base.fetchObj(obj.id())).isEqualTo(obj);
+    soft.assertThat(persist.fetchObj(obj.id())).isEqualTo(obj);
+    soft.assertThat(persist.fetchObjType(obj.id())).isSameAs(obj.type());
+    soft.assertThat(persist.fetchTypedObj(obj.id(), obj.type(), obj.getClass())).isEqualTo(obj);
+    soft.assertThat(blobFiles()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @MethodSource("allObjectTypeSamples")
+  void upsertReplacesBlob(Obj obj) throws Exception {
+    Persist persist = overflow(0);
+
+    soft.assertThat(persist.storeObjs(new Obj[] {obj})).containsExactly(true);
+    List<Path> initialBlobs = blobFiles();
+    soft.assertThat(initialBlobs).hasSize(1);
+
+    Obj updated = updateObjChange(obj);
+    persist.upsertObjs(new Obj[] {updated});
+    soft.assertThat(persist.fetchObj(obj.id())).isEqualTo(updated);
+    soft.assertThat(blobFiles()).hasSize(1).doesNotContainAnyElementsOf(initialBlobs);
+
+    persist.deleteObjs(new ObjId[] {obj.id()});
+    soft.assertThat(blobFiles()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @MethodSource("allObjectTypeSamples")
+  void notStoredBlobDeleted(Obj obj) throws Exception {
+    soft.assertThat(overflow(Integer.MAX_VALUE).storeObj(obj)).isTrue();
+
+    // The object already exists inline, the blob written for the pointer must not be kept.
+    Persist persist = overflow(0);
+    soft.assertThat(persist.storeObj(obj)).isFalse();
+    soft.assertThat(blobFiles()).isEmpty();
+    soft.assertThat(persist.storeObjs(new Obj[] {obj, null})).containsExactly(false, false);
+    soft.assertThat(blobFiles()).isEmpty();
+    soft.assertThat(persist.fetchObj(obj.id())).isEqualTo(obj);
+  }
+
+  @ParameterizedTest
+  @MethodSource("allObjectTypeSamples")
+  void deleteObjsWithMissingObjects(Obj obj) throws Exception {
+    Persist persist = overflow(0);
+    soft.assertThat(persist.storeObj(obj)).isTrue();
+    soft.assertThat(blobFiles()).hasSize(1);
+
+    persist.deleteObjs(new ObjId[] {ObjId.randomObjId(), obj.id(), null});
+    soft.assertThatThrownBy(() -> persist.fetchObj(obj.id()))
+        .isInstanceOf(ObjNotFoundException.class);
+    soft.assertThat(blobFiles()).isEmpty();
+  }
+
+  @Test
+  void erase() throws Exception {
+    Persist persist = overflow(0);
+    persist.storeObjs(allObjectTypeSamples().toArray(Obj[]::new));
+    soft.assertThat(blobFiles()).isNotEmpty();
+
+    persist.erase();
+
+    soft.assertThat(blobFiles()).isEmpty();
+    soft.assertThat(scan(base, EnumSet.of(STRING))).noneMatch(OverflowPointers::isPointer);
+  }
+
+  @Test
+  void missingBlob() throws Exception {
+    Persist persist = overflow(0);
+    Obj obj = allObjectTypeSamples().findFirst().orElseThrow();
+    persist.storeObj(obj);
+    for (Path blob : blobFiles()) {
+      Files.delete(blob);
+    }
+
+    soft.assertThatThrownBy(() -> persist.fetchObj(obj.id()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining(obj.id().toString());
+  }
+
+  private static List<Obj> scan(Persist persist, EnumSet<ObjType> types) {
+    List<Obj> result = new ArrayList<>();
+    try (CloseableIterator<Obj> iter = persist.scanAllObjects(types)) {
+      iter.forEachRemaining(result::add);
+    }
+    return result;
+  }
+
+  private List<Path> blobFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(blobDir)) {
+      return files.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  static Stream<Obj> allObjectTypeSamples() {
+    return AbstractBasePersistTests.allObjectTypeSamples();
+  }
+}
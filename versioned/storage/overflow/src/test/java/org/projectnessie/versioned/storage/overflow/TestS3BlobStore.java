@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.overflow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.s3mock.IcebergS3Mock;
+import org.projectnessie.s3mock.IcebergS3Mock.S3MockServer;
+import org.projectnessie.s3mock.MockObject;
+import org.projectnessie.s3mock.S3Bucket;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.commontests.AbstractBasePersistTests;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackend;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendFactory;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestS3BlobStore {
+  public static final String BUCKET = "bucket";
+  public static final String PREFIX = "overflow/";
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+  private S3MockServer server;
+  private S3Client s3;
+  private S3BlobStore blobStore;
+
+  @BeforeEach
+  void setup() {
+    S3Bucket bucket =
+        S3Bucket.builder()
+            .object(
+                key -> {
+                  byte[] data = objects.get(key);
+                  return data == null
+                      ? null
+                      : MockObject.builder()
+                          .contentLength(data.length)
+                          .writer((range, output) -> output.write(data))
+                          .build();
+                })
+            .putter(
+                (key, contentType, data) -> {
+                  objects.put(key, data);
+                  return true;
+                })
+            .deleter(oid -> objects.remove(oid.key()) != null)
+            .build();
+    server = IcebergS3Mock.builder().putBuckets(BUCKET, bucket).build().start();
+    s3 =
+        S3Client.builder()
+            .httpClientBuilder(UrlConnectionHttpClient.builder())
+            .endpointOverride(server.getBaseUri())
+            .forcePathStyle(true)
+            .credentialsProvider(
+                StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create("accessKey", "secretKey")))
+            .build();
+    blobStore = new S3BlobStore(s3, BUCKET, PREFIX);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    try {
+      s3.close();
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  void putGetDelete() {
+    String key = "ab/abcdef";
+    byte[] data = "some blob content".getBytes(UTF_8);
+
+    soft.assertThat(blobStore.get(key)).isNull();
+
+    blobStore.put(key, data);
+    soft.assertThat(objects).containsOnlyKeys(PREFIX + key);
+    soft.assertThat(blobStore.get(key)).containsExactly(data);
+
+    blobStore.delete(key);
+    soft.assertThat(objects).isEmpty();
+    soft.assertThat(blobStore.get(key)).isNull();
+  }
+
+  @Test
+  void overflowPersist() throws Exception {
+    InmemoryBackendFactory factory = new InmemoryBackendFactory();
+    @SuppressWarnings("resource")
+    InmemoryBackend backend = factory.buildBackend(factory.newConfigInstance());
+    Persist persist =
+        ObjOverflow.builder()
+            .persist(backend.createFactory().newPersist(StoreConfig.Adjustable.empty()))
+            .blobStore(blobStore)
+            .thresholdBytes(0)
+            .build()
+            .create();
+
+    Obj[] objs = AbstractBasePersistTests.allObjectTypeSamples().toArray(Obj[]::new);
+    persist.storeObjs(objs);
+    soft.assertThat(objects).hasSize(objs.length);
+
+    ObjId[] ids = Stream.of(objs).map(Obj::id).toArray(ObjId[]::new);
+    soft.assertThat(persist.fetchObjs(ids)).containsExactly(objs);
+
+    persist.deleteObjs(ids);
+    soft.assertThat(objects).isEmpty();
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Pipelines the export of commits: commits added via {@link #add(Object)} are collected into
+ * batches, each batch is mapped (including fetching the referenced contents) on one of {@code
+ * parallelism} mapper threads, and the mapped results are written by a single writer thread, which
+ * is the only thread touching the output file.
+ *
+ * <p>The number of batches that are being mapped or waiting to be written is bounded, {@link
+ * #add(Object)} blocks when that limit has been reached, so that slow writes apply backpressure to
+ * the producers of commits.
+ *
+ * <p>{@link #add(Object)} can be called concurrently, should be used in a
+ * <em>try-with-resource</em>.
+ */
+final class ExportCommitsPipeline<I, O> implements AutoCloseable {
+  private final int batchSize;
+  private final Function<List<I>, List<O>> mapper;
+  private final Consumer<O> writer;
+  private final ExecutorService mapExecutor;
+  private final ExecutorService writeExecutor;
+  private final Semaphore inFlightBatches;
+  private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  private List<I> buffer;
+
+  ExportCommitsPipeline(
+      int parallelism, int batchSize, Function<List<I>, List<O>> mapper, Consumer<O> writer) {
+    this.batchSize = batchSize;
+    this.mapper = mapper;
+    this.writer = writer;
+    this.buffer = new ArrayList<>(batchSize);
+    this.inFlightBatches = new Semaphore(parallelism * 2);
+    this.mapExecutor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("nessie-export-map-%d")
+                .build());
+    this.writeExecutor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("nessie-export-writer-%d")
+                .build());
+  }
+
+  void add(I entity) {
+    List<I> batch;
+    synchronized (this) {
+      buffer.add(entity);
+      if (buffer.size() < batchSize) {
+        return;
+      }
+      batch = buffer;
+      buffer = new ArrayList<>(batchSize);
+    }
+    submit(batch);
+  }
+
+  private void submit(List<I> batch) {
+    checkFailure();
+    try {
+      inFlightBatches.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    CompletableFuture<Void> future =
+        CompletableFuture.supplyAsync(() -> mapper.apply(batch), mapExecutor)
+            .thenAcceptAsync(mapped -> mapped.forEach(writer), writeExecutor)
+            .whenComplete(
+                (r, t) -> {
+                  inFlightBatches.release();
+                  if (t != null) {
+                    failure.compareAndSet(null, t);
+                  }
+                });
+    synchronized (pending) {
+      pending.removeIf(CompletableFuture::isDone);
+      pending.add(future);
+    }
+  }
+
+  private void checkFailure() {
+    Throwable t = failure.get();
+    if (t != null) {
+      while (t instanceof CompletionException && t.getCause() != null) {
+        t = t.getCause();
+      }
+      if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
+      }
+      if (t instanceof Error) {
+        throw (Error) t;
+      }
+      throw new RuntimeException(t);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      List<I> batch;
+      synchronized (this) {
+        batch = buffer;
+        buffer = new ArrayList<>(0);
+      }
+      if (!batch.isEmpty() && failure.get() == null) {
+        submit(batch);
+      }
+      List<CompletableFuture<Void>> all;
+      synchronized (pending) {
+        all = new ArrayList<>(pending);
+      }
+      try {
+        CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).join();
+      } catch (RuntimeException e) {
+        // failure is recorded and re-thrown below
+      }
+      checkFailure();
+    } finally {
+      mapExecutor.shutdownNow();
+      writeExecutor.shutdownNow();
+      try {
+        mapExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        writeExecutor.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -73,13 +73,15 @@ abstract class ExportCommon {
   }
 
   ExportContext createExportContext(ExportVersion exportVersion) {
-    return new ExportContext(
-        exportFiles,
-        exporter,
+    ExportMeta.Builder meta =
         ExportMeta.newBuilder()
             .setNessieVersion(NessieVersion.NESSIE_VERSION)
             .setCreatedMillisEpoch(currentTimestampMillis())
-            .setVersion(exportVersion));
+            .setVersion(exportVersion);
+    if (exporter.previousHeadsAndForks() != null) {
+      meta.setIncremental(true);
+    }
+    return new ExportContext(exportFiles, exporter, meta);
   }
 
   abstract ExportVersion getExportVersion();
@@ -25,6 +25,9 @@ public final class ExportImportConstants {
   public static final int DEFAULT_COMMIT_BATCH_SIZE = 20;
   public static final int DEFAULT_ATTACHMENT_BATCH_SIZE = 20;
   public static final int DEFAULT_EXPORT_VERSION = 2;
+  public static final int DEFAULT_EXPORT_PARALLELISM = 1;
+  public static final int DEFAULT_IMPORT_PARALLELISM = 1;
+  public static final int DEFAULT_IMPORT_CONCURRENT_WRITES = 0;
 
   private ExportImportConstants() {}
 }
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.transfer;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static java.util.Spliterators.spliteratorUnknownSize;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
@@ -24,16 +25,26 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLog
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -91,13 +102,28 @@ final class ExportPersist extends ExportCommon {
   HeadsAndForks exportCommits(ExportContext exportContext) {
 
     HeadsAndForkPoints headsAndForkPoints;
-    try (Batcher<CommitObj> commitObjBatcher =
-        new Batcher<>(
-            exporter.commitBatchSize(), commits -> mapCommitObjs(commits, exportContext))) {
-      headsAndForkPoints =
-          exporter.fullScan()
-              ? scanDatabase(commitObjBatcher::add)
-              : scanAllReferences(commitObjBatcher::add);
+    if (exporter.exportParallelism() > 1) {
+      try (ExportCommitsPipeline<CommitObj, Commit> pipeline =
+          new ExportCommitsPipeline<>(
+              exporter.exportParallelism(),
+              exporter.commitBatchSize(),
+              this::mapCommitObjs,
+              commit -> writeCommit(commit, exportContext))) {
+        headsAndForkPoints =
+            exporter.fullScan()
+                ? scanDatabase(pipeline::add)
+                : scanAllReferences(pipeline::add, exporter.exportParallelism());
+      }
+    } else {
+      try (Batcher<CommitObj> commitObjBatcher =
+          new Batcher<>(
+              exporter.commitBatchSize(),
+              commits -> mapCommitObjs(commits).forEach(c -> writeCommit(c, exportContext)))) {
+        headsAndForkPoints =
+            exporter.fullScan()
+                ? scanDatabase(commitObjBatcher::add)
+                : scanAllReferences(commitObjBatcher::add, 1);
+      }
     }
 
     HeadsAndForks.Builder hf =
@@ -108,7 +134,20 @@ final class ExportPersist extends ExportCommon {
     return hf.build();
   }
 
-  private HeadsAndForkPoints scanAllReferences(Consumer<CommitObj> commitHandler) {
+  /**
+   * Walks the commit logs of all references. With a parallelism greater than one, the references
+   * are walked concurrently, the walkers share the {@link IdentifyHeadsAndForkPoints} instance,
+   * which acts as the set of already visited commits, so every commit is passed to {@code
+   * commitHandler} only once.
+   *
+   * <p>For an incremental export, the heads and fork points of the previous export are registered
+   * as already visited commits. A walk stops at those commits and at any other commit that has
+   * been exported by the previous export, see {@link PreviousExport}. The resulting heads and fork
+   * points cover both the previously exported and the new commits, so the result can serve as the
+   * base of the next incremental export.
+   */
+  private HeadsAndForkPoints scanAllReferences(
+      Consumer<CommitObj> commitHandler, int parallelism) {
     Persist persist = persist();
 
     IdentifyHeadsAndForkPoints identify =
@@ -117,34 +156,189 @@ final class ExportPersist extends ExportCommon {
 
     ReferenceLogic referenceLogic = referenceLogic(persist);
     CommitLogic commitLogic = commitLogic(persist);
+
+    HeadsAndForks previousHeadsAndForks = exporter.previousHeadsAndForks();
+    PreviousExport previous = null;
+    if (previousHeadsAndForks != null) {
+      List<CommitObj> previousHeads =
+          existingCommits(previousHeadsAndForks.getHeadsList(), commitLogic);
+      previousHeads.forEach(head -> identify.addPreviousCommit(head.id(), true));
+      existingCommits(previousHeadsAndForks.getForkPointsList(), commitLogic)
+          .forEach(forkPoint -> identify.addPreviousForkPoint(forkPoint.id()));
+      previous =
+          new PreviousExport(
+              commitLogic, previousHeads, previousHeadsAndForks.getScanStartedAtInMicros());
+    }
+
     String referencePrefix = exportVersion == ExportVersion.V2 ? null : RefMapping.REFS;
-    referenceLogic
-        .queryReferences(referencesQuery(referencePrefix))
-        .forEachRemaining(
-            ref -> {
-              Deque<ObjId> commitsToProcess = new ArrayDeque<>();
-              commitsToProcess.offerFirst(ref.pointer());
-              while (!commitsToProcess.isEmpty()) {
-                ObjId id = commitsToProcess.removeFirst();
-                if (identify.isCommitNew(id)) {
-                  Iterator<CommitObj> commitIter = commitLogic.commitLog(commitLogQuery(id));
-                  while (commitIter.hasNext()) {
-                    CommitObj commit = commitIter.next();
-                    if (!identify.handleCommit(commit)) {
-                      break;
-                    }
-                    commitHandler.accept(commit);
-                    for (ObjId parentId : commit.secondaryParents()) {
-                      if (identify.isCommitNew(parentId)) {
-                        commitsToProcess.addLast(parentId);
-                      }
-                    }
-                  }
-                }
-              }
-            });
+    PagedResult<Reference, String> refs =
+        referenceLogic.queryReferences(referencesQuery(referencePrefix));
+    List<ObjId> heads = new ArrayList<>();
+    refs.forEachRemaining(ref -> heads.add(ref.pointer()));
+    walkCommits(heads, identify, previous, commitLogic, commitHandler, parallelism);
+
+    synchronized (identify) {
+      return identify.finish();
+    }
+  }
 
-    return identify.finish();
+  /**
+   * Returns the commits of the previous export that still exist, commits that have been purged
+   * since the previous export are ignored.
+   */
+  private static List<CommitObj> existingCommits(List<ByteString> ids, CommitLogic commitLogic) {
+    List<CommitObj> commits = new ArrayList<>(ids.size());
+    for (ByteString id : ids) {
+      try {
+        CommitObj commit = commitLogic.fetchCommit(ObjId.objIdFromBytes(id));
+        if (commit != null) {
+          commits.add(commit);
+        }
+      } catch (ObjNotFoundException e) {
+        // purged since the previous export
+      }
+    }
+    return commits;
+  }
+
+  /**
+   * Tells whether a commit has been exported by the previous export. Commits created after the
+   * previous export started cannot have been exported. For older commits, the histories of the
+   * previous heads are walked lazily, highest commit sequence number first, only down to the
+   * sequence number of the commit in question, so only the part of the previous history that is
+   * as recent as the commits reached by the walks of the references is read.
+   */
+  private static final class PreviousExport {
+    private final CommitLogic commitLogic;
+    private final long scanStartedAtInMicros;
+    private final PriorityQueue<CommitObj> pending =
+        new PriorityQueue<>(comparingLong(CommitObj::seq).reversed());
+    private final Set<ObjId> visited = new HashSet<>();
+
+    PreviousExport(
+        CommitLogic commitLogic, List<CommitObj> previousHeads, long scanStartedAtInMicros) {
+      this.commitLogic = commitLogic;
+      this.scanStartedAtInMicros = scanStartedAtInMicros;
+      for (CommitObj head : previousHeads) {
+        if (visited.add(head.id())) {
+          pending.add(head);
+        }
+      }
+    }
+
+    synchronized boolean contains(CommitObj commit) {
+      if (commit.created() >= scanStartedAtInMicros) {
+        return false;
+      }
+      while (!pending.isEmpty() && pending.peek().seq() >= commit.seq()) {
+        CommitObj c = pending.poll();
+        enqueue(c.directParent());
+        c.secondaryParents().forEach(this::enqueue);
+      }
+      return visited.contains(commit.id());
+    }
+
+    private void enqueue(ObjId id) {
+      if (EMPTY_OBJ_ID.equals(id) || !visited.add(id)) {
+        return;
+      }
+      try {
+        CommitObj commit = commitLogic.fetchCommit(id);
+        if (commit != null) {
+          pending.add(commit);
+        }
+      } catch (ObjNotFoundException e) {
+        // purged since the previous export
+      }
+    }
+  }
+
+  private static void walkCommits(
+      List<ObjId> heads,
+      IdentifyHeadsAndForkPoints identify,
+      PreviousExport previous,
+      CommitLogic commitLogic,
+      Consumer<CommitObj> commitHandler,
+      int parallelism) {
+    if (parallelism <= 1) {
+      heads.forEach(head -> walkReference(head, identify, previous, commitLogic, commitHandler));
+      return;
+    }
+
+    ExecutorService walkers =
+        Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("nessie-export-walker-%d")
+                .build());
+    try {
+      List<Future<?>> walks = new ArrayList<>();
+      for (ObjId head : heads) {
+        walks.add(
+            walkers.submit(
+                () -> walkReference(head, identify, previous, commitLogic, commitHandler)));
+      }
+      for (Future<?> walk : walks) {
+        walk.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      walkers.shutdownNow();
+    }
+  }
+
+  private static void walkReference(
+      ObjId head,
+      IdentifyHeadsAndForkPoints identify,
+      PreviousExport previous,
+      CommitLogic commitLogic,
+      Consumer<CommitObj> commitHandler) {
+    Deque<ObjId> commitsToProcess = new ArrayDeque<>();
+    commitsToProcess.offerFirst(head);
+    while (!commitsToProcess.isEmpty()) {
+      ObjId id = commitsToProcess.removeFirst();
+      if (isCommitNew(identify, id)) {
+        Iterator<CommitObj> commitIter = commitLogic.commitLog(commitLogQuery(id));
+        while (commitIter.hasNext()) {
+          CommitObj commit = commitIter.next();
+          // Not holding the lock on 'identify' here, 'contains' may have to read commits.
+          boolean previouslyExported =
+              previous != null && isCommitNew(identify, commit.id()) && previous.contains(commit);
+          synchronized (identify) {
+            if (previouslyExported) {
+              identify.addPreviousCommit(commit.id(), false);
+              break;
+            }
+            // 'handleCommit' returns 'false', if the commit has already been handled, by this or
+            // another walker.
+            if (!identify.handleCommit(commit)) {
+              break;
+            }
+          }
+          commitHandler.accept(commit);
+          for (ObjId parentId : commit.secondaryParents()) {
+            if (isCommitNew(identify, parentId)) {
+              commitsToProcess.addLast(parentId);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean isCommitNew(IdentifyHeadsAndForkPoints identify, ObjId id) {
+    synchronized (identify) {
+      return identify.isCommitNew(id);
+    }
   }
 
   private HeadsAndForkPoints scanDatabase(Consumer<CommitObj> commitHandler) {
@@ -210,16 +404,21 @@ final class ExportPersist extends ExportCommon {
     }
   }
 
-  private void mapCommitObjs(List<CommitObj> commitObjs, ExportContext exportContext) {
+  private List<Commit> mapCommitObjs(List<CommitObj> commitObjs) {
     IndexesLogic indexesLogic = indexesLogic(exporter.persist());
 
     Map<ObjId, Obj> objs = fetchReferencedObjs(commitObjs, indexesLogic);
 
+    List<Commit> commits = new ArrayList<>(commitObjs.size());
     for (CommitObj c : commitObjs) {
-      Commit commit = mapCommitObj(c, indexesLogic, objs);
-      exportContext.writeCommit(commit);
-      exporter.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+      commits.add(mapCommitObj(c, indexesLogic, objs));
     }
+    return commits;
+  }
+
+  private void writeCommit(Commit commit, ExportContext exportContext) {
+    exportContext.writeCommit(commit);
+    exporter.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
   }
 
   private Map<ObjId, Obj> fetchReferencedObjs(
@@ -54,6 +54,9 @@ final class ImportDatabaseAdapter extends ImportCommon {
         "This Nessie-version version does not support importing a %s (%s) export",
         exportMeta.getVersion().name(),
         exportMeta.getVersionValue());
+    checkState(
+        !exportMeta.getIncremental(),
+        "Incremental exports cannot be imported into a database adapter");
   }
 
   @Override
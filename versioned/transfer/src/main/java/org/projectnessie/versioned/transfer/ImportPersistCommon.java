@@ -15,34 +15,53 @@
  */
 package org.projectnessie.versioned.transfer;
 
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
 import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLogic;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.REMOVE;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.contentIdMaybe;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.projectnessie.model.Content;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.batching.BatchingPersist;
 import org.projectnessie.versioned.storage.batching.WriteBatching;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.ImmutableRepositoryDescription;
 import org.projectnessie.versioned.storage.common.logic.IndexesLogic;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
@@ -51,15 +70,32 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Operation;
 abstract class ImportPersistCommon extends ImportCommon {
   protected final BatchingPersist persist;
 
+  /** Names of the imported references, only maintained for incremental imports. */
+  private final Set<String> importedReferences = new HashSet<>();
+
+  /** Writes full batches of objects asynchronously, {@code null} if writes are synchronous. */
+  private final ExecutorService writeExecutor;
+
   ImportPersistCommon(ExportMeta exportMeta, NessieImporter importer) {
     super(exportMeta, importer);
-    this.persist =
+    WriteBatching.Builder batching =
         WriteBatching.builder()
             .persist(requireNonNull(importer.persist()))
             .batchSize(importer.commitBatchSize())
-            .optimistic(true)
-            .build()
-            .create();
+            .optimistic(true);
+    if (importer.concurrentWrites() > 0) {
+      this.writeExecutor =
+          Executors.newFixedThreadPool(
+              importer.concurrentWrites(),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("nessie-import-writer-%d")
+                  .build());
+      batching.flushExecutor(writeExecutor).maxInFlightFlushes(importer.concurrentWrites());
+    } else {
+      this.writeExecutor = null;
+    }
+    this.persist = batching.build().create();
   }
 
   @Override
@@ -67,7 +103,13 @@ abstract class ImportPersistCommon extends ImportCommon {
     try {
       return super.importRepo();
     } finally {
-      persist.flush();
+      try {
+        persist.flush();
+      } finally {
+        if (writeExecutor != null) {
+          writeExecutor.shutdownNow();
+        }
+      }
     }
   }
 
@@ -91,28 +133,96 @@ abstract class ImportPersistCommon extends ImportCommon {
 
   @Override
   long importCommits() throws IOException {
-    long commitCount = 0L;
+    List<String> commitsFiles = exportMeta.getCommitsFilesList();
     try {
-      for (String fileName : exportMeta.getCommitsFilesList()) {
-        try (InputStream input = importFiles.newFileInput(fileName)) {
-          while (true) {
-            Commit commit = Commit.parseDelimitedFrom(input);
-            if (commit == null) {
-              break;
-            }
-            processCommit(commit);
-            commitCount++;
-          }
-        } catch (ObjTooLargeException e) {
-          throw new RuntimeException(e);
+      if (importer.importParallelism() <= 1 || commitsFiles.size() <= 1) {
+        long commitCount = 0L;
+        for (String fileName : commitsFiles) {
+          commitCount += importCommitsFile(fileName);
         }
+        return commitCount;
       }
+      return importCommitsFilesParallel(commitsFiles);
     } finally {
       persist.flush();
     }
+  }
+
+  /**
+   * Processes the commits files concurrently, each file is read and decoded by a single thread.
+   * This is safe, because commits are imported without any dependency to other commits, the
+   * indexes are completed in {@link #importFinalize(HeadsAndForks)}.
+   */
+  private long importCommitsFilesParallel(List<String> commitsFiles) throws IOException {
+    ExecutorService readers =
+        Executors.newFixedThreadPool(
+            Math.min(importer.importParallelism(), commitsFiles.size()),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("nessie-import-reader-%d")
+                .build());
+    try {
+      List<Future<Long>> files = new ArrayList<>();
+      for (String fileName : commitsFiles) {
+        files.add(
+            readers.submit(
+                () -> {
+                  try {
+                    return importCommitsFile(fileName);
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                }));
+      }
+      long commitCount = 0L;
+      for (Future<Long> file : files) {
+        commitCount += file.get();
+      }
+      return commitCount;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      readers.shutdownNow();
+    }
+  }
+
+  private long importCommitsFile(String fileName) throws IOException {
+    long commitCount = 0L;
+    try (InputStream input = importFiles.newFileInput(fileName)) {
+      while (true) {
+        Commit commit = Commit.parseDelimitedFrom(input);
+        if (commit == null) {
+          break;
+        }
+        processCommit(commit);
+        commitCount++;
+      }
+    } catch (ObjTooLargeException e) {
+      throw new RuntimeException(e);
+    }
     return commitCount;
   }
 
+  /**
+   * Reports a written commit to the progress listener. Serialized, because commits files may be
+   * processed concurrently.
+   */
+  void commitWritten() {
+    synchronized (this) {
+      importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    }
+  }
+
   @Override
   void markRepositoryImported() {
     RepositoryLogic repositoryLogic = repositoryLogic(importer.persist());
@@ -132,6 +242,69 @@ abstract class ImportPersistCommon extends ImportCommon {
 
   abstract void processCommit(Commit commit) throws IOException, ObjTooLargeException;
 
+  /**
+   * Incremental exports are imported into the repository that contains the previous export, that
+   * repository must exist and is not initialized again.
+   */
+  void checkRepositoryForIncrementalImport() {
+    checkState(
+        repositoryLogic(persist).repositoryExists(),
+        "An incremental export can only be imported into an existing repository");
+  }
+
+  /**
+   * Creates the reference. For incremental imports, an existing reference is assigned to the
+   * exported pointer instead.
+   */
+  void importReference(
+      ReferenceLogic refLogic, String name, ObjId pointer, ObjId extendedInfoObj) {
+    try {
+      if (exportMeta.getIncremental()) {
+        importedReferences.add(name);
+        Reference existing = refLogic.getReferences(singletonList(name)).get(0);
+        if (existing != null) {
+          if (!existing.pointer().equals(pointer)) {
+            refLogic.assignReference(existing, pointer);
+          }
+          return;
+        }
+      }
+      refLogic.createReference(name, pointer, extendedInfoObj);
+    } catch (RefAlreadyExistsException
+        | RefNotFoundException
+        | RefConditionFailedException
+        | RetryTimeoutException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * For incremental imports, deletes the references starting with {@code referencePrefix} that
+   * exist in the repository, but not in the export, because those have been deleted since the
+   * previous export.
+   */
+  void deleteReferencesNotInIncrementalExport(ReferenceLogic refLogic, String referencePrefix) {
+    if (!exportMeta.getIncremental()) {
+      return;
+    }
+    List<Reference> toDelete = new ArrayList<>();
+    PagedResult<Reference, String> refs =
+        refLogic.queryReferences(referencesQuery(referencePrefix));
+    refs.forEachRemaining(
+        ref -> {
+          if (!importedReferences.contains(ref.name())) {
+            toDelete.add(ref);
+          }
+        });
+    for (Reference ref : toDelete) {
+      try {
+        refLogic.deleteReference(ref.name(), ref.pointer());
+      } catch (RefNotFoundException | RefConditionFailedException | RetryTimeoutException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
   void processCommitOp(StoreIndex<CommitOp> index, Operation op, StoreKey storeKey) {
     byte payload = (byte) op.getPayload();
     switch (op.getOperationType()) {
@@ -28,8 +28,6 @@ import java.io.InputStream;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
-import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
-import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
@@ -48,6 +46,10 @@ final class ImportPersistV1 extends ImportPersistCommon {
 
   @Override
   void prepareRepository() {
+    if (exportMeta.getIncremental()) {
+      checkRepositoryForIncrementalImport();
+      return;
+    }
     repositoryLogic(persist).initialize("main", false, b -> {});
   }
 
@@ -76,17 +78,14 @@ final class ImportPersistV1 extends ImportPersistCommon {
                 throw new IllegalArgumentException("Unknown reference type " + namedReference);
             }
 
-            try {
-              refLogic.createReference(ref, objIdFromBytes(namedReference.getCommitId()), null);
-            } catch (RefAlreadyExistsException | RetryTimeoutException e) {
-              throw new RuntimeException(e);
-            }
+            importReference(refLogic, ref, objIdFromBytes(namedReference.getCommitId()), null);
 
             namedReferenceCount++;
             importer.progressListener().progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
           }
         }
       }
+      deleteReferencesNotInIncrementalExport(refLogic, RefMapping.REFS);
       return namedReferenceCount;
     } finally {
       persist.flush();
@@ -123,6 +122,6 @@ final class ImportPersistV1 extends ImportPersistCommon {
 
     persist.storeObj(c.build());
 
-    importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    commitWritten();
   }
 }
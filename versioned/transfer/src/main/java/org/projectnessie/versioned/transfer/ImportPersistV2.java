@@ -28,8 +28,6 @@ import java.io.InputStream;
 import java.time.Instant;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
-import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
-import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
@@ -49,6 +47,11 @@ final class ImportPersistV2 extends ImportPersistCommon {
 
   @Override
   void prepareRepository() throws IOException {
+    if (exportMeta.getIncremental()) {
+      checkRepositoryForIncrementalImport();
+      return;
+    }
+
     RepositoryDescriptionProto repositoryDescription = importer.loadRepositoryDescription();
 
     repositoryLogic(persist)
@@ -77,21 +80,19 @@ final class ImportPersistV2 extends ImportPersistCommon {
               break;
             }
 
-            try {
-              ByteString ext = ref.getExtendedInfoObj();
-              refLogic.createReference(
-                  ref.getName(),
-                  objIdFromBytes(ref.getPointer()),
-                  ext == null ? null : objIdFromBytes(ext));
-            } catch (RefAlreadyExistsException | RetryTimeoutException e) {
-              throw new RuntimeException(e);
-            }
+            ByteString ext = ref.getExtendedInfoObj();
+            importReference(
+                refLogic,
+                ref.getName(),
+                objIdFromBytes(ref.getPointer()),
+                ext == null ? null : objIdFromBytes(ext));
 
             namedReferenceCount++;
             importer.progressListener().progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
           }
         }
       }
+      deleteReferencesNotInIncrementalExport(refLogic, null);
       return namedReferenceCount;
     } finally {
       persist.flush();
@@ -128,6 +129,6 @@ final class ImportPersistV2 extends ImportPersistCommon {
 
     persist.storeObj(c.build());
 
-    importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    commitWritten();
   }
 }
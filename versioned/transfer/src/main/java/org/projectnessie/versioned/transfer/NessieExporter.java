@@ -31,6 +31,7 @@ import org.projectnessie.versioned.store.DefaultStoreWorker;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportVersion;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 
 @Value.Immutable
 public abstract class NessieExporter {
@@ -94,6 +95,26 @@ public abstract class NessieExporter {
 
     Builder exportVersion(int exportVersion);
 
+    /**
+     * Optional, the number of threads used to walk the commit logs of named references and to map
+     * and fetch the contents of commits, defaults to {@value
+     * ExportImportConstants#DEFAULT_EXPORT_PARALLELISM}. Commits are always written by a single
+     * thread. Only effective when exporting from a {@code Persist}.
+     */
+    Builder exportParallelism(int exportParallelism);
+
+    /**
+     * Optional, the {@link HeadsAndForks} of a previous export, enables an incremental export that
+     * contains only the commits that are not reachable from the heads of the previous export. Named
+     * references are always exported completely. Only supported when exporting from a {@code
+     * Persist} without {@link #fullScan(boolean) full scan} and without {@link
+     * #contentsFromBranch(String) contents from branch}.
+     *
+     * <p>The previous export's commits are still walked to identify the already exported commits,
+     * but neither their contents are fetched nor are they written to the export.
+     */
+    Builder previousHeadsAndForks(HeadsAndForks previousHeadsAndForks);
+
     NessieExporter build();
   }
 
@@ -128,6 +149,13 @@ public abstract class NessieExporter {
     checkState(
         persist() == null ^ databaseAdapter() == null,
         "Must supply either persist() or databaseAdapter(), never both");
+    if (previousHeadsAndForks() != null) {
+      checkState(persist() != null, "Incremental exports are only supported from a Persist");
+      checkState(!fullScan(), "Incremental exports do not support full scans");
+      checkState(
+          contentsFromBranch() == null,
+          "Incremental exports do not support exporting contents from a branch");
+    }
   }
 
   /**
@@ -186,6 +214,15 @@ public abstract class NessieExporter {
     return ExportImportConstants.DEFAULT_EXPORT_VERSION;
   }
 
+  @Value.Default
+  int exportParallelism() {
+    return ExportImportConstants.DEFAULT_EXPORT_PARALLELISM;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  abstract HeadsAndForks previousHeadsAndForks();
+
   abstract ExportFileSupplier exportFileSupplier();
 
   @Value.Default
@@ -18,6 +18,8 @@ package org.projectnessie.versioned.transfer;
 import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_ATTACHMENT_BATCH_SIZE;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_COMMIT_BATCH_SIZE;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_IMPORT_CONCURRENT_WRITES;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_IMPORT_PARALLELISM;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.EXPORT_METADATA;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.HEADS_AND_FORKS;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.REPOSITORY_DESCRIPTION;
@@ -69,6 +71,22 @@ public abstract class NessieImporter {
      */
     Builder attachmentBatchSize(int attachmentBatchSize);
 
+    /**
+     * Optional, the number of threads that read and decode the commits files of the export
+     * concurrently, defaults to {@value ExportImportConstants#DEFAULT_IMPORT_PARALLELISM}. Each
+     * commits file is processed by a single thread. Only effective when importing into a {@code
+     * Persist}.
+     */
+    Builder importParallelism(int importParallelism);
+
+    /**
+     * Optional, the maximum number of batches of objects that are written concurrently, defaults to
+     * {@value ExportImportConstants#DEFAULT_IMPORT_CONCURRENT_WRITES}, which means that batches are
+     * written synchronously by the thread that fills a batch. Only effective when importing into a
+     * {@code Persist}.
+     */
+    Builder concurrentWrites(int concurrentWrites);
+
     Builder progressListener(ProgressListener progressListener);
 
     Builder importFileSupplier(ImportFileSupplier importFileSupplier);
@@ -89,6 +107,8 @@ public abstract class NessieImporter {
     checkState(
         persist() == null ^ databaseAdapter() == null,
         "Must supply either persist() or databaseAdapter(), never both");
+    checkState(importParallelism() > 0, "importParallelism must be greater than 0");
+    checkState(concurrentWrites() >= 0, "concurrentWrites must not be negative");
   }
 
   @Value.Default
@@ -101,6 +121,16 @@ public abstract class NessieImporter {
     return DEFAULT_ATTACHMENT_BATCH_SIZE;
   }
 
+  @Value.Default
+  int importParallelism() {
+    return DEFAULT_IMPORT_PARALLELISM;
+  }
+
+  @Value.Default
+  int concurrentWrites() {
+    return DEFAULT_IMPORT_CONCURRENT_WRITES;
+  }
+
   @Value.Default
   StoreWorker storeWorker() {
     return DefaultStoreWorker.instance();
@@ -160,7 +190,7 @@ public abstract class NessieImporter {
   }
 
   @SuppressWarnings("resource")
-  private ExportMeta loadExportMeta() throws IOException {
+  public ExportMeta loadExportMeta() throws IOException {
     ExportMeta exportMeta;
     try (InputStream input = importFileSupplier().newFileInput(EXPORT_METADATA)) {
       exportMeta = ExportMeta.parseFrom(input);
@@ -18,14 +18,23 @@ package org.projectnessie.versioned.transfer;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REPOSITORY_ID;
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.HEADS_AND_FORKS;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.EnumSet;
+import java.util.Optional;
 import java.util.Spliterators;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.GetNamedRefsParams;
 import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.TagName;
 import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
@@ -44,6 +53,7 @@ import org.projectnessie.versioned.transfer.files.FileExporter;
 import org.projectnessie.versioned.transfer.files.FileImporter;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportVersion;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 
 @ExtendWith(PersistExtension.class)
 @NessieBackendName(InmemoryBackendFactory.NAME)
@@ -99,6 +109,88 @@ public class TestExportImportV2 extends BaseExportImport {
     return exporter.exportNessieRepository();
   }
 
+  @Test
+  public void incrementalExportImport() throws Exception {
+    VersionStore source = sourceVersionStore();
+    BranchName main = BranchName.of("main");
+    BranchName branch = BranchName.of("branch");
+    BranchName gone = BranchName.of("gone");
+    BranchName interior = BranchName.of("interior");
+
+    Hash mainHead = source.getNamedRef("main", GetNamedRefsParams.DEFAULT).getHash();
+    Hash mainInterior = commit10(source, 0, main, mainHead);
+    mainHead = commit10(source, 10, main, mainInterior);
+    Hash previousMainHead = mainHead;
+    Hash branchHead = source.create(branch, Optional.of(mainHead)).getHash();
+    Hash goneHead = source.create(gone, Optional.of(mainHead)).getHash();
+    goneHead = commit10(source, 0, gone, goneHead);
+
+    Path fullDir = dir.resolve("full");
+    ExportMeta fullMeta = exportRepo(fullDir, null);
+    soft.assertThat(fullMeta.getIncremental()).isFalse();
+    soft.assertThat(fullMeta.getCommitCount()).isEqualTo(30L);
+    prepareTargetRepo();
+    importRepo(fullDir);
+
+    // Changes after the full export: new commits on existing and new branches, a new branch
+    // forked from a commit that was neither a head nor a fork point, a new tag, a deleted branch.
+    mainHead = commit10(source, 20, main, mainHead);
+    branchHead = commit10(source, 0, branch, branchHead);
+    Hash interiorHead = source.create(interior, Optional.of(mainInterior)).getHash();
+    interiorHead = commit10(source, 0, interior, interiorHead);
+    source.create(TagName.of("tag"), Optional.of(mainHead));
+    source.delete(gone, goneHead);
+
+    HeadsAndForks previous;
+    try (InputStream in = Files.newInputStream(fullDir.resolve(HEADS_AND_FORKS))) {
+      previous = HeadsAndForks.parseFrom(in);
+    }
+
+    Path deltaDir = dir.resolve("delta");
+    ExportMeta deltaMeta = exportRepo(deltaDir, previous);
+    soft.assertThat(deltaMeta.getIncremental()).isTrue();
+    soft.assertThat(deltaMeta.getCommitCount()).isEqualTo(30L);
+
+    ImportResult deltaResult = importRepo(deltaDir);
+    soft.assertThat(deltaResult.importedCommitCount()).isEqualTo(30L);
+
+    soft.assertThat(namedRefs(targetVersionStore()))
+        .containsExactlyInAnyOrderElementsOf(namedRefs(source));
+    soft.assertThat(commits(targetVersionStore(), mainHead))
+        .containsExactlyElementsOf(commits(source, mainHead));
+    soft.assertThat(commits(targetVersionStore(), branchHead))
+        .containsExactlyElementsOf(commits(source, branchHead));
+    soft.assertThat(keys(targetVersionStore(), branchHead))
+        .containsExactlyInAnyOrderElementsOf(keys(source, branchHead));
+    soft.assertThat(commits(targetVersionStore(), interiorHead))
+        .containsExactlyElementsOf(commits(source, interiorHead));
+
+    // The heads of the incremental export cover the previously exported commits as well.
+    soft.assertThat(asHashes(deltaResult.headsAndForks().getHeadsList()))
+        .containsExactlyInAnyOrder(mainHead, branchHead, goneHead, interiorHead);
+    soft.assertThat(asHashes(deltaResult.headsAndForks().getForkPointsList()))
+        .containsExactlyInAnyOrder(previousMainHead, mainInterior);
+  }
+
+  private ExportMeta exportRepo(Path target, HeadsAndForks previous) throws IOException {
+    NessieExporter.Builder exporter =
+        NessieExporter.builder()
+            .persist(persistExport)
+            .exportFileSupplier(FileExporter.builder().targetDirectory(target).build());
+    if (previous != null) {
+      exporter.previousHeadsAndForks(previous);
+    }
+    return exporter.build().exportNessieRepository();
+  }
+
+  private ImportResult importRepo(Path source) throws IOException {
+    return NessieImporter.builder()
+        .persist(persistImport)
+        .importFileSupplier(FileImporter.builder().sourceDirectory(source).build())
+        .build()
+        .importNessieRepository();
+  }
+
   @Override
   Stream<Hash> scanAllTargetCommits() {
     CloseableIterator<Obj> iter = persistImport.scanAllObjects(EnumSet.of(ObjType.COMMIT));
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import java.io.IOException;
+import org.projectnessie.versioned.transfer.files.FileExporter;
+import org.projectnessie.versioned.transfer.files.FileImporter;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+
+/**
+ * Runs the export/import scenarios with the parallel, pipelined export and the parallel import with
+ * concurrent writes. Small export files let the import process multiple commits files.
+ */
+public class TestExportImportV2Parallel extends TestExportImportV2 {
+
+  @Override
+  ExportMeta exportRepo(boolean fullScan) throws IOException {
+    NessieExporter exporter =
+        NessieExporter.builder()
+            .persist(persistExport)
+            .fullScan(fullScan)
+            .exportParallelism(4)
+            .commitBatchSize(3)
+            .maxFileSize(1024)
+            .exportFileSupplier(FileExporter.builder().targetDirectory(dir).build())
+            .build();
+    return exporter.exportNessieRepository();
+  }
+
+  @Override
+  ImportResult importRepo() throws IOException {
+    NessieImporter importer =
+        NessieImporter.builder()
+            .persist(persistImport)
+            .importParallelism(4)
+            .concurrentWrites(2)
+            .commitBatchSize(3)
+            .importFileSupplier(FileImporter.builder().sourceDirectory(dir).build())
+            .build();
+    return importer.importNessieRepository();
+  }
+}
@@ -308,7 +308,7 @@ public abstract class BaseExportImport {
 
   abstract ExportVersion exportVersion();
 
-  private static Hash commit10(VersionStore versionStore, int offset, BranchName branch, Hash head)
+  static Hash commit10(VersionStore versionStore, int offset, BranchName branch, Hash head)
       throws Exception {
     for (int i = 0; i < 10; i++) {
       int commit = offset + i;